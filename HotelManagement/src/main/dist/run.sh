@@ -0,0 +1,10 @@
+#!/bin/sh
+# Chay ban dong goi boi mvn -Pprod package (JDK 11+). Archive CDS chi dung duoc voi dung JDK da tao ra no:
+# khac JDK thi JVM bo qua archive (-Xshare:auto) va khoi dong binh thuong.
+# May nho: JAVA_OPTS nhu trong application-small.properties, ./run.sh --spring.profiles.active=prod,small
+cd "$(dirname "$0")" || exit 1
+CDS=""
+if [ -f hotel-management.jsa ]; then
+	CDS="-Xshare:auto -XX:SharedArchiveFile=hotel-management.jsa"
+fi
+exec java $CDS $JAVA_OPTS -jar hotel-management-app.jar --spring.profiles.active=prod "$@"
@@ -2,12 +2,18 @@ package com.devpro.spring;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.devpro.spring.startup.StartupTimingListener;
 
 @SpringBootApplication
+@EnableScheduling
 public class HotelManagementApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(HotelManagementApplication.class, args);
+		SpringApplication application = new SpringApplication(HotelManagementApplication.class);
+		application.addListeners(new StartupTimingListener());
+		application.run(args);
 	}
 
 }
@@ -3,11 +3,13 @@ package com.devpro.spring;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
 
+import com.devpro.spring.startup.StartupTimingListener;
+
 public class ServletInitializer extends SpringBootServletInitializer {
 
 	@Override
 	protected SpringApplicationBuilder configure(SpringApplicationBuilder application) {
-		return application.sources(HotelManagementApplication.class);
+		return application.sources(HotelManagementApplication.class).listeners(new StartupTimingListener());
 	}
 
 }
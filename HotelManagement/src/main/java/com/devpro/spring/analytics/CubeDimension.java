@@ -0,0 +1,35 @@
+package com.devpro.spring.analytics;
+
+public enum CubeDimension {
+
+	ROOM_TYPE("roomType"),
+	VIP("vip"),
+	NATIONALITY("nationality"),
+	SOURCE("source"),
+	DAY("day"),
+	MONTH("month"),
+	YEAR("year");
+
+	private final String paramName;
+
+	CubeDimension(String paramName) {
+		this.paramName = paramName;
+	}
+
+	public String getParamName() {
+		return paramName;
+	}
+
+	public static CubeDimension fromParam(String name) {
+		for (CubeDimension dimension : values()) {
+			if (dimension.paramName.equalsIgnoreCase(name.trim()) || dimension.name().equalsIgnoreCase(name.trim())) {
+				return dimension;
+			}
+		}
+		throw new IllegalArgumentException("Unknown dimension: " + name);
+	}
+
+	public boolean isDate() {
+		return this == DAY || this == MONTH || this == YEAR;
+	}
+}
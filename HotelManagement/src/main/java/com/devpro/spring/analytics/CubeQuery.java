@@ -0,0 +1,64 @@
+package com.devpro.spring.analytics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class CubeQuery {
+
+	public static final int MAX_GROUP_BY = 3;
+
+	private final List<CubeDimension> groupBy = new ArrayList<CubeDimension>();
+	private final Map<CubeDimension, Set<String>> filters = new EnumMap<CubeDimension, Set<String>>(CubeDimension.class);
+	private LocalDate from;
+	private LocalDate to;
+
+	public CubeQuery groupBy(CubeDimension dimension) {
+		if (groupBy.size() == MAX_GROUP_BY) {
+			throw new IllegalArgumentException("At most " + MAX_GROUP_BY + " group by dimensions are supported");
+		}
+		if (!groupBy.contains(dimension)) {
+			groupBy.add(dimension);
+		}
+		return this;
+	}
+
+	public CubeQuery filter(CubeDimension dimension, String value) {
+		if (dimension.isDate()) {
+			throw new IllegalArgumentException("Use between() to filter on dates");
+		}
+		Set<String> accepted = filters.get(dimension);
+		if (accepted == null) {
+			accepted = new HashSet<String>();
+			filters.put(dimension, accepted);
+		}
+		accepted.add(value);
+		return this;
+	}
+
+	public CubeQuery between(LocalDate from, LocalDate to) {
+		this.from = from;
+		this.to = to;
+		return this;
+	}
+
+	public List<CubeDimension> getGroupBy() {
+		return groupBy;
+	}
+
+	public Map<CubeDimension, Set<String>> getFilters() {
+		return filters;
+	}
+
+	public LocalDate getFrom() {
+		return from;
+	}
+
+	public LocalDate getTo() {
+		return to;
+	}
+}
@@ -0,0 +1,51 @@
+package com.devpro.spring.analytics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class CubeRow {
+
+	private Map<String, String> keys = new LinkedHashMap<String, String>();
+	private long amount;
+	private long count;
+
+	public CubeRow() {
+		super();
+	}
+
+	public CubeRow(Map<String, String> keys, long amount, long count) {
+		super();
+		this.keys = keys;
+		this.amount = amount;
+		this.count = count;
+	}
+
+	public Map<String, String> getKeys() {
+		return keys;
+	}
+
+	public void setKeys(Map<String, String> keys) {
+		this.keys = keys;
+	}
+
+	public long getAmount() {
+		return amount;
+	}
+
+	public void setAmount(long amount) {
+		this.amount = amount;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public void setCount(long count) {
+		this.count = count;
+	}
+
+	@Override
+	public String toString() {
+		return "CubeRow [keys=" + keys + ", amount=" + amount + ", count=" + count + "]";
+	}
+}
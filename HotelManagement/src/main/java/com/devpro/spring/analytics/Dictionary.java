@@ -0,0 +1,39 @@
+package com.devpro.spring.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ma hoa gia tri chuoi cua 1 chieu (loai phong, quoc tich...) thanh so nguyen lien tiep.
+ */
+public class Dictionary {
+
+	private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<String, Integer>();
+	private final List<String> values = new ArrayList<String>();
+
+	public synchronized int encode(String value) {
+		String key = value == null ? "" : value;
+		Integer code = codes.get(key);
+		if (code == null) {
+			code = values.size();
+			values.add(key);
+			codes.put(key, code);
+		}
+		return code;
+	}
+
+	// -1 neu gia tri chua tung xuat hien
+	public int lookup(String value) {
+		Integer code = codes.get(value == null ? "" : value);
+		return code == null ? -1 : code;
+	}
+
+	public synchronized String decode(int code) {
+		return values.get(code);
+	}
+
+	public synchronized int size() {
+		return values.size();
+	}
+}
@@ -0,0 +1,282 @@
+package com.devpro.spring.analytics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Kho du lieu cot (columnar) cho doanh thu lich su: moi dong la 1 khoan thu (tien phong, do an, dich vu).
+ * Chieu chuoi duoc ma hoa bang Dictionary, ngay luu bang epoch day, so tien luu mang long.
+ * Ghi them (append) duoc dong bo, truy van doc snapshot khong khoa va quet song song bang fork-join.
+ */
+public class FolioCube {
+
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final int SPLIT_THRESHOLD = 16384;
+	private static final int KEY_BITS = 20;
+
+	private final Map<CubeDimension, Dictionary> dictionaries = new EnumMap<CubeDimension, Dictionary>(CubeDimension.class);
+	private volatile Columns columns = new Columns(INITIAL_CAPACITY);
+
+	public FolioCube() {
+		dictionaries.put(CubeDimension.ROOM_TYPE, new Dictionary());
+		dictionaries.put(CubeDimension.VIP, new Dictionary());
+		dictionaries.put(CubeDimension.NATIONALITY, new Dictionary());
+		dictionaries.put(CubeDimension.SOURCE, new Dictionary());
+	}
+
+	public synchronized void append(String roomType, String vip, String nationality, String source, LocalDate date,
+			long amount) {
+		Columns current = columns;
+		if (current.size == current.amount.length) {
+			current = current.grow();
+		}
+		int row = current.size;
+		current.roomType[row] = dictionaries.get(CubeDimension.ROOM_TYPE).encode(roomType);
+		current.vip[row] = dictionaries.get(CubeDimension.VIP).encode(vip);
+		current.nationality[row] = dictionaries.get(CubeDimension.NATIONALITY).encode(nationality);
+		current.source[row] = dictionaries.get(CubeDimension.SOURCE).encode(source);
+		int day = (int) date.toEpochDay();
+		current.day[row] = day;
+		current.amount[row] = amount;
+		current.minDay = row == 0 ? day : Math.min(current.minDay, day);
+		current.maxDay = row == 0 ? day : Math.max(current.maxDay, day);
+		current.size = row + 1; // ghi volatile sau cung -> reader thay du lieu cua dong moi
+		columns = current;
+	}
+
+	public int size() {
+		return columns.size;
+	}
+
+	public List<CubeRow> query(CubeQuery query, ForkJoinPool pool) {
+		Columns snapshot = columns;
+		int size = snapshot.size;
+		if (size == 0) {
+			return new ArrayList<CubeRow>();
+		}
+		Plan plan = new Plan(query, snapshot);
+		Map<Long, long[]> groups = pool.invoke(new ScanTask(snapshot, plan, 0, size));
+
+		List<CubeRow> rows = new ArrayList<CubeRow>(groups.size());
+		for (Map.Entry<Long, long[]> group : groups.entrySet()) {
+			rows.add(new CubeRow(decodeKey(query.getGroupBy(), group.getKey()), group.getValue()[0],
+					group.getValue()[1]));
+		}
+		rows.sort((a, b) -> Long.compare(b.getAmount(), a.getAmount()));
+		return rows;
+	}
+
+	private Map<String, String> decodeKey(List<CubeDimension> groupBy, long key) {
+		String[] values = new String[groupBy.size()];
+		for (int i = groupBy.size() - 1; i >= 0; i--) {
+			int code = (int) (key & ((1L << KEY_BITS) - 1));
+			key >>>= KEY_BITS;
+			CubeDimension dimension = groupBy.get(i);
+			switch (dimension) {
+			case DAY:
+				values[i] = LocalDate.ofEpochDay(code).toString();
+				break;
+			case MONTH:
+				values[i] = String.format("%04d-%02d", code / 12, code % 12 + 1);
+				break;
+			case YEAR:
+				values[i] = String.valueOf(code);
+				break;
+			default:
+				values[i] = dictionaries.get(dimension).decode(code);
+				break;
+			}
+		}
+		Map<String, String> keys = new LinkedHashMap<String, String>();
+		for (int i = 0; i < values.length; i++) {
+			keys.put(groupBy.get(i).getParamName(), values[i]);
+		}
+		return keys;
+	}
+
+	private static final class Columns {
+		final int[] roomType;
+		final int[] vip;
+		final int[] nationality;
+		final int[] source;
+		final int[] day;
+		final long[] amount;
+		int minDay;
+		int maxDay;
+		volatile int size;
+
+		Columns(int capacity) {
+			roomType = new int[capacity];
+			vip = new int[capacity];
+			nationality = new int[capacity];
+			source = new int[capacity];
+			day = new int[capacity];
+			amount = new long[capacity];
+		}
+
+		private Columns(Columns old, int capacity) {
+			roomType = Arrays.copyOf(old.roomType, capacity);
+			vip = Arrays.copyOf(old.vip, capacity);
+			nationality = Arrays.copyOf(old.nationality, capacity);
+			source = Arrays.copyOf(old.source, capacity);
+			day = Arrays.copyOf(old.day, capacity);
+			amount = Arrays.copyOf(old.amount, capacity);
+			minDay = old.minDay;
+			maxDay = old.maxDay;
+			size = old.size;
+		}
+
+		Columns grow() {
+			return new Columns(this, amount.length * 2);
+		}
+
+		int[] column(CubeDimension dimension) {
+			switch (dimension) {
+			case ROOM_TYPE:
+				return roomType;
+			case VIP:
+				return vip;
+			case NATIONALITY:
+				return nationality;
+			case SOURCE:
+				return source;
+			default:
+				return day;
+			}
+		}
+	}
+
+	// bien dich truy van thanh mang tra cuu nguyen thuy de vong quet khong tao object
+	private final class Plan {
+		final int[][] filterColumns;
+		final boolean[][] accepted;
+		final int fromDay;
+		final int toDay;
+		final int[][] groupColumns;
+		final int[][] dateLookup;
+		final int minDay;
+
+		Plan(CubeQuery query, Columns snapshot) {
+			List<int[]> columnsToFilter = new ArrayList<int[]>();
+			List<boolean[]> acceptedCodes = new ArrayList<boolean[]>();
+			for (Map.Entry<CubeDimension, Set<String>> filter : query.getFilters().entrySet()) {
+				Dictionary dictionary = dictionaries.get(filter.getKey());
+				boolean[] codes = new boolean[dictionary.size()];
+				for (String value : filter.getValue()) {
+					int code = dictionary.lookup(value);
+					if (code >= 0 && code < codes.length) {
+						codes[code] = true;
+					}
+				}
+				columnsToFilter.add(snapshot.column(filter.getKey()));
+				acceptedCodes.add(codes);
+			}
+			filterColumns = columnsToFilter.toArray(new int[0][]);
+			accepted = acceptedCodes.toArray(new boolean[0][]);
+			fromDay = query.getFrom() == null ? Integer.MIN_VALUE : (int) query.getFrom().toEpochDay();
+			toDay = query.getTo() == null ? Integer.MAX_VALUE : (int) query.getTo().toEpochDay();
+
+			minDay = snapshot.minDay;
+			int span = snapshot.maxDay - snapshot.minDay + 1;
+			List<CubeDimension> groupBy = query.getGroupBy();
+			groupColumns = new int[groupBy.size()][];
+			dateLookup = new int[groupBy.size()][];
+			for (int i = 0; i < groupBy.size(); i++) {
+				CubeDimension dimension = groupBy.get(i);
+				groupColumns[i] = snapshot.column(dimension);
+				if (dimension == CubeDimension.MONTH || dimension == CubeDimension.YEAR) {
+					int[] lookup = new int[span];
+					for (int d = 0; d < span; d++) {
+						LocalDate date = LocalDate.ofEpochDay(minDay + d);
+						lookup[d] = dimension == CubeDimension.MONTH
+								? date.getYear() * 12 + date.getMonthValue() - 1
+								: date.getYear();
+					}
+					dateLookup[i] = lookup;
+				}
+			}
+		}
+	}
+
+	private static final class ScanTask extends RecursiveTask<Map<Long, long[]>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Columns columns;
+		private final Plan plan;
+		private final int from;
+		private final int to;
+
+		ScanTask(Columns columns, Plan plan, int from, int to) {
+			this.columns = columns;
+			this.plan = plan;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Map<Long, long[]> compute() {
+			if (to - from > SPLIT_THRESHOLD) {
+				int middle = (from + to) >>> 1;
+				ScanTask left = new ScanTask(columns, plan, from, middle);
+				left.fork();
+				Map<Long, long[]> right = new ScanTask(columns, plan, middle, to).compute();
+				Map<Long, long[]> result = left.join();
+				for (Map.Entry<Long, long[]> entry : right.entrySet()) {
+					long[] totals = result.get(entry.getKey());
+					if (totals == null) {
+						result.put(entry.getKey(), entry.getValue());
+					} else {
+						totals[0] += entry.getValue()[0];
+						totals[1] += entry.getValue()[1];
+					}
+				}
+				return result;
+			}
+			return scan();
+		}
+
+		private Map<Long, long[]> scan() {
+			Map<Long, long[]> groups = new HashMap<Long, long[]>();
+			int[] day = columns.day;
+			long[] amount = columns.amount;
+			rows: for (int row = from; row < to; row++) {
+				int d = day[row];
+				if (d < plan.fromDay || d > plan.toDay) {
+					continue;
+				}
+				for (int f = 0; f < plan.filterColumns.length; f++) {
+					int code = plan.filterColumns[f][row];
+					if (code >= plan.accepted[f].length || !plan.accepted[f][code]) {
+						continue rows;
+					}
+				}
+				long key = 0;
+				for (int g = 0; g < plan.groupColumns.length; g++) {
+					int value = plan.groupColumns[g][row];
+					if (plan.dateLookup[g] != null) {
+						value = plan.dateLookup[g][value - plan.minDay];
+					}
+					key = (key << KEY_BITS) | value;
+				}
+				long[] totals = groups.get(key);
+				if (totals == null) {
+					totals = new long[2];
+					groups.put(key, totals);
+				}
+				totals[0] += amount[row];
+				totals[1]++;
+			}
+			return groups;
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.devpro.spring.api;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devpro.spring.analytics.CubeDimension;
+import com.devpro.spring.analytics.CubeQuery;
+import com.devpro.spring.analytics.CubeRow;
+import com.devpro.spring.model.AjaxResponseBody;
+import com.devpro.spring.service.AnalyticsService;
+
+@RestController
+public class AnalyticsApi {
+
+	@Autowired
+	private AnalyticsService analyticsService;
+
+	// vd: /analytics/query?groupBy=nationality,month,roomType&source=room&vip=true&from=2019-01-01
+	@GetMapping("/analytics/query")
+	public ResponseEntity<?> query(@RequestParam(name = "groupBy", defaultValue = "") List<String> groupBy,
+			@RequestParam(name = "roomType", required = false) List<String> roomTypes,
+			@RequestParam(name = "vip", required = false) List<String> vips,
+			@RequestParam(name = "nationality", required = false) List<String> nationalities,
+			@RequestParam(name = "source", required = false) List<String> sources,
+			@RequestParam(name = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+			@RequestParam(name = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to) {
+
+		CubeQuery query = new CubeQuery().between(from, to);
+		try {
+			for (String dimension : groupBy) {
+				if (!dimension.trim().isEmpty()) {
+					query.groupBy(CubeDimension.fromParam(dimension));
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(new AjaxResponseBody(e.getMessage()));
+		}
+		addFilter(query, CubeDimension.ROOM_TYPE, roomTypes);
+		addFilter(query, CubeDimension.VIP, vips);
+		addFilter(query, CubeDimension.NATIONALITY, nationalities);
+		addFilter(query, CubeDimension.SOURCE, sources);
+
+		List<CubeRow> rows = analyticsService.query(query);
+		return ResponseEntity.ok(rows);
+	}
+
+	@PostMapping("/analytics/refresh")
+	public AjaxResponseBody refresh() {
+		int added = analyticsService.refresh();
+		return new AjaxResponseBody("Đã nạp thêm " + added + " dòng, tổng " + analyticsService.size());
+	}
+
+	private void addFilter(CubeQuery query, CubeDimension dimension, List<String> values) {
+		if (values != null) {
+			for (String value : values) {
+				query.filter(dimension, value);
+			}
+		}
+	}
+}
@@ -0,0 +1,199 @@
+package com.devpro.spring.api;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devpro.spring.datasource.ReadYourWrites;
+import com.devpro.spring.dto.ChamberLookupDto;
+import com.devpro.spring.dto.GuestOrderFoodDto;
+import com.devpro.spring.model.AjaxResponseBody;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.registry.ActiveRental;
+import com.devpro.spring.registry.ActiveRentalRegistry;
+import com.devpro.spring.service.ChamberService;
+import com.devpro.spring.service.GuestService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Ban JSON, xu ly bat dong bo cua tim phong trong (/check-in), danh sach phong dang o va tra cuu khach theo phong
+ * (/order/find-guest). Luong tomcat tra ve ngay khi nhan CompletableFuture (servlet async), ket noi cho doi khong
+ * giu luong nao; truy van JDBC chay tren pool rieng bang so ket noi Hikari.
+ * Hang doi day (hotel.availability.queue-capacity) -> 503 + Retry-After thay vi xep hang vo han. Qua
+ * hotel.availability.timeout-ms chua xong -> 503, khong doi den spring.mvc.async.request-timeout (danh cho export).
+ * Metric: hotel.availability.queue, hotel.availability.active, hotel.availability.rejected,
+ * hotel.availability.timeout.
+ */
+@RestController
+public class AvailabilityApi {
+
+	static final String QUEUE_METRIC = "hotel.availability.queue";
+	static final String ACTIVE_METRIC = "hotel.availability.active";
+	static final String REJECTED_METRIC = "hotel.availability.rejected";
+	static final String TIMEOUT_METRIC = "hotel.availability.timeout";
+
+	@Autowired
+	private ChamberService chamberService;
+
+	@Autowired
+	private GuestService guestService;
+
+	@Autowired
+	private ActiveRentalRegistry activeRentalRegistry;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	// <= 0: khong gioi han rieng
+	@Value("${hotel.availability.timeout-ms:5000}")
+	private long timeoutMs;
+
+	private final ThreadPoolExecutor executor;
+	private final ScheduledThreadPoolExecutor timeouts;
+
+	public AvailabilityApi(
+			@Value("${hotel.availability.threads:${spring.datasource.hikari.maximum-pool-size:10}}") int threads,
+			@Value("${hotel.availability.queue-capacity:200}") int queueCapacity) {
+		this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(queueCapacity), new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, "availability-" + count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		this.executor.allowCoreThreadTimeOut(true);
+		this.timeouts = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread thread = new Thread(r, "availability-timeout");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.timeouts.setRemoveOnCancelPolicy(true);
+	}
+
+	@PostConstruct
+	public void registerMetrics() {
+		Gauge.builder(QUEUE_METRIC, executor, e -> e.getQueue().size()).register(meterRegistry);
+		Gauge.builder(ACTIVE_METRIC, executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+		timeouts.shutdownNow();
+	}
+
+	// cung tham so voi /check-in, 1 trang 12 phong
+	@GetMapping("/availability/chambers")
+	public CompletableFuture<Page<ChamberLookupDto>> searchChambers(
+			@RequestParam(name = "page", defaultValue = "0") Integer page,
+			@RequestParam(name = "p", defaultValue = "2") Integer price,
+			@RequestParam(name = "t", defaultValue = "single") String type,
+			@RequestParam(name = "v", defaultValue = "true") String vip) {
+		Pageable pageable = PageRequest.of(page, 12);
+		return submit(() -> {
+			Page<Chamber> pages;
+			switch (price) {
+			case 1:
+				pages = chamberService.searchChamberWithPrice1(pageable, type, vip);
+				break;
+			case 2:
+				pages = chamberService.searchChamberWithPrice2(pageable, type, vip);
+				break;
+			default:
+				pages = chamberService.searchChamberWithPrice3(pageable, type, vip);
+				break;
+			}
+			return pages.map(c -> new ChamberLookupDto(c.getChamberId(), c.getChamberNumber(), c.getChamberType(),
+					c.getIsVip(), c.getPriceDay(), c.getChamberArea(), c.getNote(), c.getIsEmpty()));
+		});
+	}
+
+	// doc tu bang tra cuu trong bo nho, khong cham CSDL -> tra ve ngay tren luong tomcat
+	@GetMapping("/availability/occupied")
+	public List<String> getOccupiedChambers() {
+		return activeRentalRegistry.getOccupiedChamberNumbers();
+	}
+
+	@GetMapping("/availability/guest")
+	public CompletableFuture<GuestOrderFoodDto> findGuestByChamberNumber(
+			@RequestParam(name = "number") String chamberNumber) {
+		// find() doc database khi miss -> chay tren pool rieng, khong tren luong tomcat
+		return submit(() -> {
+			ActiveRental activeRental = activeRentalRegistry.find(chamberNumber);
+			if (activeRental == null) {
+				return null;
+			}
+			return new GuestOrderFoodDto(guestService.findGuest(activeRental.getGuestId()),
+					String.valueOf(activeRental.getRentalId()));
+		});
+	}
+
+	@ExceptionHandler({ RejectedExecutionException.class, TimeoutException.class })
+	public ResponseEntity<AjaxResponseBody> handleRejected() {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+				.body(new AjaxResponseBody("Hệ thống đang bận, vui lòng thử lại!"));
+	}
+
+	private <T> CompletableFuture<T> submit(Supplier<T> query) {
+		// ghim primary cua phien (read-your-writes) nam tren ThreadLocal cua luong request
+		Long pinnedUntil = ReadYourWrites.getPinnedUntil();
+		CompletableFuture<T> future;
+		try {
+			future = CompletableFuture.supplyAsync(() -> {
+				ReadYourWrites.setPinnedUntil(pinnedUntil);
+				try {
+					return query.get();
+				} finally {
+					ReadYourWrites.clear();
+				}
+			}, executor);
+		} catch (RejectedExecutionException e) {
+			Counter.builder(REJECTED_METRIC).register(meterRegistry).increment();
+			throw e;
+		}
+		if (timeoutMs > 0) {
+			// Java 8 chua co CompletableFuture.orTimeout
+			ScheduledFuture<?> timeout = timeouts.schedule(() -> {
+				// dem truoc khi hoan thanh future: luong nhan 503 da thay metric tang
+				if (!future.isDone()) {
+					Counter.builder(TIMEOUT_METRIC).register(meterRegistry).increment();
+					future.completeExceptionally(new TimeoutException("Availability lookup timed out"));
+				}
+			}, timeoutMs, TimeUnit.MILLISECONDS);
+			future.whenComplete((value, error) -> timeout.cancel(false));
+		}
+		return future;
+	}
+}
@@ -20,6 +20,7 @@ import com.devpro.spring.model.AjaxResponseBody;
 import com.devpro.spring.model.Chamber;
 import com.devpro.spring.model.Guest;
 import com.devpro.spring.model.Rental;
+import com.devpro.spring.registry.ActiveRentalRegistry;
 import com.devpro.spring.service.ChamberService;
 import com.devpro.spring.service.GuestService;
 import com.devpro.spring.service.RentalService;
@@ -36,6 +37,9 @@ public class CheckInApi {
 	@Autowired
 	private RentalService rentalService;
 
+	@Autowired
+	private ActiveRentalRegistry activeRentalRegistry;
+
 	@Transactional(rollbackFor = Exception.class)
 	// rollback khi gap bat ki ngoai le nao CHUA DC xu ly
 	@PostMapping("/rent-chamber")
@@ -86,6 +90,7 @@ public class CheckInApi {
 		rental.setPaid("false"); // khach chua co tra tien
 
 		rentalService.addRentalInfo(rental); // them hoa don thue phong
+		activeRentalRegistry.register(rental); // cap nhat bang tra cuu phong -> luot thue sau khi commit
 
 		if (guestCheckExAndCheckInserted != null)
 			result.setMessage("Check in thành công!");
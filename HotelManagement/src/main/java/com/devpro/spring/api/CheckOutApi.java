@@ -0,0 +1,86 @@
+package com.devpro.spring.api;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.Errors;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devpro.spring.dto.CheckOutCommitDto;
+import com.devpro.spring.dto.CheckOutResultDto;
+import com.devpro.spring.dto.ExpressCheckOutDto;
+import com.devpro.spring.model.AjaxResponseBody;
+import com.devpro.spring.registry.ActiveRental;
+import com.devpro.spring.registry.ActiveRentalRegistry;
+import com.devpro.spring.service.CheckOutService;
+
+@RestController
+public class CheckOutApi {
+
+	@Autowired
+	private CheckOutService checkOutService;
+
+	@Autowired
+	private ActiveRentalRegistry activeRentalRegistry;
+
+	@PostMapping("/check-out/commit")
+	public ResponseEntity<?> commitCheckOut(@Valid @RequestBody CheckOutCommitDto checkOut, Errors errors) {
+		if (errors.hasErrors()) {
+			return badRequest(errors);
+		}
+		CheckOutResultDto result = checkOutService.checkOut(checkOut.getRentalId(), checkOut.getMethod(),
+				checkOut.getSurcharge(), checkOut.getDeduction());
+		return toResponse(result);
+	}
+
+	// tra phong nhanh cho ca doan: 1 payment chung cho tat ca luot thue
+	@PostMapping("/check-out/express")
+	public ResponseEntity<?> expressCheckOut(@Valid @RequestBody ExpressCheckOutDto checkOut, Errors errors) {
+		if (errors.hasErrors()) {
+			return badRequest(errors);
+		}
+		Set<Long> rentalIds = new LinkedHashSet<>();
+		if (checkOut.getRentalIds() != null) {
+			rentalIds.addAll(checkOut.getRentalIds());
+		}
+		if (checkOut.getChamberNumbers() != null) {
+			for (String number : checkOut.getChamberNumbers()) {
+				ActiveRental active = activeRentalRegistry.find(number);
+				if (active != null) {
+					rentalIds.add(active.getRentalId());
+				}
+			}
+		}
+		if (rentalIds.isEmpty()) {
+			AjaxResponseBody result = new AjaxResponseBody();
+			result.setMessage("Không tìm thấy phòng đang có khách!");
+			return ResponseEntity.badRequest().body(result);
+		}
+		CheckOutResultDto result = checkOutService.expressCheckOut(rentalIds, checkOut.getMethod(),
+				checkOut.getSurcharge(), checkOut.getDeduction());
+		return toResponse(result);
+	}
+
+	private ResponseEntity<?> badRequest(Errors errors) {
+		AjaxResponseBody result = new AjaxResponseBody();
+		result.setMessage(
+				errors.getAllErrors().stream().map(x -> x.getDefaultMessage()).collect(Collectors.joining(",")));
+		return ResponseEntity.badRequest().body(result);
+	}
+
+	private ResponseEntity<?> toResponse(CheckOutResultDto result) {
+		if (!result.isSettled()) {
+			// khong luot thue nao cap nhat duoc (da thanh toan / gui lap)
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+		}
+		return ResponseEntity.ok(result);
+	}
+}
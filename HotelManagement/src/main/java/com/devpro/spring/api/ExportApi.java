@@ -0,0 +1,60 @@
+package com.devpro.spring.api;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.devpro.spring.export.ExportFormat;
+import com.devpro.spring.service.ExportService;
+
+@RestController
+public class ExportApi {
+
+	@Autowired
+	private ExportService exportService;
+
+	// du lieu duoc ghi truc tiep vao response trong luc doc cursor, khong nap List vao bo nho
+	@GetMapping("/export/guests")
+	public ResponseEntity<StreamingResponseBody> exportGuests(
+			@RequestParam(value = "format", defaultValue = "csv") String format) {
+		ExportFormat exportFormat = ExportFormat.fromParam(format);
+		return download("guests", exportFormat, out -> exportService.exportGuests(exportFormat, out));
+	}
+
+	@GetMapping("/export/employees")
+	public ResponseEntity<StreamingResponseBody> exportEmployees(
+			@RequestParam(value = "format", defaultValue = "csv") String format) {
+		ExportFormat exportFormat = ExportFormat.fromParam(format);
+		return download("employees", exportFormat, out -> exportService.exportEmployees(exportFormat, out));
+	}
+
+	@GetMapping("/export/rentals")
+	public ResponseEntity<StreamingResponseBody> exportRentals(
+			@RequestParam(value = "format", defaultValue = "csv") String format) {
+		ExportFormat exportFormat = ExportFormat.fromParam(format);
+		return download("rentals", exportFormat, out -> exportService.exportRentals(exportFormat, out));
+	}
+
+	@GetMapping("/export/orders")
+	public ResponseEntity<StreamingResponseBody> exportOrders(
+			@RequestParam(value = "format", defaultValue = "csv") String format) {
+		ExportFormat exportFormat = ExportFormat.fromParam(format);
+		return download("orders", exportFormat, out -> exportService.exportOrders(exportFormat, out));
+	}
+
+	private ResponseEntity<StreamingResponseBody> download(String name, ExportFormat format,
+			StreamingResponseBody body) {
+		String fileName = name + "-" + LocalDate.now() + "." + format.getExtension();
+		return ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+				.contentType(MediaType.parseMediaType(format.getContentType()))
+				.body(body);
+	}
+}
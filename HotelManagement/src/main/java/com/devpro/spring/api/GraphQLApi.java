@@ -0,0 +1,26 @@
+package com.devpro.spring.api;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devpro.spring.graphql.HotelGraphQL;
+
+@RestController
+public class GraphQLApi {
+
+	@Autowired
+	private HotelGraphQL hotelGraphQL;
+
+	// body {"query": "...", "variables": {...}, "operationName": "..."}, tra ve {"data": ..., "errors": [...]}
+	@PostMapping("/graphql")
+	public Map<String, Object> execute(@RequestBody Map<String, Object> request) {
+		@SuppressWarnings("unchecked")
+		Map<String, Object> variables = (Map<String, Object>) request.get("variables");
+		return hotelGraphQL.execute((String) request.get("query"), (String) request.get("operationName"), variables)
+				.toSpecification();
+	}
+}
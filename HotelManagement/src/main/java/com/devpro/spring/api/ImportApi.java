@@ -0,0 +1,53 @@
+package com.devpro.spring.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.devpro.spring.bulk.ImportKind;
+import com.devpro.spring.dto.ImportResultDto;
+import com.devpro.spring.model.AjaxResponseBody;
+import com.devpro.spring.model.ImportJob;
+import com.devpro.spring.service.ImportService;
+
+@RestController
+public class ImportApi {
+
+	@Autowired
+	private ImportService importService;
+
+	// kind: chambers | guests | employees | food-items, dong dau cua file la tieu de cot
+	// import bi loi giua chung -> gui lai cung file voi jobId de chay tiep tu checkpoint
+	@PostMapping("/import/{kind}")
+	public ResponseEntity<?> importCsv(@PathVariable("kind") String kind,
+			@RequestParam("file") MultipartFile file,
+			@RequestParam(value = "jobId", required = false) Long jobId) throws IOException {
+		ImportKind importKind = ImportKind.fromParam(kind);
+		if (importKind == null) {
+			return ResponseEntity.badRequest().body(new AjaxResponseBody("Loại dữ liệu không hợp lệ: " + kind));
+		}
+		try (InputStream in = file.getInputStream()) {
+			ImportResultDto result = importService.importCsv(importKind, file.getOriginalFilename(), in, jobId);
+			return ResponseEntity.ok(result);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(new AjaxResponseBody(e.getMessage()));
+		}
+	}
+
+	@GetMapping("/import/jobs/{id}")
+	public ResponseEntity<?> getJob(@PathVariable("id") Long id) {
+		ImportJob job = importService.findJob(id);
+		if (job == null) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok(job);
+	}
+}
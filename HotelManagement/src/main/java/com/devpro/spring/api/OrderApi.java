@@ -2,24 +2,33 @@ package com.devpro.spring.api;
 
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.devpro.spring.dto.CartDto;
+import com.devpro.spring.dto.CartPriceDto;
 import com.devpro.spring.dto.OrderFoodDto;
 import com.devpro.spring.dto.OrderServiceDto;
+import com.devpro.spring.journal.OrderJournal;
+import com.devpro.spring.journal.OrderJournalEntry;
 import com.devpro.spring.model.AjaxResponseBody;
 import com.devpro.spring.model.OrderFood;
 import com.devpro.spring.model.Rental;
 import com.devpro.spring.model.ServiceBill;
+import com.devpro.spring.pricing.PriceBookRegistry;
+import com.devpro.spring.registry.ActiveRentalRegistry;
 import com.devpro.spring.service.OrderFoodService;
 import com.devpro.spring.service.RentalService;
+import com.devpro.spring.service.ReportService;
 import com.devpro.spring.service.ServiceBillService;
 
 @RestController
@@ -34,7 +43,39 @@ public class OrderApi {
 	@Autowired
 	private RentalService rentalService;
 
-	@Transactional(rollbackFor = Exception.class) // update data
+	@Autowired
+	private ReportService reportService;
+
+	@Autowired
+	private PriceBookRegistry priceBookRegistry;
+
+	@Autowired
+	private OrderJournal orderJournal;
+
+	@Autowired
+	private ActiveRentalRegistry activeRentalRegistry;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+
+	@PostConstruct
+	public void init() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	// tinh ca gio hang trong 1 lan goi, khong doc database (bang gia trong bo nho)
+	@PostMapping("/order/price-cart")
+	public ResponseEntity<?> priceCart(@RequestBody CartDto cart) {
+		try {
+			return ResponseEntity.ok(priceBookRegistry.current().price(cart));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(new AjaxResponseBody(e.getMessage()));
+		}
+	}
+
+	// ghi truc tiep trong transactionTemplate: che do journal tra loi ma khong mo transaction / lay ket noi
 	@PostMapping("/order/order-food")
 	public ResponseEntity<?> addOrderFood(@Valid @RequestBody OrderFoodDto order, Errors error) {
 
@@ -44,18 +85,52 @@ public class OrderApi {
 					error.getAllErrors().stream().map(x -> x.getDefaultMessage()).collect(Collectors.joining(",")));
 			return ResponseEntity.badRequest().body(result);
 		}
+		// tong tien luon do server tinh tu danh sach mon / dich vu, khong luu so client gui
+		if (order.getItems() == null || order.getItems().isEmpty()) {
+			result.setMessage("Chưa chọn món ăn!");
+			return ResponseEntity.badRequest().body(result);
+		}
+		CartDto cart = new CartDto();
+		cart.setFoods(order.getItems());
+		cart.setFoodDiscount(order.getDiscount());
+		try {
+			CartPriceDto price = priceBookRegistry.current().price(cart);
+			order.setTotalPrice(String.valueOf(price.getFoodTotal()));
+		} catch (IllegalArgumentException e) {
+			result.setMessage(e.getMessage());
+			return ResponseEntity.badRequest().body(result);
+		}
 
-		Rental rental = rentalService.getRentalById(order.getRentalId());
-		OrderFood orderFood = new OrderFood(order.getTotalPrice(), order.getPeopleNumber(), order.getOrderDate(),
-				order.getDiscount(), order.getNote(), rental);
+		if (orderJournal.isEnabled() && !isActiveRental(order.getRentalId())) {
+			result.setMessage("Lượt thuê phòng không tồn tại hoặc đã thanh toán!");
+			return ResponseEntity.badRequest().body(result);
+		}
+		try {
+			if (orderJournal.isEnabled() && orderJournal.append(OrderJournalEntry.food(order))) {
+				// da nam trong journal tren dia, OrderJournal ghi vao order_food sau
+				result.setMessage("Lưu thành công!");
+				return ResponseEntity.ok(result);
+			}
+		} catch (IllegalArgumentException e) {
+			// luot thue dang tra phong: order nhan luc nay khong kip vao payment
+			result.setMessage("Lượt thuê phòng đang được thanh toán!");
+			return ResponseEntity.badRequest().body(result);
+		}
+
+		transactionTemplate.execute(status -> {
+			Rental rental = rentalService.getRentalById(order.getRentalId());
+			OrderFood orderFood = new OrderFood(order.getTotalPrice(), order.getPeopleNumber(), order.getOrderDate(),
+					order.getDiscount(), order.getNote(), rental);
 
-		orderFoodService.addOrderFood(orderFood);
+			orderFoodService.addOrderFood(orderFood);
+			reportService.recordFoodOrder(order.getOrderDate(), order.getTotalPrice()); // cong don vao bao cao ngay
+			return null;
+		});
 
 		result.setMessage("Lưu thành công!");
 		return ResponseEntity.ok(result);
 	}
 
-	@Transactional(rollbackFor = Exception.class)
 	@PostMapping("/order/order-service")
 	public ResponseEntity<?> addOrderService(@Valid @RequestBody OrderServiceDto order, Errors error) {
 
@@ -65,15 +140,53 @@ public class OrderApi {
 					error.getAllErrors().stream().map(x -> x.getDefaultMessage()).collect(Collectors.joining(",")));
 			return ResponseEntity.badRequest().body(result);
 		}
+		// tong tien luon do server tinh tu danh sach mon / dich vu, khong luu so client gui
+		if (order.getItems() == null || order.getItems().isEmpty()) {
+			result.setMessage("Chưa chọn dịch vụ!");
+			return ResponseEntity.badRequest().body(result);
+		}
+		CartDto cart = new CartDto();
+		cart.setServices(order.getItems());
+		cart.setServiceDiscount(order.getDiscount());
+		try {
+			CartPriceDto price = priceBookRegistry.current().price(cart);
+			order.setTotalPrice(String.valueOf(price.getServiceTotal()));
+		} catch (IllegalArgumentException e) {
+			result.setMessage(e.getMessage());
+			return ResponseEntity.badRequest().body(result);
+		}
+
+		if (orderJournal.isEnabled() && !isActiveRental(order.getRentalId())) {
+			result.setMessage("Lượt thuê phòng không tồn tại hoặc đã thanh toán!");
+			return ResponseEntity.badRequest().body(result);
+		}
+		try {
+			if (orderJournal.isEnabled() && orderJournal.append(OrderJournalEntry.service(order))) {
+				result.setMessage("Lưu thành công!");
+				return ResponseEntity.ok(result);
+			}
+		} catch (IllegalArgumentException e) {
+			result.setMessage("Lượt thuê phòng đang được thanh toán!");
+			return ResponseEntity.badRequest().body(result);
+		}
 
-		Rental rental = rentalService.getRentalById(order.getRentalId());
-		ServiceBill bill = new ServiceBill(order.getTotalPrice(), order.getOrderDate(), order.getDiscount(),
-				order.getNote(), rental);
-		serviceBillService.addServiceBill(bill);
+		transactionTemplate.execute(status -> {
+			Rental rental = rentalService.getRentalById(order.getRentalId());
+			ServiceBill bill = new ServiceBill(order.getTotalPrice(), order.getOrderDate(), order.getDiscount(),
+					order.getNote(), rental);
+			serviceBillService.addServiceBill(bill);
+			reportService.recordServiceBill(order.getOrderDate(), order.getTotalPrice());
+			return null;
+		});
 
 		result.setMessage("Lưu thành công!");
 		return ResponseEntity.ok(result);
 
 	}
 
+	// che do journal tra loi truoc khi ghi DB, rental sai luc ghi khong con bao duoc cho client: kiem tra truoc khi nhan
+	private boolean isActiveRental(Long rentalId) {
+		// khong co rental: append() tu choi, ghi truc tiep bao loi nhu truoc
+		return rentalId == null || activeRentalRegistry.isActive(rentalId);
+	}
 }
@@ -0,0 +1,55 @@
+package com.devpro.spring.api;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devpro.spring.dto.ReportDto;
+import com.devpro.spring.model.AjaxResponseBody;
+import com.devpro.spring.service.ReportService;
+
+@RestController
+public class ReportApi {
+
+	@Autowired
+	private ReportService reportService;
+
+	// cac bao cao chi doc tu bang rollup (report_daily_*), khong quet order_food/service_bill/rental
+	@GetMapping("/report/daily")
+	public ReportDto getDailyReport(@RequestParam("from") @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+			@RequestParam("to") @DateTimeFormat(iso = ISO.DATE) LocalDate to) {
+		return reportService.getReport(from, to);
+	}
+
+	@GetMapping("/report/month")
+	public ReportDto getMonthReport(@RequestParam("year") int year, @RequestParam("month") int month) {
+		YearMonth period = YearMonth.of(year, month);
+		return reportService.getReport(period.atDay(1), period.atEndOfMonth());
+	}
+
+	@GetMapping("/report/year")
+	public ReportDto getYearReport(@RequestParam("year") int year) {
+		return reportService.getReport(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+	}
+
+	@PostMapping("/report/backfill")
+	public ResponseEntity<?> backfill(@RequestParam("from") @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+			@RequestParam("to") @DateTimeFormat(iso = ISO.DATE) LocalDate to) {
+		AjaxResponseBody result = new AjaxResponseBody();
+		if (to.isBefore(from)) {
+			result.setMessage("Khoảng thời gian không hợp lệ!");
+			return ResponseEntity.badRequest().body(result);
+		}
+		int partitions = reportService.backfill(from, to);
+		result.setMessage("Đã tính lại báo cáo " + from + " - " + to + " (" + partitions + " phần)");
+		return ResponseEntity.ok(result);
+	}
+}
@@ -0,0 +1,45 @@
+package com.devpro.spring.assets;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Header cache cho tai nguyen tinh: URL co ma bam noi dung (VersionResourceResolver, vd main_styles-<md5>.css)
+ * khong bao gio doi noi dung nen cache 1 nam + immutable; URL khong ma bam (link cung trong js / css nen san)
+ * phai hoi lai server moi lan (no-cache, 304 theo Last-Modified).
+ * Dat header truoc khi xu ly: ResourceHttpRequestHandler (khong cau hinh cache) va Spring Security deu giu nguyen.
+ */
+public class StaticResourceCacheFilter extends OncePerRequestFilter {
+
+	static final String IMMUTABLE = "public, max-age=31536000, immutable";
+	static final String REVALIDATE = "no-cache";
+
+	private static final Pattern STATIC_FILE = Pattern
+			.compile(".*\\.(css|js|map|json|png|jpe?g|gif|svg|ico|eot|ttf|woff2?)$");
+	// ContentVersionStrategy: "-" + md5 hex truoc phan mo rong
+	private static final Pattern FINGERPRINTED = Pattern.compile(".*-[0-9a-f]{32}\\.[^/.]+$");
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		if (STATIC_FILE.matcher(path).matches()) {
+			response.setHeader(HttpHeaders.CACHE_CONTROL,
+					FINGERPRINTED.matcher(path).matches() ? IMMUTABLE : REVALIDATE);
+		}
+		filterChain.doFilter(request, response);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+	}
+}
@@ -0,0 +1,49 @@
+package com.devpro.spring.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.devpro.spring.dto.ImportErrorDto;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.repository.CustomQuery;
+
+@Component
+public class ChamberImportHandler extends ImportHandler {
+
+	private static final int NUMBER = 0, TYPE = 1, VIP = 2, PRICE = 3, AREA = 4, NOTE = 5;
+
+	@Override
+	public ImportKind getKind() {
+		return ImportKind.CHAMBER;
+	}
+
+	@Override
+	public String validate(String[] row) {
+		return firstError(required(row, NUMBER, "Số phòng"), required(row, TYPE, "Loại phòng"), bool(row, VIP, "VIP"),
+				digits(row, PRICE, "Giá ngày", true), digits(row, AREA, "Diện tích", false));
+	}
+
+	@Override
+	public List<ImportErrorDto> write(List<ImportRow> rows) {
+		List<ImportErrorDto> errors = new ArrayList<>();
+		List<ImportRow> accepted = rejectDuplicates(rows, NUMBER, CustomQuery.IMPORT_EXISTING_CHAMBERS, "Phòng", errors);
+		// chamber dung IDENTITY nen ghi bang JDBC batch thay vi JPA (hibernate tat batch insert voi IDENTITY)
+		if (accepted.isEmpty()) {
+			return errors;
+		}
+		namedJdbcTemplate.getJdbcOperations().batchUpdate(CustomQuery.IMPORT_INSERT_CHAMBER, accepted, accepted.size(),
+				(ps, row) -> {
+					ps.setString(1, row.getValue(NUMBER));
+					ps.setString(2, row.getValue(TYPE));
+					ps.setString(3, row.getValue(VIP));
+					ps.setString(4, row.getValue(PRICE));
+					ps.setString(5, row.getValue(AREA));
+					ps.setString(6, row.getValue(NOTE));
+					ps.setString(7, "true");
+				});
+		dataVersions.bump(Chamber.class);
+		return errors;
+	}
+}
@@ -0,0 +1,110 @@
+package com.devpro.spring.bulk;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Doc CSV (RFC 4180) tung ban ghi mot, khong nap ca file vao bo nho.
+ * Ho tro gia tri trong dau nhay kep, "" la dau nhay, xuong dong ben trong dau nhay.
+ */
+public class CsvRowReader implements Closeable {
+
+	private static final char BOM = '﻿';
+
+	private final BufferedReader reader;
+	private long lineNumber;
+	private long recordLine;
+	private boolean first = true;
+
+	public CsvRowReader(Reader reader) {
+		this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, 64 * 1024);
+	}
+
+	/**
+	 * @return cac cot cua ban ghi tiep theo, null khi het file. Dong trong bi bo qua.
+	 */
+	public String[] next() throws IOException {
+		String line;
+		do {
+			line = readLine();
+			if (line == null) {
+				return null;
+			}
+		} while (line.isEmpty());
+		recordLine = lineNumber;
+
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		int i = 0;
+		while (true) {
+			if (i >= line.length()) {
+				if (!quoted) {
+					break;
+				}
+				// xuong dong nam trong dau nhay -> noi dong tiep theo
+				String nextLine = readLine();
+				if (nextLine == null) {
+					throw new IOException("Dòng " + recordLine + ": thiếu dấu nháy đóng");
+				}
+				value.append('\n');
+				line = nextLine;
+				i = 0;
+				continue;
+			}
+			char c = line.charAt(i++);
+			if (quoted) {
+				if (c == '"') {
+					if (i < line.length() && line.charAt(i) == '"') {
+						value.append('"');
+						i++;
+					} else {
+						quoted = false;
+					}
+				} else {
+					value.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(value.toString().trim());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		values.add(value.toString().trim());
+		return values.toArray(new String[values.size()]);
+	}
+
+	/**
+	 * So dong (tinh tu 1) cua ban ghi vua doc, dung cho bao loi va checkpoint.
+	 */
+	public long getLineNumber() {
+		return recordLine;
+	}
+
+	private String readLine() throws IOException {
+		String line = reader.readLine();
+		if (line == null) {
+			return null;
+		}
+		lineNumber++;
+		if (first) {
+			first = false;
+			if (!line.isEmpty() && line.charAt(0) == BOM) {
+				line = line.substring(1);
+			}
+		}
+		return line;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
@@ -0,0 +1,61 @@
+package com.devpro.spring.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.stereotype.Component;
+
+import com.devpro.spring.dto.ImportErrorDto;
+import com.devpro.spring.model.Employee;
+import com.devpro.spring.model.Section;
+import com.devpro.spring.repository.CustomQuery;
+
+@Component
+public class EmployeeImportHandler extends ImportHandler {
+
+	private static final int NUMBER = 0, NAME = 1, BIRTH = 2, GENDER = 3, ADDRESS = 4, EMAIL = 5, PHONE = 6, SALARY = 7,
+			MANAGER = 8, SECTION = 9;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public ImportKind getKind() {
+		return ImportKind.EMPLOYEE;
+	}
+
+	@Override
+	public String validate(String[] row) {
+		return firstError(required(row, NUMBER, "Mã nhân viên"), required(row, NAME, "Họ tên"),
+				date(row, BIRTH, "Ngày sinh"), digits(row, SALARY, "Lương", false), required(row, SECTION, "Bộ phận"));
+	}
+
+	@Override
+	public List<ImportErrorDto> write(List<ImportRow> rows) {
+		List<ImportErrorDto> errors = new ArrayList<>();
+		List<ImportRow> accepted = rejectDuplicates(rows, NUMBER, CustomQuery.IMPORT_EXISTING_EMPLOYEES, "Mã nhân viên",
+				errors);
+		Map<String, Long> sections = loadLookup(CustomQuery.IMPORT_SECTIONS);
+		// employee dung id cap theo khoi tu employee_seq -> persist qua JPA,
+		// hibernate gom insert theo hibernate.jdbc.batch_size
+		for (ImportRow row : accepted) {
+			Long sectionId = sections.get(row.getValue(SECTION));
+			if (sectionId == null) {
+				errors.add(new ImportErrorDto(row.getLine(), "Bộ phận " + row.getValue(SECTION) + " không tồn tại"));
+				continue;
+			}
+			Employee employee = new Employee(row.getValue(NUMBER), row.getValue(NAME), row.getValue(BIRTH),
+					row.getValue(GENDER), row.getValue(ADDRESS), row.getValue(EMAIL), row.getValue(PHONE),
+					row.getValue(SALARY), row.getValue(MANAGER));
+			employee.setSection(entityManager.getReference(Section.class, sectionId));
+			entityManager.persist(employee);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		return errors;
+	}
+}
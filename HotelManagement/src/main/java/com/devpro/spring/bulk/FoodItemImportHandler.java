@@ -0,0 +1,55 @@
+package com.devpro.spring.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.stereotype.Component;
+
+import com.devpro.spring.dto.ImportErrorDto;
+import com.devpro.spring.model.Category;
+import com.devpro.spring.model.FoodItem;
+import com.devpro.spring.repository.CustomQuery;
+
+@Component
+public class FoodItemImportHandler extends ImportHandler {
+
+	private static final int NAME = 0, DESCRIPTION = 1, PRICE = 2, CATEGORY = 3;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public ImportKind getKind() {
+		return ImportKind.FOOD_ITEM;
+	}
+
+	@Override
+	public String validate(String[] row) {
+		return firstError(required(row, NAME, "Tên món"), digits(row, PRICE, "Giá", true),
+				required(row, CATEGORY, "Danh mục"));
+	}
+
+	@Override
+	public List<ImportErrorDto> write(List<ImportRow> rows) {
+		List<ImportErrorDto> errors = new ArrayList<>();
+		List<ImportRow> accepted = rejectDuplicates(rows, NAME, CustomQuery.IMPORT_EXISTING_FOOD_ITEMS, "Món", errors);
+		Map<String, Long> categories = loadLookup(CustomQuery.IMPORT_CATEGORIES);
+		for (ImportRow row : accepted) {
+			Long categoryId = categories.get(row.getValue(CATEGORY));
+			if (categoryId == null) {
+				errors.add(new ImportErrorDto(row.getLine(), "Danh mục " + row.getValue(CATEGORY) + " không tồn tại"));
+				continue;
+			}
+			entityManager.persist(new FoodItem(row.getValue(NAME), row.getValue(DESCRIPTION), row.getValue(PRICE), null,
+					entityManager.getReference(Category.class, categoryId)));
+		}
+		entityManager.flush();
+		entityManager.clear();
+		dataVersions.bump(FoodItem.class);
+		return errors;
+	}
+}
@@ -0,0 +1,50 @@
+package com.devpro.spring.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.devpro.spring.dto.ImportErrorDto;
+import com.devpro.spring.repository.CustomQuery;
+
+@Component
+public class GuestImportHandler extends ImportHandler {
+
+	private static final int NAME = 0, BIRTH = 1, ID_CARD = 2, PASSPORT = 3, ADDRESS = 4, NATIONALITY = 5, PHONE = 6,
+			EMAIL = 7, VIP = 8;
+
+	@Override
+	public ImportKind getKind() {
+		return ImportKind.GUEST;
+	}
+
+	@Override
+	public String validate(String[] row) {
+		return firstError(required(row, NAME, "Họ tên"), required(row, ID_CARD, "CMND"), date(row, BIRTH, "Ngày sinh"),
+				bool(row, VIP, "VIP"));
+	}
+
+	@Override
+	public List<ImportErrorDto> write(List<ImportRow> rows) {
+		List<ImportErrorDto> errors = new ArrayList<>();
+		List<ImportRow> accepted = rejectDuplicates(rows, ID_CARD, CustomQuery.IMPORT_EXISTING_GUESTS, "CMND", errors);
+		if (accepted.isEmpty()) {
+			return errors;
+		}
+		namedJdbcTemplate.getJdbcOperations().batchUpdate(CustomQuery.IMPORT_INSERT_GUEST, accepted, accepted.size(),
+				(ps, row) -> {
+					ps.setString(1, row.getValue(NAME));
+					ps.setString(2, row.getValue(BIRTH));
+					ps.setString(3, row.getValue(ID_CARD));
+					ps.setString(4, row.getValue(PASSPORT));
+					ps.setString(5, row.getValue(ADDRESS));
+					ps.setString(6, row.getValue(NATIONALITY));
+					ps.setString(7, row.getValue(PHONE));
+					ps.setString(8, row.getValue(EMAIL));
+					ps.setString(9, "false");
+					ps.setString(10, row.getValue(VIP));
+				});
+		return errors;
+	}
+}
@@ -0,0 +1,109 @@
+package com.devpro.spring.bulk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.devpro.spring.dto.ImportErrorDto;
+import com.devpro.spring.fragment.DataVersions;
+
+/**
+ * Kiem tra va ghi 1 loai du lieu import. validate() chay o luong doc file,
+ * write() chay o luong ghi, trong transaction cua batch.
+ */
+public abstract class ImportHandler {
+
+	private static final Pattern DIGITS = Pattern.compile("\\d{1,15}");
+	private static final Pattern DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
+	@Autowired
+	protected NamedParameterJdbcTemplate namedJdbcTemplate;
+
+	@Autowired
+	protected DataVersions dataVersions;
+
+	public abstract ImportKind getKind();
+
+	/**
+	 * @return thong bao loi, null neu dong hop le
+	 */
+	public abstract String validate(String[] row);
+
+	/**
+	 * Ghi cac dong hop le cua 1 batch, tra ve loi cua cac dong bi tu choi khi ghi (trung khoa...).
+	 */
+	public abstract List<ImportErrorDto> write(List<ImportRow> rows);
+
+	protected static String required(String[] row, int column, String label) {
+		return row[column].isEmpty() ? label + " không được để trống" : null;
+	}
+
+	protected static String digits(String[] row, int column, String label, boolean required) {
+		if (row[column].isEmpty()) {
+			return required ? label + " không được để trống" : null;
+		}
+		return DIGITS.matcher(row[column]).matches() ? null : label + " phải là số";
+	}
+
+	protected static String bool(String[] row, int column, String label) {
+		return "true".equals(row[column]) || "false".equals(row[column]) ? null : label + " phải là true/false";
+	}
+
+	protected static String date(String[] row, int column, String label) {
+		return row[column].isEmpty() || DATE.matcher(row[column]).matches() ? null : label + " phải có dạng yyyy-MM-dd";
+	}
+
+	protected static String firstError(String... errors) {
+		for (String error : errors) {
+			if (error != null) {
+				return error;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Loai cac dong trung khoa trong batch hoac da co trong database (cac batch truoc da commit nen cung duoc tinh).
+	 */
+	protected List<ImportRow> rejectDuplicates(List<ImportRow> rows, int keyColumn, String existingSql, String label,
+			List<ImportErrorDto> errors) {
+		Set<String> keys = new LinkedHashSet<>();
+		for (ImportRow row : rows) {
+			keys.add(row.getValue(keyColumn));
+		}
+		Set<String> existing = keys.isEmpty() ? Collections.<String>emptySet()
+				: new HashSet<>(namedJdbcTemplate.queryForList(existingSql,
+						Collections.singletonMap("keys", keys), String.class));
+		Set<String> seen = new HashSet<>();
+		List<ImportRow> accepted = new ArrayList<>(rows.size());
+		for (ImportRow row : rows) {
+			String key = row.getValue(keyColumn);
+			if (existing.contains(key) || !seen.add(key)) {
+				errors.add(new ImportErrorDto(row.getLine(), label + " " + key + " đã tồn tại"));
+			} else {
+				accepted.add(row);
+			}
+		}
+		return accepted;
+	}
+
+	/**
+	 * Bang tra cuu ten -> id cho bang danh muc nho (section, category).
+	 */
+	protected Map<String, Long> loadLookup(String sql) {
+		Map<String, Long> lookup = new HashMap<>();
+		namedJdbcTemplate.getJdbcOperations().query(sql, rs -> {
+			lookup.put(rs.getString(2), rs.getLong(1));
+		});
+		return lookup;
+	}
+}
@@ -0,0 +1,71 @@
+package com.devpro.spring.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public enum ImportKind {
+
+	CHAMBER("chambers", "chamber_number", "chamber_type", "is_vip", "price_day", "chamber_area", "note"),
+	GUEST("guests", "guest_name", "birth", "id_card", "passport", "address", "nationality", "phone_number", "email",
+			"is_vip"),
+	EMPLOYEE("employees", "employee_number", "employee_name", "birth", "gender", "address", "email", "phone_number",
+			"salary", "manager_number", "section_name"),
+	FOOD_ITEM("food-items", "food_item_name", "food_item_description", "price", "category_name");
+
+	private final String param;
+	private final String[] columns;
+
+	ImportKind(String param, String... columns) {
+		this.param = param;
+		this.columns = columns;
+	}
+
+	public String getParam() {
+		return param;
+	}
+
+	public String[] getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Vi tri cua tung cot trong dong tieu de, cot thua bi bo qua, thieu cot -> IllegalArgumentException.
+	 */
+	public int[] mapHeader(String[] header) {
+		int[] index = new int[columns.length];
+		List<String> missing = new ArrayList<>();
+		for (int c = 0; c < columns.length; c++) {
+			index[c] = -1;
+			for (int h = 0; h < header.length; h++) {
+				if (columns[c].equalsIgnoreCase(header[h])) {
+					index[c] = h;
+					break;
+				}
+			}
+			if (index[c] < 0) {
+				missing.add(columns[c]);
+			}
+		}
+		if (!missing.isEmpty()) {
+			throw new IllegalArgumentException("Thiếu cột: " + String.join(", ", missing));
+		}
+		return index;
+	}
+
+	public String[] project(String[] values, int[] index) {
+		String[] row = new String[index.length];
+		for (int c = 0; c < index.length; c++) {
+			row[c] = index[c] < values.length ? values[index[c]] : "";
+		}
+		return row;
+	}
+
+	public static ImportKind fromParam(String param) {
+		for (ImportKind kind : values()) {
+			if (kind.param.equalsIgnoreCase(param) || kind.name().equalsIgnoreCase(param)) {
+				return kind;
+			}
+		}
+		return null;
+	}
+}
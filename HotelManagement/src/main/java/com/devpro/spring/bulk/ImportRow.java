@@ -0,0 +1,38 @@
+package com.devpro.spring.bulk;
+
+/**
+ * 1 dong CSV da doc, cac cot da sap theo thu tu ImportKind.getColumns().
+ * error != null khi dong khong hop le, dong loi van di qua hang doi de checkpoint tang deu.
+ */
+public class ImportRow {
+
+	private final long line;
+	private final String[] values;
+	private final String error;
+
+	public ImportRow(long line, String[] values, String error) {
+		this.line = line;
+		this.values = values;
+		this.error = error;
+	}
+
+	public long getLine() {
+		return line;
+	}
+
+	public String[] getValues() {
+		return values;
+	}
+
+	public String getValue(int column) {
+		return values[column];
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public boolean isValid() {
+		return error == null;
+	}
+}
@@ -0,0 +1,40 @@
+package com.devpro.spring.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.thymeleaf.ITemplateEngine;
+
+import com.devpro.spring.fragment.DataVersions;
+import com.devpro.spring.fragment.FragmentCache;
+import com.devpro.spring.fragment.FragmentCacheDialect;
+import com.devpro.spring.fragment.FragmentVersionInterceptor;
+
+/**
+ * Cache HTML cua fragment Thymeleaf (luoi phong check-in, bang mon an / dich vu, select cua trang order).
+ */
+@Configuration
+public class FragmentCacheConfig {
+
+	// template engine nap lai dialect nay -> lay engine luc render, tranh phu thuoc vong
+	@Bean
+	public FragmentCacheDialect fragmentCacheDialect(FragmentCache fragmentCache,
+			ObjectProvider<ITemplateEngine> templateEngine) {
+		return new FragmentCacheDialect(fragmentCache, templateEngine::getObject);
+	}
+
+	// do tre toi da cua replica (ReplicaRoutingConfig): sau moi lan tang phien ban, request doc primary trong khoang nay
+	@Bean
+	public WebMvcConfigurer fragmentVersionInterceptorConfigurer(DataVersions dataVersions,
+			@Value("${hotel.datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(InterceptorRegistry registry) {
+				registry.addInterceptor(new FragmentVersionInterceptor(dataVersions, maxLagSeconds * 1000));
+			}
+		};
+	}
+}
@@ -0,0 +1,20 @@
+package com.devpro.spring.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+/**
+ * Module Jackson dang ky vao ObjectMapper cua Spring Boot (JacksonAutoConfiguration nhan moi bean Module).
+ */
+@Configuration
+public class JacksonConfig {
+
+	// sinh bytecode getter/setter cho DTO thay cho reflection khi serialize JSON cac API tra cuu
+	@Bean
+	public Module afterburnerModule() {
+		return new AfterburnerModule();
+	}
+}
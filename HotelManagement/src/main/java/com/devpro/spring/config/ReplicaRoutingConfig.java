@@ -0,0 +1,114 @@
+package com.devpro.spring.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.devpro.spring.datasource.DataSourceRole;
+import com.devpro.spring.datasource.ReadYourWritesFilter;
+import com.devpro.spring.datasource.ReplicaLagMonitor;
+import com.devpro.spring.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Chi bat khi co hotel.datasource.replica.url: transaction readOnly doc tu replica, con lai di primary
+ * (spring.datasource). Khong cau hinh replica thi dung datasource mac dinh cua Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hotel.datasource.replica.url")
+public class ReplicaRoutingConfig {
+
+	/**
+	 * 2 pool khong dang ky la bean kieu DataSource (tranh Spring Boot khoi tao schema/metrics 2 lan tren tung pool),
+	 * bean nay chi giu va dong chung khi tat ung dung.
+	 */
+	public static class RoutingPools implements DisposableBean {
+
+		private final HikariDataSource primary;
+		private final HikariDataSource replica;
+
+		public RoutingPools(HikariDataSource primary, HikariDataSource replica) {
+			this.primary = primary;
+			this.replica = replica;
+		}
+
+		public HikariDataSource getPrimary() {
+			return primary;
+		}
+
+		public HikariDataSource getReplica() {
+			return replica;
+		}
+
+		@Override
+		public void destroy() {
+			replica.close();
+			primary.close();
+		}
+	}
+
+	@Bean
+	public RoutingPools routingPools(DataSourceProperties properties, Environment environment,
+			@Value("${hotel.datasource.replica.url}") String url,
+			@Value("${hotel.datasource.replica.username:${spring.datasource.username:}}") String username,
+			@Value("${hotel.datasource.replica.password:${spring.datasource.password:}}") String password) {
+		Binder binder = Binder.get(environment);
+		HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+		primary.setPoolName("primary");
+
+		HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+				.driverClassName(properties.determineDriverClassName())
+				.url(url).username(username).password(password).build();
+		binder.bind("hotel.datasource.replica.hikari", Bindable.ofInstance(replica));
+		replica.setPoolName("replica");
+		replica.setReadOnly(true);
+		return new RoutingPools(primary, replica);
+	}
+
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitor(RoutingPools routingPools,
+			@Value("${hotel.datasource.replica.lag-query:SHOW SLAVE STATUS}") String lagQuery,
+			@Value("${hotel.datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+		ReplicaLagMonitor monitor = new ReplicaLagMonitor(routingPools.getReplica(), lagQuery, maxLagSeconds);
+		monitor.check();
+		return monitor;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(RoutingPools routingPools, ReplicaLagMonitor replicaLagMonitor,
+			@Value("${hotel.datasource.replica.pin-ms:5000}") long pinMillis) {
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaLagMonitor, pinMillis);
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(DataSourceRole.PRIMARY, routingPools.getPrimary());
+		targets.put(DataSourceRole.REPLICA, routingPools.getReplica());
+		routing.setTargetDataSources(targets);
+		routing.setDefaultTargetDataSource(routingPools.getPrimary());
+		routing.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	@Bean
+	public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+		FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registration;
+	}
+}
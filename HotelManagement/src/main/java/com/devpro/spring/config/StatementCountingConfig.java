@@ -0,0 +1,92 @@
+package com.devpro.spring.config;
+
+import java.util.Collections;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.devpro.spring.sql.ConnectionHoldTimingDataSource;
+import com.devpro.spring.sql.CountingStatementInspector;
+import com.devpro.spring.sql.StatementCountingFilter;
+import com.devpro.spring.sql.ViewRenderInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Dem SQL / entity / collection nap va thoi gian giu ket noi theo tung request (tat bang hotel.sql.count.enabled=false).
+ * Ngan sach theo mau URL cua handler: hotel.sql.budget.[/check-out/get-check-out-info]=6
+ */
+@Configuration
+@ConditionalOnProperty(name = "hotel.sql.count.enabled", matchIfMissing = true)
+public class StatementCountingConfig {
+
+	// static: BeanPostProcessor phai dang ky truoc cac bean khac cua lop cau hinh
+	@Bean
+	public static BeanPostProcessor connectionHoldTimingPostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource && !(bean instanceof ConnectionHoldTimingDataSource)) {
+					return new ConnectionHoldTimingDataSource((DataSource) bean);
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Bean
+	public WebMvcConfigurer viewRenderInterceptorConfigurer() {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(InterceptorRegistry registry) {
+				registry.addInterceptor(new ViewRenderInterceptor());
+			}
+		};
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer statementCountingCustomizer() {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+				new CountingStatementInspector(configuredInspector(properties.get(AvailableSettings.STATEMENT_INSPECTOR))));
+	}
+
+	@Bean
+	public FilterRegistrationBean<StatementCountingFilter> statementCountingFilter(MeterRegistry meterRegistry,
+			Environment environment, @Value("${hotel.sql.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+		Map<String, Integer> budgets = Binder.get(environment)
+				.bind("hotel.sql.budget", Bindable.mapOf(String.class, Integer.class)).orElse(Collections.emptyMap());
+		FilterRegistrationBean<StatementCountingFilter> registration = new FilterRegistrationBean<>(
+				new StatementCountingFilter(meterRegistry, nPlusOneThreshold, budgets));
+		// ngoai cung de tinh ca cau SQL cua security (remember-me, nap user)
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+
+	// inspector da cau hinh san qua spring.jpa.properties (ten lop, Class hoac instance)
+	private static StatementInspector configuredInspector(Object configured) {
+		if (configured == null || configured instanceof StatementInspector) {
+			return (StatementInspector) configured;
+		}
+		Class<?> type = configured instanceof Class ? (Class<?>) configured
+				: ClassUtils.resolveClassName(configured.toString(), StatementCountingConfig.class.getClassLoader());
+		return (StatementInspector) BeanUtils.instantiateClass(type);
+	}
+}
@@ -0,0 +1,25 @@
+package com.devpro.spring.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.devpro.spring.assets.StaticResourceCacheFilter;
+
+/**
+ * Tai nguyen tinh: chuoi resolver (ma bam noi dung, ban nen san .gz / .br) cau hinh qua spring.resources.chain.*,
+ * o day chi them header cache theo loai URL.
+ */
+@Configuration
+public class StaticResourceConfig {
+
+	@Bean
+	public FilterRegistrationBean<StaticResourceCacheFilter> staticResourceCacheFilter() {
+		FilterRegistrationBean<StaticResourceCacheFilter> registration = new FilterRegistrationBean<>(
+				new StaticResourceCacheFilter());
+		// truoc Spring Security (HeaderWriterFilter khong ghi de Cache-Control da co)
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+		return registration;
+	}
+}
@@ -50,13 +50,23 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter{
 		
 		http.authorizeRequests().antMatchers("/check-in").access("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')");
 		http.authorizeRequests().antMatchers("/check-out").access("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')");
+		http.authorizeRequests().antMatchers("/check-out/**").access("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')");
 		http.authorizeRequests().antMatchers("/chamber").access("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')");
 		http.authorizeRequests().antMatchers("/guest").access("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')");
 		http.authorizeRequests().antMatchers("/order").access("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')");
 		http.authorizeRequests().antMatchers("/service").access("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')");
+		http.authorizeRequests().antMatchers("/availability/**").access("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')");
+		http.authorizeRequests().antMatchers("/graphql").access("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')");
 		http.authorizeRequests().antMatchers("/employee").access("hasAnyRole('ROLE_ADMIN')");
 		http.authorizeRequests().antMatchers("/update-chamber/**").access("hasAnyRole('ROLE_ADMIN')");
 		http.authorizeRequests().antMatchers("/update-employee-info").access("hasAnyRole('ROLE_ADMIN')");
+		http.authorizeRequests().antMatchers("/report/**").access("hasAnyRole('ROLE_ADMIN')");
+		http.authorizeRequests().antMatchers("/analytics/**").access("hasAnyRole('ROLE_ADMIN')");
+		http.authorizeRequests().antMatchers("/import/**").access("hasAnyRole('ROLE_ADMIN')");
+		http.authorizeRequests().antMatchers("/export/employees").access("hasAnyRole('ROLE_ADMIN')");
+		http.authorizeRequests().antMatchers("/export/**").access("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')");
+		http.authorizeRequests().antMatchers("/actuator/health").permitAll();
+		http.authorizeRequests().antMatchers("/actuator/**").access("hasAnyRole('ROLE_ADMIN')");
 		http.authorizeRequests().and().exceptionHandling().accessDeniedPage("/403");
 	}
 	
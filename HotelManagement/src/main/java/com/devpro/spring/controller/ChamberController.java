@@ -4,15 +4,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
+import com.devpro.spring.dto.ChamberLookupDto;
 import com.devpro.spring.model.Chamber;
 import com.devpro.spring.service.ChamberService;
+import com.devpro.spring.utils.EtagUtils;
 
 @Controller
 public class ChamberController {
@@ -66,10 +69,14 @@ public class ChamberController {
 		return "chamber";
 	}
 
+	// 304 khi phong khong doi (ETag theo updated_at), khong doc ban ghi
 	@GetMapping("/find-chamber")
-	@ResponseBody
-	public Chamber findChamber(Long id) {
-		return chamberService.findChamber(id);
+	public ResponseEntity<ChamberLookupDto> findChamber(Long id, WebRequest request) {
+		return EtagUtils.lookup(request, "chamber", id, chamberService.getChamberUpdatedAt(id), () -> findChamber(id));
+	}
+
+	public ChamberLookupDto findChamber(Long id) {
+		return chamberService.getChamberLookup(id);
 	}
 
 	@PostMapping("/delete-chamber")
@@ -11,6 +11,8 @@ import com.devpro.spring.dto.CheckOutDto;
 import com.devpro.spring.model.Chamber;
 import com.devpro.spring.model.Guest;
 import com.devpro.spring.model.Rental;
+import com.devpro.spring.registry.ActiveRental;
+import com.devpro.spring.registry.ActiveRentalRegistry;
 import com.devpro.spring.service.RentalService;
 
 @Controller
@@ -19,18 +21,30 @@ public class CheckOutController {
 	@Autowired
 	private RentalService rentalService;
 	
+	@Autowired
+	private ActiveRentalRegistry activeRentalRegistry;
+	
 	@GetMapping("/check-out")
 	public String showCheckOut(Model model) {
-		model.addAttribute("list_chambers", rentalService.getListChamberOrderFood());
+		model.addAttribute("list_chambers", activeRentalRegistry.getOccupiedChamberNumbers());
 		return "check-out";
 	}
 	
 	@GetMapping("/check-out/get-check-out-info")
 	@ResponseBody
 	public CheckOutDto getCheckOutInfo(@RequestParam("number") String chamberNumber) {
-		Rental rental = rentalService.getRentalCheckOutInfo(chamberNumber);
-		Guest guest = rentalService.getGuestCheckOutInfo(chamberNumber);
-		Chamber chamber = rentalService.getChamberCheckOutInfo(chamberNumber);
+		// luot thue dang mo lay tu bang tra cuu trong bo nho, rental/guest/chamber doc theo khoa chinh trong 1 cau
+		ActiveRental activeRental = activeRentalRegistry.find(chamberNumber);
+		Rental rental = activeRental == null ? null : rentalService.getRentalForCheckOut(activeRental.getRentalId());
+		Guest guest = rental == null ? null : rental.getGuest();
+		Chamber chamber = null;
+		if (rental != null) {
+			for (Chamber item : rental.getChambers()) {
+				if (item.getChamberNumber().equals(chamberNumber)) {
+					chamber = item;
+				}
+			}
+		}
 		Integer totalFood = rentalService .getCheckTotalFoodPrice(chamberNumber);
 		Integer totalService = rentalService.getCheckTotalServicePrice(chamberNumber);
 		Integer numberDaysStay = rentalService.getNumberDaysStay(chamberNumber);
@@ -4,16 +4,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
+import com.devpro.spring.dto.EmployeeLookupDto;
 import com.devpro.spring.model.Employee;
 import com.devpro.spring.service.EmployeeService;
 import com.devpro.spring.service.SectionService;
+import com.devpro.spring.utils.EtagUtils;
 
 
 @Controller
@@ -95,9 +98,13 @@ public class EmployeeController {
 	}
 	
 	@GetMapping("/find-employee")
-	@ResponseBody
-	public Employee findOneEmployee(Long id) {
-		return employeeService.findEmployee(id);
+	public ResponseEntity<EmployeeLookupDto> findOneEmployee(Long id, WebRequest request) {
+		return EtagUtils.lookup(request, "employee", id, employeeService.getEmployeeUpdatedAt(id),
+				() -> findOneEmployee(id));
+	}
+
+	public EmployeeLookupDto findOneEmployee(Long id) {
+		return employeeService.getEmployeeLookup(id);
 		
 	}
 }
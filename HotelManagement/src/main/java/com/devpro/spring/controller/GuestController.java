@@ -4,15 +4,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
+import com.devpro.spring.dto.GuestLookupDto;
 import com.devpro.spring.model.Guest;
 import com.devpro.spring.service.GuestService;;
+import com.devpro.spring.utils.EtagUtils;
 
 @Controller
 public class GuestController {
@@ -79,8 +82,11 @@ public class GuestController {
 	}
 
 	@GetMapping("/find-guest")
-	@ResponseBody
-	public Guest findOneGuest(Long id) {
-		return guestService.findGuest(id);
+	public ResponseEntity<GuestLookupDto> findOneGuest(Long id, WebRequest request) {
+		return EtagUtils.lookup(request, "guest", id, guestService.getGuestUpdatedAt(id), () -> findOneGuest(id));
+	}
+
+	public GuestLookupDto findOneGuest(Long id) {
+		return guestService.getGuestLookup(id);
 	}
 }
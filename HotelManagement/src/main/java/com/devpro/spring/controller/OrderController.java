@@ -2,28 +2,33 @@ package com.devpro.spring.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
+import org.springframework.http.ResponseEntity;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
+import com.devpro.spring.dto.CartLineDto;
 import com.devpro.spring.dto.GuestOrderFoodDto;
 import com.devpro.spring.dto.MenuOrderFoodDto;
 import com.devpro.spring.dto.MenuOrderServiceDto;
 import com.devpro.spring.model.AjaxResponseBody;
-import com.devpro.spring.model.FoodItem;
 import com.devpro.spring.model.Guest;
-import com.devpro.spring.model.HotelService;
+import com.devpro.spring.pricing.PriceBook;
+import com.devpro.spring.pricing.PriceBookRegistry;
+import com.devpro.spring.registry.ActiveRental;
+import com.devpro.spring.registry.ActiveRentalRegistry;
 import com.devpro.spring.service.FoodItemService;
 import com.devpro.spring.service.GuestService;
 import com.devpro.spring.service.HotelServiceService;
-import com.devpro.spring.service.RentalService;
+import com.devpro.spring.utils.EtagUtils;
 
 @Controller
 public class OrderController {
 
 	@Autowired
-	private RentalService rentalService;
+	private ActiveRentalRegistry activeRentalRegistry;
 
 	@Autowired
 	private GuestService guestService;
@@ -34,9 +39,12 @@ public class OrderController {
 	@Autowired
 	private HotelServiceService hotelServiceService;
 
+	@Autowired
+	private PriceBookRegistry priceBookRegistry;
+
 	@GetMapping("/order")
 	public String showOrder(Model model) {
-		model.addAttribute("list_chambers", rentalService.getListChamberOrderFood());
+		model.addAttribute("list_chambers", activeRentalRegistry.getOccupiedChamberNumbers());
 		model.addAttribute("list_foods", foodItemService.loadToSelectOption());
 		model.addAttribute("list_services", hotelServiceService.loadHotel());
 		return "order";
@@ -45,39 +53,58 @@ public class OrderController {
 	@GetMapping("/order/find-guest")
 	@ResponseBody
 	public GuestOrderFoodDto findGuestByChamberNumber(@RequestParam(name = "number") String chamberNumber) {
-		Guest guest = guestService.getGuestInfoByChamberNumber(chamberNumber);
-		String rentalId = rentalService.getRentalIdOrderFood(chamberNumber);
-		GuestOrderFoodDto guestDto = new GuestOrderFoodDto(guest, rentalId);
+		// tra cuu phong -> luot thue dang mo tu bo nho, chi con 1 lan doc khach theo khoa chinh
+		ActiveRental activeRental = activeRentalRegistry.find(chamberNumber);
+		if (activeRental == null) {
+			return null;
+		}
+		Guest guest = guestService.findGuest(activeRental.getGuestId());
+		GuestOrderFoodDto guestDto = new GuestOrderFoodDto(guest, String.valueOf(activeRental.getRentalId()));
 		return guestDto;
 	}
 
 	@GetMapping("/order/add-menu")
 	@ResponseBody
-	public MenuOrderFoodDto addMenuFood(@RequestParam(name = "id", defaultValue = "0") Long id,
+	public ResponseEntity<?> addMenuFood(@RequestParam(name = "id", defaultValue = "0") Long id,
 			@RequestParam(name = "q", defaultValue = "0") int quantity) {
-		FoodItem foodItem = foodItemService.getItem(id);
-		MenuOrderFoodDto menu = new MenuOrderFoodDto(foodItem, quantity);
-		return menu;
+		// gia lay tu bang gia trong bo nho, khong doc FoodItem
+		try {
+			return ResponseEntity.ok(new MenuOrderFoodDto(priceBookRegistry.current().priceFood(id, quantity)));
+		} catch (IllegalArgumentException e) {
+			// mon khong ton tai / so luong <= 0: cung tra loi nhu /order/price-cart
+			return ResponseEntity.badRequest().body(new AjaxResponseBody(e.getMessage()));
+		}
 	}
 	
 	@GetMapping("/order/add-service")
 	@ResponseBody
-	public MenuOrderServiceDto addService(@RequestParam(name = "id",defaultValue = "0") Long id,
+	public ResponseEntity<?> addService(@RequestParam(name = "id",defaultValue = "0") Long id,
 			@RequestParam(name = "q", defaultValue = "0") String quantity) {	
-		HotelService service = hotelServiceService.getService(id);
-		MenuOrderServiceDto oService = new MenuOrderServiceDto(service, quantity);
-		return oService;
+		try {
+			return ResponseEntity.ok(new MenuOrderServiceDto(
+					priceBookRegistry.current().priceService(id, Integer.parseInt(quantity))));
+		} catch (IllegalArgumentException e) {
+			// NumberFormatException cua so luong cung la IllegalArgumentException
+			return ResponseEntity.badRequest().body(new AjaxResponseBody(e.getMessage()));
+		}
 	}
 	
+	// ETag lay tu bang gia trong bo nho: ca lan 200 lan 304 deu khong can SQL
 	@GetMapping("/order/service-price")
-	@ResponseBody
-	public AjaxResponseBody getServicePrice(@RequestParam(name = "id",defaultValue = "0") Long id) {
-		HotelService service = hotelServiceService.getService(id);
+	public ResponseEntity<AjaxResponseBody> getServicePrice(@RequestParam(name = "id",defaultValue = "0") Long id,
+			WebRequest request) {
+		PriceBook priceBook = priceBookRegistry.current();
+		return EtagUtils.lookup(request, "service-price", id, priceBook.getServiceUpdatedAt(id),
+				() -> servicePrice(priceBook, id));
+	}
+
+	private AjaxResponseBody servicePrice(PriceBook priceBook, Long id) {
+		CartLineDto line = priceBook.priceService(id, 1);
 		String result = null;
-		if(service.getPrice().equalsIgnoreCase("0")) {
+		if(line.getUnitPrice() == 0) {
 			result = "0";
 		}else {
-			result = service.getPrice()+"/"+service.getUnit();
+			result = line.getUnitPrice()+"/"+line.getUnit();
 		}
 		return new AjaxResponseBody(result);
 	}
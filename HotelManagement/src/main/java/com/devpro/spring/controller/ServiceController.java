@@ -6,20 +6,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import com.devpro.spring.dto.FoodItemDto;
+import com.devpro.spring.dto.HotelServiceLookupDto;
 import com.devpro.spring.model.Category;
 import com.devpro.spring.model.FoodItem;
 import com.devpro.spring.model.HotelService;
 import com.devpro.spring.service.CategoryService;
 import com.devpro.spring.service.FoodItemService;
 import com.devpro.spring.service.HotelServiceService;
+import com.devpro.spring.utils.EtagUtils;
 
 @Controller
 public class ServiceController {
@@ -84,16 +87,24 @@ public class ServiceController {
 		return "service";
 	}
 	
+	// ETag theo updated_at cua mon an (doi ten category khong doi ETag)
 	@GetMapping("/service/find-food")
-	@ResponseBody
-	public FoodItem findFood(Long id) {
-		return foodItemService.getItem(id);
+	public ResponseEntity<FoodItemDto> findFood(Long id, WebRequest request) {
+		return EtagUtils.lookup(request, "food", id, foodItemService.getItemUpdatedAt(id), () -> findFood(id));
+	}
+	
+	public FoodItemDto findFood(Long id) {
+		return foodItemService.getItemLookup(id);
 	}
 	
 	@GetMapping("/service/find-service")
-	@ResponseBody
-	public HotelService findService(Long id) {
-		return hotelServiceService.getService(id);
+	public ResponseEntity<HotelServiceLookupDto> findService(Long id, WebRequest request) {
+		return EtagUtils.lookup(request, "service", id, hotelServiceService.getServiceUpdatedAt(id),
+				() -> findService(id));
+	}
+	
+	public HotelServiceLookupDto findService(Long id) {
+		return hotelServiceService.getServiceLookup(id);
 	}
 	
 	@PostMapping("/service/update-food")
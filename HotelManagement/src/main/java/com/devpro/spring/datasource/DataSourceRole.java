@@ -0,0 +1,5 @@
+package com.devpro.spring.datasource;
+
+public enum DataSourceRole {
+	PRIMARY, REPLICA
+}
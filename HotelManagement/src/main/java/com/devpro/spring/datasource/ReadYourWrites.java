@@ -0,0 +1,39 @@
+package com.devpro.spring.datasource;
+
+/**
+ * Ghim cac lan doc vao primary trong mot khoang thoi gian sau khi phien vua ghi,
+ * de nguoi dung khong thay du lieu cu tu replica chua kip dong bo.
+ * Gia tri nam tren ThreadLocal cua request, ReadYourWritesFilter chep qua lai voi HttpSession.
+ */
+public final class ReadYourWrites {
+
+	private static final ThreadLocal<Long> PINNED_UNTIL = new ThreadLocal<>();
+
+	private ReadYourWrites() {
+	}
+
+	public static boolean isPinned() {
+		Long until = PINNED_UNTIL.get();
+		return until != null && until > System.currentTimeMillis();
+	}
+
+	public static void pin(long millis) {
+		PINNED_UNTIL.set(System.currentTimeMillis() + millis);
+	}
+
+	public static Long getPinnedUntil() {
+		return PINNED_UNTIL.get();
+	}
+
+	public static void setPinnedUntil(Long until) {
+		if (until == null) {
+			PINNED_UNTIL.remove();
+		} else {
+			PINNED_UNTIL.set(until);
+		}
+	}
+
+	public static void clear() {
+		PINNED_UNTIL.remove();
+	}
+}
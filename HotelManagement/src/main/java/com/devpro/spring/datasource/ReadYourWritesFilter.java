@@ -0,0 +1,44 @@
+package com.devpro.spring.datasource;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Nap moc ghim primary cua session vao request va luu lai sau request (neu request co ghi).
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	static final String SESSION_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".PINNED_UNTIL";
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		HttpSession session = request.getSession(false);
+		Long before = session == null ? null : (Long) session.getAttribute(SESSION_ATTRIBUTE);
+		ReadYourWrites.setPinnedUntil(before);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			Long after = ReadYourWrites.getPinnedUntil();
+			ReadYourWrites.clear();
+			if (after != null && !after.equals(before)) {
+				// session co the da duoc tao/doi trong request (dang nhap)
+				HttpSession current = request.getSession(false);
+				if (current != null) {
+					try {
+						current.setAttribute(SESSION_ATTRIBUTE, after);
+					} catch (IllegalStateException e) {
+						// session da bi huy (logout)
+					}
+				}
+			}
+		}
+	}
+}
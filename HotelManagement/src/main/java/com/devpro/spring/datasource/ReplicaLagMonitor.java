@@ -0,0 +1,81 @@
+package com.devpro.spring.datasource;
+
+import java.sql.ResultSetMetaData;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Do do tre cua replica dinh ky. Replica tre qua max-lag, ngung dong bo hoac khong ket noi duoc
+ * -> cac transaction readOnly quay ve primary cho toi lan kiem tra tiep theo.
+ */
+public class ReplicaLagMonitor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+	// cot cua "SHOW SLAVE STATUS" tren MySQL
+	private static final String MYSQL_LAG_COLUMN = "Seconds_Behind_Master";
+
+	private final JdbcTemplate replica;
+	private final String lagQuery;
+	private final long maxLagSeconds;
+
+	private volatile boolean usable;
+	private volatile Long lagSeconds;
+
+	public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, long maxLagSeconds) {
+		this.replica = new JdbcTemplate(replicaDataSource);
+		this.replica.setQueryTimeout(2);
+		this.lagQuery = lagQuery;
+		this.maxLagSeconds = maxLagSeconds;
+	}
+
+	@Scheduled(initialDelay = 0, fixedDelayString = "${hotel.datasource.replica.lag-check-ms:2000}")
+	public void check() {
+		Long lag;
+		try {
+			lag = replica.query(lagQuery, rs -> {
+				if (!rs.next()) {
+					return null; // khong phai replica (khong co trang thai dong bo)
+				}
+				ResultSetMetaData meta = rs.getMetaData();
+				for (int i = 1; i <= meta.getColumnCount(); i++) {
+					if (MYSQL_LAG_COLUMN.equalsIgnoreCase(meta.getColumnLabel(i))) {
+						Object value = rs.getObject(i);
+						return value == null ? null : ((Number) value).longValue();
+					}
+				}
+				Object value = rs.getObject(1);
+				return value == null ? null : ((Number) value).longValue();
+			});
+		} catch (RuntimeException e) {
+			LOGGER.warn("Replica lag check failed, reading from primary: {}", e.getMessage());
+			lag = null;
+		}
+		update(lag);
+	}
+
+	/**
+	 * @param lag do tre tinh bang giay, null = khong xac dinh
+	 */
+	public void update(Long lag) {
+		boolean nowUsable = lag != null && lag <= maxLagSeconds;
+		if (nowUsable != usable) {
+			LOGGER.info("Replica {} (lag: {}s, max: {}s)", nowUsable ? "enabled" : "disabled", lag, maxLagSeconds);
+		}
+		this.lagSeconds = lag;
+		this.usable = nowUsable;
+	}
+
+	public boolean isUsable() {
+		return usable;
+	}
+
+	public Long getLagSeconds() {
+		return lagSeconds;
+	}
+}
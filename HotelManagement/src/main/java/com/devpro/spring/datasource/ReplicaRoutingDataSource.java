@@ -0,0 +1,34 @@
+package com.devpro.spring.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Chon primary/replica khi lay connection. Phai boc trong LazyConnectionDataSourceProxy de connection that
+ * chi duoc lay o cau SQL dau tien, luc do co readOnly cua transaction da duoc dat.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	private final ReplicaLagMonitor lagMonitor;
+	private final long pinMillis;
+
+	public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor, long pinMillis) {
+		this.lagMonitor = lagMonitor;
+		this.pinMillis = pinMillis;
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (ReadYourWrites.isPinned() || !lagMonitor.isUsable()) {
+				return DataSourceRole.PRIMARY;
+			}
+			return DataSourceRole.REPLICA;
+		}
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			// transaction ghi -> cac lan doc tiep theo cua phien nay di primary trong pinMillis
+			ReadYourWrites.pin(pinMillis);
+		}
+		return DataSourceRole.PRIMARY;
+	}
+}
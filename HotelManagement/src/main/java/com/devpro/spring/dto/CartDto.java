@@ -0,0 +1,45 @@
+package com.devpro.spring.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// gio hang cua man hinh order: mon an va dich vu, giam gia (%) rieng cho tung hoa don
+public class CartDto {
+
+	private List<CartItemDto> foods = new ArrayList<>();
+	private List<CartItemDto> services = new ArrayList<>();
+	private String foodDiscount;
+	private String serviceDiscount;
+
+	public List<CartItemDto> getFoods() {
+		return foods;
+	}
+
+	public void setFoods(List<CartItemDto> foods) {
+		this.foods = foods;
+	}
+
+	public List<CartItemDto> getServices() {
+		return services;
+	}
+
+	public void setServices(List<CartItemDto> services) {
+		this.services = services;
+	}
+
+	public String getFoodDiscount() {
+		return foodDiscount;
+	}
+
+	public void setFoodDiscount(String foodDiscount) {
+		this.foodDiscount = foodDiscount;
+	}
+
+	public String getServiceDiscount() {
+		return serviceDiscount;
+	}
+
+	public void setServiceDiscount(String serviceDiscount) {
+		this.serviceDiscount = serviceDiscount;
+	}
+}
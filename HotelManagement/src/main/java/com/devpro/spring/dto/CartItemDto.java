@@ -0,0 +1,34 @@
+package com.devpro.spring.dto;
+
+// 1 dong cua gio hang gui len /order/price-cart, /order/order-food, /order/order-service: id mon/dich vu + so luong
+public class CartItemDto {
+
+	private Long id;
+	private int quantity;
+
+	public CartItemDto() {
+		super();
+	}
+
+	public CartItemDto(Long id, int quantity) {
+		super();
+		this.id = id;
+		this.quantity = quantity;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(int quantity) {
+		this.quantity = quantity;
+	}
+}
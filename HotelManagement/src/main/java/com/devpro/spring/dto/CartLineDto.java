@@ -0,0 +1,84 @@
+package com.devpro.spring.dto;
+
+// 1 dong da tinh tien: kind = "food" / "service", unit chi co voi dich vu
+public class CartLineDto {
+
+	private String kind;
+	private Long id;
+	private String name;
+	private String unit;
+	private long unitPrice;
+	private int quantity;
+	private long amount;
+
+	public CartLineDto() {
+		super();
+	}
+
+	public CartLineDto(String kind, Long id, String name, String unit, long unitPrice, int quantity) {
+		super();
+		this.kind = kind;
+		this.id = id;
+		this.name = name;
+		this.unit = unit;
+		this.unitPrice = unitPrice;
+		this.quantity = quantity;
+		this.amount = unitPrice * quantity;
+	}
+
+	public String getKind() {
+		return kind;
+	}
+
+	public void setKind(String kind) {
+		this.kind = kind;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getUnit() {
+		return unit;
+	}
+
+	public void setUnit(String unit) {
+		this.unit = unit;
+	}
+
+	public long getUnitPrice() {
+		return unitPrice;
+	}
+
+	public void setUnitPrice(long unitPrice) {
+		this.unitPrice = unitPrice;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(int quantity) {
+		this.quantity = quantity;
+	}
+
+	public long getAmount() {
+		return amount;
+	}
+
+	public void setAmount(long amount) {
+		this.amount = amount;
+	}
+}
@@ -0,0 +1,75 @@
+package com.devpro.spring.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// ket qua /order/price-cart, tinh tren server theo bang gia co phien ban priceVersion
+public class CartPriceDto {
+
+	private String priceVersion;
+	private List<CartLineDto> lines = new ArrayList<>();
+	private long foodSubtotal;
+	private long foodDiscount;
+	private long serviceSubtotal;
+	private long serviceDiscount;
+
+	public String getPriceVersion() {
+		return priceVersion;
+	}
+
+	public void setPriceVersion(String priceVersion) {
+		this.priceVersion = priceVersion;
+	}
+
+	public List<CartLineDto> getLines() {
+		return lines;
+	}
+
+	public void setLines(List<CartLineDto> lines) {
+		this.lines = lines;
+	}
+
+	public long getFoodSubtotal() {
+		return foodSubtotal;
+	}
+
+	public void setFoodSubtotal(long foodSubtotal) {
+		this.foodSubtotal = foodSubtotal;
+	}
+
+	public long getFoodDiscount() {
+		return foodDiscount;
+	}
+
+	public void setFoodDiscount(long foodDiscount) {
+		this.foodDiscount = foodDiscount;
+	}
+
+	public long getFoodTotal() {
+		return foodSubtotal - foodDiscount;
+	}
+
+	public long getServiceSubtotal() {
+		return serviceSubtotal;
+	}
+
+	public void setServiceSubtotal(long serviceSubtotal) {
+		this.serviceSubtotal = serviceSubtotal;
+	}
+
+	public long getServiceDiscount() {
+		return serviceDiscount;
+	}
+
+	public void setServiceDiscount(long serviceDiscount) {
+		this.serviceDiscount = serviceDiscount;
+	}
+
+	public long getServiceTotal() {
+		return serviceSubtotal - serviceDiscount;
+	}
+
+	public long getTotal() {
+		return getFoodTotal() + getServiceTotal();
+	}
+}
@@ -0,0 +1,95 @@
+package com.devpro.spring.dto;
+
+// du lieu JSON cho /find-chamber: nap bang 1 cau select new (khong nap entity / proxy, khong keo theo quan he)
+public class ChamberLookupDto {
+
+	private Long chamberId;
+	private String chamberNumber;
+	private String chamberType;
+	private String isVip;
+	private String priceDay;
+	private String chamberArea;
+	private String note;
+	private String isEmpty;
+
+	public ChamberLookupDto() {
+		super();
+	}
+
+	public ChamberLookupDto(Long chamberId, String chamberNumber, String chamberType, String isVip, String priceDay,
+			String chamberArea, String note, String isEmpty) {
+		super();
+		this.chamberId = chamberId;
+		this.chamberNumber = chamberNumber;
+		this.chamberType = chamberType;
+		this.isVip = isVip;
+		this.priceDay = priceDay;
+		this.chamberArea = chamberArea;
+		this.note = note;
+		this.isEmpty = isEmpty;
+	}
+
+	public Long getChamberId() {
+		return chamberId;
+	}
+
+	public void setChamberId(Long chamberId) {
+		this.chamberId = chamberId;
+	}
+
+	public String getChamberNumber() {
+		return chamberNumber;
+	}
+
+	public void setChamberNumber(String chamberNumber) {
+		this.chamberNumber = chamberNumber;
+	}
+
+	public String getChamberType() {
+		return chamberType;
+	}
+
+	public void setChamberType(String chamberType) {
+		this.chamberType = chamberType;
+	}
+
+	public String getIsVip() {
+		return isVip;
+	}
+
+	public void setIsVip(String isVip) {
+		this.isVip = isVip;
+	}
+
+	public String getPriceDay() {
+		return priceDay;
+	}
+
+	public void setPriceDay(String priceDay) {
+		this.priceDay = priceDay;
+	}
+
+	public String getChamberArea() {
+		return chamberArea;
+	}
+
+	public void setChamberArea(String chamberArea) {
+		this.chamberArea = chamberArea;
+	}
+
+	public String getNote() {
+		return note;
+	}
+
+	public void setNote(String note) {
+		this.note = note;
+	}
+
+	public String getIsEmpty() {
+		return isEmpty;
+	}
+
+	public void setIsEmpty(String isEmpty) {
+		this.isEmpty = isEmpty;
+	}
+}
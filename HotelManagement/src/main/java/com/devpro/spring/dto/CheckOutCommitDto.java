@@ -0,0 +1,51 @@
+package com.devpro.spring.dto;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+
+import com.devpro.spring.utils.FolioUtils;
+
+public class CheckOutCommitDto {
+
+	@NotNull(message = "Chưa chọn lượt thuê phòng!")
+	private Long rentalId;
+	// tien mat / the / chuyen khoan
+	private String method;
+	// phu thu va giam tru nhap tren man hinh tra phong
+	@Pattern(regexp = FolioUtils.AMOUNT_PATTERN, message = "Phụ thu phải là số không âm!")
+	private String surcharge;
+	@Pattern(regexp = FolioUtils.AMOUNT_PATTERN, message = "Giảm trừ phải là số không âm!")
+	private String deduction;
+
+	public Long getRentalId() {
+		return rentalId;
+	}
+
+	public void setRentalId(Long rentalId) {
+		this.rentalId = rentalId;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public void setMethod(String method) {
+		this.method = method;
+	}
+
+	public String getSurcharge() {
+		return surcharge;
+	}
+
+	public void setSurcharge(String surcharge) {
+		this.surcharge = surcharge;
+	}
+
+	public String getDeduction() {
+		return deduction;
+	}
+
+	public void setDeduction(String deduction) {
+		this.deduction = deduction;
+	}
+}
@@ -0,0 +1,103 @@
+package com.devpro.spring.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CheckOutResultDto {
+
+	private Long paymentId;
+	private String message;
+	private List<Long> settledRentalIds = new ArrayList<>();
+	// luot thue da duoc thanh toan truoc do (gui lap) hoac khong ton tai
+	private List<Long> skippedRentalIds = new ArrayList<>();
+	private long roomAmount;
+	private long foodAmount;
+	private long serviceAmount;
+	private long surcharge;
+	private long deduction;
+	private long totalAmount;
+
+	public boolean isSettled() {
+		return paymentId != null;
+	}
+
+	public Long getPaymentId() {
+		return paymentId;
+	}
+
+	public void setPaymentId(Long paymentId) {
+		this.paymentId = paymentId;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	public List<Long> getSettledRentalIds() {
+		return settledRentalIds;
+	}
+
+	public void setSettledRentalIds(List<Long> settledRentalIds) {
+		this.settledRentalIds = settledRentalIds;
+	}
+
+	public List<Long> getSkippedRentalIds() {
+		return skippedRentalIds;
+	}
+
+	public void setSkippedRentalIds(List<Long> skippedRentalIds) {
+		this.skippedRentalIds = skippedRentalIds;
+	}
+
+	public long getRoomAmount() {
+		return roomAmount;
+	}
+
+	public void setRoomAmount(long roomAmount) {
+		this.roomAmount = roomAmount;
+	}
+
+	public long getFoodAmount() {
+		return foodAmount;
+	}
+
+	public void setFoodAmount(long foodAmount) {
+		this.foodAmount = foodAmount;
+	}
+
+	public long getServiceAmount() {
+		return serviceAmount;
+	}
+
+	public void setServiceAmount(long serviceAmount) {
+		this.serviceAmount = serviceAmount;
+	}
+
+	public long getSurcharge() {
+		return surcharge;
+	}
+
+	public void setSurcharge(long surcharge) {
+		this.surcharge = surcharge;
+	}
+
+	public long getDeduction() {
+		return deduction;
+	}
+
+	public void setDeduction(long deduction) {
+		this.deduction = deduction;
+	}
+
+	public long getTotalAmount() {
+		return totalAmount;
+	}
+
+	public void setTotalAmount(long totalAmount) {
+		this.totalAmount = totalAmount;
+	}
+}
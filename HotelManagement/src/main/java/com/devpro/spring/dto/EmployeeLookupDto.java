@@ -0,0 +1,115 @@
+package com.devpro.spring.dto;
+
+// du lieu JSON cho /find-employee: nap bang 1 cau select new (khong nap entity / proxy, khong keo theo quan he)
+public class EmployeeLookupDto {
+
+	private Long employeeId;
+	private String employeeNumber;
+	private String employeeName;
+	private String birth;
+	private String gender;
+	private String address;
+	private String email;
+	private String phoneNumber;
+	private String salary;
+	private String managerNumber;
+
+	public EmployeeLookupDto() {
+		super();
+	}
+
+	public EmployeeLookupDto(Long employeeId, String employeeNumber, String employeeName, String birth, String gender,
+			String address, String email, String phoneNumber, String salary, String managerNumber) {
+		super();
+		this.employeeId = employeeId;
+		this.employeeNumber = employeeNumber;
+		this.employeeName = employeeName;
+		this.birth = birth;
+		this.gender = gender;
+		this.address = address;
+		this.email = email;
+		this.phoneNumber = phoneNumber;
+		this.salary = salary;
+		this.managerNumber = managerNumber;
+	}
+
+	public Long getEmployeeId() {
+		return employeeId;
+	}
+
+	public void setEmployeeId(Long employeeId) {
+		this.employeeId = employeeId;
+	}
+
+	public String getEmployeeNumber() {
+		return employeeNumber;
+	}
+
+	public void setEmployeeNumber(String employeeNumber) {
+		this.employeeNumber = employeeNumber;
+	}
+
+	public String getEmployeeName() {
+		return employeeName;
+	}
+
+	public void setEmployeeName(String employeeName) {
+		this.employeeName = employeeName;
+	}
+
+	public String getBirth() {
+		return birth;
+	}
+
+	public void setBirth(String birth) {
+		this.birth = birth;
+	}
+
+	public String getGender() {
+		return gender;
+	}
+
+	public void setGender(String gender) {
+		this.gender = gender;
+	}
+
+	public String getAddress() {
+		return address;
+	}
+
+	public void setAddress(String address) {
+		this.address = address;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public String getPhoneNumber() {
+		return phoneNumber;
+	}
+
+	public void setPhoneNumber(String phoneNumber) {
+		this.phoneNumber = phoneNumber;
+	}
+
+	public String getSalary() {
+		return salary;
+	}
+
+	public void setSalary(String salary) {
+		this.salary = salary;
+	}
+
+	public String getManagerNumber() {
+		return managerNumber;
+	}
+
+	public void setManagerNumber(String managerNumber) {
+		this.managerNumber = managerNumber;
+	}
+}
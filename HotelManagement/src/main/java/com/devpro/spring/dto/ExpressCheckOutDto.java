@@ -0,0 +1,60 @@
+package com.devpro.spring.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.constraints.Pattern;
+
+import com.devpro.spring.utils.FolioUtils;
+
+public class ExpressCheckOutDto {
+
+	// doan khach tra phong cung luc: chon theo ma luot thue hoac theo so phong
+	private List<Long> rentalIds = new ArrayList<>();
+	private List<String> chamberNumbers = new ArrayList<>();
+	private String method;
+	@Pattern(regexp = FolioUtils.AMOUNT_PATTERN, message = "Phụ thu phải là số không âm!")
+	private String surcharge;
+	@Pattern(regexp = FolioUtils.AMOUNT_PATTERN, message = "Giảm trừ phải là số không âm!")
+	private String deduction;
+
+	public List<Long> getRentalIds() {
+		return rentalIds;
+	}
+
+	public void setRentalIds(List<Long> rentalIds) {
+		this.rentalIds = rentalIds;
+	}
+
+	public List<String> getChamberNumbers() {
+		return chamberNumbers;
+	}
+
+	public void setChamberNumbers(List<String> chamberNumbers) {
+		this.chamberNumbers = chamberNumbers;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public void setMethod(String method) {
+		this.method = method;
+	}
+
+	public String getSurcharge() {
+		return surcharge;
+	}
+
+	public void setSurcharge(String surcharge) {
+		this.surcharge = surcharge;
+	}
+
+	public String getDeduction() {
+		return deduction;
+	}
+
+	public void setDeduction(String deduction) {
+		this.deduction = deduction;
+	}
+}
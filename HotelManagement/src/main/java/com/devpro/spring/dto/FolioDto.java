@@ -0,0 +1,58 @@
+package com.devpro.spring.dto;
+
+// so tien tam tinh cua luot thue dang mo (type Folio cua /graphql), cach tinh giong luc tra phong
+public class FolioDto {
+
+	private long nights;
+	private long room;
+	private long food;
+	private long service;
+
+	public FolioDto() {
+		super();
+	}
+
+	public FolioDto(long nights, long room, long food, long service) {
+		super();
+		this.nights = nights;
+		this.room = room;
+		this.food = food;
+		this.service = service;
+	}
+
+	public long getNights() {
+		return nights;
+	}
+
+	public void setNights(long nights) {
+		this.nights = nights;
+	}
+
+	public long getRoom() {
+		return room;
+	}
+
+	public void setRoom(long room) {
+		this.room = room;
+	}
+
+	public long getFood() {
+		return food;
+	}
+
+	public void setFood(long food) {
+		this.food = food;
+	}
+
+	public long getService() {
+		return service;
+	}
+
+	public void setService(long service) {
+		this.service = service;
+	}
+
+	public long getTotal() {
+		return room + food + service;
+	}
+}
@@ -0,0 +1,125 @@
+package com.devpro.spring.dto;
+
+// du lieu JSON cho /find-guest: nap bang 1 cau select new (khong nap entity / proxy, khong keo theo quan he)
+public class GuestLookupDto {
+
+	private long guestId;
+	private String guestName;
+	private String birth;
+	private String idCard;
+	private String passport;
+	private String address;
+	private String nationality;
+	private String phoneNumber;
+	private String email;
+	private String isFamiliar;
+	private String isVip;
+
+	public GuestLookupDto() {
+		super();
+	}
+
+	public GuestLookupDto(long guestId, String guestName, String birth, String idCard, String passport, String address,
+			String nationality, String phoneNumber, String email, String isFamiliar, String isVip) {
+		super();
+		this.guestId = guestId;
+		this.guestName = guestName;
+		this.birth = birth;
+		this.idCard = idCard;
+		this.passport = passport;
+		this.address = address;
+		this.nationality = nationality;
+		this.phoneNumber = phoneNumber;
+		this.email = email;
+		this.isFamiliar = isFamiliar;
+		this.isVip = isVip;
+	}
+
+	public long getGuestId() {
+		return guestId;
+	}
+
+	public void setGuestId(long guestId) {
+		this.guestId = guestId;
+	}
+
+	public String getGuestName() {
+		return guestName;
+	}
+
+	public void setGuestName(String guestName) {
+		this.guestName = guestName;
+	}
+
+	public String getBirth() {
+		return birth;
+	}
+
+	public void setBirth(String birth) {
+		this.birth = birth;
+	}
+
+	public String getIdCard() {
+		return idCard;
+	}
+
+	public void setIdCard(String idCard) {
+		this.idCard = idCard;
+	}
+
+	public String getPassport() {
+		return passport;
+	}
+
+	public void setPassport(String passport) {
+		this.passport = passport;
+	}
+
+	public String getAddress() {
+		return address;
+	}
+
+	public void setAddress(String address) {
+		this.address = address;
+	}
+
+	public String getNationality() {
+		return nationality;
+	}
+
+	public void setNationality(String nationality) {
+		this.nationality = nationality;
+	}
+
+	public String getPhoneNumber() {
+		return phoneNumber;
+	}
+
+	public void setPhoneNumber(String phoneNumber) {
+		this.phoneNumber = phoneNumber;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public String getIsFamiliar() {
+		return isFamiliar;
+	}
+
+	public void setIsFamiliar(String isFamiliar) {
+		this.isFamiliar = isFamiliar;
+	}
+
+	public String getIsVip() {
+		return isVip;
+	}
+
+	public void setIsVip(String isVip) {
+		this.isVip = isVip;
+	}
+}
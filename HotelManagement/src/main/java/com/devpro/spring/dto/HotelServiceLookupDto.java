@@ -0,0 +1,74 @@
+package com.devpro.spring.dto;
+
+// du lieu JSON cho /service/find-service: nap bang 1 cau select new (khong nap entity / proxy)
+public class HotelServiceLookupDto {
+
+	private Long id;
+	private String name;
+	private String price;
+	private String unit;
+	private String description;
+	private String note;
+
+	public HotelServiceLookupDto() {
+		super();
+	}
+
+	public HotelServiceLookupDto(Long id, String name, String price, String unit, String description, String note) {
+		super();
+		this.id = id;
+		this.name = name;
+		this.price = price;
+		this.unit = unit;
+		this.description = description;
+		this.note = note;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getPrice() {
+		return price;
+	}
+
+	public void setPrice(String price) {
+		this.price = price;
+	}
+
+	public String getUnit() {
+		return unit;
+	}
+
+	public void setUnit(String unit) {
+		this.unit = unit;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public String getNote() {
+		return note;
+	}
+
+	public void setNote(String note) {
+		this.note = note;
+	}
+}
@@ -0,0 +1,33 @@
+package com.devpro.spring.dto;
+
+public class ImportErrorDto {
+
+	private long line;
+	private String message;
+
+	public ImportErrorDto() {
+		super();
+	}
+
+	public ImportErrorDto(long line, String message) {
+		super();
+		this.line = line;
+		this.message = message;
+	}
+
+	public long getLine() {
+		return line;
+	}
+
+	public void setLine(long line) {
+		this.line = line;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+}
@@ -0,0 +1,90 @@
+package com.devpro.spring.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResultDto {
+
+	private Long jobId;
+	private String kind;
+	private String status;
+	private String message;
+	// so dong bo qua vi da commit o lan chay truoc (chay lai tu checkpoint)
+	private long skippedRows;
+	private long importedRows;
+	private long errorRows;
+	private long elapsedMillis;
+	private List<ImportErrorDto> errors = new ArrayList<>();
+
+	public Long getJobId() {
+		return jobId;
+	}
+
+	public void setJobId(Long jobId) {
+		this.jobId = jobId;
+	}
+
+	public String getKind() {
+		return kind;
+	}
+
+	public void setKind(String kind) {
+		this.kind = kind;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	public long getSkippedRows() {
+		return skippedRows;
+	}
+
+	public void setSkippedRows(long skippedRows) {
+		this.skippedRows = skippedRows;
+	}
+
+	public long getImportedRows() {
+		return importedRows;
+	}
+
+	public void setImportedRows(long importedRows) {
+		this.importedRows = importedRows;
+	}
+
+	public long getErrorRows() {
+		return errorRows;
+	}
+
+	public void setErrorRows(long errorRows) {
+		this.errorRows = errorRows;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public List<ImportErrorDto> getErrors() {
+		return errors;
+	}
+
+	public void setErrors(List<ImportErrorDto> errors) {
+		this.errors = errors;
+	}
+}
@@ -38,6 +38,15 @@ public class MenuOrderFoodDto {
 		this.price = item.getPrice();
 		this.total = String.valueOf(this.quantity*Integer.parseInt(this.price));
 	}
+	// dong da tinh tien tu bang gia (PriceBook), khong can doc FoodItem
+	public MenuOrderFoodDto(CartLineDto line) {
+		super();
+		this.id = line.getId();
+		this.name = line.getName();
+		this.quantity = line.getQuantity();
+		this.price = String.valueOf(line.getUnitPrice());
+		this.total = String.valueOf(line.getAmount());
+	}
 	@Override
 	public String toString() {
 		return "MenuOrderFoodDto [id=" + id + ", name=" + name + ", quantity=" + quantity + ", price=" + price
@@ -20,6 +20,15 @@ public class MenuOrderServiceDto {
 		this.time = quantity;
 		this.total = String.valueOf((Integer.parseInt(service.getPrice())*Integer.parseInt(quantity)));
 	}
+	// dong da tinh tien tu bang gia (PriceBook), khong can doc HotelService
+	public MenuOrderServiceDto(CartLineDto line) {
+		super();
+		this.id = line.getId();
+		this.name = line.getName();
+		this.price = line.getUnitPrice() == 0 ? "0" : line.getUnitPrice() + "/" + line.getUnit();
+		this.time = String.valueOf(line.getQuantity());
+		this.total = String.valueOf(line.getAmount());
+	}
 	public Long getId() {
 		return id;
 	}
@@ -1,5 +1,7 @@
 package com.devpro.spring.dto;
 
+import java.util.List;
+
 public class OrderFoodDto {
 	
 	private Long rentalId;
@@ -54,4 +56,12 @@ public class OrderFoodDto {
 	public void setTotalPrice(String totalPrice) {
 		this.totalPrice = totalPrice;
 	}
+	// co thi tong tien tinh lai tren server theo bang gia, totalPrice cua client bi bo qua
+	private List<CartItemDto> items;
+	public List<CartItemDto> getItems() {
+		return items;
+	}
+	public void setItems(List<CartItemDto> items) {
+		this.items = items;
+	}
 }
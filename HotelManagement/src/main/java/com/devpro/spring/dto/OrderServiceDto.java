@@ -1,5 +1,7 @@
 package com.devpro.spring.dto;
 
+import java.util.List;
+
 public class OrderServiceDto {
 
 	private Long rentalId;
@@ -45,4 +47,12 @@ public class OrderServiceDto {
 	private String note;
 	private String discount;
 	private String totalPrice;
+	// co thi tong tien tinh lai tren server theo bang gia, totalPrice cua client bi bo qua
+	private List<CartItemDto> items;
+	public List<CartItemDto> getItems() {
+		return items;
+	}
+	public void setItems(List<CartItemDto> items) {
+		this.items = items;
+	}
 }
@@ -0,0 +1,120 @@
+package com.devpro.spring.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReportDto {
+
+	private String from;
+	private String to;
+	private long roomRevenue;
+	private long foodRevenue;
+	private long serviceRevenue;
+	private long totalRevenue;
+	private long occupiedRoomNights;
+	private long availableRoomNights;
+	private double occupancyRate;
+	private long checkOuts;
+	private double averageStay;
+	private List<ReportRowDto> rows = new ArrayList<ReportRowDto>();
+
+	public ReportDto() {
+		super();
+	}
+
+	public String getFrom() {
+		return from;
+	}
+
+	public void setFrom(String from) {
+		this.from = from;
+	}
+
+	public String getTo() {
+		return to;
+	}
+
+	public void setTo(String to) {
+		this.to = to;
+	}
+
+	public long getRoomRevenue() {
+		return roomRevenue;
+	}
+
+	public void setRoomRevenue(long roomRevenue) {
+		this.roomRevenue = roomRevenue;
+	}
+
+	public long getFoodRevenue() {
+		return foodRevenue;
+	}
+
+	public void setFoodRevenue(long foodRevenue) {
+		this.foodRevenue = foodRevenue;
+	}
+
+	public long getServiceRevenue() {
+		return serviceRevenue;
+	}
+
+	public void setServiceRevenue(long serviceRevenue) {
+		this.serviceRevenue = serviceRevenue;
+	}
+
+	public long getTotalRevenue() {
+		return totalRevenue;
+	}
+
+	public void setTotalRevenue(long totalRevenue) {
+		this.totalRevenue = totalRevenue;
+	}
+
+	public long getOccupiedRoomNights() {
+		return occupiedRoomNights;
+	}
+
+	public void setOccupiedRoomNights(long occupiedRoomNights) {
+		this.occupiedRoomNights = occupiedRoomNights;
+	}
+
+	public long getAvailableRoomNights() {
+		return availableRoomNights;
+	}
+
+	public void setAvailableRoomNights(long availableRoomNights) {
+		this.availableRoomNights = availableRoomNights;
+	}
+
+	public double getOccupancyRate() {
+		return occupancyRate;
+	}
+
+	public void setOccupancyRate(double occupancyRate) {
+		this.occupancyRate = occupancyRate;
+	}
+
+	public long getCheckOuts() {
+		return checkOuts;
+	}
+
+	public void setCheckOuts(long checkOuts) {
+		this.checkOuts = checkOuts;
+	}
+
+	public double getAverageStay() {
+		return averageStay;
+	}
+
+	public void setAverageStay(double averageStay) {
+		this.averageStay = averageStay;
+	}
+
+	public List<ReportRowDto> getRows() {
+		return rows;
+	}
+
+	public void setRows(List<ReportRowDto> rows) {
+		this.rows = rows;
+	}
+}
@@ -0,0 +1,62 @@
+package com.devpro.spring.dto;
+
+public class ReportRowDto {
+
+	private String source;
+	private String chamberType;
+	private String vip;
+	private long amount;
+	private long count;
+
+	public ReportRowDto() {
+		super();
+	}
+
+	public ReportRowDto(Object[] row) {
+		this.source = String.valueOf(row[0]);
+		this.chamberType = String.valueOf(row[1]);
+		this.vip = String.valueOf(row[2]);
+		this.amount = row[3] == null ? 0 : ((Number) row[3]).longValue();
+		this.count = row[4] == null ? 0 : ((Number) row[4]).longValue();
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public void setSource(String source) {
+		this.source = source;
+	}
+
+	public String getChamberType() {
+		return chamberType;
+	}
+
+	public void setChamberType(String chamberType) {
+		this.chamberType = chamberType;
+	}
+
+	public String getVip() {
+		return vip;
+	}
+
+	public void setVip(String vip) {
+		this.vip = vip;
+	}
+
+	public long getAmount() {
+		return amount;
+	}
+
+	public void setAmount(long amount) {
+		this.amount = amount;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public void setCount(long count) {
+		this.count = count;
+	}
+}
@@ -0,0 +1,62 @@
+package com.devpro.spring.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+public class CsvExportWriter implements ExportWriter {
+
+	private static final int FLUSH_EVERY = 1000;
+
+	private final Writer writer;
+	private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+	private int rows;
+
+	public CsvExportWriter(OutputStream out) throws IOException {
+		this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+		this.writer.write('﻿'); // BOM de Excel doc dung tieng Viet
+	}
+
+	@Override
+	public void writeHeader(String... columns) throws IOException {
+		writeRow((Object[]) columns);
+	}
+
+	@Override
+	public void writeRow(Object... values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writeValue(values[i]);
+		}
+		writer.write("\r\n");
+		if (++rows % FLUSH_EVERY == 0) {
+			writer.flush(); // day du lieu xuong client, tranh don buffer
+		}
+	}
+
+	private void writeValue(Object value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		String text = value instanceof Date ? dateFormat.format((Date) value) : String.valueOf(value);
+		if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+			writer.write('"');
+			writer.write(text.replace("\"", "\"\""));
+			writer.write('"');
+		} else {
+			writer.write(text);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.flush();
+	}
+}
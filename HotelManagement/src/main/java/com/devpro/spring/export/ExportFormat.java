@@ -0,0 +1,34 @@
+package com.devpro.spring.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public enum ExportFormat {
+
+	CSV("csv", "text/csv; charset=UTF-8"),
+	XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+	private final String extension;
+	private final String contentType;
+
+	ExportFormat(String extension, String contentType) {
+		this.extension = extension;
+		this.contentType = contentType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public ExportWriter open(OutputStream out) throws IOException {
+		return this == XLSX ? new XlsxExportWriter(out) : new CsvExportWriter(out);
+	}
+
+	public static ExportFormat fromParam(String format) {
+		return "xlsx".equalsIgnoreCase(format) ? XLSX : CSV;
+	}
+}
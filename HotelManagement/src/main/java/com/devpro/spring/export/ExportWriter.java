@@ -0,0 +1,14 @@
+package com.devpro.spring.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Ghi tung dong ra output ngay khi doc duoc, khong giu toan bo du lieu trong bo nho.
+ */
+public interface ExportWriter extends Closeable {
+
+	void writeHeader(String... columns) throws IOException;
+
+	void writeRow(Object... values) throws IOException;
+}
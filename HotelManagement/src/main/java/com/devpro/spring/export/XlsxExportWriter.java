@@ -0,0 +1,91 @@
+package com.devpro.spring.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Ghi xlsx kieu streaming (SXSSF): chi giu WINDOW dong trong heap, cac dong cu duoc day ra file tam.
+ */
+public class XlsxExportWriter implements ExportWriter {
+
+	private static final int WINDOW = 200;
+	// gioi han so dong cua 1 sheet xlsx
+	private static final int MAX_ROWS_PER_SHEET = 1048575;
+
+	private final OutputStream out;
+	private final SXSSFWorkbook workbook;
+	private final CellStyle dateStyle;
+	private SXSSFSheet sheet;
+	private String[] header;
+	private int rowIndex;
+	private int sheetCount;
+
+	public XlsxExportWriter(OutputStream out) {
+		this.out = out;
+		this.workbook = new SXSSFWorkbook(WINDOW);
+		this.workbook.setCompressTempFiles(true);
+		this.dateStyle = workbook.createCellStyle();
+		this.dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+		newSheet();
+	}
+
+	private void newSheet() {
+		sheet = workbook.createSheet("data" + (sheetCount == 0 ? "" : String.valueOf(sheetCount + 1)));
+		sheetCount++;
+		rowIndex = 0;
+		if (header != null) {
+			writeCells((Object[]) header);
+		}
+	}
+
+	@Override
+	public void writeHeader(String... columns) throws IOException {
+		header = columns;
+		writeCells((Object[]) columns);
+	}
+
+	@Override
+	public void writeRow(Object... values) throws IOException {
+		if (rowIndex > MAX_ROWS_PER_SHEET) {
+			newSheet();
+		}
+		writeCells(values);
+	}
+
+	private void writeCells(Object... values) {
+		Row row = sheet.createRow(rowIndex++);
+		for (int i = 0; i < values.length; i++) {
+			Object value = values[i];
+			if (value == null) {
+				continue;
+			}
+			Cell cell = row.createCell(i);
+			if (value instanceof Number) {
+				cell.setCellValue(((Number) value).doubleValue());
+			} else if (value instanceof Date) {
+				cell.setCellValue((Date) value);
+				cell.setCellStyle(dateStyle);
+			} else {
+				cell.setCellValue(String.valueOf(value));
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			workbook.write(out);
+			out.flush();
+		} finally {
+			workbook.dispose(); // xoa file tam
+			workbook.close();
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.devpro.spring.fragment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * So phien ban cua tung tap du lieu (ten entity: Chamber, FoodItem, HotelService, Category, Guest) dung lam 1 phan khoa
+ * cua fragment cache. Cac ham save/delete/update cua service goi bump() -> fragment phu thuoc tu het hieu luc.
+ */
+@Component
+public class DataVersions {
+
+	private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+	// thoi diem tang phien ban gan nhat (millis), 0 neu chua tang lan nao
+	private volatile long lastBumpAt;
+
+	public long current(String name) {
+		AtomicLong version = versions.get(name);
+		return version == null ? 0 : version.get();
+	}
+
+	/**
+	 * Ban chup tat ca phien ban, lay truoc khi controller doc du lieu (xem FragmentVersionInterceptor).
+	 */
+	public Map<String, Long> snapshot() {
+		Map<String, Long> snapshot = new HashMap<>();
+		versions.forEach((name, version) -> snapshot.put(name, version.get()));
+		return snapshot;
+	}
+
+	/**
+	 * Tang phien ban khi transaction commit: neu tang truoc, request doc song song co the render du lieu cu
+	 * voi phien ban moi va giu no trong cache.
+	 */
+	public void bump(Class<?> type) {
+		String name = type.getSimpleName();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					increment(name);
+				}
+			});
+		} else {
+			increment(name);
+		}
+	}
+
+	/**
+	 * Thoi diem tang phien ban gan nhat. Duoc dat truoc khi phien ban tang: ban chup thay phien ban moi thi doc
+	 * sau do cung thay thoi diem nay.
+	 */
+	public long getLastBumpAt() {
+		return lastBumpAt;
+	}
+
+	private void increment(String name) {
+		lastBumpAt = System.currentTimeMillis();
+		versions.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+	}
+}
@@ -0,0 +1,115 @@
+package com.devpro.spring.fragment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * HTML da render cua cac fragment Thymeleaf (danh dau cache:depends), LRU gioi han hotel.fragment-cache.max-entries.
+ * Khoa gom template, fragment, phien ban du lieu va tham so query nen khong can xoa khi du lieu doi:
+ * phien ban moi -> khoa moi, ban cu tu bi day ra.
+ * Metric: hotel.fragment.cache (result=hit|miss), hotel.fragment.render (thoi gian render khi miss),
+ * hotel.fragment.render.saved (tong thoi gian render tiet kiem duoc nho hit).
+ */
+@Component
+public class FragmentCache {
+
+	static final String LOOKUP_METRIC = "hotel.fragment.cache";
+	static final String RENDER_METRIC = "hotel.fragment.render";
+	static final String SAVED_METRIC = "hotel.fragment.render.saved";
+	static final String SIZE_METRIC = "hotel.fragment.cache.size";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${hotel.fragment-cache.enabled:true}")
+	private volatile boolean enabled;
+
+	@Value("${hotel.fragment-cache.max-entries:256}")
+	private int maxEntries;
+
+	private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > maxEntries;
+		}
+	};
+
+	@PostConstruct
+	public void registerMetrics() {
+		Gauge.builder(SIZE_METRIC, this, FragmentCache::size).register(meterRegistry);
+	}
+
+	/**
+	 * @return HTML da render, null neu chua co (miss)
+	 */
+	public String get(String fragment, String key) {
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+		}
+		Counter.builder(LOOKUP_METRIC).tag("fragment", fragment).tag("result", entry == null ? "miss" : "hit")
+				.register(meterRegistry).increment();
+		if (entry == null) {
+			return null;
+		}
+		Counter.builder(SAVED_METRIC).baseUnit("seconds").tag("fragment", fragment).register(meterRegistry)
+				.increment(entry.renderNanos / 1e9);
+		return entry.html;
+	}
+
+	public void put(String fragment, String key, String html, long renderNanos) {
+		Timer.builder(RENDER_METRIC).tag("fragment", fragment).register(meterRegistry).record(renderNanos,
+				TimeUnit.NANOSECONDS);
+		synchronized (entries) {
+			entries.put(key, new Entry(html, renderNanos));
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Tat: cache:depends bi bo qua, fragment render binh thuong nhu chua co cache.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	private static final class Entry {
+
+		private final String html;
+		private final long renderNanos;
+
+		private Entry(String html, long renderNanos) {
+			this.html = html;
+			this.renderNanos = renderNanos;
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.devpro.spring.fragment;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.standard.StandardDialect;
+
+/**
+ * Dialect "cache": cache:depends / cache:params, xem FragmentCacheTagProcessor.
+ */
+public class FragmentCacheDialect extends AbstractProcessorDialect {
+
+	public static final String PREFIX = "cache";
+
+	private final FragmentCache fragmentCache;
+	private final Supplier<ITemplateEngine> templateEngine;
+
+	public FragmentCacheDialect(FragmentCache fragmentCache, Supplier<ITemplateEngine> templateEngine) {
+		super("Fragment Cache", PREFIX, StandardDialect.PROCESSOR_PRECEDENCE);
+		this.fragmentCache = fragmentCache;
+		this.templateEngine = templateEngine;
+	}
+
+	@Override
+	public Set<IProcessor> getProcessors(String dialectPrefix) {
+		return Collections.singleton(new FragmentCacheTagProcessor(dialectPrefix, fragmentCache, templateEngine));
+	}
+}
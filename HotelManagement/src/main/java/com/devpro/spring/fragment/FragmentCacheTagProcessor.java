@@ -0,0 +1,116 @@
+package com.devpro.spring.fragment;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.context.IWebContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.standard.StandardDialect;
+import org.thymeleaf.templatemode.TemplateMode;
+
+/**
+ * cache:depends="Chamber,Category" dat tren phan tu co th:fragment: lan dau render rieng fragment do (cung bien
+ * cua trang) va giu HTML, cac lan sau thay ca phan tu bang HTML da giu ma khong xu ly lai th:each / bieu thuc.
+ * cache:params="page,search-text" gioi han tham so query dua vao khoa (mac dinh: tat ca, "" = khong tham so nao).
+ */
+public class FragmentCacheTagProcessor extends AbstractAttributeTagProcessor {
+
+	static final String DEPENDS = "depends";
+	static final String PARAMS = "params";
+
+	// chay truoc th:each / th:if... cua StandardDialect tren cung phan tu
+	private static final int PRECEDENCE = 10;
+
+	// dang render rieng 1 fragment de dua vao cache -> xu ly binh thuong, khong cache long nhau
+	private static final ThreadLocal<Boolean> RENDERING = new ThreadLocal<>();
+
+	private final FragmentCache fragmentCache;
+	private final Supplier<ITemplateEngine> templateEngine;
+
+	public FragmentCacheTagProcessor(String dialectPrefix, FragmentCache fragmentCache,
+			Supplier<ITemplateEngine> templateEngine) {
+		super(TemplateMode.HTML, dialectPrefix, null, false, DEPENDS, true, PRECEDENCE, true);
+		this.fragmentCache = fragmentCache;
+		this.templateEngine = templateEngine;
+	}
+
+	@Override
+	protected void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName,
+			String attributeValue, IElementTagStructureHandler structureHandler) {
+		String params = tag.getAttributeValue(getDialectPrefix(), PARAMS);
+		structureHandler.removeAttribute(getDialectPrefix(), PARAMS);
+		String fragment = tag.getAttributeValue(StandardDialect.PREFIX, "fragment");
+		if (fragment == null || !fragmentCache.isEnabled() || !(context instanceof IWebContext)
+				|| RENDERING.get() != null) {
+			return;
+		}
+		IWebContext webContext = (IWebContext) context;
+		HttpServletRequest request = webContext.getRequest();
+		@SuppressWarnings("unchecked")
+		Map<String, Long> versions = (Map<String, Long>) request
+				.getAttribute(FragmentVersionInterceptor.VERSIONS_ATTRIBUTE);
+		if (versions == null) {
+			// khong qua interceptor -> khong biet phien ban luc controller doc du lieu, khong cache
+			return;
+		}
+		String template = context.getTemplateData().getTemplate();
+		String key = key(template, fragment, attributeValue, versions, params, request);
+		String html = fragmentCache.get(fragment, key);
+		if (html == null) {
+			long start = System.nanoTime();
+			html = render(webContext, template, fragment);
+			fragmentCache.put(fragment, key, html, System.nanoTime() - start);
+		}
+		structureHandler.replaceWith(html, false);
+	}
+
+	static String key(String template, String fragment, String depends, Map<String, Long> versions, String params,
+			HttpServletRequest request) {
+		StringBuilder key = new StringBuilder(template).append("::").append(fragment);
+		for (String name : depends.split(",")) {
+			Long version = versions.get(name.trim());
+			key.append('|').append(name.trim()).append('=').append(version == null ? 0 : version);
+		}
+		Map<String, String[]> values = new TreeMap<>(request.getParameterMap());
+		if (params != null) {
+			values.keySet().retainAll(Arrays.asList(params.trim().isEmpty() ? new String[0] : params.split("\\s*,\\s*")));
+		}
+		key.append('?');
+		values.forEach((name, value) -> key.append(name).append('=').append(Arrays.toString(value)).append('&'));
+		return key.toString();
+	}
+
+	private String render(IWebContext context, String template, String fragment) {
+		ITemplateContext templateContext = (ITemplateContext) context;
+		Map<String, Object> variables = new HashMap<>();
+		for (String name : templateContext.getVariableNames()) {
+			variables.put(name, templateContext.getVariable(name));
+		}
+		StringWriter writer = new StringWriter();
+		RENDERING.set(Boolean.TRUE);
+		try {
+			templateEngine.get().process(
+					new TemplateSpec(template, Collections.singleton(fragment), TemplateMode.HTML, null),
+					new WebContext(context.getRequest(), context.getResponse(), context.getServletContext(),
+							templateContext.getLocale(), variables),
+					writer);
+		} finally {
+			RENDERING.remove();
+		}
+		return writer.toString();
+	}
+}
@@ -0,0 +1,65 @@
+package com.devpro.spring.fragment;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.devpro.spring.datasource.ReadYourWrites;
+
+/**
+ * Chup phien ban du lieu truoc khi controller doc: fragment render tu du lieu nay duoc cache duoi phien ban cu
+ * nhat co the, ghi commit giua chung chi lam khoa het han som chu khong giu du lieu cu.
+ * Phien ban tang khi primary commit, replica co the cham toi max-lag: trong khoang do sau lan tang gan nhat,
+ * request doc tu primary de khong render du lieu cu cua replica roi cache no duoi phien ban moi.
+ */
+public class FragmentVersionInterceptor implements AsyncHandlerInterceptor {
+
+	static final String VERSIONS_ATTRIBUTE = FragmentVersionInterceptor.class.getName() + ".versions";
+
+	// [moc ghim truoc request, moc interceptor dat]
+	private static final String PINNED_ATTRIBUTE = FragmentVersionInterceptor.class.getName() + ".pinned";
+
+	private final DataVersions dataVersions;
+	private final long lagMillis;
+
+	public FragmentVersionInterceptor(DataVersions dataVersions, long lagMillis) {
+		this.dataVersions = dataVersions;
+		this.lagMillis = lagMillis;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		request.setAttribute(VERSIONS_ATTRIBUTE, dataVersions.snapshot());
+		// doc sau ban chup: phien ban nao co trong ban chup thi thoi diem tang cua no da duoc ghi nhan
+		if (System.currentTimeMillis() - dataVersions.getLastBumpAt() < lagMillis && !ReadYourWrites.isPinned()) {
+			Long before = ReadYourWrites.getPinnedUntil();
+			ReadYourWrites.pin(lagMillis);
+			request.setAttribute(PINNED_ATTRIBUTE, new Long[] { before, ReadYourWrites.getPinnedUntil() });
+		}
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		unpin(request);
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) {
+		unpin(request);
+	}
+
+	// tra lai moc cu de ghim nay khong vao session; request da ghi (moc doi) thi giu moc cua lan ghi
+	private static void unpin(HttpServletRequest request) {
+		Long[] pinned = (Long[]) request.getAttribute(PINNED_ATTRIBUTE);
+		if (pinned != null) {
+			request.removeAttribute(PINNED_ATTRIBUTE);
+			if (pinned[1].equals(ReadYourWrites.getPinnedUntil())) {
+				ReadYourWrites.setPinnedUntil(pinned[0]);
+			}
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.devpro.spring.graphql;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.devpro.spring.dto.FoodItemDto;
+import com.devpro.spring.dto.GuestLookupDto;
+import com.devpro.spring.dto.HotelServiceLookupDto;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.repository.FoodItemRepository;
+import com.devpro.spring.repository.GuestRepository;
+import com.devpro.spring.repository.HotelServiceRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.utils.FolioUtils;
+
+/**
+ * DataLoader cho moi request /graphql: cac lan load(id) trong cung 1 tang cua truy van duoc gom lai thanh 1 cau
+ * "where id in (...)", id trung nhau chi doc 1 lan (cache cua DataLoader song het request).
+ */
+@Component
+public class HotelDataLoaders {
+
+	static final String RENTAL = "rental";
+	static final String GUEST = "guest";
+	static final String FOOD_ITEM = "foodItem";
+	static final String HOTEL_SERVICE = "hotelService";
+	// rental id -> [tong tien an, tong tien dich vu]
+	static final String FOLIO_TOTALS = "folioTotals";
+
+	@Autowired
+	private RentalRepository rentalRepository;
+
+	@Autowired
+	private GuestRepository guestRepository;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private HotelServiceRepository hotelServiceRepository;
+
+	public DataLoaderRegistry newRegistry() {
+		DataLoaderRegistry registry = new DataLoaderRegistry();
+		registry.register(RENTAL, DataLoader.<Long, Rental>newDataLoader(
+				ids -> byId(ids, rentalRepository.getCheckOutRentals(ids), Rental::getRentalId)));
+		registry.register(GUEST, DataLoader.<Long, GuestLookupDto>newDataLoader(
+				ids -> byId(ids, guestRepository.getGuestLookups(ids), GuestLookupDto::getGuestId)));
+		registry.register(FOOD_ITEM, DataLoader.<Long, FoodItemDto>newDataLoader(
+				ids -> byId(ids, foodItemRepository.getFoodItemLookups(ids), FoodItemDto::getId)));
+		registry.register(HOTEL_SERVICE, DataLoader.<Long, HotelServiceLookupDto>newDataLoader(
+				ids -> byId(ids, hotelServiceRepository.getHotelServiceLookups(ids), HotelServiceLookupDto::getId)));
+		registry.register(FOLIO_TOTALS, DataLoader.<Long, long[]>newDataLoader(this::loadFolioTotals));
+		return registry;
+	}
+
+	private CompletableFuture<List<long[]>> loadFolioTotals(List<Long> rentalIds) {
+		Map<Long, long[]> totals = new HashMap<>();
+		for (Long id : rentalIds) {
+			totals.put(id, new long[2]);
+		}
+		for (Object[] row : rentalRepository.getFoodTotals(rentalIds)) {
+			totals.get(((Number) row[0]).longValue())[0] = FolioUtils.toAmount(row[1]);
+		}
+		for (Object[] row : rentalRepository.getServiceTotals(rentalIds)) {
+			totals.get(((Number) row[0]).longValue())[1] = FolioUtils.toAmount(row[1]);
+		}
+		List<long[]> result = new ArrayList<>();
+		for (Long id : rentalIds) {
+			result.add(totals.get(id));
+		}
+		return CompletableFuture.completedFuture(result);
+	}
+
+	// ket qua phai theo dung thu tu khoa, null cho id khong ton tai
+	private static <V> CompletableFuture<List<V>> byId(List<Long> ids, List<V> values, Function<V, Long> idOf) {
+		Map<Long, V> byId = new HashMap<>();
+		for (V value : values) {
+			byId.put(idOf.apply(value), value);
+		}
+		List<V> result = new ArrayList<>();
+		for (Long id : ids) {
+			result.add(byId.get(id));
+		}
+		return CompletableFuture.completedFuture(result);
+	}
+}
@@ -0,0 +1,156 @@
+package com.devpro.spring.graphql;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import com.devpro.spring.dto.FolioDto;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.registry.ActiveRental;
+import com.devpro.spring.registry.ActiveRentalRegistry;
+import com.devpro.spring.utils.FolioUtils;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+
+/**
+ * Schema graphql/hotel.graphqls + cach lay du lieu cho tung truong. Truong tham chieu (guest, folio, danh sach id)
+ * di qua DataLoader (HotelDataLoaders) nen so cau SQL theo so loai du lieu, khong theo so phan tu.
+ * Gioi han: do sau hotel.graphql.max-depth, do phuc tap hotel.graphql.max-complexity (moi truong = 1,
+ * truong co tham so danh sach nhan voi so phan tu).
+ */
+@Component
+public class HotelGraphQL {
+
+	private static final String SCHEMA = "graphql/hotel.graphqls";
+
+	@Autowired
+	private HotelDataLoaders dataLoaders;
+
+	@Autowired
+	private ActiveRentalRegistry activeRentalRegistry;
+
+	@Value("${hotel.graphql.max-depth:5}")
+	private int maxDepth;
+
+	@Value("${hotel.graphql.max-complexity:500}")
+	private int maxComplexity;
+
+	private GraphQL graphQL;
+
+	@PostConstruct
+	public void init() throws IOException {
+		try (Reader reader = new InputStreamReader(new ClassPathResource(SCHEMA).getInputStream(),
+				StandardCharsets.UTF_8)) {
+			graphQL = GraphQL
+					.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(reader), wiring()))
+					.instrumentation(new ChainedInstrumentation(Arrays.asList(
+							new MaxQueryDepthInstrumentation(maxDepth),
+							new MaxQueryComplexityInstrumentation(maxComplexity, HotelGraphQL::complexity),
+							new DataLoaderDispatcherInstrumentation())))
+					.build();
+		}
+	}
+
+	public ExecutionResult execute(String query, String operationName, Map<String, Object> variables) {
+		return graphQL.execute(ExecutionInput.newExecutionInput().query(query).operationName(operationName)
+				.variables(variables == null ? Collections.<String, Object>emptyMap() : variables)
+				.dataLoaderRegistry(dataLoaders.newRegistry()));
+	}
+
+	private RuntimeWiring wiring() {
+		return RuntimeWiring.newRuntimeWiring()
+				.type("Query", type -> type
+						.dataFetcher("rental", this::getRental)
+						.dataFetcher("rentals", this::getRentals)
+						.dataFetcher("occupiedChambers", env -> activeRentalRegistry.getOccupiedChamberNumbers())
+						.dataFetcher("foodItems", env -> env.<Long, Object>getDataLoader(HotelDataLoaders.FOOD_ITEM)
+								.loadMany(ids(env)))
+						.dataFetcher("hotelServices", env -> env.<Long, Object>getDataLoader(HotelDataLoaders.HOTEL_SERVICE)
+								.loadMany(ids(env))))
+				.type("Rental", type -> type
+						.dataFetcher("checkInDate", env -> {
+							Rental rental = env.getSource();
+							return rental.getCheckInDate() == null ? null
+									: FolioUtils.toLocalDate(rental.getCheckInDate()).toString();
+						})
+						// proxy cua guest tra ve id ma khong doc bang guest
+						.dataFetcher("guest", env -> env.getDataLoader(HotelDataLoaders.GUEST)
+								.load(env.<Rental>getSource().getGuest().getGuestId()))
+						.dataFetcher("folio", this::getFolio))
+				.build();
+	}
+
+	// luot thue dang mo lay tu bang tra cuu trong bo nho, rental + phong doc qua DataLoader
+	private CompletableFuture<Rental> getRental(DataFetchingEnvironment env) {
+		ActiveRental activeRental = activeRentalRegistry.find(env.getArgument("chamberNumber"));
+		if (activeRental == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return env.<Long, Rental>getDataLoader(HotelDataLoaders.RENTAL).load(activeRental.getRentalId());
+	}
+
+	// phong trong bi bo qua, nhieu phong cung 1 luot thue chi tra ve 1 lan
+	private CompletableFuture<List<Rental>> getRentals(DataFetchingEnvironment env) {
+		List<String> chamberNumbers = env.getArgument("chamberNumbers");
+		List<Long> rentalIds = chamberNumbers.stream().map(activeRentalRegistry::find).filter(Objects::nonNull)
+				.map(ActiveRental::getRentalId).distinct().collect(Collectors.toList());
+		return env.<Long, Rental>getDataLoader(HotelDataLoaders.RENTAL).loadMany(rentalIds);
+	}
+
+	private CompletableFuture<FolioDto> getFolio(DataFetchingEnvironment env) {
+		Rental rental = env.getSource();
+		long nights = rental.getCheckInDate() == null ? 0
+				: FolioUtils.nights(FolioUtils.toLocalDate(rental.getCheckInDate()), LocalDate.now());
+		long room = 0;
+		for (Chamber chamber : rental.getChambers()) {
+			room += FolioUtils.roomCharge(chamber.getPriceDay(), nights);
+		}
+		long roomAmount = room;
+		return env.<Long, long[]>getDataLoader(HotelDataLoaders.FOLIO_TOTALS).load(rental.getRentalId())
+				.thenApply(totals -> new FolioDto(nights, roomAmount, totals[0], totals[1]));
+	}
+
+	private static List<Long> ids(DataFetchingEnvironment env) {
+		List<Object> ids = env.getArgument("ids");
+		return ids.stream().map(id -> Long.valueOf(String.valueOf(id))).collect(Collectors.toList());
+	}
+
+	private static int complexity(FieldComplexityEnvironment env, int childComplexity) {
+		int items = 1;
+		for (Object value : env.getArguments().values()) {
+			if (value instanceof Collection) {
+				items = Math.max(items, ((Collection<?>) value).size());
+			}
+		}
+		return items * (1 + childComplexity);
+	}
+}
@@ -0,0 +1,39 @@
+package com.devpro.spring.id;
+
+/**
+ * Cac entity cap id bang PooledIdGenerator: bang du lieu, cot id va bang cap khoi tuong ung (table + "_seq").
+ * Ten bang cap khoi phai trung voi tham so sequence_name khai bao tren entity.
+ */
+public enum IdBlock {
+
+	RENTAL("rental", "rental_id"),
+	ORDER_FOOD("order_food", "order_food_id"),
+	SERVICE_BILL("service_bill", "service_bill_id"),
+	FOOD_ITEM("food_item", "food_item_id"),
+	CATEGORY("category", "category_id"),
+	EMPLOYEE("employee", "employee_id"),
+	SECTION("section", "section_id"),
+	PAYMENT("payment", "payment_id");
+
+	public static final String SUFFIX = "_seq";
+
+	private final String table;
+	private final String idColumn;
+
+	private IdBlock(String table, String idColumn) {
+		this.table = table;
+		this.idColumn = idColumn;
+	}
+
+	public String getTable() {
+		return table;
+	}
+
+	public String getIdColumn() {
+		return idColumn;
+	}
+
+	public String getSequenceTable() {
+		return table + SUFFIX;
+	}
+}
@@ -0,0 +1,59 @@
+package com.devpro.spring.id;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dong bo bang cap khoi id voi du lieu hien co khi khoi dong: them dong next_val neu bang trong
+ * (ddl-auto=update khong nhat thiet chen gia tri dau) va day next_val len max(id) + 1 neu dang thap hon
+ * (id cu lay tu hibernate_sequence dung chung). Cau update co dieu kien nen chay lai / nhieu instance deu an toan.
+ */
+@Component
+public class IdBlockMigration {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(IdBlockMigration.class);
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// chi de dam bao Hibernate da tao/cap nhat schema truoc khi dong bo
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Value("${hotel.id.migrate-on-startup:true}")
+	private boolean enabled;
+
+	@PostConstruct
+	public void migrate() {
+		if (!enabled) {
+			return;
+		}
+		for (IdBlock block : IdBlock.values()) {
+			int seeded = jdbcTemplate.update(seedSql(block));
+			int raised = jdbcTemplate.update(raiseSql(block));
+			if (seeded + raised > 0) {
+				LOGGER.info("Id block table {} synced with max({}.{})", block.getSequenceTable(), block.getTable(),
+						block.getIdColumn());
+			}
+		}
+	}
+
+	static String seedSql(IdBlock block) {
+		return "insert into " + block.getSequenceTable() + " (next_val) select m.next_id from (select coalesce(max("
+				+ block.getIdColumn() + "), 0) + 1 as next_id from " + block.getTable()
+				+ ") m where not exists (select 1 from " + block.getSequenceTable() + ")";
+	}
+
+	static String raiseSql(IdBlock block) {
+		return "update " + block.getSequenceTable() + " set next_val = (select coalesce(max(" + block.getIdColumn()
+				+ "), 0) + 1 from " + block.getTable() + ") where next_val <= (select coalesce(max("
+				+ block.getIdColumn() + "), 0) from " + block.getTable() + ")";
+	}
+}
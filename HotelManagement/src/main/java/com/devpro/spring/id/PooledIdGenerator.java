@@ -0,0 +1,59 @@
+package com.devpro.spring.id;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Cap id theo khoi (pooled-lo) cho tung entity thay cho bang hibernate_sequence dung chung.
+ * Moi entity co 1 bang rieng (vd: rental_seq), 1 lan doc/ghi bang cap ca khoi id nen insert khong
+ * phai khoa bang sequence cho tung dong va JDBC batch insert hoat dong duoc.
+ * Kich thuoc khoi doc tu spring.jpa.properties.hotel.id.block-size (mac dinh 50),
+ * co the dat rieng cho tung entity: spring.jpa.properties.hotel.id.block-size.rental=200
+ */
+public class PooledIdGenerator extends SequenceStyleGenerator {
+
+	public static final String STRATEGY = "com.devpro.spring.id.PooledIdGenerator";
+
+	public static final String BLOCK_SIZE_SETTING = "hotel.id.block-size";
+
+	public static final int DEFAULT_BLOCK_SIZE = 50;
+
+	@Override
+	public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+		Map<?, ?> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+		String name = params.getProperty(SEQUENCE_PARAM);
+		if (name == null) {
+			throw new MappingException("PooledIdGenerator requires parameter " + SEQUENCE_PARAM);
+		}
+		String entity = name.endsWith(IdBlock.SUFFIX) ? name.substring(0, name.length() - IdBlock.SUFFIX.length())
+				: name;
+
+		int blockSize = toInt(settings.get(BLOCK_SIZE_SETTING), DEFAULT_BLOCK_SIZE);
+		blockSize = toInt(settings.get(BLOCK_SIZE_SETTING + "." + entity), blockSize);
+
+		params.setProperty(INCREMENT_PARAM, String.valueOf(blockSize));
+		params.setProperty(INITIAL_PARAM, "1");
+		params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+		// MySQL khong co sequence; ep dung bang tren moi CSDL de IdBlockMigration chay giong nhau
+		params.setProperty(FORCE_TBL_PARAM, "true");
+		super.configure(type, params, serviceRegistry);
+	}
+
+	private static int toInt(Object value, int fallback) {
+		if (value == null || String.valueOf(value).trim().isEmpty()) {
+			return fallback;
+		}
+		int parsed = Integer.parseInt(String.valueOf(value).trim());
+		if (parsed < 1) {
+			throw new MappingException(BLOCK_SIZE_SETTING + " must be >= 1: " + value);
+		}
+		return parsed;
+	}
+}
@@ -0,0 +1,405 @@
+package com.devpro.spring.journal;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devpro.spring.model.OrderFood;
+import com.devpro.spring.model.ServiceBill;
+import com.devpro.spring.repository.OrderFoodRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.repository.ServiceBillRepository;
+import com.devpro.spring.service.ReportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Ghi sau cho /order/order-food va /order/order-service (bat bang hotel.order-journal.enabled): order duoc ghi vao
+ * journal tren dia (OrderJournalFile) va tra loi ngay sau lan force() chung, flush() chay nen ghi vao
+ * order_food / service_bill theo lo hotel.order-journal.batch-size trong 1 transaction (JDBC batch nho id cap
+ * theo khoi), roi moi dich checkpoint. Khoi dong lai: doc lai tu checkpoint, ban ghi da co journal_id trong DB bi
+ * bo qua. Ban ghi ghi loi (vd. rental khong ton tai) duoc thu lai tung cai, cai van loi bi log va bo qua.
+ * Journal day -> append() tra false, API ghi truc tiep nhu khi tat. Tra phong danh dau luot thue (beginCheckOut) roi
+ * goi flush(rentalIds) truoc khi tinh tien, append() tu choi luot thue dang tra phong. API chi ghi vao journal khi
+ * rental con mo; ban ghi cua rental da thanh toan (lot qua kiem tra) bi loai va log khi ghi vao DB.
+ * Metric: hotel.order-journal.queue-depth, hotel.order-journal.flush (thoi gian ghi 1 lo),
+ * hotel.order-journal.flush.latency (tu luc tra loi den khi vao DB), hotel.order-journal.fsync,
+ * hotel.order-journal.entries (result=appended|written|duplicate|rejected|overflow).
+ */
+@Component
+public class OrderJournal {
+
+	static final String QUEUE_DEPTH_METRIC = "hotel.order-journal.queue-depth";
+	static final String FLUSH_METRIC = "hotel.order-journal.flush";
+	static final String LATENCY_METRIC = "hotel.order-journal.flush.latency";
+	static final String FSYNC_METRIC = "hotel.order-journal.fsync";
+	static final String ENTRIES_METRIC = "hotel.order-journal.entries";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OrderJournal.class);
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private OrderFoodRepository orderFoodRepository;
+
+	@Autowired
+	private ServiceBillRepository serviceBillRepository;
+
+	@Autowired
+	private RentalRepository rentalRepository;
+
+	@Autowired
+	private ReportService reportService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${hotel.order-journal.enabled:false}")
+	private volatile boolean enabled;
+
+	@Value("${hotel.order-journal.path:journal/orders.journal}")
+	private String path;
+
+	@Value("${hotel.order-journal.size-mb:16}")
+	private int sizeMb;
+
+	@Value("${hotel.order-journal.batch-size:200}")
+	private int batchSize;
+
+	private volatile OrderJournalFile file;
+
+	// cung thu tu voi file: chi them trong appendLock, chi flush() lay ra
+	private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger depth = new AtomicInteger();
+	private final Object appendLock = new Object();
+	// luot thue dang tra phong -> so lan tra phong dang chay, chi doc / ghi trong appendLock
+	private final Map<Long, Integer> checkingOut = new HashMap<>();
+
+	private TransactionTemplate transactionTemplate;
+
+	@PostConstruct
+	public void init() throws IOException {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		Gauge.builder(QUEUE_DEPTH_METRIC, depth, AtomicInteger::get).register(meterRegistry);
+		if (enabled) {
+			file = OrderJournalFile.open(Paths.get(path), sizeMb * 1024 * 1024);
+			recover();
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled && file != null;
+	}
+
+	/**
+	 * @return true neu order da nam tren dia (se duoc ghi vao DB sau), false neu journal tat hoac day
+	 * @throws IllegalArgumentException neu luot thue dang tra phong: order vao sau se khong co trong payment
+	 */
+	public boolean append(OrderJournalEntry entry) {
+		// khong co rental: de API ghi truc tiep va bao loi ngay nhu truoc
+		if (!isEnabled() || entry.getRentalId() == null) {
+			return false;
+		}
+		byte[] payload;
+		try {
+			payload = objectMapper.writeValueAsBytes(entry);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Unable to write order journal entry", e);
+		}
+		int end;
+		synchronized (appendLock) {
+			if (checkingOut.containsKey(entry.getRentalId())) {
+				throw new IllegalArgumentException("Rental is being checked out: " + entry.getRentalId());
+			}
+			end = file.append(payload);
+			if (end < 0) {
+				count("overflow", 1);
+				return false;
+			}
+			queue.add(new Pending(entry, end));
+			depth.incrementAndGet();
+		}
+		long start = System.nanoTime();
+		file.sync(end);
+		Timer.builder(FSYNC_METRIC).register(meterRegistry).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		count("appended", 1);
+		return true;
+	}
+
+	public int getQueueDepth() {
+		return depth.get();
+	}
+
+	@Scheduled(fixedDelayString = "${hotel.order-journal.flush-interval-ms:200}")
+	public synchronized void scheduledFlush() {
+		if (file != null) {
+			flush();
+		}
+	}
+
+	/**
+	 * Ghi het hang doi vao DB.
+	 *
+	 * @return so order moi duoc ghi (khong tinh ban trung da co trong DB va ban bi loai)
+	 */
+	public synchronized int flush() {
+		int written = 0;
+		List<Pending> batch;
+		while (!(batch = nextBatch()).isEmpty()) {
+			long start = System.nanoTime();
+			try {
+				written += write(batch);
+			} catch (RuntimeException e) {
+				// DB khong ghi duoc: giu nguyen hang doi, lan sau ghi lai (ban da ghi se bi bo qua nho journal_id)
+				LOGGER.warn("Order journal flush stopped, {} entries wait for next run: {}", depth.get(),
+						e.getMessage());
+				return written;
+			}
+			Timer.builder(FLUSH_METRIC).register(meterRegistry).record(System.nanoTime() - start,
+					TimeUnit.NANOSECONDS);
+			for (int i = 0; i < batch.size(); i++) {
+				queue.poll();
+			}
+			depth.addAndGet(-batch.size());
+			file.checkpoint(batch.get(batch.size() - 1).end);
+		}
+		file.rewind(file.getCapacity() / 2);
+		return written;
+	}
+
+	/**
+	 * Tu day den endCheckOut(), append() tu choi order cua rentalIds. Goi truoc flush(rentalIds): order tra loi
+	 * thanh cong sau lan flush do se khong kip vao payment.
+	 */
+	public void beginCheckOut(Collection<Long> rentalIds) {
+		synchronized (appendLock) {
+			for (Long id : rentalIds) {
+				checkingOut.merge(id, 1, Integer::sum);
+			}
+		}
+	}
+
+	/**
+	 * Goi sau khi transaction tra phong ket thuc (commit hoac loi).
+	 */
+	public void endCheckOut(Collection<Long> rentalIds) {
+		synchronized (appendLock) {
+			for (Long id : rentalIds) {
+				checkingOut.computeIfPresent(id, (key, running) -> running > 1 ? running - 1 : null);
+			}
+		}
+	}
+
+	/**
+	 * Ghi vao DB cac order cua rentalIds con trong hang doi, goi truoc khi tra phong: order da tra loi thanh cong
+	 * phai co trong tong tien, khong duoc ghi sau vao luot thue da thanh toan.
+	 *
+	 * @return false neu van con order cua rentalIds chua vao DB (DB loi) -> khong chot tra phong
+	 */
+	public synchronized boolean flush(Collection<Long> rentalIds) {
+		if (!hasPending(rentalIds)) {
+			return true;
+		}
+		flush();
+		return !hasPending(rentalIds);
+	}
+
+	/**
+	 * Nap lai hang doi tu journal (tu checkpoint), goi khi khoi dong.
+	 */
+	synchronized void recover() {
+		synchronized (appendLock) {
+			queue.clear();
+			int skipped = 0;
+			for (OrderJournalFile.Record record : file.pending()) {
+				try {
+					queue.add(new Pending(objectMapper.readValue(record.getPayload(), OrderJournalEntry.class),
+							record.getEnd()));
+				} catch (IOException e) {
+					skipped++;
+				}
+			}
+			depth.set(queue.size());
+			if (!queue.isEmpty() || skipped > 0) {
+				LOGGER.info("Order journal {}: {} entries to replay, {} unreadable", path, queue.size(), skipped);
+			}
+		}
+	}
+
+	OrderJournalFile getFile() {
+		return file;
+	}
+
+	@PreDestroy
+	public synchronized void close() {
+		if (file == null) {
+			return;
+		}
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			LOGGER.warn("Order journal not fully flushed on shutdown, {} entries replay on next start: {}",
+					depth.get(), e.getMessage());
+		}
+		try {
+			file.close();
+		} catch (IOException e) {
+			LOGGER.warn("Unable to close order journal {}: {}", path, e.getMessage());
+		}
+		file = null;
+	}
+
+	private boolean hasPending(Collection<Long> rentalIds) {
+		for (Pending pending : queue) {
+			if (rentalIds.contains(pending.entry.getRentalId())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<Pending> nextBatch() {
+		List<Pending> batch = new ArrayList<>();
+		Iterator<Pending> iterator = queue.iterator();
+		while (iterator.hasNext() && batch.size() < batchSize) {
+			batch.add(iterator.next());
+		}
+		return batch;
+	}
+
+	private int write(List<Pending> batch) {
+		List<OrderJournalEntry> paid = new ArrayList<>();
+		try {
+			return written(batch.size(), transactionTemplate.execute(status -> insert(batch, paid)), paid);
+		} catch (DataIntegrityViolationException e) {
+			LOGGER.warn("Order journal batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+		}
+		int written = 0;
+		for (Pending pending : batch) {
+			try {
+				written += written(1,
+						transactionTemplate.execute(status -> insert(Collections.singletonList(pending), paid)), paid);
+			} catch (DataIntegrityViolationException e) {
+				count("rejected", 1);
+				LOGGER.error("Order journal entry rejected {} ({} rental {}, {}): {}", pending.entry.getJournalId(),
+						pending.entry.getKind(), pending.entry.getRentalId(), pending.entry.getTotalPrice(),
+						e.getMessage());
+			}
+		}
+		return written;
+	}
+
+	// metric / log sau khi transaction da commit
+	private int written(int size, List<OrderJournalEntry> written, List<OrderJournalEntry> paid) {
+		for (OrderJournalEntry entry : paid) {
+			LOGGER.error("Order journal entry rejected {} ({} rental {}, {}): rental already paid",
+					entry.getJournalId(), entry.getKind(), entry.getRentalId(), entry.getTotalPrice());
+		}
+		count("rejected", paid.size());
+		long now = System.currentTimeMillis();
+		Timer latency = Timer.builder(LATENCY_METRIC).register(meterRegistry);
+		for (OrderJournalEntry entry : written) {
+			latency.record(Math.max(0, now - entry.getAppendedAt()), TimeUnit.MILLISECONDS);
+		}
+		count("written", written.size());
+		count("duplicate", size - written.size() - paid.size());
+		return written.size();
+	}
+
+	// ban ghi da co journal_id trong DB (ghi roi truoc khi sap) bi bo qua, ban ghi cua rental da thanh toan dua vao paid
+	private List<OrderJournalEntry> insert(List<Pending> batch, List<OrderJournalEntry> paid) {
+		paid.clear();
+		Set<String> foodIds = new HashSet<>();
+		Set<String> serviceIds = new HashSet<>();
+		Set<Long> rentalIds = new HashSet<>();
+		for (Pending pending : batch) {
+			(pending.entry.isFood() ? foodIds : serviceIds).add(pending.entry.getJournalId());
+			rentalIds.add(pending.entry.getRentalId());
+		}
+		Set<Long> paidRentalIds = new HashSet<>(rentalRepository.getPaidRentalIds(rentalIds));
+		Set<String> existing = new HashSet<>();
+		if (!foodIds.isEmpty()) {
+			existing.addAll(orderFoodRepository.getJournalIds(foodIds));
+		}
+		if (!serviceIds.isEmpty()) {
+			existing.addAll(serviceBillRepository.getJournalIds(serviceIds));
+		}
+
+		List<OrderFood> foods = new ArrayList<>();
+		List<ServiceBill> bills = new ArrayList<>();
+		List<OrderJournalEntry> written = new ArrayList<>();
+		for (Pending pending : batch) {
+			OrderJournalEntry entry = pending.entry;
+			if (existing.contains(entry.getJournalId())) {
+				continue;
+			}
+			if (paidRentalIds.contains(entry.getRentalId())) {
+				paid.add(entry);
+				continue;
+			}
+			if (entry.isFood()) {
+				foods.add(entry.toOrderFood(rentalRepository.getOne(entry.getRentalId())));
+				reportService.recordFoodOrder(entry.getOrderDate(), entry.getTotalPrice());
+			} else {
+				bills.add(entry.toServiceBill(rentalRepository.getOne(entry.getRentalId())));
+				reportService.recordServiceBill(entry.getOrderDate(), entry.getTotalPrice());
+			}
+			written.add(entry);
+		}
+		orderFoodRepository.saveAll(foods);
+		serviceBillRepository.saveAll(bills);
+		// loi rang buoc (rental khong ton tai) phai nem ra trong transaction nay de con thu lai tung ban ghi
+		orderFoodRepository.flush();
+		return written;
+	}
+
+	private void count(String result, int amount) {
+		if (amount > 0) {
+			Counter.builder(ENTRIES_METRIC).tag("result", result).register(meterRegistry).increment(amount);
+		}
+	}
+
+	private static final class Pending {
+		private final OrderJournalEntry entry;
+		private final int end;
+
+		Pending(OrderJournalEntry entry, int end) {
+			this.entry = entry;
+			this.end = end;
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package com.devpro.spring.journal;
+
+import java.util.UUID;
+
+import com.devpro.spring.dto.OrderFoodDto;
+import com.devpro.spring.dto.OrderServiceDto;
+import com.devpro.spring.model.OrderFood;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.model.ServiceBill;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// 1 order trong journal (ghi dang JSON), journalId la khoa chong ghi trung khi doc lai journal
+public class OrderJournalEntry {
+
+	public static final String KIND_FOOD = "food";
+	public static final String KIND_SERVICE = "service";
+
+	private String journalId;
+	private String kind;
+	private Long rentalId;
+	private String totalPrice;
+	private String peopleNumber;
+	private String orderDate;
+	private String discount;
+	private String note;
+	// thoi diem ghi vao journal (millis), tinh do tre den khi vao DB
+	private long appendedAt;
+
+	public OrderJournalEntry() {
+		super();
+	}
+
+	public static OrderJournalEntry food(OrderFoodDto order) {
+		OrderJournalEntry entry = create(KIND_FOOD, order.getRentalId(), order.getTotalPrice(), order.getOrderDate(),
+				order.getDiscount(), order.getNote());
+		entry.setPeopleNumber(order.getPeopleNumber());
+		return entry;
+	}
+
+	public static OrderJournalEntry service(OrderServiceDto order) {
+		return create(KIND_SERVICE, order.getRentalId(), order.getTotalPrice(), order.getOrderDate(),
+				order.getDiscount(), order.getNote());
+	}
+
+	private static OrderJournalEntry create(String kind, Long rentalId, String totalPrice, String orderDate,
+			String discount, String note) {
+		OrderJournalEntry entry = new OrderJournalEntry();
+		entry.setJournalId(UUID.randomUUID().toString());
+		entry.setKind(kind);
+		entry.setRentalId(rentalId);
+		entry.setTotalPrice(totalPrice);
+		entry.setOrderDate(orderDate);
+		entry.setDiscount(discount);
+		entry.setNote(note);
+		entry.setAppendedAt(System.currentTimeMillis());
+		return entry;
+	}
+
+	public OrderFood toOrderFood(Rental rental) {
+		OrderFood orderFood = new OrderFood(totalPrice, peopleNumber, orderDate, discount, note, rental);
+		orderFood.setJournalId(journalId);
+		return orderFood;
+	}
+
+	public ServiceBill toServiceBill(Rental rental) {
+		ServiceBill bill = new ServiceBill(totalPrice, orderDate, discount, note, rental);
+		bill.setJournalId(journalId);
+		return bill;
+	}
+
+	@JsonIgnore
+	public boolean isFood() {
+		return KIND_FOOD.equals(kind);
+	}
+
+	public String getJournalId() {
+		return journalId;
+	}
+
+	public void setJournalId(String journalId) {
+		this.journalId = journalId;
+	}
+
+	public String getKind() {
+		return kind;
+	}
+
+	public void setKind(String kind) {
+		this.kind = kind;
+	}
+
+	public Long getRentalId() {
+		return rentalId;
+	}
+
+	public void setRentalId(Long rentalId) {
+		this.rentalId = rentalId;
+	}
+
+	public String getTotalPrice() {
+		return totalPrice;
+	}
+
+	public void setTotalPrice(String totalPrice) {
+		this.totalPrice = totalPrice;
+	}
+
+	public String getPeopleNumber() {
+		return peopleNumber;
+	}
+
+	public void setPeopleNumber(String peopleNumber) {
+		this.peopleNumber = peopleNumber;
+	}
+
+	public String getOrderDate() {
+		return orderDate;
+	}
+
+	public void setOrderDate(String orderDate) {
+		this.orderDate = orderDate;
+	}
+
+	public String getDiscount() {
+		return discount;
+	}
+
+	public void setDiscount(String discount) {
+		this.discount = discount;
+	}
+
+	public String getNote() {
+		return note;
+	}
+
+	public void setNote(String note) {
+		this.note = note;
+	}
+
+	public long getAppendedAt() {
+		return appendedAt;
+	}
+
+	public void setAppendedAt(long appendedAt) {
+		this.appendedAt = appendedAt;
+	}
+}
@@ -0,0 +1,228 @@
+package com.devpro.spring.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * File journal anh xa vao bo nho (MappedByteBuffer), kich thuoc co dinh.
+ *
+ * <pre>
+ * header (32 byte): magic(int) | - | epoch(long) | checkpoint(long)
+ * ban ghi:          do dai(int) | crc32(int) | epoch(long) | noi dung
+ * </pre>
+ *
+ * checkpoint: vi tri sau ban ghi cuoi da vao DB. Khi mo lai file, ban ghi tu checkpoint den ban ghi hong / trong /
+ * khac epoch dau tien (ghi do dang luc sap) la phan chua ghi. Khi da ghi het va qua nua file, rewind() quay ve dau
+ * file va tang epoch: ban ghi cu con nam trong file khong con duoc doc lai.
+ * force() gom: nhieu luong cung cho sync() chi can 1 lan ghi xuong dia.
+ */
+public final class OrderJournalFile implements Closeable {
+
+	static final int HEADER_BYTES = 32;
+	static final int RECORD_HEADER_BYTES = 16;
+
+	private static final int MAGIC = 0x4F4A524E;
+	private static final int EPOCH_OFFSET = 8;
+	private static final int CHECKPOINT_OFFSET = 16;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final int capacity;
+	private final Object syncLock = new Object();
+
+	private long epoch;
+	private volatile int checkpoint;
+	private volatile int tail;
+	private volatile int synced;
+
+	private OrderJournalFile(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+		this.channel = channel;
+		this.buffer = buffer;
+		this.capacity = capacity;
+	}
+
+	public static OrderJournalFile open(Path path, int capacity) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try {
+			// file cu lon hon thi giu nguyen kich thuoc de khong mat ban ghi
+			int size = (int) Math.min(Integer.MAX_VALUE, Math.max(capacity, channel.size()));
+			OrderJournalFile file = new OrderJournalFile(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size),
+					size);
+			file.load();
+			return file;
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private void load() {
+		if (buffer.getInt(0) != MAGIC) {
+			buffer.putInt(0, MAGIC);
+			buffer.putLong(EPOCH_OFFSET, 1);
+			buffer.putLong(CHECKPOINT_OFFSET, HEADER_BYTES);
+			buffer.force();
+		}
+		epoch = buffer.getLong(EPOCH_OFFSET);
+		checkpoint = (int) buffer.getLong(CHECKPOINT_OFFSET);
+		if (checkpoint < HEADER_BYTES || checkpoint > capacity) {
+			checkpoint = HEADER_BYTES;
+		}
+		int position = checkpoint;
+		while (recordEnd(position) > 0) {
+			position = recordEnd(position);
+		}
+		tail = position;
+		synced = position;
+	}
+
+	/**
+	 * @return vi tri ngay sau ban ghi (dung cho sync() va checkpoint()), -1 neu file da day
+	 */
+	public synchronized int append(byte[] payload) {
+		int end = tail + RECORD_HEADER_BYTES + payload.length;
+		if (end > capacity || end < 0) {
+			return -1;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		ByteBuffer view = buffer.duplicate();
+		view.position(tail);
+		view.putInt(payload.length).putInt((int) crc.getValue()).putLong(epoch).put(payload);
+		tail = end;
+		return end;
+	}
+
+	/**
+	 * Cho den khi ban ghi ket thuc o end da nam tren dia. Luong vao force() truoc ghi luon phan cua luong khac.
+	 */
+	public void sync(int end) {
+		if (synced >= end) {
+			return;
+		}
+		synchronized (syncLock) {
+			if (synced >= end) {
+				return;
+			}
+			int target = tail;
+			buffer.force();
+			synced = target;
+		}
+	}
+
+	/**
+	 * Noi dung cac ban ghi chua vao DB (tu checkpoint den cuoi), theo thu tu ghi.
+	 */
+	public synchronized List<Record> pending() {
+		List<Record> records = new ArrayList<>();
+		int position = checkpoint;
+		while (position < tail) {
+			int end = recordEnd(position);
+			if (end == 0) {
+				break;
+			}
+			byte[] payload = new byte[end - position - RECORD_HEADER_BYTES];
+			ByteBuffer view = buffer.duplicate();
+			view.position(position + RECORD_HEADER_BYTES);
+			view.get(payload);
+			records.add(new Record(payload, end));
+			position = end;
+		}
+		return records;
+	}
+
+	public synchronized void checkpoint(int position) {
+		checkpoint = position;
+		buffer.putLong(CHECKPOINT_OFFSET, position);
+		buffer.force();
+	}
+
+	/**
+	 * Quay ve dau file neu tat ca ban ghi da vao DB va file da dung qua threshold byte.
+	 */
+	public boolean rewind(int threshold) {
+		synchronized (this) {
+			if (checkpoint != tail || tail <= Math.max(threshold, HEADER_BYTES)) {
+				return false;
+			}
+			synchronized (syncLock) {
+				epoch++;
+				buffer.putLong(EPOCH_OFFSET, epoch);
+				buffer.putLong(CHECKPOINT_OFFSET, HEADER_BYTES);
+				buffer.force();
+				checkpoint = HEADER_BYTES;
+				tail = HEADER_BYTES;
+				synced = HEADER_BYTES;
+			}
+			return true;
+		}
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public int getCheckpoint() {
+		return checkpoint;
+	}
+
+	public int getTail() {
+		return tail;
+	}
+
+	@Override
+	public void close() throws IOException {
+		buffer.force();
+		channel.close();
+	}
+
+	// vi tri sau ban ghi bat dau o position, 0 neu khong co ban ghi hop le
+	private int recordEnd(int position) {
+		if (position + RECORD_HEADER_BYTES > capacity) {
+			return 0;
+		}
+		int length = buffer.getInt(position);
+		if (length <= 0 || length > capacity - position - RECORD_HEADER_BYTES
+				|| buffer.getLong(position + 8) != epoch) {
+			return 0;
+		}
+		byte[] payload = new byte[length];
+		ByteBuffer view = buffer.duplicate();
+		view.position(position + RECORD_HEADER_BYTES);
+		view.get(payload);
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		return buffer.getInt(position + 4) == (int) crc.getValue() ? position + RECORD_HEADER_BYTES + length : 0;
+	}
+
+	public static final class Record {
+		private final byte[] payload;
+		private final int end;
+
+		Record(byte[] payload, int end) {
+			this.payload = payload;
+			this.end = end;
+		}
+
+		public byte[] getPayload() {
+			return payload;
+		}
+
+		public int getEnd() {
+			return end;
+		}
+	}
+}
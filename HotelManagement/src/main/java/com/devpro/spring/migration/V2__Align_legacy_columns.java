@@ -0,0 +1,101 @@
+package com.devpro.spring.migration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Sua cac cot cua CSDL tao tu Database/hotel-management.sql hoac ddl-auto=update cu cho khop entity
+ * (V1 bo qua bang da ton tai). Chi doi cot khi doc metadata thay khac, CSDL moi tao tu V1 khong bi anh huong.
+ * MySQL khong co "add column if not exists" nen kiem tra bang JDBC metadata thay vi viet SQL thuan.
+ */
+public class V2__Align_legacy_columns extends BaseJavaMigration {
+
+	private static final String[] PAYMENT_AMOUNT_COLUMNS = { "room_amount", "food_amount", "service_amount",
+			"surcharge", "deduction", "total_amount" };
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		Connection connection = context.getConnection();
+		Schema schema = new Schema(connection);
+		try (Statement statement = connection.createStatement()) {
+			// payment cu chi co payment_id, method
+			for (String column : PAYMENT_AMOUNT_COLUMNS) {
+				if (findColumn(schema, "payment", column) == null) {
+					statement.execute("alter table payment add column " + column + " varchar(255)");
+				}
+			}
+			if (findColumn(schema, "payment", "payment_date") == null) {
+				statement.execute("alter table payment add column payment_date datetime(6)");
+			}
+
+			// ngay check-in/check-out luu ca gio (java.util.Date khong @Temporal)
+			for (String column : new String[] { "check_in_date", "check_out_date" }) {
+				Column found = findColumn(schema, "rental", column);
+				if (found != null && found.type == Types.DATE) {
+					statement.execute("alter table rental modify " + column + " datetime(6)");
+				}
+			}
+
+			// payment chi tao khi tra phong
+			Column payment = findColumn(schema, "rental", "payment_id");
+			if (payment != null && !payment.nullable) {
+				statement.execute("alter table rental modify payment_id bigint null");
+			}
+
+			// script cu dat kieu so, entity dung String
+			Column manager = findColumn(schema, "employee", "manager_number");
+			if (manager != null && manager.type != Types.VARCHAR) {
+				statement.execute("alter table employee modify manager_number varchar(255)");
+			}
+			Column sectionManager = findColumn(schema, "section", "section_manager_id");
+			if (sectionManager != null && sectionManager.type != Types.VARCHAR) {
+				statement.execute("alter table section modify section_manager_id varchar(255)");
+			}
+		}
+	}
+
+	private static Column findColumn(Schema schema, String table, String column) throws SQLException {
+		// ten bang/cot co the luu hoa hoac thuong tuy CSDL
+		for (String tableName : new String[] { table, table.toUpperCase() }) {
+			for (String columnName : new String[] { column, column.toUpperCase() }) {
+				// chi tim trong database dang ket noi (Connector/J 8 mac dinh tra ve cot cua moi database)
+				try (ResultSet rs = schema.metaData.getColumns(schema.catalog, null, tableName, columnName)) {
+					if (rs.next()) {
+						return new Column(rs.getInt("DATA_TYPE"),
+								rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls);
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private static class Schema {
+
+		private final DatabaseMetaData metaData;
+		private final String catalog;
+
+		private Schema(Connection connection) throws SQLException {
+			this.metaData = connection.getMetaData();
+			this.catalog = connection.getCatalog();
+		}
+	}
+
+	private static class Column {
+
+		private final int type;
+		private final boolean nullable;
+
+		private Column(int type, boolean nullable) {
+			this.type = type;
+			this.nullable = nullable;
+		}
+	}
+}
@@ -6,13 +6,20 @@ import java.util.Set;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.devpro.spring.id.PooledIdGenerator;
+
 @Entity
 @Table(name = "category")
+@BatchSize(size = Rental.BATCH_SIZE)
 public class Category implements Serializable{
 	
 	/**
@@ -21,7 +28,9 @@ public class Category implements Serializable{
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(generator = "category_seq")
+	@GenericGenerator(name = "category_seq", strategy = PooledIdGenerator.STRATEGY,
+			parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "category_seq"))
 	@Column(name = "category_id")
 	private Long categoryId;
 	
@@ -53,5 +62,6 @@ public class Category implements Serializable{
 	private String categoryName;
 	
 	@OneToMany(mappedBy = "category")
+	@BatchSize(size = Rental.BATCH_SIZE)
 	private Set<FoodItem> foodItems;
 }
@@ -1,5 +1,6 @@
 package com.devpro.spring.model;
 
+import java.util.Date;
 import java.util.Set;
 
 import javax.persistence.Column;
@@ -7,14 +8,22 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToMany;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "chamber")
+@Table(name = "chamber", indexes = {
+		@Index(name = "idx_chamber_type_vip_empty", columnList = "chamber_type, is_vip, is_empty") })
 @JsonIgnoreProperties("rentals")
+@BatchSize(size = Rental.BATCH_SIZE)
 public class Chamber {
 
 	@Id
@@ -56,6 +65,7 @@ public class Chamber {
 	private String isEmpty;
 	
 	@ManyToMany(mappedBy = "chambers")
+	@BatchSize(size = Rental.BATCH_SIZE)
 	private Set<Rental> rentals;
 
 	public Chamber() {
@@ -135,4 +145,24 @@ public class Chamber {
 	}
 
 	
+
+	// thoi diem sua cuoi, lam ETag/Last-Modified cua /find-chamber. Cau update hang loat (CustomQuery) tu dat cot nay
+	@JsonIgnore
+	@Column(name = "updated_at")
+	private Date updatedAt;
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	// merge() chep ca gia tri cu tu ban detached, dat lai o day de thoi diem luon tang
+	@PrePersist
+	@PreUpdate
+	void touch() {
+		updatedAt = new Date();
+	}
 }
@@ -0,0 +1,100 @@
+package com.devpro.spring.model;
+
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "report_daily_occupancy")
+public class DailyOccupancy {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "report_date", nullable = false, unique = true)
+	private LocalDate reportDate;
+
+	// so phong co khach o qua dem report_date (chot boi night audit)
+	@Column(name = "occupied_rooms", nullable = false)
+	private long occupiedRooms;
+
+	@Column(name = "total_rooms", nullable = false)
+	private long totalRooms;
+
+	// so luot tra phong trong ngay va tong so dem cua cac luot do
+	@Column(name = "check_outs", nullable = false)
+	private long checkOuts;
+
+	@Column(name = "stay_nights", nullable = false)
+	private long stayNights;
+
+	public DailyOccupancy() {
+		super();
+	}
+
+	public DailyOccupancy(LocalDate reportDate, long occupiedRooms, long totalRooms, long checkOuts,
+			long stayNights) {
+		super();
+		this.reportDate = reportDate;
+		this.occupiedRooms = occupiedRooms;
+		this.totalRooms = totalRooms;
+		this.checkOuts = checkOuts;
+		this.stayNights = stayNights;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public LocalDate getReportDate() {
+		return reportDate;
+	}
+
+	public void setReportDate(LocalDate reportDate) {
+		this.reportDate = reportDate;
+	}
+
+	public long getOccupiedRooms() {
+		return occupiedRooms;
+	}
+
+	public void setOccupiedRooms(long occupiedRooms) {
+		this.occupiedRooms = occupiedRooms;
+	}
+
+	public long getTotalRooms() {
+		return totalRooms;
+	}
+
+	public void setTotalRooms(long totalRooms) {
+		this.totalRooms = totalRooms;
+	}
+
+	public long getCheckOuts() {
+		return checkOuts;
+	}
+
+	public void setCheckOuts(long checkOuts) {
+		this.checkOuts = checkOuts;
+	}
+
+	public long getStayNights() {
+		return stayNights;
+	}
+
+	public void setStayNights(long stayNights) {
+		this.stayNights = stayNights;
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.devpro.spring.model;
+
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "report_daily_revenue", //
+		uniqueConstraints = { @UniqueConstraint(name = "REPORT_DAILY_REVENUE_UK", columnNames = { "report_date",
+				"source", "chamber_type", "is_vip" }) })
+public class DailyRevenue {
+
+	public static final String SOURCE_ROOM = "room";
+	public static final String SOURCE_FOOD = "food";
+	public static final String SOURCE_SERVICE = "service";
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "report_date", nullable = false)
+	private LocalDate reportDate;
+
+	@Column(name = "source", length = 10, nullable = false)
+	private String source;
+
+	// doanh thu do an/dich vu khong gan voi loai phong -> de chuoi rong; cung do dai voi chamber.chamber_type
+	@Column(name = "chamber_type", length = 255, nullable = false)
+	private String chamberType;
+
+	@Column(name = "is_vip", length = 10, nullable = false)
+	private String isVip;
+
+	@Column(name = "amount", nullable = false)
+	private long amount;
+
+	@Column(name = "item_count", nullable = false)
+	private long itemCount;
+
+	public DailyRevenue() {
+		super();
+	}
+
+	public DailyRevenue(LocalDate reportDate, String source, String chamberType, String isVip, long amount,
+			long itemCount) {
+		super();
+		this.reportDate = reportDate;
+		this.source = source;
+		this.chamberType = chamberType;
+		this.isVip = isVip;
+		this.amount = amount;
+		this.itemCount = itemCount;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public LocalDate getReportDate() {
+		return reportDate;
+	}
+
+	public void setReportDate(LocalDate reportDate) {
+		this.reportDate = reportDate;
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public void setSource(String source) {
+		this.source = source;
+	}
+
+	public String getChamberType() {
+		return chamberType;
+	}
+
+	public void setChamberType(String chamberType) {
+		this.chamberType = chamberType;
+	}
+
+	public String getIsVip() {
+		return isVip;
+	}
+
+	public void setIsVip(String isVip) {
+		this.isVip = isVip;
+	}
+
+	public long getAmount() {
+		return amount;
+	}
+
+	public void setAmount(long amount) {
+		this.amount = amount;
+	}
+
+	public long getItemCount() {
+		return itemCount;
+	}
+
+	public void setItemCount(long itemCount) {
+		this.itemCount = itemCount;
+	}
+
+}
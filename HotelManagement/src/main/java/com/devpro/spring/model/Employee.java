@@ -1,22 +1,33 @@
 package com.devpro.spring.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.Date;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.devpro.spring.id.PooledIdGenerator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 @Entity
-@Table(name = "employee")
+@Table(name = "employee", indexes = { @Index(name = "idx_employee_number", columnList = "employee_number") })
 public class Employee {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(generator = "employee_seq")
+	@GenericGenerator(name = "employee_seq", strategy = PooledIdGenerator.STRATEGY,
+			parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "employee_seq"))
 	
 	@Column(name = "employee_id", nullable = false)
 	private Long employeeId;
@@ -188,4 +199,23 @@ public class Employee {
 		return builder.toString();
 	}
 	
+
+	// ETag cua /find-employee (xem Chamber.touch())
+	@JsonIgnore
+	@Column(name = "updated_at")
+	private Date updatedAt;
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void touch() {
+		updatedAt = new Date();
+	}
 }
@@ -1,17 +1,25 @@
 package com.devpro.spring.model;
 
 import java.io.Serializable;
+import java.util.Date;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.devpro.spring.id.PooledIdGenerator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
@@ -25,7 +33,9 @@ public class FoodItem implements Serializable{
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(generator = "food_item_seq")
+	@GenericGenerator(name = "food_item_seq", strategy = PooledIdGenerator.STRATEGY,
+			parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "food_item_seq"))
 	@Column(name = "food_item_id")
 	private Long id;
 	
@@ -114,4 +124,22 @@ public class FoodItem implements Serializable{
 	@JoinColumn(name = "category_id")
 	private Category category;
 
+	// ETag cua /service/find-food; ServiceController luu ban detached nen phai dat trong touch()
+	@JsonIgnore
+	@Column(name = "updated_at")
+	private Date updatedAt;
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void touch() {
+		updatedAt = new Date();
+	}
 }
@@ -1,6 +1,7 @@
 package com.devpro.spring.model;
 
 import java.io.Serializable;
+import java.util.Date;
 import java.util.Set;
 
 import javax.persistence.Column;
@@ -9,14 +10,21 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "guest")
+@Table(name = "guest", indexes = { @Index(name = "idx_guest_id_card", columnList = "id_card") })
 @JsonIgnoreProperties("rentals") // anotation giup bo di thuoc tinh ko muon binding ra json
+@BatchSize(size = Rental.BATCH_SIZE)
 public class Guest implements Serializable{
 	
 	/**
@@ -109,6 +117,7 @@ public class Guest implements Serializable{
 	}
 
 	@OneToMany(mappedBy = "guest",fetch = FetchType.LAZY)
+	@BatchSize(size = Rental.BATCH_SIZE)
 	private Set<Rental> rentals;
 
 	public long getGuestId() {
@@ -191,4 +200,23 @@ public class Guest implements Serializable{
 		this.rentals = rentals;
 	}
 	
+
+	// ETag cua /find-guest, cach cap nhat xem Chamber.touch()
+	@JsonIgnore
+	@Column(name = "updated_at")
+	private Date updatedAt;
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void touch() {
+		updatedAt = new Date();
+	}
 }
@@ -1,14 +1,19 @@
 package com.devpro.spring.model;
 
 import java.io.Serializable;
+import java.util.Date;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 @Entity
 @Table(name = "service")
 public class HotelService implements Serializable{
@@ -109,4 +114,23 @@ public class HotelService implements Serializable{
 	@Column(name = "note")
 	private String note;
 	
+
+	// ETag cua /service/find-service va /order/service-price
+	@JsonIgnore
+	@Column(name = "updated_at")
+	private Date updatedAt;
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void touch() {
+		updatedAt = new Date();
+	}
 }
@@ -0,0 +1,133 @@
+package com.devpro.spring.model;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "import_job")
+public class ImportJob {
+
+	public static final String STATUS_RUNNING = "RUNNING";
+	public static final String STATUS_FAILED = "FAILED";
+	public static final String STATUS_DONE = "DONE";
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "import_job_id")
+	private Long id;
+
+	@Column(name = "kind", nullable = false)
+	private String kind;
+
+	@Column(name = "file_name")
+	private String fileName;
+
+	@Column(name = "status", nullable = false)
+	private String status;
+
+	// checkpoint: dong cuoi cung (tinh ca dong loi) da duoc commit, chay lai se bo qua cac dong <= last_line
+	@Column(name = "last_line", nullable = false)
+	private long lastLine;
+
+	@Column(name = "imported_rows", nullable = false)
+	private long importedRows;
+
+	@Column(name = "error_rows", nullable = false)
+	private long errorRows;
+
+	@Column(name = "message")
+	private String message;
+
+	@Column(name = "updated_at")
+	private Date updatedAt;
+
+	public ImportJob() {
+		super();
+	}
+
+	public ImportJob(String kind, String fileName) {
+		super();
+		this.kind = kind;
+		this.fileName = fileName;
+		this.status = STATUS_RUNNING;
+		this.updatedAt = new Date();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getKind() {
+		return kind;
+	}
+
+	public void setKind(String kind) {
+		this.kind = kind;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public void setFileName(String fileName) {
+		this.fileName = fileName;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public long getLastLine() {
+		return lastLine;
+	}
+
+	public void setLastLine(long lastLine) {
+		this.lastLine = lastLine;
+	}
+
+	public long getImportedRows() {
+		return importedRows;
+	}
+
+	public void setImportedRows(long importedRows) {
+		this.importedRows = importedRows;
+	}
+
+	public long getErrorRows() {
+		return errorRows;
+	}
+
+	public void setErrorRows(long errorRows) {
+		this.errorRows = errorRows;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
@@ -5,18 +5,30 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.devpro.spring.id.PooledIdGenerator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 @Entity
-@Table(name = "order_food")
+@Table(name = "order_food", indexes = {
+		@Index(name = "idx_order_food_rental_total", columnList = "rental_id, total_price"),
+		@Index(name = "idx_order_food_date_total", columnList = "order_date, total_price"),
+		@Index(name = "ux_order_food_journal_id", columnList = "journal_id", unique = true) })
 public class OrderFood {
 	
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "order_food_seq")
+    @GenericGenerator(name = "order_food_seq", strategy = PooledIdGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "order_food_seq"))
 	@Column(name = "order_food_id")
     private Long id;
 	
@@ -50,6 +62,11 @@ public class OrderFood {
 	@JoinColumn(name = "rental_id",nullable = false)
 	private Rental rental;
 
+	// chi co voi order ghi qua journal (OrderJournal), dung de bo qua ban ghi da ghi khi doc lai journal
+	@JsonIgnore
+	@Column(name = "journal_id")
+	private String journalId;
+
 	public Long getId() {
 		return id;
 	}
@@ -105,4 +122,12 @@ public class OrderFood {
 	public void setRental(Rental rental) {
 		this.rental = rental;
 	}
+
+	public String getJournalId() {
+		return journalId;
+	}
+
+	public void setJournalId(String journalId) {
+		this.journalId = journalId;
+	}
 }
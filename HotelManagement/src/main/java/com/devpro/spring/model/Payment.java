@@ -1,27 +1,146 @@
 package com.devpro.spring.model;
 
+import java.util.Date;
 import java.util.Set;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.devpro.spring.id.PooledIdGenerator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 @Entity
 @Table(name = "payment")
+@BatchSize(size = Rental.BATCH_SIZE)
 public class Payment {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(generator = "payment_seq")
+	@GenericGenerator(name = "payment_seq", strategy = PooledIdGenerator.STRATEGY,
+			parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "payment_seq"))
 	@Column(name = "payment_id")
 	private Long paymentId;
 
 	@Column(name = "method")
 	private String paymentMethod;
 
+	// cac khoan tien chot khi tra phong (1 payment co the thanh toan nhieu rental - tra phong theo doan)
+	@Column(name = "room_amount")
+	private String roomAmount;
+
+	@Column(name = "food_amount")
+	private String foodAmount;
+
+	@Column(name = "service_amount")
+	private String serviceAmount;
+
+	@Column(name = "surcharge")
+	private String surcharge;
+
+	@Column(name = "deduction")
+	private String deduction;
+
+	@Column(name = "total_amount")
+	private String totalAmount;
+
+	@Column(name = "payment_date")
+	private Date paymentDate;
+
+	@JsonIgnore
 	@OneToMany(mappedBy = "payment")
+	@BatchSize(size = Rental.BATCH_SIZE)
 	private Set<Rental> rentals;
+
+	public Payment() {
+		super();
+	}
+
+	public Long getPaymentId() {
+		return paymentId;
+	}
+
+	public void setPaymentId(Long paymentId) {
+		this.paymentId = paymentId;
+	}
+
+	public String getPaymentMethod() {
+		return paymentMethod;
+	}
+
+	public void setPaymentMethod(String paymentMethod) {
+		this.paymentMethod = paymentMethod;
+	}
+
+	public String getRoomAmount() {
+		return roomAmount;
+	}
+
+	public void setRoomAmount(String roomAmount) {
+		this.roomAmount = roomAmount;
+	}
+
+	public String getFoodAmount() {
+		return foodAmount;
+	}
+
+	public void setFoodAmount(String foodAmount) {
+		this.foodAmount = foodAmount;
+	}
+
+	public String getServiceAmount() {
+		return serviceAmount;
+	}
+
+	public void setServiceAmount(String serviceAmount) {
+		this.serviceAmount = serviceAmount;
+	}
+
+	public String getSurcharge() {
+		return surcharge;
+	}
+
+	public void setSurcharge(String surcharge) {
+		this.surcharge = surcharge;
+	}
+
+	public String getDeduction() {
+		return deduction;
+	}
+
+	public void setDeduction(String deduction) {
+		this.deduction = deduction;
+	}
+
+	public String getTotalAmount() {
+		return totalAmount;
+	}
+
+	public void setTotalAmount(String totalAmount) {
+		this.totalAmount = totalAmount;
+	}
+
+	public Date getPaymentDate() {
+		return paymentDate;
+	}
+
+	public void setPaymentDate(Date paymentDate) {
+		this.paymentDate = paymentDate;
+	}
+
+	public Set<Rental> getRentals() {
+		return rentals;
+	}
+
+	public void setRentals(Set<Rental> rentals) {
+		this.rentals = rentals;
+	}
 }
@@ -8,17 +8,34 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.devpro.spring.id.PooledIdGenerator;
+
 @Entity
-@Table(name = "rental")
+@Table(name = "rental", indexes = {
+		@Index(name = "idx_rental_paid_guest", columnList = "paid, guest_id, check_in_date"),
+		@Index(name = "idx_rental_paid_check_out", columnList = "paid, check_out_date"),
+		@Index(name = "idx_rental_check_in", columnList = "check_in_date, check_out_date") })
+// guest/chambers lazy: tra phong nap ca khach lan phong trong 1 cau (graph), dat do an/dich vu chi can khoa ngoai
+// (getReference, khong doc rental), danh sach nap khach/phong theo lo (@BatchSize)
+@NamedEntityGraph(name = Rental.GRAPH_CHECK_OUT, attributeNodes = { @NamedAttributeNode("guest"),
+		@NamedAttributeNode("chambers") })
+@BatchSize(size = Rental.BATCH_SIZE)
 public class Rental implements Serializable{
 	
 	/**
@@ -26,8 +43,15 @@ public class Rental implements Serializable{
 	 */
 	private static final long serialVersionUID = 1L;
 
+	public static final String GRAPH_CHECK_OUT = "Rental.checkOut";
+
+	// so proxy / collection lazy duoc khoi tao cung luc (1 cau "in (...)" thay vi 1 cau moi dong)
+	public static final int BATCH_SIZE = 50;
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(generator = "rental_seq")
+	@GenericGenerator(name = "rental_seq", strategy = PooledIdGenerator.STRATEGY,
+			parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "rental_seq"))
 	@Column(name = "rental_id")
 	private Long rentalId;
 	
@@ -46,14 +70,16 @@ public class Rental implements Serializable{
 	@Column(name = "note")
 	private String note;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "guest_id",nullable = false)
 	private Guest guest;
 	
     @ManyToMany
+    @BatchSize(size = BATCH_SIZE)
     @JoinTable(name = "rental_chamber",
         joinColumns = @JoinColumn(name = "rental_id"),
-        inverseJoinColumns = @JoinColumn(name = "chamber_id"))
+        inverseJoinColumns = @JoinColumn(name = "chamber_id"),
+        indexes = @Index(name = "idx_rental_chamber_chamber", columnList = "chamber_id, rental_id"))
     private Set<Chamber> chambers;
 	
 	public Long getRentalId() {
@@ -128,11 +154,13 @@ public class Rental implements Serializable{
 		this.payment = payment;
 	}
 
+	// null cho toi khi tra phong (check-out tao payment)
 	@ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name="payment_id", nullable=false)
+    @JoinColumn(name="payment_id")
     private Payment payment;
 	
 	@OneToMany(mappedBy = "rental")
+	@BatchSize(size = BATCH_SIZE)
 	private Set<OrderFood> orderFoods;
 
 	public Set<OrderFood> getOrderFoods() {
@@ -144,6 +172,7 @@ public class Rental implements Serializable{
 	}
 	
 	@OneToMany(mappedBy = "rental")
+	@BatchSize(size = BATCH_SIZE)
 	private Set<ServiceBill> serviceBills;
 
 	public Set<ServiceBill> getServiceBills() {
@@ -7,14 +7,24 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.devpro.spring.id.PooledIdGenerator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 @Entity
-@Table(name = "service_bill")
+@Table(name = "service_bill", indexes = {
+		@Index(name = "idx_service_bill_rental_total", columnList = "rental_id, total_price"),
+		@Index(name = "idx_service_bill_date_total", columnList = "order_date, total_price"),
+		@Index(name = "ux_service_bill_journal_id", columnList = "journal_id", unique = true) })
 public class ServiceBill implements Serializable{
 	
 	/**
@@ -23,7 +33,9 @@ public class ServiceBill implements Serializable{
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(generator = "service_bill_seq")
+	@GenericGenerator(name = "service_bill_seq", strategy = PooledIdGenerator.STRATEGY,
+			parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "service_bill_seq"))
 	@Column(name = "service_bill_id")
 	private Long id;
 	
@@ -100,4 +112,16 @@ public class ServiceBill implements Serializable{
 	@JoinColumn(name = "rental_id")
 	private Rental rental;
 
+	@JsonIgnore
+	@Column(name = "journal_id")
+	private String journalId;
+
+	public String getJournalId() {
+		return journalId;
+	}
+
+	public void setJournalId(String journalId) {
+		this.journalId = journalId;
+	}
+
 }
@@ -0,0 +1,212 @@
+package com.devpro.spring.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.devpro.spring.dto.CartDto;
+import com.devpro.spring.dto.CartItemDto;
+import com.devpro.spring.dto.CartLineDto;
+import com.devpro.spring.dto.CartPriceDto;
+import com.devpro.spring.utils.FolioUtils;
+
+/**
+ * Ban chup bang gia mon an + dich vu, khong doi sau khi tao (copy-on-write: catalogue doi thi PriceBookRegistry
+ * dung ban moi va thay tham chieu). Id sap tang dan trong mang long[] song song voi gia, tim bang binarySearch:
+ * khong boxing, khong proxy Hibernate, gia da parse san thanh so.
+ */
+public final class PriceBook {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PriceBook.class);
+
+	static final String FOOD = "food";
+	static final String SERVICE = "service";
+
+	private static final int MAX_QUANTITY = 1000;
+	private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+	private final long foodVersion;
+	private final long serviceVersion;
+
+	private final long[] foodIds;
+	private final long[] foodPrices;
+	private final String[] foodNames;
+
+	private final long[] serviceIds;
+	private final long[] servicePrices;
+	private final String[] serviceNames;
+	private final String[] serviceUnits;
+	// updated_at cua dich vu (0 neu null): ETag cua /order/service-price ma khong can SQL
+	private final long[] serviceUpdatedAt;
+
+	private PriceBook(long foodVersion, long serviceVersion, long[] foodIds, long[] foodPrices, String[] foodNames,
+			long[] serviceIds, long[] servicePrices, String[] serviceNames, String[] serviceUnits,
+			long[] serviceUpdatedAt) {
+		this.foodVersion = foodVersion;
+		this.serviceVersion = serviceVersion;
+		this.foodIds = foodIds;
+		this.foodPrices = foodPrices;
+		this.foodNames = foodNames;
+		this.serviceIds = serviceIds;
+		this.servicePrices = servicePrices;
+		this.serviceNames = serviceNames;
+		this.serviceUnits = serviceUnits;
+		this.serviceUpdatedAt = serviceUpdatedAt;
+	}
+
+	/**
+	 * foods: [id, name, price], services: [id, name, price, unit, updatedAt], da sap theo id.
+	 * Dong co gia khong phai so bi bo qua (ghi log) thay vi lam hong ca bang gia.
+	 */
+	static PriceBook build(long foodVersion, long serviceVersion, List<Object[]> foods, List<Object[]> services) {
+		long[] foodIds = new long[foods.size()];
+		long[] foodPrices = new long[foods.size()];
+		String[] foodNames = new String[foods.size()];
+		int foodCount = 0;
+		for (Object[] row : foods) {
+			Long price = price(FOOD, row);
+			if (price != null) {
+				foodIds[foodCount] = ((Number) row[0]).longValue();
+				foodPrices[foodCount] = price;
+				foodNames[foodCount] = (String) row[1];
+				foodCount++;
+			}
+		}
+		long[] serviceIds = new long[services.size()];
+		long[] servicePrices = new long[services.size()];
+		String[] serviceNames = new String[services.size()];
+		String[] serviceUnits = new String[services.size()];
+		long[] serviceUpdatedAt = new long[services.size()];
+		int serviceCount = 0;
+		for (Object[] row : services) {
+			Long price = price(SERVICE, row);
+			if (price != null) {
+				serviceIds[serviceCount] = ((Number) row[0]).longValue();
+				servicePrices[serviceCount] = price;
+				serviceNames[serviceCount] = (String) row[1];
+				serviceUnits[serviceCount] = (String) row[3];
+				serviceUpdatedAt[serviceCount] = row[4] == null ? 0 : ((Date) row[4]).getTime();
+				serviceCount++;
+			}
+		}
+		return new PriceBook(foodVersion, serviceVersion, Arrays.copyOf(foodIds, foodCount),
+				Arrays.copyOf(foodPrices, foodCount), Arrays.copyOf(foodNames, foodCount),
+				Arrays.copyOf(serviceIds, serviceCount), Arrays.copyOf(servicePrices, serviceCount),
+				Arrays.copyOf(serviceNames, serviceCount), Arrays.copyOf(serviceUnits, serviceCount),
+				Arrays.copyOf(serviceUpdatedAt, serviceCount));
+	}
+
+	private static Long price(String kind, Object[] row) {
+		try {
+			return FolioUtils.parseAmount((String) row[2]);
+		} catch (NumberFormatException e) {
+			LOGGER.warn("Price book skips {} {}: invalid price '{}'", kind, row[0], row[2]);
+			return null;
+		}
+	}
+
+	public long getFoodVersion() {
+		return foodVersion;
+	}
+
+	public long getServiceVersion() {
+		return serviceVersion;
+	}
+
+	// tra ve cho client de biet tong tien tinh theo bang gia nao
+	public String getVersion() {
+		return foodVersion + "." + serviceVersion;
+	}
+
+	public int getFoodCount() {
+		return foodIds.length;
+	}
+
+	public int getServiceCount() {
+		return serviceIds.length;
+	}
+
+	public CartLineDto priceFood(Long id, int quantity) {
+		int index = indexOf(foodIds, id, "Món ăn");
+		return new CartLineDto(FOOD, id, foodNames[index], null, foodPrices[index], checkQuantity(quantity));
+	}
+
+	public CartLineDto priceService(Long id, int quantity) {
+		int index = indexOf(serviceIds, id, "Dịch vụ");
+		return new CartLineDto(SERVICE, id, serviceNames[index], serviceUnits[index], servicePrices[index],
+				checkQuantity(quantity));
+	}
+
+	// null neu khong co dich vu hoac dong cu chua co updated_at
+	public Date getServiceUpdatedAt(Long id) {
+		int index = id == null ? -1 : Arrays.binarySearch(serviceIds, id);
+		return index < 0 || serviceUpdatedAt[index] == 0 ? null : new Date(serviceUpdatedAt[index]);
+	}
+
+	/**
+	 * Tinh ca gio hang: tien tung dong, tong tung hoa don, giam gia % lam tron den dong (half-up).
+	 * Id khong co trong bang gia, so luong hay giam gia sai -> IllegalArgumentException (message hien cho nguoi dung).
+	 */
+	public CartPriceDto price(CartDto cart) {
+		CartPriceDto result = new CartPriceDto();
+		result.setPriceVersion(getVersion());
+		long foodSubtotal = 0;
+		if (cart.getFoods() != null) {
+			for (CartItemDto item : cart.getFoods()) {
+				CartLineDto line = priceFood(item.getId(), item.getQuantity());
+				result.getLines().add(line);
+				foodSubtotal += line.getAmount();
+			}
+		}
+		long serviceSubtotal = 0;
+		if (cart.getServices() != null) {
+			for (CartItemDto item : cart.getServices()) {
+				CartLineDto line = priceService(item.getId(), item.getQuantity());
+				result.getLines().add(line);
+				serviceSubtotal += line.getAmount();
+			}
+		}
+		result.setFoodSubtotal(foodSubtotal);
+		result.setFoodDiscount(discount(foodSubtotal, cart.getFoodDiscount()));
+		result.setServiceSubtotal(serviceSubtotal);
+		result.setServiceDiscount(discount(serviceSubtotal, cart.getServiceDiscount()));
+		return result;
+	}
+
+	private static int indexOf(long[] ids, Long id, String label) {
+		int index = id == null ? -1 : Arrays.binarySearch(ids, id);
+		if (index < 0) {
+			throw new IllegalArgumentException(label + " không tồn tại: " + id);
+		}
+		return index;
+	}
+
+	private static int checkQuantity(int quantity) {
+		if (quantity <= 0 || quantity > MAX_QUANTITY) {
+			throw new IllegalArgumentException("Số lượng không hợp lệ: " + quantity);
+		}
+		return quantity;
+	}
+
+	// cung cong thuc voi man hinh order: sum - sum / 100 * discount
+	static long discount(long subtotal, String percent) {
+		if (percent == null || percent.trim().isEmpty()) {
+			return 0L;
+		}
+		BigDecimal value;
+		try {
+			value = new BigDecimal(percent.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Giảm giá không hợp lệ: " + percent);
+		}
+		if (value.signum() < 0 || value.compareTo(HUNDRED) > 0) {
+			throw new IllegalArgumentException("Giảm giá không hợp lệ: " + percent);
+		}
+		return BigDecimal.valueOf(subtotal).multiply(value).divide(HUNDRED, 0, RoundingMode.HALF_UP).longValue();
+	}
+}
@@ -0,0 +1,100 @@
+package com.devpro.spring.pricing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.devpro.spring.datasource.ReadYourWrites;
+import com.devpro.spring.fragment.DataVersions;
+import com.devpro.spring.model.FoodItem;
+import com.devpro.spring.model.HotelService;
+import com.devpro.spring.repository.FoodItemRepository;
+import com.devpro.spring.repository.HotelServiceRepository;
+
+/**
+ * Giu ban chup PriceBook hien hanh. Ban chup gan voi phien ban FoodItem/HotelService cua DataVersions
+ * (tang khi save/delete/import commit), lan doc dau tien sau khi phien ban doi se dung lai bang gia:
+ * 2 cau SQL cho ca catalogue, cac luong doc khac van dung ban cu cho den khi tham chieu duoc thay.
+ */
+@Component
+public class PriceBookRegistry {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PriceBookRegistry.class);
+
+	// du dai cho 2 cau SQL cua lan dung lai
+	private static final long PRIMARY_PIN_MS = 60000;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private HotelServiceRepository hotelServiceRepository;
+
+	@Autowired
+	private DataVersions dataVersions;
+
+	private volatile PriceBook current;
+
+	public PriceBook current() {
+		PriceBook book = current;
+		if (isCurrent(book)) {
+			return book;
+		}
+		return rebuild();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		try {
+			rebuild();
+		} catch (DataAccessException e) {
+			// current() se thu lai o lan goi dau tien
+			LOGGER.warn("Price book warm-up failed: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Dung lai ngay, khong doi phien ban (dung khi catalogue bi sua ngoai service, vd. trong test).
+	 */
+	public synchronized PriceBook reload() {
+		current = load();
+		return current;
+	}
+
+	private synchronized PriceBook rebuild() {
+		PriceBook book = current;
+		if (isCurrent(book)) {
+			// luong khac vua dung xong
+			return book;
+		}
+		current = load();
+		return current;
+	}
+
+	private boolean isCurrent(PriceBook book) {
+		return book != null && book.getFoodVersion() == dataVersions.current(FoodItem.class.getSimpleName())
+				&& book.getServiceVersion() == dataVersions.current(HotelService.class.getSimpleName());
+	}
+
+	private PriceBook load() {
+		// doc phien ban truoc du lieu: neu catalogue doi trong luc doc, lan sau se dung lai
+		long foodVersion = dataVersions.current(FoodItem.class.getSimpleName());
+		long serviceVersion = dataVersions.current(HotelService.class.getSimpleName());
+		// phien ban vua tang nghia la primary da commit, replica co the chua co -> doc tu primary
+		Long pinnedUntil = ReadYourWrites.getPinnedUntil();
+		ReadYourWrites.pin(PRIMARY_PIN_MS);
+		try {
+			PriceBook book = PriceBook.build(foodVersion, serviceVersion, foodItemRepository.getPriceBookFoodItems(),
+					hotelServiceRepository.getPriceBookHotelServices());
+			LOGGER.debug("Price book {} loaded: {} food items, {} services", book.getVersion(), book.getFoodCount(),
+					book.getServiceCount());
+			return book;
+		} finally {
+			ReadYourWrites.setPinnedUntil(pinnedUntil);
+		}
+	}
+}
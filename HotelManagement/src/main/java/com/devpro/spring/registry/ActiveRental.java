@@ -0,0 +1,37 @@
+package com.devpro.spring.registry;
+
+import java.util.Date;
+
+/**
+ * Thong tin luot thue chua thanh toan dang o trong 1 phong (bat bien, chia se giua cac luong).
+ */
+public final class ActiveRental {
+
+	private final String chamberNumber;
+	private final long rentalId;
+	private final long guestId;
+	private final Date checkInDate;
+
+	public ActiveRental(String chamberNumber, long rentalId, long guestId, Date checkInDate) {
+		this.chamberNumber = chamberNumber;
+		this.rentalId = rentalId;
+		this.guestId = guestId;
+		this.checkInDate = checkInDate == null ? null : new Date(checkInDate.getTime());
+	}
+
+	public String getChamberNumber() {
+		return chamberNumber;
+	}
+
+	public long getRentalId() {
+		return rentalId;
+	}
+
+	public long getGuestId() {
+		return guestId;
+	}
+
+	public Date getCheckInDate() {
+		return checkInDate == null ? null : new Date(checkInDate.getTime());
+	}
+}
@@ -0,0 +1,235 @@
+package com.devpro.spring.registry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.devpro.spring.datasource.ReadYourWrites;
+import com.devpro.spring.fragment.DataVersions;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.singleflight.SingleFlight;
+
+/**
+ * Bang tra cuu trong bo nho: so phong -> luot thue dang mo (paid = 'false').
+ * Nap tu database khi khoi dong, cap nhat khi check-in/check-out (sau khi transaction commit),
+ * va doi chieu lai dinh ky de sua sai lech neu du lieu bi sua ngoai ung dung.
+ */
+@Component
+public class ActiveRentalRegistry {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ActiveRentalRegistry.class);
+
+	// check-in/tra phong vua commit co the chua toi replica: doc cua registry luon di primary
+	private static final long PRIMARY_PIN_MS = 60000;
+
+	@Autowired
+	private RentalRepository rentalRepository;
+
+	@Autowired
+	private DataVersions dataVersions;
+
+	@Autowired
+	private SingleFlight singleFlight;
+
+	private final Map<String, ActiveRental> byChamber = new ConcurrentHashMap<>();
+
+	// rental id da tra phong -> so thu tu lan release; lan doc bat dau truoc khi release commit co the tra ve
+	// rental do nhu dang mo, ket qua nhu vay bi bo qua. Xoa khi 1 lan reload bat dau sau release.
+	private final Map<Long, Long> released = new ConcurrentHashMap<>();
+	// so phong -> so thu tu lan check-in; lan doc bat dau truoc khi check-in commit khong thay phong do,
+	// reload khong duoc xoa no. Xoa khi 1 lan reload bat dau sau check-in.
+	private final Map<String, Long> registered = new ConcurrentHashMap<>();
+	// so thu tu chung cho release / register
+	private final AtomicLong sequence = new AtomicLong();
+
+	public ActiveRental get(String chamberNumber) {
+		return chamberNumber == null ? null : byChamber.get(chamberNumber);
+	}
+
+	/**
+	 * Nhu get(), neu miss thi doc phong do tu database va bo sung vao bang. Cac lan miss cung so phong dung chung
+	 * 1 truy van; so phong khong co khach (hoac khong ton tai) duoc nho ngan han den khi nhan / tra phong.
+	 */
+	public ActiveRental find(String chamberNumber) {
+		ActiveRental entry = get(chamberNumber);
+		if (entry != null || chamberNumber == null) {
+			return entry;
+		}
+		Long pinnedUntil = ReadYourWrites.getPinnedUntil();
+		ReadYourWrites.pin(PRIMARY_PIN_MS);
+		try {
+			entry = singleFlight.execute("active-rental",
+					Arrays.asList(chamberNumber, dataVersions.current("Chamber")), () -> {
+						List<Object[]> rows = rentalRepository.getActiveRental(chamberNumber);
+						return rows.isEmpty() ? null : toEntry(rows.get(0));
+					});
+		} finally {
+			ReadYourWrites.setPinnedUntil(pinnedUntil);
+		}
+		if (entry == null || released.containsKey(entry.getRentalId())) {
+			return null;
+		}
+		byChamber.put(chamberNumber, entry);
+		// release() commit trong luc vua put: release da ghi vao released truoc khi xoa, kiem tra lai
+		if (released.containsKey(entry.getRentalId())) {
+			byChamber.remove(chamberNumber, entry);
+			return null;
+		}
+		return entry;
+	}
+
+	/**
+	 * Luot thue con mo (ton tai, chua thanh toan): co trong bang thi khong doc database, khong co (vd. rental chua
+	 * gan phong) thi doc paid tu primary.
+	 */
+	public boolean isActive(long rentalId) {
+		if (released.containsKey(rentalId)) {
+			return false;
+		}
+		for (ActiveRental entry : byChamber.values()) {
+			if (entry.getRentalId() == rentalId) {
+				return true;
+			}
+		}
+		Long pinnedUntil = ReadYourWrites.getPinnedUntil();
+		ReadYourWrites.pin(PRIMARY_PIN_MS);
+		try {
+			return "false".equals(rentalRepository.getPaid(rentalId));
+		} finally {
+			ReadYourWrites.setPinnedUntil(pinnedUntil);
+		}
+	}
+
+	/**
+	 * Danh sach phong dang co khach, sap xep theo so phong (cho dropdown).
+	 */
+	public List<String> getOccupiedChamberNumbers() {
+		List<String> numbers = new ArrayList<>(byChamber.keySet());
+		Collections.sort(numbers);
+		return numbers;
+	}
+
+	public int size() {
+		return byChamber.size();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelayString = "${hotel.rental-registry.reload-ms:300000}", fixedDelayString = "${hotel.rental-registry.reload-ms:300000}")
+	public void reload() {
+		long since = sequence.get();
+		List<Object[]> rows;
+		Long pinnedUntil = ReadYourWrites.getPinnedUntil();
+		ReadYourWrites.pin(PRIMARY_PIN_MS);
+		try {
+			rows = rentalRepository.getActiveRentals();
+		} catch (DataAccessException e) {
+			// khong lam hong khoi dong/scheduler, find() van doc database khi miss
+			LOGGER.warn("Active rental registry reload failed: {}", e.getMessage());
+			return;
+		} finally {
+			ReadYourWrites.setPinnedUntil(pinnedUntil);
+		}
+		apply(rows, since);
+	}
+
+	/**
+	 * @param since sequence.get() lay truoc khi doc rows
+	 */
+	void apply(List<Object[]> rows, long since) {
+		Map<String, ActiveRental> loaded = new ConcurrentHashMap<>();
+		for (Object[] row : rows) {
+			ActiveRental entry = toEntry(row);
+			// phong check-in sau luc doc: entry trong bang moi hon rows
+			if (!released.containsKey(entry.getRentalId()) && !registeredAfter(entry.getChamberNumber(), since)) {
+				loaded.put(entry.getChamberNumber(), entry);
+			}
+		}
+		// thay tung phan tu thay vi clear() de luong doc khong thay map rong giua chung; giu phong check-in sau
+		// luc doc (rows chua co)
+		byChamber.keySet().removeIf(chamber -> !loaded.containsKey(chamber) && !registeredAfter(chamber, since));
+		byChamber.putAll(loaded);
+		// release commit giua luc loc va putAll
+		byChamber.values().removeIf(entry -> released.containsKey(entry.getRentalId()));
+		// release / check-in truoc luc doc da commit tren primary -> rows da phan anh chung
+		released.values().removeIf(value -> value <= since);
+		registered.values().removeIf(value -> value <= since);
+		LOGGER.debug("Active rental registry reloaded: {} rooms", loaded.size());
+	}
+
+	long getSequence() {
+		return sequence.get();
+	}
+
+	private boolean registeredAfter(String chamberNumber, long since) {
+		Long value = registered.get(chamberNumber);
+		return value != null && value > since;
+	}
+
+	/**
+	 * Goi sau khi luu rental moi (check-in), ap dung khi transaction commit.
+	 */
+	public void register(Rental rental) {
+		if (rental.getGuest() == null || rental.getChambers() == null) {
+			return;
+		}
+		List<ActiveRental> entries = new ArrayList<>();
+		for (Chamber chamber : rental.getChambers()) {
+			entries.add(new ActiveRental(chamber.getChamberNumber(), rental.getRentalId(),
+					rental.getGuest().getGuestId(), rental.getCheckInDate()));
+		}
+		afterCommit(() -> {
+			long value = sequence.incrementAndGet();
+			for (ActiveRental entry : entries) {
+				// ghi so thu tu truoc khi put: reload dang chay thay phong trong bang thi cung thay so thu tu
+				registered.put(entry.getChamberNumber(), value);
+				byChamber.put(entry.getChamberNumber(), entry);
+			}
+		});
+	}
+
+	/**
+	 * Goi khi tra phong, ap dung khi transaction commit.
+	 */
+	public void release(long rentalId) {
+		afterCommit(() -> {
+			released.put(rentalId, sequence.incrementAndGet());
+			byChamber.values().removeIf(entry -> entry.getRentalId() == rentalId);
+		});
+	}
+
+	private static ActiveRental toEntry(Object[] row) {
+		return new ActiveRental((String) row[0], ((Number) row[1]).longValue(), ((Number) row[2]).longValue(),
+				(Date) row[3]);
+	}
+
+	private void afterCommit(Runnable task) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					task.run();
+				}
+			});
+		} else {
+			task.run();
+		}
+	}
+}
@@ -1,5 +1,11 @@
 package com.devpro.spring.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.Date;
+
+import javax.persistence.QueryHint;
 import javax.transaction.Transactional;
 
 import org.springframework.data.domain.Page;
@@ -7,22 +13,27 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.devpro.spring.dto.ChamberLookupDto;
 import com.devpro.spring.model.Chamber;
 
 public interface ChamberRepository extends JpaRepository<Chamber, Long>{
 	
+	@QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
 	@Query(CustomQuery.CHAMBER_SEARCH_PRICE_1)
 	Page<Chamber> searchChamberWithPrice1(Pageable pageable,
 			@Param("chamberType") String type,
 			@Param("isVip") String vip);
 	
+	@QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
 	@Query(CustomQuery.CHAMBER_SEARCH_PRICE_2)
 	Page<Chamber> searchChamberWithPrice2(Pageable pageable,
 			@Param("chamberType") String type,
 			@Param("isVip") String vip);
 	
+	@QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
 	@Query(CustomQuery.CHAMBER_SEARCH_PRICE_3)
 	Page<Chamber> searchChamberWithPrice3(Pageable pageable,
 			@Param("chamberType") String type,
@@ -33,8 +44,15 @@ public interface ChamberRepository extends JpaRepository<Chamber, Long>{
 	@Query(CustomQuery.CHAMBER_UPDATE_IS_EMPTY)
 	void updateChamberIsEmpty(
 			@Param("isEmpty") String isEmpty,
-			@Param("chamberId") Long chamberId);
+			@Param("chamberId") Long chamberId,
+			@Param("updatedAt") Date updatedAt);
+	
+	// cau update hang loat khong qua @PreUpdate cua entity -> tu dat updated_at (ETag cua /find-chamber)
+	default void updateChamberIsEmpty(String isEmpty, Long chamberId) {
+		updateChamberIsEmpty(isEmpty, chamberId, new Date());
+	}
 	
+	@QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
 	@Query(CustomQuery.CHAMBER_SEARCH)
 	Page<Chamber> searchChamber(Pageable pageable,@Param("text") String text);
 	
@@ -48,6 +66,26 @@ public interface ChamberRepository extends JpaRepository<Chamber, Long>{
 			@Param("chamberArea") String chamberArea,
 			@Param("note") String note,
 			@Param("isVip") String isVip,
-			@Param("chamberId") Long chamberId
+			@Param("chamberId") Long chamberId,
+			@Param("updatedAt") Date updatedAt
 			);
+	
+	default void updateChamberInfo(String chamberNumber, String chamberType, String priceDay, String chamberArea,
+			String note, String isVip, Long chamberId) {
+		updateChamberInfo(chamberNumber, chamberType, priceDay, chamberArea, note, isVip, chamberId, new Date());
+	}
+	
+	@Modifying
+	@Query(CustomQuery.CHECK_OUT_FREE_CHAMBERS)
+	int freeChambers(@Param("ids") Collection<Long> ids, @Param("updatedAt") Date updatedAt);
+	
+	default int freeChambers(Collection<Long> ids) {
+		return freeChambers(ids, new Date());
+	}
+	
+	@Query(CustomQuery.LOOKUP_CHAMBER)
+	ChamberLookupDto getChamberLookup(@Param("id") Long id);
+	
+	@Query(CustomQuery.CHAMBER_UPDATED_AT)
+	Date getChamberUpdatedAt(@Param("id") Long id);
 }
@@ -8,7 +8,7 @@ public interface CustomQuery {
 
 		String EMPLOYEE_SEARCH = "select g from Employee g where g.employeeName like :text or g.employeeNumber like :text or g.birth like :text or g.address like :text or g.email like :text or g.phoneNumber like :text or g.salary like :text";
 
-		String EMPLOYEE_UPDATE = "update Employee set employeeNumber=:employeeNumber,employeeName=:employeeName,birth=:birth,gender=:gender,address=:address,email=:email,phoneNumber=:phoneNumber,salary=:salary,managerNumber=:managerNumber where employeeId=:employeeId";
+		String EMPLOYEE_UPDATE = "update Employee set employeeNumber=:employeeNumber,employeeName=:employeeName,birth=:birth,gender=:gender,address=:address,email=:email,phoneNumber=:phoneNumber,salary=:salary,managerNumber=:managerNumber,updatedAt=:updatedAt where employeeId=:employeeId";
 		
 		String CHAMBER_SEARCH_PRICE_1 = "select c from Chamber c where cast(c.priceDay as int) < 1000000 and c.chamberType = :chamberType and c.isVip = :isVip and c.isEmpty = 'true'";
 		
@@ -16,17 +16,17 @@ public interface CustomQuery {
 		
 		String CHAMBER_SEARCH_PRICE_3 = "select c from Chamber c where cast(c.priceDay as int) > 3000000 and c.chamberType = :chamberType and c.isVip = :isVip and c.isEmpty = 'true'";
 		
-		String CHAMBER_UPDATE_IS_EMPTY = "update Chamber set isEmpty=:isEmpty where chamberId=:chamberId";
+		String CHAMBER_UPDATE_IS_EMPTY = "update Chamber set isEmpty=:isEmpty,updatedAt=:updatedAt where chamberId=:chamberId";
 		
-		String CHAMBER_UPDATE_INFO = "update Chamber set chamberNumber=:chamberNumber,chamberType=:chamberType,priceDay=:priceDay,isVip=:isVip,chamberArea=:chamberArea,note=:note where chamberId=:chamberId";
+		String CHAMBER_UPDATE_INFO = "update Chamber set chamberNumber=:chamberNumber,chamberType=:chamberType,priceDay=:priceDay,isVip=:isVip,chamberArea=:chamberArea,note=:note,updatedAt=:updatedAt where chamberId=:chamberId";
 		
 		String GUEST_SEARCH_CART = "select g from Guest g where g.idCard = :idCard";
 		
 		String GUEST_CHECK_EXIST_DATABASE = "select count(g) from Guest g where g.idCard = :idCard";
 		
-		String GUEST_UPDATE_COMPLETE = "update Guest set passport=:passport,address=:address,phoneNumber=:phoneNumber,email=:email,isFamiliar=:isFamiliar,isVip=:isVip where idCard=:idCard";
+		String GUEST_UPDATE_COMPLETE = "update Guest set passport=:passport,address=:address,phoneNumber=:phoneNumber,email=:email,isFamiliar=:isFamiliar,isVip=:isVip,updatedAt=:updatedAt where idCard=:idCard";
 		
-		String GUEST_UPDATE_NORMAL = "update Guest set guestName=:guestName,birth=:birth,idCard=:idCard,passport=:passport,address=:address,nationality=:nationality,phoneNumber=:phoneNumber,email=:email where guestId=:guestId";
+		String GUEST_UPDATE_NORMAL = "update Guest set guestName=:guestName,birth=:birth,idCard=:idCard,passport=:passport,address=:address,nationality=:nationality,phoneNumber=:phoneNumber,email=:email,updatedAt=:updatedAt where guestId=:guestId";
 		
 		String MULTIPLE_GET_CHAMBERS_ORDER_FOOD = "select c.chamberNumber from Rental r join r.chambers c where r.paid = 'false'";
 		
@@ -59,4 +59,172 @@ public interface CustomQuery {
 		 String MULTIPLE_GET_NUMBER_STAY = 
 		"select datediff(now(),check_in_date) from rental r join rental_chamber rc on rc.rental_id =  r.rental_id join chamber c " +
 		"on c.chamber_id = rc.chamber_id where c.chamber_number = :chamberNumber  and r.paid = 'false'";
+
+		 
+		 String REPORT_REVENUE_ADD = "update DailyRevenue set amount = amount + :amount, itemCount = itemCount + :itemCount " +
+		"where reportDate = :reportDate and source = :source and chamberType = :chamberType and isVip = :isVip";
+		 
+		 String REPORT_REVENUE_BY_GROUP = 
+		"select r.source, r.chamberType, r.isVip, sum(r.amount), sum(r.itemCount) from DailyRevenue r " +
+		"where r.reportDate between :fromDate and :toDate group by r.source, r.chamberType, r.isVip";
+		 
+		 String REPORT_REVENUE_DELETE_RANGE = "delete from DailyRevenue r where r.reportDate between :fromDate and :toDate";
+		 
+		 String REPORT_OCCUPANCY_ADD_CHECK_OUT = "update DailyOccupancy set checkOuts = checkOuts + 1, stayNights = stayNights + :nights " +
+		"where reportDate = :reportDate";
+		 
+		 String REPORT_OCCUPANCY_SET_NIGHT = "update DailyOccupancy set occupiedRooms = :occupiedRooms, totalRooms = :totalRooms " +
+		"where reportDate = :reportDate";
+		 
+		 String REPORT_OCCUPANCY_TOTAL = 
+		"select sum(o.occupiedRooms), sum(o.totalRooms), sum(o.checkOuts), sum(o.stayNights) from DailyOccupancy o " +
+		"where o.reportDate between :fromDate and :toDate";
+		 
+		 String REPORT_OCCUPANCY_DELETE_RANGE = "delete from DailyOccupancy o where o.reportDate between :fromDate and :toDate";
+		 
+		 String REPORT_SOURCE_FOOD = 
+		"select o.order_date, sum(cast(o.total_price as decimal(19,2))), count(*) from order_food o " +
+		"where o.order_date >= :fromDate and o.order_date < :beforeDate group by o.order_date";
+		 
+		 String REPORT_SOURCE_SERVICE = 
+		"select s.order_date, sum(cast(s.total_price as decimal(19,2))), count(*) from service_bill s " +
+		"where s.order_date >= :fromDate and s.order_date < :beforeDate group by s.order_date";
+		 
+		 String REPORT_SOURCE_CHECK_OUT = 
+		"select r.check_in_date, r.check_out_date, c.chamber_type, c.is_vip, c.price_day from rental r " +
+		"join rental_chamber rc on rc.rental_id = r.rental_id join chamber c on c.chamber_id = rc.chamber_id " +
+		"where r.paid = 'true' and r.check_out_date >= :fromDate and r.check_out_date < :beforeDate";
+		 
+		 String REPORT_SOURCE_STAYS = 
+		"select r.check_in_date, r.check_out_date from rental r join rental_chamber rc on rc.rental_id = r.rental_id " +
+		"where r.check_in_date < :beforeDate and (r.check_out_date is null or r.check_out_date >= :fromDate)";
+
+		 
+		 String ANALYTICS_RENTALS = 
+		"select r.rentalId, r.checkInDate, r.checkOutDate, r.paid, g.nationality, c.chamberType, c.isVip, c.priceDay " +
+		"from Rental r join r.guest g join r.chambers c where r.rentalId > :lastId order by r.rentalId";
+		 
+		 String ANALYTICS_RENTALS_BY_ID = 
+		"select r.rentalId, r.checkInDate, r.checkOutDate, r.paid, g.nationality, c.chamberType, c.isVip, c.priceDay " +
+		"from Rental r join r.guest g join r.chambers c where r.rentalId in :ids";
+		 
+		 String ANALYTICS_ORDER_FOODS = "select o.id, o.rental.rentalId, o.orderDate, o.totalPrice from OrderFood o where o.id > :lastId order by o.id";
+		 
+		 String ANALYTICS_SERVICE_BILLS = "select s.id, s.rental.rentalId, s.orderDate, s.totalPrice from ServiceBill s where s.id > :lastId order by s.id";
+
+		 String EXPORT_FETCH_SIZE = "500";
+		 
+		 String EXPORT_GUESTS = "select g from Guest g order by g.guestId";
+		 
+		 String EXPORT_EMPLOYEES = "select e from Employee e left join fetch e.section order by e.employeeId";
+		 
+		 String EXPORT_RENTALS = 
+		"select r.rentalId, r.checkInDate, r.checkOutDate, r.paid, r.discount, r.note, g.guestName, g.idCard, " +
+		"c.chamberNumber, c.chamberType, c.priceDay from Rental r join r.guest g left join r.chambers c order by r.rentalId";
+		 
+		 String EXPORT_ORDER_FOODS = 
+		"select o.id, o.orderDate, o.totalPrice, o.discount, o.peopleNumber, o.note, r.rentalId, g.guestName " +
+		"from OrderFood o join o.rental r join r.guest g order by o.id";
+		 
+		 String EXPORT_SERVICE_BILLS = 
+		"select s.id, s.orderDate, s.totalPrice, s.discount, s.note, r.rentalId, g.guestName " +
+		"from ServiceBill s join s.rental r join r.guest g order by s.id";
+		 
+		 String IMPORT_JOB_PROGRESS = "update ImportJob j set j.lastLine = :lastLine, j.importedRows = j.importedRows + :imported, " +
+		"j.errorRows = j.errorRows + :errors, j.updatedAt = :updatedAt where j.id = :id";
+		 
+		 String IMPORT_JOB_STATUS = "update ImportJob j set j.status = :status, j.message = :message, j.updatedAt = :updatedAt where j.id = :id";
+		 
+		 String IMPORT_EXISTING_CHAMBERS = "select chamber_number from chamber where chamber_number in (:keys)";
+		 
+		 String IMPORT_EXISTING_GUESTS = "select id_card from guest where id_card in (:keys)";
+		 
+		 String IMPORT_EXISTING_EMPLOYEES = "select employee_number from employee where employee_number in (:keys)";
+		 
+		 String IMPORT_EXISTING_FOOD_ITEMS = "select food_item_name from food_item where food_item_name in (:keys)";
+		 
+		 String IMPORT_SECTIONS = "select section_id, section_name from section";
+		 
+		 String IMPORT_CATEGORIES = "select category_id, category_name from category";
+		 
+		 String IMPORT_INSERT_CHAMBER = 
+		"insert into chamber (chamber_number, chamber_type, is_vip, price_day, chamber_area, note, is_empty) " +
+		"values (?, ?, ?, ?, ?, ?, ?)";
+		 
+		 String IMPORT_INSERT_GUEST = 
+		"insert into guest (guest_name, birth, id_card, passport, address, nationality, phone_number, email, is_familiar, is_vip) " +
+		"values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		 
+		 String ACTIVE_RENTALS = 
+		"select c.chamberNumber, r.rentalId, g.guestId, r.checkInDate from Rental r join r.chambers c join r.guest g where r.paid = 'false'";
+		 
+		 String ACTIVE_RENTAL_BY_CHAMBER = 
+		"select c.chamberNumber, r.rentalId, g.guestId, r.checkInDate from Rental r join r.chambers c join r.guest g " +
+		"where r.paid = 'false' and c.chamberNumber = :chamberNumber";
+		 
+		 String RENTAL_FOR_CHECK_OUT = "select r from Rental r where r.rentalId = :id";
+		 
+		 String RENTAL_PAID = "select r.paid from Rental r where r.rentalId = :id";
+		 
+		 String PAID_RENTAL_IDS = "select r.rentalId from Rental r where r.rentalId in :ids and r.paid = 'true'";
+		 
+		 String CHECK_OUT_RENTALS = "select distinct r from Rental r left join fetch r.chambers where r.rentalId in :ids";
+		 
+		 String CHECK_OUT_MARK_PAID = 
+		"update Rental r set r.paid = 'true', r.checkOutDate = :checkOutDate where r.rentalId = :rentalId and r.paid = 'false'";
+		 
+		 String CHECK_OUT_SET_PAYMENT = "update Rental r set r.payment = :payment where r.rentalId in :ids";
+		 
+		 String CHECK_OUT_FOOD_TOTAL = 
+		"select coalesce(sum(cast(o.total_price as decimal(19,2))), 0) from order_food o where o.rental_id in (:ids)";
+		 
+		 String CHECK_OUT_SERVICE_TOTAL = 
+		"select coalesce(sum(cast(s.total_price as decimal(19,2))), 0) from service_bill s where s.rental_id in (:ids)";
+		 
+		 String CHECK_OUT_FREE_CHAMBERS = "update Chamber c set c.isEmpty = 'true', c.updatedAt = :updatedAt where c.chamberId in :ids and c.isEmpty = 'false'";
+		 
+		 // du lieu cho cac API tra cuu (AJAX): 1 cau select new, khong nap entity
+		 String LOOKUP_GUEST = "select new com.devpro.spring.dto.GuestLookupDto(g.guestId, g.guestName, g.birth, g.idCard, g.passport, g.address, g.nationality, g.phoneNumber, g.email, g.isFamiliar, g.isVip) from Guest g where g.guestId = :id";
+		 
+		 String LOOKUP_CHAMBER = "select new com.devpro.spring.dto.ChamberLookupDto(c.chamberId, c.chamberNumber, c.chamberType, c.isVip, c.priceDay, c.chamberArea, c.note, c.isEmpty) from Chamber c where c.chamberId = :id";
+		 
+		 String LOOKUP_EMPLOYEE = "select new com.devpro.spring.dto.EmployeeLookupDto(e.employeeId, e.employeeNumber, e.employeeName, e.birth, e.gender, e.address, e.email, e.phoneNumber, e.salary, e.managerNumber) from Employee e where e.employeeId = :id";
+		 
+		 String LOOKUP_FOOD_ITEM = "select new com.devpro.spring.dto.FoodItemDto(f.id, f.name, f.description, f.price, f.image, c.categoryName) from FoodItem f left join f.category c where f.id = :id";
+		 
+		 String LOOKUP_HOTEL_SERVICE = "select new com.devpro.spring.dto.HotelServiceLookupDto(s.id, s.name, s.price, s.unit, s.description, s.note) from HotelService s where s.id = :id";
+		 
+		 // DataLoader cua /graphql: 1 cau cho ca lo id
+		 String LOOKUP_GUESTS = "select new com.devpro.spring.dto.GuestLookupDto(g.guestId, g.guestName, g.birth, g.idCard, g.passport, g.address, g.nationality, g.phoneNumber, g.email, g.isFamiliar, g.isVip) from Guest g where g.guestId in :ids";
+		 
+		 String LOOKUP_FOOD_ITEMS = "select new com.devpro.spring.dto.FoodItemDto(f.id, f.name, f.description, f.price, f.image, c.categoryName) from FoodItem f left join f.category c where f.id in :ids";
+		 
+		 String LOOKUP_HOTEL_SERVICES = "select new com.devpro.spring.dto.HotelServiceLookupDto(s.id, s.name, s.price, s.unit, s.description, s.note) from HotelService s where s.id in :ids";
+		 
+		 String FOLIO_FOOD_TOTALS = 
+		"select o.rental_id, coalesce(sum(cast(o.total_price as decimal(19,2))), 0) from order_food o where o.rental_id in (:ids) group by o.rental_id";
+		 
+		 String FOLIO_SERVICE_TOTALS = 
+		"select s.rental_id, coalesce(sum(cast(s.total_price as decimal(19,2))), 0) from service_bill s where s.rental_id in (:ids) group by s.rental_id";
+		 
+		 // bang gia trong bo nho (PriceBookRegistry): sap theo id de tim nhi phan
+		 String PRICE_BOOK_FOOD_ITEMS = "select f.id, f.name, f.price from FoodItem f order by f.id";
+		 
+		 String PRICE_BOOK_HOTEL_SERVICES = "select s.id, s.name, s.price, s.unit, s.updatedAt from HotelService s order by s.id";
+		 
+		 // ETag cua API tra cuu: chi doc 1 cot theo khoa chinh
+		 String CHAMBER_UPDATED_AT = "select c.updatedAt from Chamber c where c.chamberId = :id";
+		 
+		 String GUEST_UPDATED_AT = "select g.updatedAt from Guest g where g.guestId = :id";
+		 
+		 String EMPLOYEE_UPDATED_AT = "select e.updatedAt from Employee e where e.employeeId = :id";
+		 
+		 String FOOD_ITEM_UPDATED_AT = "select f.updatedAt from FoodItem f where f.id = :id";
+		 
+		 String HOTEL_SERVICE_UPDATED_AT = "select s.updatedAt from HotelService s where s.id = :id";
+		 
+		 // order ghi qua journal: journal_id da co trong DB -> ban ghi da ghi, bo qua khi doc lai journal
+		 String ORDER_FOOD_JOURNAL_IDS = "select o.journalId from OrderFood o where o.journalId in :ids";
+		 
+		 String SERVICE_BILL_JOURNAL_IDS = "select s.journalId from ServiceBill s where s.journalId in :ids";
 }
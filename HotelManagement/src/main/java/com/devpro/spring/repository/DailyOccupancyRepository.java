@@ -0,0 +1,37 @@
+package com.devpro.spring.repository;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.devpro.spring.model.DailyOccupancy;
+
+@Repository
+public interface DailyOccupancyRepository extends JpaRepository<DailyOccupancy, Long>{
+
+	@Modifying
+	@Query(CustomQuery.REPORT_OCCUPANCY_ADD_CHECK_OUT)
+	int addCheckOut(@Param("nights") long nights, @Param("reportDate") LocalDate reportDate);
+	
+	@Modifying
+	@Query(CustomQuery.REPORT_OCCUPANCY_SET_NIGHT)
+	int setNight(@Param("occupiedRooms") long occupiedRooms,
+			@Param("totalRooms") long totalRooms,
+			@Param("reportDate") LocalDate reportDate);
+	
+	@Query(CustomQuery.REPORT_OCCUPANCY_TOTAL)
+	List<Object[]> getOccupancyTotal(@Param("fromDate") LocalDate from, @Param("toDate") LocalDate to);
+	
+	@Modifying
+	@Query(CustomQuery.REPORT_OCCUPANCY_DELETE_RANGE)
+	int deleteRange(@Param("fromDate") LocalDate from, @Param("toDate") LocalDate to);
+	
+	@Query(value = CustomQuery.REPORT_SOURCE_STAYS, nativeQuery = true)
+	List<Object[]> getStaySource(@Param("fromDate") Date from, @Param("beforeDate") Date before);
+}
@@ -0,0 +1,42 @@
+package com.devpro.spring.repository;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.devpro.spring.model.DailyRevenue;
+
+@Repository
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, Long>{
+
+	@Modifying
+	@Query(CustomQuery.REPORT_REVENUE_ADD)
+	int addRevenue(@Param("amount") long amount,
+			@Param("itemCount") long itemCount,
+			@Param("reportDate") LocalDate reportDate,
+			@Param("source") String source,
+			@Param("chamberType") String chamberType,
+			@Param("isVip") String isVip);
+	
+	@Query(CustomQuery.REPORT_REVENUE_BY_GROUP)
+	List<Object[]> getRevenueByGroup(@Param("fromDate") LocalDate from, @Param("toDate") LocalDate to);
+	
+	@Modifying
+	@Query(CustomQuery.REPORT_REVENUE_DELETE_RANGE)
+	int deleteRange(@Param("fromDate") LocalDate from, @Param("toDate") LocalDate to);
+	
+	@Query(value = CustomQuery.REPORT_SOURCE_FOOD, nativeQuery = true)
+	List<Object[]> getFoodSource(@Param("fromDate") String from, @Param("beforeDate") String before);
+	
+	@Query(value = CustomQuery.REPORT_SOURCE_SERVICE, nativeQuery = true)
+	List<Object[]> getServiceSource(@Param("fromDate") String from, @Param("beforeDate") String before);
+	
+	@Query(value = CustomQuery.REPORT_SOURCE_CHECK_OUT, nativeQuery = true)
+	List<Object[]> getCheckOutSource(@Param("fromDate") Date from, @Param("beforeDate") Date before);
+}
@@ -1,7 +1,14 @@
 package com.devpro.spring.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
 import javax.transaction.Transactional;
 
 import org.springframework.data.domain.Page;
@@ -9,12 +16,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.devpro.spring.dto.EmployeeLookupDto;
 import com.devpro.spring.model.Employee;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long>{
 
+	@QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
 	@Query(CustomQuery.EMPLOYEE_SEARCH)
 	Page<Employee> searchEmployees(Pageable pageable, @Param("text") String text);
 
@@ -30,5 +40,23 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long>{
 			@Param("phoneNumber") String phoneNumber,
 			@Param("salary") String salary,
 			@Param("managerNumber") String managerNumber,
-			@Param("employeeId") Long employeeId);
+			@Param("employeeId") Long employeeId,
+			@Param("updatedAt") Date updatedAt);
+	
+	default void updateEmployee(String employeeNumber, String employeeName, String birth, String gender,
+			String address, String email, String phoneNumber, String salary, String managerNumber, Long employeeId) {
+		updateEmployee(employeeNumber, employeeName, birth, gender, address, email, phoneNumber, salary, managerNumber,
+				employeeId, new Date());
+	}
+	
+	@QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = CustomQuery.EXPORT_FETCH_SIZE),
+			@QueryHint(name = HINT_READONLY, value = "true"), @QueryHint(name = HINT_CACHEABLE, value = "false") })
+	@Query(CustomQuery.EXPORT_EMPLOYEES)
+	Stream<Employee> streamAllEmployees();
+	
+	@Query(CustomQuery.LOOKUP_EMPLOYEE)
+	EmployeeLookupDto getEmployeeLookup(@Param("id") Long id);
+	
+	@Query(CustomQuery.EMPLOYEE_UPDATED_AT)
+	Date getEmployeeUpdatedAt(@Param("id") Long id);
 }
@@ -1,5 +1,7 @@
 package com.devpro.spring.repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.devpro.spring.dto.FoodItemDto;
 import com.devpro.spring.model.FoodItem;
 
 @Repository
@@ -17,4 +20,16 @@ public interface FoodItemRepository extends JpaRepository<FoodItem, Long>{
 	
 	@Query(CustomQuery.MULTIPLE_GET_ONE_FOOD_ITEM_INFO)
 	Object[] getOneFoodItem(@Param("id") long id);
+	
+	@Query(CustomQuery.LOOKUP_FOOD_ITEM)
+	FoodItemDto getFoodItemLookup(@Param("id") Long id);
+	
+	@Query(CustomQuery.LOOKUP_FOOD_ITEMS)
+	List<FoodItemDto> getFoodItemLookups(@Param("ids") Collection<Long> ids);
+	
+	@Query(CustomQuery.PRICE_BOOK_FOOD_ITEMS)
+	List<Object[]> getPriceBookFoodItems();
+	
+	@Query(CustomQuery.FOOD_ITEM_UPDATED_AT)
+	Date getFoodItemUpdatedAt(@Param("id") Long id);
 }
@@ -1,7 +1,15 @@
 package com.devpro.spring.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
 import javax.transaction.Transactional;
 
 import org.springframework.data.domain.Page;
@@ -9,15 +17,20 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.devpro.spring.dto.GuestLookupDto;
 import com.devpro.spring.model.Guest;
 
 public interface GuestRepository extends JpaRepository<Guest, Long>{
 	
+	// trang danh sach: entity nap o che do read-only (khong chup snapshot, khong dirty checking) ke ca khi goi trong transaction ghi
+	@QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
 	@Query(CustomQuery.GUEST_SEARCH)
 	Page<Guest> searchGuests(Pageable pageable,@Param("text") String text);
 	
+	@QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
 	@Query(CustomQuery.GUEST_SEARCH)
 	List<Guest> searchGuests(@Param("text") String text);
 	
@@ -42,9 +55,15 @@ public interface GuestRepository extends JpaRepository<Guest, Long>{
 			@Param("nationality") String nationality,
 			@Param("phoneNumber") String phoneNumber,
 			@Param("email") String email,
-			@Param("guestId") Long guestId
+			@Param("guestId") Long guestId,
+			@Param("updatedAt") Date updatedAt
 	);
 	
+	default void updateNomal(String guestName, String birth, String idCard, String passport, String address,
+			String nationality, String phoneNumber, String email, Long guestId) {
+		updateNomal(guestName, birth, idCard, passport, address, nationality, phoneNumber, email, guestId, new Date());
+	}
+	
 	@Transactional
 	@Modifying
 	@Query(CustomQuery.GUEST_UPDATE_COMPLETE)
@@ -55,9 +74,29 @@ public interface GuestRepository extends JpaRepository<Guest, Long>{
 			@Param("email") String email,
 			@Param("isFamiliar") String isFamiliar,
 			@Param("isVip") String isVip,
-			@Param("idCard") String idCard
+			@Param("idCard") String idCard,
+			@Param("updatedAt") Date updatedAt
 	);
 	
+	default void updateComplete(String passport, String address, String phoneNumber, String email, String isFamiliar,
+			String isVip, String idCard) {
+		updateComplete(passport, address, phoneNumber, email, isFamiliar, isVip, idCard, new Date());
+	}
+	
 	@Query(CustomQuery.MULTIPLE_GET_GUEST_INFO)
 	Guest getGuestInfoByChamberNumber(@Param("chamberNumber") String chamberNumber);
+	
+	@QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = CustomQuery.EXPORT_FETCH_SIZE),
+			@QueryHint(name = HINT_READONLY, value = "true"), @QueryHint(name = HINT_CACHEABLE, value = "false") })
+	@Query(CustomQuery.EXPORT_GUESTS)
+	Stream<Guest> streamAllGuests();
+	
+	@Query(CustomQuery.LOOKUP_GUEST)
+	GuestLookupDto getGuestLookup(@Param("id") Long id);
+	
+	@Query(CustomQuery.LOOKUP_GUESTS)
+	List<GuestLookupDto> getGuestLookups(@Param("ids") Collection<Long> ids);
+	
+	@Query(CustomQuery.GUEST_UPDATED_AT)
+	Date getGuestUpdatedAt(@Param("id") Long id);
 }
@@ -1,11 +1,29 @@
 package com.devpro.spring.repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.devpro.spring.dto.HotelServiceLookupDto;
 import com.devpro.spring.model.HotelService;
 
 @Repository
 public interface HotelServiceRepository extends JpaRepository<HotelService, Long>{
 	
+	@Query(CustomQuery.LOOKUP_HOTEL_SERVICE)
+	HotelServiceLookupDto getHotelServiceLookup(@Param("id") Long id);
+	
+	@Query(CustomQuery.LOOKUP_HOTEL_SERVICES)
+	List<HotelServiceLookupDto> getHotelServiceLookups(@Param("ids") Collection<Long> ids);
+	
+	@Query(CustomQuery.PRICE_BOOK_HOTEL_SERVICES)
+	List<Object[]> getPriceBookHotelServices();
+	
+	@Query(CustomQuery.HOTEL_SERVICE_UPDATED_AT)
+	Date getHotelServiceUpdatedAt(@Param("id") Long id);
 }
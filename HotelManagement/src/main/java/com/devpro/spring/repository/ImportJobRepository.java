@@ -0,0 +1,30 @@
+package com.devpro.spring.repository;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.devpro.spring.model.ImportJob;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long>{
+
+	@Modifying
+	@Query(CustomQuery.IMPORT_JOB_PROGRESS)
+	int updateProgress(@Param("lastLine") long lastLine,
+			@Param("imported") long imported,
+			@Param("errors") long errors,
+			@Param("updatedAt") Date updatedAt,
+			@Param("id") Long id);
+	
+	@Modifying
+	@Query(CustomQuery.IMPORT_JOB_STATUS)
+	int updateStatus(@Param("status") String status,
+			@Param("message") String message,
+			@Param("updatedAt") Date updatedAt,
+			@Param("id") Long id);
+}
@@ -0,0 +1,11 @@
+package com.devpro.spring.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.devpro.spring.model.Payment;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+}
@@ -1,14 +1,27 @@
 package com.devpro.spring.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.devpro.spring.model.Chamber;
 import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.Payment;
 import com.devpro.spring.model.Rental;
 
 @Repository
@@ -20,6 +33,7 @@ public interface RentalRepository extends JpaRepository<Rental, Long>{
 	@Query(CustomQuery.MULTIPLE_GET_RENTAL_ID)
 	String getRentalIdOrderFood(@Param("chamberNumber") String chamberNumber);
 	
+	@EntityGraph(Rental.GRAPH_CHECK_OUT)
 	@Query(CustomQuery.MULTIPLE_GET_CHECK_OUT_INFO1)
 	Rental getRentalCheckOutInfo(@Param("chamberNumber") String chamberNumber);
 	
@@ -38,4 +52,56 @@ public interface RentalRepository extends JpaRepository<Rental, Long>{
 	@Query(value = CustomQuery.MULTIPLE_GET_NUMBER_STAY,nativeQuery = true)
 	Integer getNumberDaysStay(@Param("chamberNumber") String chamberNumber);
 	
+	@Query(CustomQuery.ANALYTICS_RENTALS)
+	List<Object[]> getAnalyticsRentals(@Param("lastId") Long lastId);
+	
+	@Query(CustomQuery.ANALYTICS_RENTALS_BY_ID)
+	List<Object[]> getAnalyticsRentalsById(@Param("ids") Collection<Long> ids);
+	
+	@QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = CustomQuery.EXPORT_FETCH_SIZE),
+			@QueryHint(name = HINT_READONLY, value = "true"), @QueryHint(name = HINT_CACHEABLE, value = "false") })
+	@Query(CustomQuery.EXPORT_RENTALS)
+	Stream<Object[]> streamRentalRows();
+	
+	@Query(CustomQuery.ACTIVE_RENTALS)
+	List<Object[]> getActiveRentals();
+	
+	@Query(CustomQuery.ACTIVE_RENTAL_BY_CHAMBER)
+	List<Object[]> getActiveRental(@Param("chamberNumber") String chamberNumber);
+	
+	@EntityGraph(Rental.GRAPH_CHECK_OUT)
+	@Query(CustomQuery.RENTAL_FOR_CHECK_OUT)
+	Rental getRentalForCheckOut(@Param("id") Long id);
+	
+	// null neu rental khong ton tai
+	@Query(CustomQuery.RENTAL_PAID)
+	String getPaid(@Param("id") Long id);
+	
+	@Query(CustomQuery.PAID_RENTAL_IDS)
+	List<Long> getPaidRentalIds(@Param("ids") Collection<Long> ids);
+	
+	@Query(CustomQuery.CHECK_OUT_RENTALS)
+	List<Rental> getCheckOutRentals(@Param("ids") Collection<Long> ids);
+	
+	// cap nhat co dieu kien paid = 'false': request gui lap (bam 2 lan) chi 1 lan cap nhat duoc 1 dong
+	@Modifying
+	@Query(CustomQuery.CHECK_OUT_MARK_PAID)
+	int markPaid(@Param("rentalId") Long rentalId, @Param("checkOutDate") Date checkOutDate);
+	
+	@Modifying
+	@Query(CustomQuery.CHECK_OUT_SET_PAYMENT)
+	int setPayment(@Param("payment") Payment payment, @Param("ids") Collection<Long> ids);
+	
+	@Query(value = CustomQuery.CHECK_OUT_FOOD_TOTAL, nativeQuery = true)
+	Number getFoodTotal(@Param("ids") Collection<Long> ids);
+	
+	@Query(value = CustomQuery.CHECK_OUT_SERVICE_TOTAL, nativeQuery = true)
+	Number getServiceTotal(@Param("ids") Collection<Long> ids);
+	
+	// [rental_id, tong]: chi co dong cho rental da goi mon / dung dich vu
+	@Query(value = CustomQuery.FOLIO_FOOD_TOTALS, nativeQuery = true)
+	List<Object[]> getFoodTotals(@Param("ids") Collection<Long> ids);
+	
+	@Query(value = CustomQuery.FOLIO_SERVICE_TOTALS, nativeQuery = true)
+	List<Object[]> getServiceTotals(@Param("ids") Collection<Long> ids);
 }
@@ -1,6 +1,20 @@
 package com.devpro.spring.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.devpro.spring.model.ServiceBill;
@@ -8,4 +22,14 @@ import com.devpro.spring.model.ServiceBill;
 @Repository
 public interface ServiceBillRepository extends JpaRepository<ServiceBill, Long>{
 
+	@Query(CustomQuery.ANALYTICS_SERVICE_BILLS)
+	List<Object[]> getAnalyticsServiceBills(@Param("lastId") Long lastId, Pageable pageable);
+	
+	@QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = CustomQuery.EXPORT_FETCH_SIZE),
+			@QueryHint(name = HINT_READONLY, value = "true"), @QueryHint(name = HINT_CACHEABLE, value = "false") })
+	@Query(CustomQuery.EXPORT_SERVICE_BILLS)
+	Stream<Object[]> streamServiceBillRows();
+
+	@Query(CustomQuery.SERVICE_BILL_JOURNAL_IDS)
+	List<String> getJournalIds(@Param("ids") Collection<String> ids);
 }
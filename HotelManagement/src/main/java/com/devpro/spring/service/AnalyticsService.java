@@ -0,0 +1,15 @@
+package com.devpro.spring.service;
+
+import java.util.List;
+
+import com.devpro.spring.analytics.CubeQuery;
+import com.devpro.spring.analytics.CubeRow;
+
+public interface AnalyticsService {
+
+	int refresh();
+	
+	List<CubeRow> query(CubeQuery query);
+	
+	int size();
+}
@@ -0,0 +1,194 @@
+package com.devpro.spring.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.analytics.CubeQuery;
+import com.devpro.spring.analytics.CubeRow;
+import com.devpro.spring.analytics.FolioCube;
+import com.devpro.spring.model.DailyRevenue;
+import com.devpro.spring.repository.OrderFoodRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.repository.ServiceBillRepository;
+import com.devpro.spring.utils.FolioUtils;
+
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AnalyticsServiceImpl.class);
+
+	private static final int ORDER_BATCH = 5000;
+	private static final int ID_CHUNK = 500;
+
+	@Autowired
+	private RentalRepository rentalRepository;
+
+	@Autowired
+	private OrderFoodRepository orderFoodRepository;
+
+	@Autowired
+	private ServiceBillRepository serviceBillRepository;
+
+	@Value("${hotel.analytics.enabled:true}")
+	private boolean enabled;
+
+	// id khong commit theo thu tu (transaction song song, id cap theo khoi): moi lan nap doc lai overlap-ids id
+	// cuoi cung cua tung bang, bo qua id da dem
+	@Value("${hotel.analytics.overlap-ids:1000}")
+	private long overlapIds;
+
+	private final FolioCube cube = new FolioCube();
+	private final ForkJoinPool pool;
+
+	// trang thai nap tang dan: id lon nhat da doc cua tung bang, id da dem trong vung doc lai
+	private long lastRentalId;
+	private long lastOrderFoodId;
+	private long lastServiceBillId;
+	private final Map<Long, String[]> rentalDimensions = new HashMap<Long, String[]>();
+	private final Set<Long> openRentals = new HashSet<Long>();
+	private final TreeSet<Long> settledRentals = new TreeSet<Long>();
+	private final TreeSet<Long> seenOrderFoods = new TreeSet<Long>();
+	private final TreeSet<Long> seenServiceBills = new TreeSet<Long>();
+
+	public AnalyticsServiceImpl(@Value("${hotel.analytics.parallelism:0}") int parallelism) {
+		this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	@Scheduled(initialDelayString = "${hotel.analytics.initial-delay-ms:10000}", fixedDelayString = "${hotel.analytics.refresh-ms:300000}")
+	public void scheduledRefresh() {
+		if (enabled) {
+			refresh();
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public synchronized int refresh() {
+		int before = cube.size();
+		loadRentals(rentalRepository.getAnalyticsRentals(Math.max(0, lastRentalId - overlapIds)));
+		// phong dang o luc lan nap truoc co the da tra phong -> doc lai theo id
+		List<Long> pending = new ArrayList<Long>(openRentals);
+		for (int i = 0; i < pending.size(); i += ID_CHUNK) {
+			loadRentals(rentalRepository.getAnalyticsRentalsById(pending.subList(i, Math.min(i + ID_CHUNK, pending.size()))));
+		}
+		settledRentals.headSet(lastRentalId - overlapIds, true).clear();
+
+		lastOrderFoodId = loadOrders(DailyRevenue.SOURCE_FOOD, lastOrderFoodId, seenOrderFoods,
+				orderFoodRepository::getAnalyticsOrderFoods);
+		lastServiceBillId = loadOrders(DailyRevenue.SOURCE_SERVICE, lastServiceBillId, seenServiceBills,
+				serviceBillRepository::getAnalyticsServiceBills);
+
+		int added = cube.size() - before;
+		if (added > 0) {
+			LOGGER.info("Analytics cube refreshed: {} new facts, {} total", added, cube.size());
+		}
+		return added;
+	}
+
+	// row: rentalId, checkInDate, checkOutDate, paid, nationality, chamberType, isVip, priceDay (1 dong/phong)
+	private void loadRentals(List<Object[]> rows) {
+		Set<Long> settled = new HashSet<Long>();
+		for (Object[] row : rows) {
+			Long rentalId = ((Number) row[0]).longValue();
+			lastRentalId = Math.max(lastRentalId, rentalId);
+			if (settledRentals.contains(rentalId)) {
+				// doc lai trong vung overlap, tien phong da dem
+				continue;
+			}
+			String roomType = row[5] == null ? "" : String.valueOf(row[5]);
+			String vip = row[6] == null ? "" : String.valueOf(row[6]);
+			String nationality = row[4] == null ? "" : String.valueOf(row[4]);
+			rentalDimensions.put(rentalId, new String[] { roomType, vip, nationality });
+
+			if (!"true".equals(row[3]) || row[1] == null || row[2] == null) {
+				openRentals.add(rentalId);
+				continue;
+			}
+			settled.add(rentalId);
+			LocalDate checkOut = FolioUtils.toLocalDate(row[2]);
+			long nights = FolioUtils.nights(FolioUtils.toLocalDate(row[1]), checkOut);
+			cube.append(roomType, vip, nationality, DailyRevenue.SOURCE_ROOM, checkOut,
+					FolioUtils.roomCharge(row[7] == null ? null : String.valueOf(row[7]), nights));
+		}
+		openRentals.removeAll(settled);
+		settledRentals.addAll(settled);
+	}
+
+	/**
+	 * Doc order co id > lastId - overlapIds theo lo, id chua co trong seen moi duoc dem.
+	 *
+	 * @return id lon nhat da doc
+	 */
+	private long loadOrders(String source, long lastId, TreeSet<Long> seen,
+			BiFunction<Long, Pageable, List<Object[]>> query) {
+		long from = Math.max(0, lastId - overlapIds);
+		List<Object[]> rows;
+		do {
+			rows = query.apply(from, PageRequest.of(0, ORDER_BATCH));
+			for (Object[] row : rows) {
+				long id = ((Number) row[0]).longValue();
+				from = id;
+				lastId = Math.max(lastId, id);
+				if (seen.add(id)) {
+					appendOrder(source, row);
+				}
+			}
+		} while (rows.size() == ORDER_BATCH);
+		// lan sau chi doc id > lastId - overlapIds
+		seen.headSet(lastId - overlapIds, true).clear();
+		return lastId;
+	}
+
+	// row: id, rentalId, orderDate, totalPrice
+	private void appendOrder(String source, Object[] row) {
+		LocalDate date;
+		long amount;
+		try {
+			date = LocalDate.parse(String.valueOf(row[2]).trim());
+			amount = FolioUtils.parseAmount(row[3] == null ? null : String.valueOf(row[3]));
+		} catch (DateTimeParseException | NumberFormatException e) {
+			return;
+		}
+		String[] dimensions = row[1] == null ? null : rentalDimensions.get(((Number) row[1]).longValue());
+		if (dimensions == null) {
+			dimensions = new String[] { "", "", "" };
+		}
+		cube.append(dimensions[0], dimensions[1], dimensions[2], source, date, amount);
+	}
+
+	@Override
+	public List<CubeRow> query(CubeQuery query) {
+		return cube.query(query, pool);
+	}
+
+	@Override
+	public int size() {
+		return cube.size();
+	}
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.devpro.spring.model.Category;
 import com.devpro.spring.repository.CategoryRepository;
@@ -15,12 +16,14 @@ public class CategoryServiceImpl implements CategoryService{
 	private CategoryRepository categoryRepository;
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<Category> loadListCategories() {
 		// TODO Auto-generated method stub
 		return categoryRepository.findAll();
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Category getOne(Long id) {
 		// TODO Auto-generated method stub
 		return categoryRepository.getOne(id);
@@ -1,14 +1,22 @@
 package com.devpro.spring.service;
 
+import java.util.Date;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.devpro.spring.dto.ChamberLookupDto;
 import com.devpro.spring.model.Chamber;
 
 public interface ChamberService {
 
 	Chamber findChamber(Long id);
 	
+	ChamberLookupDto getChamberLookup(Long id);
+	
+	// null neu khong ton tai
+	Date getChamberUpdatedAt(Long id);
+	
 	Page<Chamber> searchChamber(Pageable pageable,String text);
 	
 	Page<Chamber> searchChamberWithPrice1(Pageable pageable,String type,String vip);
@@ -1,54 +1,99 @@
 package com.devpro.spring.service;
 
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.EntityNotFoundException;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.devpro.spring.dto.ChamberLookupDto;
+import com.devpro.spring.fragment.DataVersions;
 import com.devpro.spring.model.Chamber;
 import com.devpro.spring.repository.ChamberRepository;
+import com.devpro.spring.singleflight.SingleFlight;
 
 @Service
 public class ChamberServiceImpl implements ChamberService{
 
+	private static final String SEARCH_FLIGHT = "chamber-search";
+
 	@Autowired
 	private ChamberRepository chamberRepository;
+
+	@Autowired
+	private DataVersions dataVersions;
+
+	@Autowired
+	private SingleFlight singleFlight;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public Chamber findChamber(Long id) {
-		// TODO Auto-generated method stub
-		return chamberRepository.getOne(id);
+		return chamberRepository.findById(id)
+				.orElseThrow(() -> new EntityNotFoundException("Unable to find Chamber with id " + id));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ChamberLookupDto getChamberLookup(Long id) {
+		ChamberLookupDto result = chamberRepository.getChamberLookup(id);
+		if (result == null) {
+			throw new EntityNotFoundException("Unable to find Chamber with id " + id);
+		}
+		return result;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Date getChamberUpdatedAt(Long id) {
+		return chamberRepository.getChamberUpdatedAt(id);
 	}
 
 	@Override
 	public void deleteChamber(Long chamberId) {
 		// TODO Auto-generated method stub
 		chamberRepository.deleteById(chamberId);
+		dataVersions.bump(Chamber.class);
 	}
 
+	// 3 ham tim phong cua /check-in: transaction readOnly do SingleFlight mo cho request dau tien cua moi khoa
 	@Override
 	public Page<Chamber> searchChamberWithPrice1(Pageable pageable,String type, String vip) {
-		return chamberRepository.searchChamberWithPrice1(pageable,type, vip);
+		return singleFlight.execute(SEARCH_FLIGHT, searchKey(1, pageable, type, vip),
+				() -> chamberRepository.searchChamberWithPrice1(pageable,type, vip));
 	}
 
 	@Override
 	public Page<Chamber> searchChamberWithPrice2(Pageable pageable,String type, String vip) {
-		// TODO Auto-generated method stub
-		return chamberRepository.searchChamberWithPrice2(pageable,type, vip);
+		return singleFlight.execute(SEARCH_FLIGHT, searchKey(2, pageable, type, vip),
+				() -> chamberRepository.searchChamberWithPrice2(pageable,type, vip));
 	}
 
 	@Override
 	public Page<Chamber> searchChamberWithPrice3(Pageable pageable,String type, String vip) {
-		// TODO Auto-generated method stub
-		return chamberRepository.searchChamberWithPrice3(pageable,type, vip);
+		return singleFlight.execute(SEARCH_FLIGHT, searchKey(3, pageable, type, vip),
+				() -> chamberRepository.searchChamberWithPrice3(pageable,type, vip));
+	}
+
+	// nhan phong / tra phong tang phien ban Chamber -> khoa moi
+	private List<Object> searchKey(int price, Pageable pageable, String type, String vip) {
+		return Arrays.asList(price, pageable, type, vip, dataVersions.current("Chamber"));
 	}
 
 	@Override
 	public void updateCheckIn(Long id) {
 		chamberRepository.updateChamberIsEmpty("false", id);
+		dataVersions.bump(Chamber.class);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Page<Chamber> searchChamber(Pageable pageable, String text) {
 		// TODO Auto-generated method stub
 		return chamberRepository.searchChamber(pageable,"%"+ text.trim() + "%");
@@ -58,6 +103,7 @@ public class ChamberServiceImpl implements ChamberService{
 	public void updateChamberInfo(String number, String type, String price, String area, String note, String vip,Long id) {
 		// TODO Auto-generated method stub
 		chamberRepository.updateChamberInfo(number, type, price, area, note, vip, id);
+		dataVersions.bump(Chamber.class);
 	}
 
 	@Override
@@ -65,6 +111,7 @@ public class ChamberServiceImpl implements ChamberService{
 		// TODO Auto-generated method stub
 		Chamber chamber = new Chamber(number, type, fvip, price, area, note, "true"); // mac dinh khi them la phong trong
 		chamberRepository.save(chamber);
+		dataVersions.bump(Chamber.class);
 	}
 
 	
@@ -0,0 +1,13 @@
+package com.devpro.spring.service;
+
+import java.util.Collection;
+
+import com.devpro.spring.dto.CheckOutResultDto;
+
+public interface CheckOutService {
+
+	CheckOutResultDto checkOut(Long rentalId, String method, String surcharge, String deduction);
+
+	CheckOutResultDto expressCheckOut(Collection<Long> rentalIds, String method, String surcharge,
+			String deduction);
+}
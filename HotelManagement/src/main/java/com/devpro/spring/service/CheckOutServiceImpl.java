@@ -0,0 +1,212 @@
+package com.devpro.spring.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devpro.spring.dto.CheckOutResultDto;
+import com.devpro.spring.fragment.DataVersions;
+import com.devpro.spring.journal.OrderJournal;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.Payment;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.registry.ActiveRentalRegistry;
+import com.devpro.spring.repository.ChamberRepository;
+import com.devpro.spring.repository.PaymentRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.utils.FolioUtils;
+
+/**
+ * Chot tra phong trong 1 transaction ngan: danh dau da tra tien + ngay tra phong bang update co dieu kien
+ * (paid = 'false'), tinh tien, luu payment va giai phong phong. Request gui lap se khong cap nhat duoc dong nao
+ * nen bi bo qua thay vi tao payment thu 2. Truoc transaction, order cua cac luot thue con trong journal (ghi sau)
+ * duoc ghi vao DB; ghi khong duoc thi khong chot. Tu luc do den het transaction, journal tu choi order moi cua cac
+ * luot thue nay.
+ */
+@Service
+public class CheckOutServiceImpl implements CheckOutService {
+
+	public static final String DEFAULT_METHOD = "cash";
+
+	@Autowired
+	private RentalRepository rentalRepository;
+
+	@Autowired
+	private ChamberRepository chamberRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private ReportService reportService;
+
+	@Autowired
+	private ActiveRentalRegistry activeRentalRegistry;
+
+	@Autowired
+	private DataVersions dataVersions;
+
+	@Autowired
+	private OrderJournal orderJournal;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private TransactionTemplate transactionTemplate;
+
+	@PostConstruct
+	public void init() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Override
+	public CheckOutResultDto checkOut(Long rentalId, String method, String surcharge, String deduction) {
+		return settle(Collections.singletonList(rentalId), method, surcharge, deduction);
+	}
+
+	@Override
+	public CheckOutResultDto expressCheckOut(Collection<Long> rentalIds, String method, String surcharge,
+			String deduction) {
+		return settle(rentalIds, method, surcharge, deduction);
+	}
+
+	private CheckOutResultDto settle(Collection<Long> rentalIds, String method, String surcharge, String deduction) {
+		CheckOutResultDto result = new CheckOutResultDto();
+		// sap xep id de 2 doan tra phong chong nhau luon khoa dong theo cung thu tu (tranh deadlock)
+		TreeSet<Long> ids = new TreeSet<>();
+		for (Long id : rentalIds) {
+			if (id != null) {
+				ids.add(id);
+			}
+		}
+		if (ids.isEmpty()) {
+			result.setMessage("Chưa chọn lượt thuê phòng!");
+			return result;
+		}
+		// kiem tra truoc khi cap nhat: loi sau markPaid se de lai luot thue da tra tien ma khong co payment
+		long surchargeAmount = parseAmount(surcharge, "surcharge");
+		long deductionAmount = parseAmount(deduction, "deduction");
+		// order da tra loi nhung con trong journal phai vao DB truoc khi tinh tien (ngoai transaction tra phong),
+		// neu khong se thieu trong payment va bi ghi sau vao luot thue da thanh toan; order moi bi chan tu truoc
+		// lan flush den khi markPaid commit va registry giai phong luot thue
+		orderJournal.beginCheckOut(ids);
+		try {
+			if (!orderJournal.flush(ids)) {
+				result.getSkippedRentalIds().addAll(ids);
+				result.setMessage("Chưa ghi xong order của lượt thuê, vui lòng thử lại!");
+				return result;
+			}
+			return transactionTemplate
+					.execute(status -> settle(ids, method, surchargeAmount, deductionAmount, result));
+		} finally {
+			orderJournal.endCheckOut(ids);
+		}
+	}
+
+	private CheckOutResultDto settle(TreeSet<Long> ids, String method, long surchargeAmount, long deductionAmount,
+			CheckOutResultDto result) {
+		Map<Long, Rental> rentals = rentalRepository.getCheckOutRentals(ids).stream()
+				.collect(Collectors.toMap(Rental::getRentalId, Function.identity()));
+
+		Date checkOutDate = new Date();
+		List<Long> settled = new ArrayList<>();
+		for (Long id : ids) {
+			if (rentals.containsKey(id) && rentalRepository.markPaid(id, checkOutDate) == 1) {
+				settled.add(id);
+			} else {
+				result.getSkippedRentalIds().add(id);
+			}
+		}
+		if (settled.isEmpty()) {
+			result.setMessage("Lượt thuê phòng đã được thanh toán trước đó!");
+			return result;
+		}
+
+		LocalDate today = FolioUtils.toLocalDate(checkOutDate);
+		long roomAmount = 0;
+		List<Long> chamberIds = new ArrayList<>();
+		for (Long id : settled) {
+			Rental rental = rentals.get(id);
+			long nights = FolioUtils.nights(FolioUtils.toLocalDate(rental.getCheckInDate()), today);
+			for (Chamber chamber : rental.getChambers()) {
+				roomAmount += FolioUtils.roomCharge(chamber.getPriceDay(), nights);
+				chamberIds.add(chamber.getChamberId());
+			}
+		}
+		long foodAmount = FolioUtils.toAmount(rentalRepository.getFoodTotal(settled));
+		long serviceAmount = FolioUtils.toAmount(rentalRepository.getServiceTotal(settled));
+		long total = Math.max(0, roomAmount + foodAmount + serviceAmount + surchargeAmount - deductionAmount);
+
+		Payment payment = new Payment();
+		payment.setPaymentMethod(method == null || method.trim().isEmpty() ? DEFAULT_METHOD : method.trim());
+		payment.setRoomAmount(String.valueOf(roomAmount));
+		payment.setFoodAmount(String.valueOf(foodAmount));
+		payment.setServiceAmount(String.valueOf(serviceAmount));
+		payment.setSurcharge(String.valueOf(surchargeAmount));
+		payment.setDeduction(String.valueOf(deductionAmount));
+		payment.setTotalAmount(String.valueOf(total));
+		payment.setPaymentDate(checkOutDate);
+		paymentRepository.saveAndFlush(payment); // update hang loat ben duoi tham chieu payment_id nen phai insert truoc
+
+		rentalRepository.setPayment(payment, settled);
+		if (!chamberIds.isEmpty()) {
+			chamberRepository.freeChambers(chamberIds);
+			dataVersions.bump(Chamber.class);
+		}
+
+		for (Long id : settled) {
+			// entity trong persistence context chua thay doi sau update hang loat -> detach roi gan gia tri moi
+			// de ghi bao cao, tranh Hibernate flush lai
+			Rental rental = rentals.get(id);
+			entityManager.detach(rental);
+			rental.setPaid("true");
+			rental.setCheckOutDate(checkOutDate);
+			rental.setPayment(payment);
+			reportService.recordCheckOut(rental);
+			activeRentalRegistry.release(id);
+		}
+
+		result.setPaymentId(payment.getPaymentId());
+		result.setSettledRentalIds(settled);
+		result.setRoomAmount(roomAmount);
+		result.setFoodAmount(foodAmount);
+		result.setServiceAmount(serviceAmount);
+		result.setSurcharge(surchargeAmount);
+		result.setDeduction(deductionAmount);
+		result.setTotalAmount(total);
+		result.setMessage("Thanh toán thành công!");
+		return result;
+	}
+
+	private static long parseAmount(String amount, String name) {
+		long value;
+		try {
+			value = FolioUtils.parseAmount(amount);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid " + name + ": " + amount);
+		}
+		if (value < 0) {
+			throw new IllegalArgumentException("Negative " + name + ": " + amount);
+		}
+		return value;
+	}
+}
@@ -1,10 +1,16 @@
 package com.devpro.spring.service;
 
+import java.util.Date;
+
+import javax.persistence.EntityNotFoundException;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.devpro.spring.dto.EmployeeLookupDto;
 import com.devpro.spring.model.Employee;
 import com.devpro.spring.repository.EmployeeRepository;
 
@@ -15,9 +21,26 @@ public class EmployeeServiceImpl implements EmployeeService{
 	private EmployeeRepository employeeRepository;
 
 	@Override
+	@Transactional(readOnly = true)
 	public Employee findEmployee(Long id) {
-		// TODO Auto-generated method stub
-		return employeeRepository.getOne(id);
+		return employeeRepository.findById(id)
+				.orElseThrow(() -> new EntityNotFoundException("Unable to find Employee with id " + id));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public EmployeeLookupDto getEmployeeLookup(Long id) {
+		EmployeeLookupDto result = employeeRepository.getEmployeeLookup(id);
+		if (result == null) {
+			throw new EntityNotFoundException("Unable to find Employee with id " + id);
+		}
+		return result;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Date getEmployeeUpdatedAt(Long id) {
+		return employeeRepository.getEmployeeUpdatedAt(id);
 	}
 
 	@Override
@@ -34,6 +57,7 @@ public class EmployeeServiceImpl implements EmployeeService{
 
 
 	@Override
+	@Transactional(readOnly = true)
 	public Page<Employee> searchEmployees(Pageable pageable, String text) {
 		// TODO Auto-generated method stub
 		return employeeRepository.searchEmployees(pageable,"%"+text.trim()+"%");
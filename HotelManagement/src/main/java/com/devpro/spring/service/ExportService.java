@@ -0,0 +1,17 @@
+package com.devpro.spring.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.devpro.spring.export.ExportFormat;
+
+public interface ExportService {
+
+	void exportGuests(ExportFormat format, OutputStream out) throws IOException;
+	
+	void exportEmployees(ExportFormat format, OutputStream out) throws IOException;
+	
+	void exportRentals(ExportFormat format, OutputStream out) throws IOException;
+	
+	void exportOrders(ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,122 @@
+package com.devpro.spring.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.export.ExportFormat;
+import com.devpro.spring.export.ExportWriter;
+import com.devpro.spring.model.Employee;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.repository.EmployeeRepository;
+import com.devpro.spring.repository.GuestRepository;
+import com.devpro.spring.repository.OrderFoodRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.repository.ServiceBillRepository;
+
+/**
+ * Xuat du lieu theo kieu cursor chi doc tien: moi dong doc ra duoc ghi ngay va tach khoi persistence context,
+ * nen bo nho su dung khong phu thuoc so dong.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private GuestRepository guestRepository;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private RentalRepository rentalRepository;
+
+	@Autowired
+	private OrderFoodRepository orderFoodRepository;
+
+	@Autowired
+	private ServiceBillRepository serviceBillRepository;
+
+	@Override
+	public void exportGuests(ExportFormat format, OutputStream out) throws IOException {
+		try (ExportWriter writer = format.open(out); Stream<Guest> guests = guestRepository.streamAllGuests()) {
+			writer.writeHeader("Mã khách", "Họ tên", "Ngày sinh", "CMND", "Hộ chiếu", "Địa chỉ", "Quốc tịch",
+					"Số điện thoại", "Email", "Khách quen", "VIP");
+			Iterator<Guest> iterator = guests.iterator();
+			while (iterator.hasNext()) {
+				Guest guest = iterator.next();
+				writer.writeRow(guest.getGuestId(), guest.getGuestName(), guest.getBirth(), guest.getIdCard(),
+						guest.getPassport(), guest.getAddress(), guest.getNationality(), guest.getPhoneNumber(),
+						guest.getEmail(), guest.getIsFamiliar(), guest.getIsVip());
+				entityManager.detach(guest);
+			}
+		}
+	}
+
+	@Override
+	public void exportEmployees(ExportFormat format, OutputStream out) throws IOException {
+		try (ExportWriter writer = format.open(out);
+				Stream<Employee> employees = employeeRepository.streamAllEmployees()) {
+			writer.writeHeader("Mã nhân viên", "Họ tên", "Ngày sinh", "Giới tính", "Địa chỉ", "Email",
+					"Số điện thoại", "Lương", "Mã quản lý", "Bộ phận");
+			Iterator<Employee> iterator = employees.iterator();
+			while (iterator.hasNext()) {
+				Employee employee = iterator.next();
+				writer.writeRow(employee.getEmployeeNumber(), employee.getEmployeeName(), employee.getBirth(),
+						employee.getGender(), employee.getAddress(), employee.getEmail(), employee.getPhoneNumber(),
+						employee.getSalary(), employee.getManagerNumber(),
+						employee.getSection() == null ? null : employee.getSection().getSectionName());
+				// section duoc fetch join cung dong, tach ca hai khoi context
+				if (employee.getSection() != null) {
+					entityManager.detach(employee.getSection());
+				}
+				entityManager.detach(employee);
+			}
+		}
+	}
+
+	@Override
+	public void exportRentals(ExportFormat format, OutputStream out) throws IOException {
+		try (ExportWriter writer = format.open(out); Stream<Object[]> rows = rentalRepository.streamRentalRows()) {
+			writer.writeHeader("Mã thuê", "Ngày nhận", "Ngày trả", "Đã thanh toán", "Giảm giá", "Ghi chú",
+					"Khách", "CMND", "Phòng", "Loại phòng", "Giá ngày");
+			Iterator<Object[]> iterator = rows.iterator();
+			while (iterator.hasNext()) {
+				writer.writeRow(iterator.next());
+			}
+		}
+	}
+
+	@Override
+	public void exportOrders(ExportFormat format, OutputStream out) throws IOException {
+		try (ExportWriter writer = format.open(out)) {
+			writer.writeHeader("Loại", "Mã hóa đơn", "Ngày", "Tổng tiền", "Giảm giá", "Số người", "Ghi chú",
+					"Mã thuê", "Khách");
+			try (Stream<Object[]> rows = orderFoodRepository.streamOrderFoodRows()) {
+				Iterator<Object[]> iterator = rows.iterator();
+				while (iterator.hasNext()) {
+					Object[] row = iterator.next();
+					writer.writeRow("FOOD", row[0], row[1], row[2], row[3], row[4], row[5], row[6], row[7]);
+				}
+			}
+			try (Stream<Object[]> rows = serviceBillRepository.streamServiceBillRows()) {
+				Iterator<Object[]> iterator = rows.iterator();
+				while (iterator.hasNext()) {
+					Object[] row = iterator.next();
+					writer.writeRow("SERVICE", row[0], row[1], row[2], row[3], null, row[4], row[5], row[6]);
+				}
+			}
+		}
+	}
+}
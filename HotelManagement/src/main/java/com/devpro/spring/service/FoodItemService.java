@@ -1,5 +1,6 @@
 package com.devpro.spring.service;
 
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -13,6 +14,10 @@ public interface FoodItemService {
 	
 	FoodItem getItem(Long id);
 	
+	FoodItemDto getItemLookup(Long id);
+	
+	Date getItemUpdatedAt(Long id);
+	
 	FoodItemDto getFoodItem(Long id);
 	
 	Page<FoodItemDto> getListFoodItem(org.springframework.data.domain.Pageable pageable,String text);
@@ -1,14 +1,19 @@
 package com.devpro.spring.service;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
+import javax.persistence.EntityNotFoundException;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.devpro.spring.dto.FoodItemDto;
+import com.devpro.spring.fragment.DataVersions;
 import com.devpro.spring.model.FoodItem;
 import com.devpro.spring.repository.FoodItemRepository;
 
@@ -17,20 +22,42 @@ public class FoodItemServiceImpl implements FoodItemService{
 
 	@Autowired
 	public FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private DataVersions dataVersions;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<FoodItem> loadToSelectOption() {
 		// TODO Auto-generated method stub
 		return foodItemRepository.findAll();
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public FoodItem getItem(Long id) {
-		// TODO Auto-generated method stub
-		return foodItemRepository.getOne(id);
+		return foodItemRepository.findById(id)
+				.orElseThrow(() -> new EntityNotFoundException("Unable to find FoodItem with id " + id));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public FoodItemDto getItemLookup(Long id) {
+		FoodItemDto result = foodItemRepository.getFoodItemLookup(id);
+		if (result == null) {
+			throw new EntityNotFoundException("Unable to find FoodItem with id " + id);
+		}
+		return result;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Date getItemUpdatedAt(Long id) {
+		return foodItemRepository.getFoodItemUpdatedAt(id);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Page<FoodItemDto> getListFoodItem(org.springframework.data.domain.Pageable pageable,String text) {
 		// TODO Auto-generated method stub
 		List<Object[]> foodItem = foodItemRepository.getListFoodItem("%"+text+"%");
@@ -47,6 +74,7 @@ public class FoodItemServiceImpl implements FoodItemService{
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public FoodItemDto getFoodItem(Long id) {
 		// TODO Auto-generated method stub
 		Object[] item = foodItemRepository.getOneFoodItem(id);
@@ -58,11 +86,13 @@ public class FoodItemServiceImpl implements FoodItemService{
 	public void saveFoodItem(FoodItem item) {
 		// TODO Auto-generated method stub
 		foodItemRepository.save(item);
+		dataVersions.bump(FoodItem.class);
 	}
 
 	@Override
 	public void deleteFoodItem(Long id) {
 		// TODO Auto-generated method stub
 		foodItemRepository.deleteById(id);
+		dataVersions.bump(FoodItem.class);
 	}
 }
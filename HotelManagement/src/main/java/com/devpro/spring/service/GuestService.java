@@ -1,16 +1,22 @@
 package com.devpro.spring.service;
 
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.devpro.spring.dto.GuestLookupDto;
 import com.devpro.spring.model.Guest;
 
 public interface GuestService {
 	
 	Guest findGuest(Long id);
 	
+	GuestLookupDto getGuestLookup(Long id);
+	
+	Date getGuestUpdatedAt(Long id);
+	
 	Page<Guest> searchGuests(Pageable pageable,String text);
 	
 	List<Guest> searchGuests(String text);
@@ -1,40 +1,86 @@
 package com.devpro.spring.service;
 
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 
+import javax.persistence.EntityNotFoundException;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.devpro.spring.dto.GuestLookupDto;
+import com.devpro.spring.fragment.DataVersions;
 import com.devpro.spring.model.Guest;
 import com.devpro.spring.repository.GuestRepository;
+import com.devpro.spring.singleflight.SingleFlight;
 
 @Service
 public class GuestServiceImpl implements GuestService{
 
 	@Autowired
 	private GuestRepository guestRepository;
+
+	@Autowired
+	private SingleFlight singleFlight;
+
+	@Autowired
+	private DataVersions dataVersions;
 	
+	// /order/find-guest: cac quay cung tra cuu 1 phong dung chung 1 lan doc, moi quay nhan 1 ban sao rieng.
+	// Khoa gom phien ban Guest: request den sau khi sua khach khong dung chung lan doc dang chay tu truoc
 	@Override
 	public Guest findGuest(Long id) {
-		// TODO Auto-generated method stub
-		return guestRepository.getOne(id);
+		return copy(singleFlight.execute("guest", Arrays.asList(id, dataVersions.current("Guest")),
+				() -> guestRepository.findById(id)
+						.orElseThrow(() -> new EntityNotFoundException("Unable to find Guest with id " + id))));
+	}
+
+	// ban sao tach roi (khong co rentals): nguoi goi sua Guest khong anh huong request dung chung lan doc
+	private static Guest copy(Guest guest) {
+		Guest copy = new Guest(guest.getGuestName(), guest.getBirth(), guest.getIdCard(), guest.getPassport(),
+				guest.getAddress(), guest.getNationality(), guest.getPhoneNumber(), guest.getEmail(),
+				guest.getIsFamiliar(), guest.getIsVip());
+		copy.setGuestId(guest.getGuestId());
+		copy.setUpdatedAt(guest.getUpdatedAt());
+		return copy;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public GuestLookupDto getGuestLookup(Long id) {
+		GuestLookupDto result = guestRepository.getGuestLookup(id);
+		if (result == null) {
+			throw new EntityNotFoundException("Unable to find Guest with id " + id);
+		}
+		return result;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Date getGuestUpdatedAt(Long id) {
+		return guestRepository.getGuestUpdatedAt(id);
 	}
 
 	@Override
 	public void addGuestInfo(Guest guest) {
 		// TODO Auto-generated method stub
 		guestRepository.save(guest);
+		dataVersions.bump(Guest.class);
 	}
 
 	@Override
 	public void editGuestInfo(Guest guest) {
 		// TODO Auto-generated method stub
 		guestRepository.save(guest);
+		dataVersions.bump(Guest.class);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Page<Guest> searchGuests(Pageable pageable, String text) {
 		// TODO Auto-generated method stub
 		return guestRepository.searchGuests(pageable,"%"+text.trim()+"%");
@@ -42,18 +88,21 @@ public class GuestServiceImpl implements GuestService{
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<Guest> searchGuests(String text) {
 		// TODO Auto-generated method stub
 		return guestRepository.searchGuests("%"+text.trim()+"%");
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Guest searchGuestWithCart(String idCard) {
 		// TODO Auto-generated method stub
 		return guestRepository.searchGuestWithCart(idCard);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Integer checkExistGuest(String idCard) {
 		// TODO Auto-generated method stub
 		return guestRepository.checkExistGuest(idCard);
@@ -64,6 +113,7 @@ public class GuestServiceImpl implements GuestService{
 			String idCard) {
 		
 		guestRepository.updateComplete(passport, address, phoneNumber, email, "true", isVip, idCard);
+		dataVersions.bump(Guest.class);
 		// mac dinh nhu update check in ma khach da co trong csdl thi familiar = true
 	}
 
@@ -72,9 +122,11 @@ public class GuestServiceImpl implements GuestService{
 			String nationality, String phoneNumber, String email, Long guestId) {
 		
 		guestRepository.updateNomal(guestName, birth, idCard, passport, address, nationality, phoneNumber, email, guestId);
+		dataVersions.bump(Guest.class);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Guest getGuestInfoByChamberNumber(String chamberNumber) {
 		// TODO Auto-generated method stub
 		return guestRepository.getGuestInfoByChamberNumber(chamberNumber);
@@ -1,7 +1,9 @@
 package com.devpro.spring.service;
 
+import java.util.Date;
 import java.util.List;
 
+import com.devpro.spring.dto.HotelServiceLookupDto;
 import com.devpro.spring.model.HotelService;
 
 public interface HotelServiceService {
@@ -10,6 +12,10 @@ public interface HotelServiceService {
 	
 	HotelService getService(Long id);
 	
+	HotelServiceLookupDto getServiceLookup(Long id);
+	
+	Date getServiceUpdatedAt(Long id);
+	
 	void saveService(HotelService service);
 	
 	void deleteService(Long id);
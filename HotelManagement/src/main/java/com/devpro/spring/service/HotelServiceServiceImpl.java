@@ -1,10 +1,16 @@
 package com.devpro.spring.service;
 
+import java.util.Date;
 import java.util.List;
 
+import javax.persistence.EntityNotFoundException;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.devpro.spring.dto.HotelServiceLookupDto;
+import com.devpro.spring.fragment.DataVersions;
 import com.devpro.spring.model.HotelService;
 import com.devpro.spring.repository.HotelServiceRepository;
 
@@ -14,28 +20,51 @@ public class HotelServiceServiceImpl implements HotelServiceService{
 	@Autowired
 	private HotelServiceRepository hotelServiceRepository;
 
+	@Autowired
+	private DataVersions dataVersions;
+
 	@Override
+	@Transactional(readOnly = true)
 	public List<HotelService> loadHotel() {
 		// TODO Auto-generated method stub
 		return hotelServiceRepository.findAll();
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public HotelService getService(Long id) {
-		// TODO Auto-generated method stub
-		return hotelServiceRepository.getOne(id);
+		return hotelServiceRepository.findById(id)
+				.orElseThrow(() -> new EntityNotFoundException("Unable to find HotelService with id " + id));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public HotelServiceLookupDto getServiceLookup(Long id) {
+		HotelServiceLookupDto result = hotelServiceRepository.getHotelServiceLookup(id);
+		if (result == null) {
+			throw new EntityNotFoundException("Unable to find HotelService with id " + id);
+		}
+		return result;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Date getServiceUpdatedAt(Long id) {
+		return hotelServiceRepository.getHotelServiceUpdatedAt(id);
 	}
 
 	@Override
 	public void saveService(HotelService service) {
 		// TODO Auto-generated method stub
 		hotelServiceRepository.save(service);
+		dataVersions.bump(HotelService.class);
 	}
 
 	@Override
 	public void deleteService(Long id) {
 		// TODO Auto-generated method stub
 		hotelServiceRepository.deleteById(id);
+		dataVersions.bump(HotelService.class);
 	}
 
 }
@@ -0,0 +1,18 @@
+package com.devpro.spring.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.devpro.spring.bulk.ImportKind;
+import com.devpro.spring.dto.ImportResultDto;
+import com.devpro.spring.model.ImportJob;
+
+public interface ImportService {
+
+	/**
+	 * Import file CSV, jobId != null -> chay tiep tu checkpoint cua job do.
+	 */
+	ImportResultDto importCsv(ImportKind kind, String fileName, InputStream in, Long jobId) throws IOException;
+	
+	ImportJob findJob(Long jobId);
+}
@@ -0,0 +1,261 @@
+package com.devpro.spring.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devpro.spring.bulk.CsvRowReader;
+import com.devpro.spring.bulk.ImportHandler;
+import com.devpro.spring.bulk.ImportKind;
+import com.devpro.spring.bulk.ImportRow;
+import com.devpro.spring.dto.ImportErrorDto;
+import com.devpro.spring.dto.ImportResultDto;
+import com.devpro.spring.model.ImportJob;
+import com.devpro.spring.repository.ImportJobRepository;
+
+/**
+ * Pipeline import 2 giai doan: luong goi doc + kiem tra CSV, luong ghi lay tung batch tu hang doi co gioi han
+ * va ghi trong 1 transaction cung voi checkpoint cua job. Hang doi day thi luong doc cho, nen bo nho chi giu
+ * toi da queue-capacity batch.
+ */
+@Service
+public class ImportServiceImpl implements ImportService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ImportServiceImpl.class);
+
+	// so loi tra ve toi da trong response, tong so loi van duoc dem day du
+	private static final int MAX_REPORTED_ERRORS = 1000;
+	private static final List<ImportRow> END = Collections.emptyList();
+
+	@Autowired
+	private ImportJobRepository importJobRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${hotel.import.batch-size:500}")
+	private int batchSize;
+
+	@Value("${hotel.import.queue-capacity:8}")
+	private int queueCapacity;
+
+	private final Map<ImportKind, ImportHandler> handlers = new EnumMap<>(ImportKind.class);
+
+	private final ExecutorService writers = Executors.newCachedThreadPool(new ThreadFactory() {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "import-writer-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	@Autowired
+	public void setHandlers(List<ImportHandler> importHandlers) {
+		for (ImportHandler handler : importHandlers) {
+			handlers.put(handler.getKind(), handler);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		writers.shutdownNow();
+	}
+
+	@Override
+	public ImportJob findJob(Long jobId) {
+		return importJobRepository.findById(jobId).orElse(null);
+	}
+
+	@Override
+	public ImportResultDto importCsv(ImportKind kind, String fileName, InputStream in, Long jobId) throws IOException {
+		long start = System.currentTimeMillis();
+		ImportJob job = startJob(kind, fileName, jobId);
+		ImportHandler handler = handlers.get(kind);
+
+		ImportResultDto result = new ImportResultDto();
+		result.setJobId(job.getId());
+		result.setKind(kind.getParam());
+		List<ImportErrorDto> errors = new ArrayList<>();
+		AtomicLong imported = new AtomicLong();
+		AtomicLong errorRows = new AtomicLong();
+
+		BlockingQueue<List<ImportRow>> queue = new ArrayBlockingQueue<>(queueCapacity);
+		Future<?> writer = writers.submit(() -> {
+			drain(queue, handler, job.getId(), errors, imported, errorRows);
+			return null;
+		});
+
+		String failure = null;
+		long skipped = 0;
+		try (CsvRowReader reader = new CsvRowReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			String[] header = reader.next();
+			if (header == null) {
+				throw new IllegalArgumentException("File rỗng");
+			}
+			int[] index = kind.mapHeader(header);
+			List<ImportRow> batch = new ArrayList<>(batchSize);
+			String[] values;
+			while ((values = reader.next()) != null) {
+				long line = reader.getLineNumber();
+				if (line <= job.getLastLine()) {
+					skipped++;
+					continue;
+				}
+				String[] row = kind.project(values, index);
+				batch.add(new ImportRow(line, row, handler.validate(row)));
+				if (batch.size() == batchSize) {
+					if (!offer(queue, batch, writer)) {
+						break;
+					}
+					batch = new ArrayList<>(batchSize);
+				}
+			}
+			if (!batch.isEmpty()) {
+				offer(queue, batch, writer);
+			}
+		} catch (IllegalArgumentException e) {
+			failure = e.getMessage();
+		} catch (IOException | RuntimeException e) {
+			// loi khac cua handler.validate / doc file: job van phai ket thuc FAILED, khong treo RUNNING
+			LOGGER.warn("Import job {} failed while reading: {}", job.getId(), e.toString());
+			failure = "Lỗi đọc dữ liệu: " + e;
+		} finally {
+			offer(queue, END, writer);
+		}
+
+		try {
+			writer.get();
+		} catch (ExecutionException e) {
+			LOGGER.warn("Import job {} failed: {}", job.getId(), e.getCause().getMessage());
+			failure = "Lỗi ghi dữ liệu: " + e.getCause().getMessage();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failure = "Import bị ngắt";
+		}
+
+		String status = failure == null ? ImportJob.STATUS_DONE : ImportJob.STATUS_FAILED;
+		String message = failure;
+		inNewTransaction(() -> importJobRepository.updateStatus(status, message, new Date(), job.getId()));
+
+		result.setStatus(status);
+		result.setMessage(failure);
+		result.setSkippedRows(skipped);
+		result.setImportedRows(imported.get());
+		result.setErrorRows(errorRows.get());
+		result.setErrors(errors);
+		result.setElapsedMillis(System.currentTimeMillis() - start);
+		return result;
+	}
+
+	private ImportJob startJob(ImportKind kind, String fileName, Long jobId) {
+		if (jobId == null) {
+			return inNewTransaction(() -> importJobRepository.save(new ImportJob(kind.name(), fileName)));
+		}
+		ImportJob job = findJob(jobId);
+		if (job == null || !kind.name().equals(job.getKind())) {
+			throw new IllegalArgumentException("Không tìm thấy job import " + jobId);
+		}
+		if (ImportJob.STATUS_DONE.equals(job.getStatus())) {
+			throw new IllegalArgumentException("Job import " + jobId + " đã hoàn thành");
+		}
+		inNewTransaction(() -> importJobRepository.updateStatus(ImportJob.STATUS_RUNNING, null, new Date(), jobId));
+		return job;
+	}
+
+	/**
+	 * Dua batch vao hang doi, cho khi hang doi day. Tra ve false neu luong ghi da dung (loi) -> ngung doc.
+	 */
+	private boolean offer(BlockingQueue<List<ImportRow>> queue, List<ImportRow> batch, Future<?> writer) {
+		try {
+			while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+				if (writer.isDone()) {
+					return false;
+				}
+			}
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			writer.cancel(true);
+			return false;
+		}
+	}
+
+	private void drain(BlockingQueue<List<ImportRow>> queue, ImportHandler handler, Long jobId,
+			List<ImportErrorDto> errors, AtomicLong imported, AtomicLong errorRows) throws InterruptedException {
+		while (true) {
+			List<ImportRow> batch = queue.take();
+			if (batch == END) {
+				return;
+			}
+			List<ImportRow> valid = new ArrayList<>(batch.size());
+			List<ImportErrorDto> batchErrors = new ArrayList<>();
+			for (ImportRow row : batch) {
+				if (row.isValid()) {
+					valid.add(row);
+				} else {
+					batchErrors.add(new ImportErrorDto(row.getLine(), row.getError()));
+				}
+			}
+			long lastLine = batch.get(batch.size() - 1).getLine();
+			// du lieu va checkpoint commit cung nhau -> chay lai khong ghi trung va khong bo sot dong
+			inNewTransaction(() -> {
+				if (!valid.isEmpty()) {
+					batchErrors.addAll(handler.write(valid));
+				}
+				importJobRepository.updateProgress(lastLine, batch.size() - batchErrors.size(), batchErrors.size(),
+						new Date(), jobId);
+				return null;
+			});
+			imported.addAndGet(batch.size() - batchErrors.size());
+			errorRows.addAndGet(batchErrors.size());
+			addErrors(errors, batchErrors);
+		}
+	}
+
+	private void addErrors(List<ImportErrorDto> errors, List<ImportErrorDto> batchErrors) {
+		for (ImportErrorDto error : batchErrors) {
+			if (errors.size() >= MAX_REPORTED_ERRORS) {
+				return;
+			}
+			errors.add(error);
+		}
+	}
+
+	private <T> T inNewTransaction(Supplier<T> task) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		return template.execute(status -> task.get());
+	}
+}
@@ -14,8 +14,12 @@ public interface RentalService {
 	
 	String getRentalIdOrderFood(String chamberNumber);
 	
+	// tham chieu (proxy) chi de gan khoa ngoai, khong doc rental
 	Rental getRentalById(Long id);
 	
+	// rental kem khach va phong, 1 cau SQL
+	Rental getRentalForCheckOut(Long id);
+	
 	Rental getRentalCheckOutInfo(String chamberNumber );
 	
 	Guest getGuestCheckOutInfo(String chamberNumber);
@@ -4,11 +4,14 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.devpro.spring.fragment.DataVersions;
 import com.devpro.spring.model.Chamber;
 import com.devpro.spring.model.Guest;
 import com.devpro.spring.model.Rental;
 import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.singleflight.SingleFlight;
 
 @Service
 public class RentalServiceImpl implements RentalService{
@@ -16,6 +19,12 @@ public class RentalServiceImpl implements RentalService{
 	@Autowired
 	private RentalRepository rentalRepository;
 
+	@Autowired
+	private DataVersions dataVersions;
+
+	@Autowired
+	private SingleFlight singleFlight;
+
 	
 	@Override
 	public void addRentalInfo(Rental rental) {
@@ -25,53 +34,68 @@ public class RentalServiceImpl implements RentalService{
 
 	@Override
 	public List<String> getListChamberOrderFood() {
-		// TODO Auto-generated method stub
-		return rentalRepository.getListChamberOrderFood();
+		// danh sach chi doi khi nhan / tra phong (tang phien ban Chamber)
+		return singleFlight.execute("chamber-order-food", dataVersions.current("Chamber"),
+				() -> rentalRepository.getListChamberOrderFood());
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public String getRentalIdOrderFood(String chamberNumber) {
 		// TODO Auto-generated method stub
 		return rentalRepository.getRentalIdOrderFood(chamberNumber);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Rental getRentalById(Long id) {
 		// TODO Auto-generated method stub
 		return rentalRepository.getOne(id);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public Rental getRentalForCheckOut(Long id) {
+		return rentalRepository.getRentalForCheckOut(id);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public Integer getCheckTotalFoodPrice(String chamberId) {
 		// TODO Auto-generated method stub
 		return rentalRepository.getCheckTotalFoodPrice(chamberId);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Integer getCheckTotalServicePrice(String chamberId) {
 		// TODO Auto-generated method stub
 		return rentalRepository.getCheckTotalServicePrice(chamberId);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Integer getNumberDaysStay(String chamberId) {
 		// TODO Auto-generated method stub
 		return rentalRepository.getNumberDaysStay(chamberId);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Rental getRentalCheckOutInfo(String chamberNumber) {
 		// TODO Auto-generated method stub
 		return rentalRepository.getRentalCheckOutInfo(chamberNumber);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Guest getGuestCheckOutInfo(String chamberNumber) {
 		// TODO Auto-generated method stub
 		return rentalRepository.getGuestCheckOutInfo(chamberNumber);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Chamber getChamberCheckOutInfo(String chamberNumber) {
 		// TODO Auto-generated method stub
 		return rentalRepository.getChamberCheckOutInfo(chamberNumber);
@@ -0,0 +1,155 @@
+package com.devpro.spring.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.model.DailyOccupancy;
+import com.devpro.spring.model.DailyRevenue;
+import com.devpro.spring.repository.ChamberRepository;
+import com.devpro.spring.repository.DailyOccupancyRepository;
+import com.devpro.spring.repository.DailyRevenueRepository;
+import com.devpro.spring.utils.FolioUtils;
+
+@Service
+@Transactional
+public class ReportRollupWriter {
+
+	@Autowired
+	private DailyRevenueRepository dailyRevenueRepository;
+
+	@Autowired
+	private DailyOccupancyRepository dailyOccupancyRepository;
+
+	@Autowired
+	private ChamberRepository chamberRepository;
+
+	public void addRevenue(LocalDate date, String source, String chamberType, String isVip, long amount,
+			long itemCount) {
+		int updated = dailyRevenueRepository.addRevenue(amount, itemCount, date, source, chamberType, isVip);
+		if (updated == 0) {
+			dailyRevenueRepository.save(new DailyRevenue(date, source, chamberType, isVip, amount, itemCount));
+		}
+	}
+
+	public void addCheckOut(LocalDate date, long nights) {
+		int updated = dailyOccupancyRepository.addCheckOut(nights, date);
+		if (updated == 0) {
+			dailyOccupancyRepository.save(new DailyOccupancy(date, 0, 0, 1, nights));
+		}
+	}
+
+	public void setNight(LocalDate night, long occupiedRooms, long totalRooms) {
+		int updated = dailyOccupancyRepository.setNight(occupiedRooms, totalRooms, night);
+		if (updated == 0) {
+			dailyOccupancyRepository.save(new DailyOccupancy(night, occupiedRooms, totalRooms, 0, 0));
+		}
+	}
+
+	// dem so phong co khach qua dem night (check in <= night < check out)
+	public long countOccupiedRooms(LocalDate night) {
+		List<Object[]> stays = dailyOccupancyRepository.getStaySource(FolioUtils.toDate(night),
+				FolioUtils.toDate(night.plusDays(1)));
+		long occupied = 0;
+		for (Object[] stay : stays) {
+			if (coversNight(stay, night, LocalDate.now())) {
+				occupied++;
+			}
+		}
+		return occupied;
+	}
+
+	// tinh lai toan bo rollup cho cac ngay trong [from, to] tu du lieu goc
+	public void rebuild(LocalDate from, LocalDate to) {
+		dailyRevenueRepository.deleteRange(from, to);
+		dailyOccupancyRepository.deleteRange(from, to);
+
+		LocalDate before = to.plusDays(1);
+		LocalDate today = LocalDate.now();
+		List<DailyRevenue> revenues = new ArrayList<DailyRevenue>();
+		addOrderRevenue(revenues, DailyRevenue.SOURCE_FOOD,
+				dailyRevenueRepository.getFoodSource(from.toString(), before.toString()));
+		addOrderRevenue(revenues, DailyRevenue.SOURCE_SERVICE,
+				dailyRevenueRepository.getServiceSource(from.toString(), before.toString()));
+
+		Map<LocalDate, DailyOccupancy> occupancy = new TreeMap<LocalDate, DailyOccupancy>();
+		long totalRooms = chamberRepository.count();
+		for (LocalDate day = from; day.isBefore(before) && day.isBefore(today); day = day.plusDays(1)) {
+			occupancy.put(day, new DailyOccupancy(day, 0, totalRooms, 0, 0));
+		}
+
+		Map<String, DailyRevenue> rooms = new HashMap<String, DailyRevenue>();
+		for (Object[] row : dailyRevenueRepository.getCheckOutSource(FolioUtils.toDate(from),
+				FolioUtils.toDate(before))) {
+			LocalDate checkIn = FolioUtils.toLocalDate(row[0]);
+			LocalDate checkOut = FolioUtils.toLocalDate(row[1]);
+			String type = row[2] == null ? "" : String.valueOf(row[2]);
+			String vip = row[3] == null ? "" : String.valueOf(row[3]);
+			long nights = FolioUtils.nights(checkIn, checkOut);
+
+			String key = checkOut + "|" + type + "|" + vip;
+			DailyRevenue room = rooms.get(key);
+			if (room == null) {
+				room = new DailyRevenue(checkOut, DailyRevenue.SOURCE_ROOM, type, vip, 0, 0);
+				rooms.put(key, room);
+			}
+			room.setAmount(room.getAmount() + FolioUtils.roomCharge(String.valueOf(row[4]), nights));
+			room.setItemCount(room.getItemCount() + 1);
+
+			DailyOccupancy day = occupancy.get(checkOut);
+			if (day == null) {
+				day = new DailyOccupancy(checkOut, 0, totalRooms, 0, 0);
+				occupancy.put(checkOut, day);
+			}
+			day.setCheckOuts(day.getCheckOuts() + 1);
+			day.setStayNights(day.getStayNights() + nights);
+		}
+		revenues.addAll(rooms.values());
+
+		for (Object[] stay : dailyOccupancyRepository.getStaySource(FolioUtils.toDate(from),
+				FolioUtils.toDate(before))) {
+			for (DailyOccupancy day : occupancy.values()) {
+				if (coversNight(stay, day.getReportDate(), today)) {
+					day.setOccupiedRooms(day.getOccupiedRooms() + 1);
+				}
+			}
+		}
+
+		dailyRevenueRepository.saveAll(revenues);
+		dailyOccupancyRepository.saveAll(occupancy.values());
+	}
+
+	private void addOrderRevenue(List<DailyRevenue> revenues, String source, List<Object[]> rows) {
+		Map<LocalDate, DailyRevenue> days = new HashMap<LocalDate, DailyRevenue>();
+		for (Object[] row : rows) {
+			LocalDate date;
+			try {
+				date = LocalDate.parse(String.valueOf(row[0]).trim());
+			} catch (DateTimeParseException e) {
+				continue; // ngay dat khong dung dinh dang yyyy-MM-dd -> bo qua
+			}
+			DailyRevenue day = days.get(date);
+			if (day == null) {
+				day = new DailyRevenue(date, source, "", "", 0, 0);
+				days.put(date, day);
+			}
+			day.setAmount(day.getAmount() + FolioUtils.toAmount(row[1]));
+			day.setItemCount(day.getItemCount() + ((Number) row[2]).longValue());
+		}
+		revenues.addAll(days.values());
+	}
+
+	private boolean coversNight(Object[] stay, LocalDate night, LocalDate today) {
+		LocalDate checkIn = FolioUtils.toLocalDate(stay[0]);
+		LocalDate checkOut = stay[1] == null ? today : FolioUtils.toLocalDate(stay[1]);
+		return !checkIn.isAfter(night) && night.isBefore(checkOut);
+	}
+}
@@ -0,0 +1,21 @@
+package com.devpro.spring.service;
+
+import java.time.LocalDate;
+
+import com.devpro.spring.dto.ReportDto;
+import com.devpro.spring.model.Rental;
+
+public interface ReportService {
+
+	void recordFoodOrder(String orderDate, String totalPrice);
+	
+	void recordServiceBill(String orderDate, String totalPrice);
+	
+	void recordCheckOut(Rental rental);
+	
+	void runNightAudit(LocalDate night);
+	
+	int backfill(LocalDate from, LocalDate to);
+	
+	ReportDto getReport(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,226 @@
+package com.devpro.spring.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devpro.spring.dto.ReportDto;
+import com.devpro.spring.dto.ReportRowDto;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.DailyRevenue;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.repository.ChamberRepository;
+import com.devpro.spring.repository.DailyOccupancyRepository;
+import com.devpro.spring.repository.DailyRevenueRepository;
+import com.devpro.spring.utils.FolioUtils;
+
+@Service
+public class ReportServiceImpl implements ReportService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReportServiceImpl.class);
+
+	@Autowired
+	private ReportRollupWriter reportRollupWriter;
+
+	@Autowired
+	private DailyRevenueRepository dailyRevenueRepository;
+
+	@Autowired
+	private DailyOccupancyRepository dailyOccupancyRepository;
+
+	@Autowired
+	private ChamberRepository chamberRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${hotel.report.backfill.partition-days:31}")
+	private int partitionDays;
+
+	@Value("${hotel.report.backfill.threads:4}")
+	private int backfillThreads;
+
+	@Override
+	public void recordFoodOrder(String orderDate, String totalPrice) {
+		recordOrder(DailyRevenue.SOURCE_FOOD, orderDate, totalPrice);
+	}
+
+	@Override
+	public void recordServiceBill(String orderDate, String totalPrice) {
+		recordOrder(DailyRevenue.SOURCE_SERVICE, orderDate, totalPrice);
+	}
+
+	private void recordOrder(final String source, String orderDate, String totalPrice) {
+		final LocalDate date;
+		final long amount;
+		try {
+			date = LocalDate.parse(orderDate.trim());
+			amount = FolioUtils.parseAmount(totalPrice);
+		} catch (DateTimeParseException | NumberFormatException | NullPointerException e) {
+			LOGGER.warn("Skip rollup for {} order ({}, {}): {}", source, orderDate, totalPrice, e.getMessage());
+			return;
+		}
+		afterCommit(() -> reportRollupWriter.addRevenue(date, source, "", "", amount, 1));
+	}
+
+	@Override
+	public void recordCheckOut(Rental rental) {
+		final LocalDate checkIn = FolioUtils.toLocalDate(rental.getCheckInDate());
+		final LocalDate checkOut = FolioUtils.toLocalDate(rental.getCheckOutDate());
+		final long nights = FolioUtils.nights(checkIn, checkOut);
+		// lay du lieu phong ngay trong transaction hien tai, entity co the da detach khi commit xong
+		final List<String[]> rooms = new ArrayList<String[]>();
+		for (Chamber chamber : rental.getChambers()) {
+			rooms.add(new String[] { nullToEmpty(chamber.getChamberType()), nullToEmpty(chamber.getIsVip()),
+					chamber.getPriceDay() });
+		}
+		afterCommit(() -> {
+			for (String[] room : rooms) {
+				reportRollupWriter.addRevenue(checkOut, DailyRevenue.SOURCE_ROOM, room[0], room[1],
+						FolioUtils.roomCharge(room[2], nights), 1);
+				reportRollupWriter.addCheckOut(checkOut, nights);
+			}
+		});
+	}
+
+	@Scheduled(cron = "${hotel.report.night-audit-cron:0 5 0 * * *}")
+	public void nightAudit() {
+		runNightAudit(LocalDate.now().minusDays(1));
+	}
+
+	@Override
+	public void runNightAudit(LocalDate night) {
+		long occupied = reportRollupWriter.countOccupiedRooms(night);
+		reportRollupWriter.setNight(night, occupied, chamberRepository.count());
+	}
+
+	@Override
+	public int backfill(LocalDate from, LocalDate to) {
+		List<LocalDate[]> partitions = new ArrayList<LocalDate[]>();
+		for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(partitionDays)) {
+			LocalDate end = start.plusDays(partitionDays - 1);
+			partitions.add(new LocalDate[] { start, end.isAfter(to) ? to : end });
+		}
+
+		// moi partition la 1 transaction rieng, chay song song tren pool co dinh
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(backfillThreads, partitions.size())));
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (final LocalDate[] partition : partitions) {
+				futures.add(executor.submit(() -> reportRollupWriter.rebuild(partition[0], partition[1])));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Report backfill interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Report backfill failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+		LOGGER.info("Report backfill {} -> {} done in {} partitions", from, to, partitions.size());
+		return partitions.size();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ReportDto getReport(LocalDate from, LocalDate to) {
+		ReportDto report = new ReportDto();
+		report.setFrom(from.toString());
+		report.setTo(to.toString());
+
+		for (Object[] row : dailyRevenueRepository.getRevenueByGroup(from, to)) {
+			ReportRowDto item = new ReportRowDto(row);
+			report.getRows().add(item);
+			if (DailyRevenue.SOURCE_ROOM.equals(item.getSource())) {
+				report.setRoomRevenue(report.getRoomRevenue() + item.getAmount());
+			} else if (DailyRevenue.SOURCE_FOOD.equals(item.getSource())) {
+				report.setFoodRevenue(report.getFoodRevenue() + item.getAmount());
+			} else {
+				report.setServiceRevenue(report.getServiceRevenue() + item.getAmount());
+			}
+		}
+		report.setTotalRevenue(report.getRoomRevenue() + report.getFoodRevenue() + report.getServiceRevenue());
+
+		List<Object[]> totals = dailyOccupancyRepository.getOccupancyTotal(from, to);
+		if (!totals.isEmpty()) {
+			Object[] total = totals.get(0);
+			report.setOccupiedRoomNights(toLong(total[0]));
+			report.setAvailableRoomNights(toLong(total[1]));
+			report.setCheckOuts(toLong(total[2]));
+			long stayNights = toLong(total[3]);
+			if (report.getAvailableRoomNights() > 0) {
+				report.setOccupancyRate((double) report.getOccupiedRoomNights() / report.getAvailableRoomNights());
+			}
+			if (report.getCheckOuts() > 0) {
+				report.setAverageStay((double) stayNights / report.getCheckOuts());
+			}
+		}
+		return report;
+	}
+
+	// rollup cap nhat sau khi giao dich goc commit, loi rollup khong lam hong giao dich goc
+	// (backfill se tinh lai neu co sai lech)
+	private void afterCommit(final Runnable task) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					runInNewTransaction(task);
+				}
+			});
+		} else {
+			runInNewTransaction(task);
+		}
+	}
+
+	private void runInNewTransaction(Runnable task) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		try {
+			try {
+				template.execute(status -> {
+					task.run();
+					return null;
+				});
+			} catch (DataIntegrityViolationException e) {
+				// 2 request cung tao dong rollup moi cho 1 ngay -> dong da ton tai, cong don lai
+				template.execute(status -> {
+					task.run();
+					return null;
+				});
+			}
+		} catch (RuntimeException e) {
+			LOGGER.warn("Report rollup update failed, run backfill to repair: {}", e.getMessage());
+		}
+	}
+
+	private static long toLong(Object value) {
+		return value == null ? 0L : ((Number) value).longValue();
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.devpro.spring.model.Section;
 import com.devpro.spring.repository.SectionRepository;
@@ -15,6 +16,7 @@ public class SectionServiceImpl implements SectionService{
 	private SectionRepository sectionRepository;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<Section> getSectionOption() {
 		// TODO Auto-generated method stub
 		return sectionRepository.findAll();
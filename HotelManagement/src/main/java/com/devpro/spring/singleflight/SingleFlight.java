@@ -0,0 +1,189 @@
+package com.devpro.spring.singleflight;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devpro.spring.datasource.ReadYourWrites;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Gom cac lan doc giong het nhau dang chay cung luc: request dau tien (leader) chay truy van trong transaction
+ * readOnly cua rieng no, cac request cung khoa den trong luc do (shared) doi va nhan chung ket qua, khong giu ket noi.
+ * Ket qua khong duoc giu lai sau khi truy van xong, tru ket qua null (vd. so phong khong ton tai) duoc nho
+ * hotel.single-flight.negative-ttl-ms. Khoa nen kem phien ban du lieu (DataVersions) de request den sau commit
+ * khong nhap vao truy van bat dau truoc commit va ket qua null cu tu het hieu luc.
+ * Nguoi goi dang o trong transaction (co the vua ghi) luon tu doc, khong gom. Khoa nen kem trang thai ghim primary
+ * (ReadYourWrites): phien vua ghi khong nhan ket qua doc tu replica cua request khac.
+ * Metric: hotel.single-flight.calls (result=leader|shared|negative|bypass), hotel.single-flight.share-ratio
+ * (ti le lan goi khong phai tu truy van).
+ */
+@Component
+public class SingleFlight {
+
+	static final String CALLS_METRIC = "hotel.single-flight.calls";
+	static final String SHARE_RATIO_METRIC = "hotel.single-flight.share-ratio";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${hotel.single-flight.enabled:true}")
+	private volatile boolean enabled;
+
+	@Value("${hotel.single-flight.negative-ttl-ms:1000}")
+	private long negativeTtlMs;
+
+	@Value("${hotel.single-flight.max-negative-entries:1024}")
+	private int maxNegativeEntries;
+
+	private final Map<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	// khoa -> thoi diem het han (System.nanoTime)
+	private final Map<List<Object>, Long> misses = new ConcurrentHashMap<>();
+
+	private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+	private TransactionTemplate readOnly;
+
+	@PostConstruct
+	public void init() {
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	/**
+	 * @param name ten nhom truy van (tag cua metric)
+	 * @param key  tham so cua truy van, phai co equals/hashCode (vd. Arrays.asList(...))
+	 * @return ket qua cua loader, co the la ket qua cua request khac dang chay cung khoa
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T execute(String name, Object key, Supplier<T> loader) {
+		Stats stat = stats(name);
+		if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+			count(name, "bypass");
+			return loader.get();
+		}
+		List<Object> flightKey = Arrays.asList(name, key, ReadYourWrites.isPinned());
+		Long missUntil = misses.get(flightKey);
+		if (missUntil != null) {
+			if (missUntil - System.nanoTime() > 0) {
+				stat.shared.incrementAndGet();
+				count(name, "negative");
+				return null;
+			}
+			misses.remove(flightKey, missUntil);
+		}
+
+		CompletableFuture<Object> flight = new CompletableFuture<>();
+		CompletableFuture<Object> running = inFlight.putIfAbsent(flightKey, flight);
+		if (running != null) {
+			stat.shared.incrementAndGet();
+			count(name, "shared");
+			return (T) await(running);
+		}
+		stat.leaders.incrementAndGet();
+		count(name, "leader");
+		try {
+			T value = readOnly.execute(status -> loader.get());
+			if (value == null) {
+				rememberMiss(flightKey);
+			}
+			flight.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			flight.completeExceptionally(e);
+			throw e;
+		} finally {
+			// ket qua null da vao misses truoc khi go flight: request den sau thay 1 trong 2
+			inFlight.remove(flightKey, flight);
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Ti le lan goi dung chung ket qua (shared + negative) tren tong so lan goi duoc gom cua nhom.
+	 */
+	public double getShareRatio(String name) {
+		Stats stat = stats.get(name);
+		return stat == null ? 0 : stat.ratio();
+	}
+
+	private void rememberMiss(List<Object> flightKey) {
+		if (negativeTtlMs <= 0) {
+			return;
+		}
+		long now = System.nanoTime();
+		if (misses.size() >= maxNegativeEntries) {
+			misses.values().removeIf(until -> until - now <= 0);
+			if (misses.size() >= maxNegativeEntries) {
+				misses.clear();
+			}
+		}
+		misses.put(flightKey, now + TimeUnit.MILLISECONDS.toNanos(negativeTtlMs));
+	}
+
+	private static Object await(CompletableFuture<Object> running) {
+		try {
+			return running.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private Stats stats(String name) {
+		return stats.computeIfAbsent(name, key -> {
+			Stats stat = new Stats();
+			Gauge.builder(SHARE_RATIO_METRIC, stat, Stats::ratio).tag("name", key).register(meterRegistry);
+			return stat;
+		});
+	}
+
+	private void count(String name, String result) {
+		Counter.builder(CALLS_METRIC).tag("name", name).tag("result", result).register(meterRegistry).increment();
+	}
+
+	private static class Stats {
+		private final AtomicLong leaders = new AtomicLong();
+		private final AtomicLong shared = new AtomicLong();
+
+		double ratio() {
+			long sharedCalls = shared.get();
+			long total = leaders.get() + sharedCalls;
+			return total == 0 ? 0 : (double) sharedCalls / total;
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.devpro.spring.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Do thoi gian giu ket noi JDBC (tu luc lay khoi pool toi luc close) cho StatementCounter.
+ * Ngoai request / doan dem thi tra thang ket noi goc, khong boc proxy.
+ */
+public class ConnectionHoldTimingDataSource extends DelegatingDataSource {
+
+	public ConnectionHoldTimingDataSource(DataSource targetDataSource) {
+		super(targetDataSource);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return timed(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return timed(super.getConnection(username, password));
+	}
+
+	private static Connection timed(Connection connection) {
+		StatementStats stats = StatementCounter.current();
+		if (stats == null) {
+			return connection;
+		}
+		stats.connectionAcquired();
+		return (Connection) Proxy.newProxyInstance(ConnectionHoldTimingDataSource.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new HoldTimer(connection, stats));
+	}
+
+	private static class HoldTimer implements InvocationHandler {
+
+		private final Connection target;
+		private final StatementStats stats;
+		private final long acquiredAt = System.nanoTime();
+		private boolean released;
+
+		HoldTimer(Connection target, StatementStats stats) {
+			this.target = target;
+			this.stats = stats;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "close":
+				if (!released) {
+					released = true;
+					stats.connectionReleased(System.nanoTime() - acquiredAt);
+				}
+				break;
+			default:
+				break;
+			}
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			}
+		}
+	}
+}
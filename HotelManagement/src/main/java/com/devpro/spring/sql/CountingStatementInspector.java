@@ -0,0 +1,27 @@
+package com.devpro.spring.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Dem moi cau SQL Hibernate chuan bi (ke ca flush insert/update, nap lazy). Neu da cau hinh
+ * hibernate.session_factory.statement_inspector khac thi goi tiep inspector do.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	private final StatementInspector delegate;
+
+	public CountingStatementInspector(StatementInspector delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		String inspected = delegate == null ? sql : delegate.inspect(sql);
+		if (inspected != null) {
+			StatementCounter.statement(inspected);
+		}
+		return inspected;
+	}
+}
@@ -0,0 +1,67 @@
+package com.devpro.spring.sql;
+
+/**
+ * Gan StatementStats vao luong hien tai. StatementCountingFilter bat/tat theo tung request;
+ * test goi truc tiep start()/stop() quanh doan code can do:
+ *
+ * <pre>
+ * StatementCounter.start();
+ * checkInApi.rentChamber(...);
+ * entityManager.flush();
+ * assertTrue(StatementCounter.stop().getStatements() &lt;= 8);
+ * </pre>
+ *
+ * Cau SQL chay tren luong khac (xu ly async, @Async) khong duoc tinh.
+ */
+public final class StatementCounter {
+
+	private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+
+	private StatementCounter() {
+	}
+
+	public static StatementStats start() {
+		StatementStats stats = new StatementStats();
+		CURRENT.set(stats);
+		return stats;
+	}
+
+	public static StatementStats stop() {
+		StatementStats stats = CURRENT.get();
+		CURRENT.remove();
+		return stats == null ? new StatementStats() : stats;
+	}
+
+	public static StatementStats current() {
+		return CURRENT.get();
+	}
+
+	// goi truoc khi render view (sau controller)
+	public static void beforeRender() {
+		StatementStats stats = CURRENT.get();
+		if (stats != null) {
+			stats.beforeRender();
+		}
+	}
+
+	static void statement(String sql) {
+		StatementStats stats = CURRENT.get();
+		if (stats != null) {
+			stats.addStatement(sql);
+		}
+	}
+
+	static void entityLoad(String entityName) {
+		StatementStats stats = CURRENT.get();
+		if (stats != null) {
+			stats.addEntityLoad(entityName);
+		}
+	}
+
+	static void collectionFetch(String role) {
+		StatementStats stats = CURRENT.get();
+		if (stats != null) {
+			stats.addCollectionFetch(role);
+		}
+	}
+}
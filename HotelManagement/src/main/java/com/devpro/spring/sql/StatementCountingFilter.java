@@ -0,0 +1,97 @@
+package com.devpro.spring.sql;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Dem SQL theo tung request. Sau request: ghi metric (so cau SQL, thoi gian giu ket noi) theo mau URL cua handler,
+ * log WARN khi nghi N+1 (cung mot cau select lap lai tu nPlusOneThreshold lan) hoac khi vuot ngan sach cau hinh
+ * cho endpoint.
+ */
+public class StatementCountingFilter extends OncePerRequestFilter {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StatementCountingFilter.class);
+
+	static final String STATEMENTS_METRIC = "hotel.sql.statements";
+	static final String N_PLUS_ONE_METRIC = "hotel.sql.n-plus-one";
+	static final String OVER_BUDGET_METRIC = "hotel.sql.over-budget";
+	static final String CONNECTION_HOLD_METRIC = "hotel.jdbc.connection.hold";
+	static final String HELD_DURING_RENDER_METRIC = "hotel.jdbc.connection.held-during-render";
+
+	private final MeterRegistry meterRegistry;
+	private final int nPlusOneThreshold;
+	private final Map<String, Integer> budgets;
+
+	public StatementCountingFilter(MeterRegistry meterRegistry, int nPlusOneThreshold, Map<String, Integer> budgets) {
+		this.meterRegistry = meterRegistry;
+		this.nPlusOneThreshold = nPlusOneThreshold;
+		this.budgets = budgets;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		StatementCounter.start();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			report(request, StatementCounter.stop());
+		}
+	}
+
+	void report(HttpServletRequest request, StatementStats stats) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		if (pattern == null) {
+			// request khong toi controller (tai nguyen tinh, bi chan boi security)
+			return;
+		}
+		String uri = pattern.toString();
+		String method = request.getMethod();
+		DistributionSummary.builder(STATEMENTS_METRIC).baseUnit("statements").tag("uri", uri).tag("method", method)
+				.register(meterRegistry).record(stats.getStatements());
+		LOGGER.debug("{} {}: {}", method, uri, stats);
+		if (stats.getConnections() > 0) {
+			Timer.builder(CONNECTION_HOLD_METRIC).tag("uri", uri).tag("method", method).register(meterRegistry)
+					.record(stats.getConnectionHoldNanos(), TimeUnit.NANOSECONDS);
+		}
+		if (stats.isConnectionHeldDuringRender()) {
+			// pool phai du lon cho ca thoi gian render (open-in-view bat lai?)
+			Counter.builder(HELD_DURING_RENDER_METRIC).tag("uri", uri).tag("method", method)
+					.register(meterRegistry).increment();
+		}
+
+		Map<String, Integer> suspects = stats.getNPlusOneSuspects(nPlusOneThreshold);
+		if (!suspects.isEmpty()) {
+			Counter.builder(N_PLUS_ONE_METRIC).tag("uri", uri).tag("method", method).register(meterRegistry)
+					.increment();
+			for (Map.Entry<String, Integer> entry : suspects.entrySet()) {
+				LOGGER.warn("Possible N+1 in {} {}: {} executions of [{}]", method, uri, entry.getValue(),
+						entry.getKey());
+			}
+		}
+
+		Integer budget = budgets.get(uri);
+		if (budget != null && stats.getStatements() > budget) {
+			Counter.builder(OVER_BUDGET_METRIC).tag("uri", uri).tag("method", method).register(meterRegistry)
+					.increment();
+			LOGGER.warn("{} {} ran {} SQL statements, budget is {}: {}", method, uri, stats.getStatements(), budget,
+					stats);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.devpro.spring.sql;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.HibernateException;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dem entity duoc nap (ca tu ket qua query lan nap lazy) va collection duoc khoi tao cho StatementCounter.
+ */
+@Component
+@ConditionalOnProperty(name = "hotel.sql.count.enabled", matchIfMissing = true)
+public class StatementCountingListener implements PostLoadEventListener, InitializeCollectionEventListener {
+
+	private static final long serialVersionUID = 1L;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PostConstruct
+	public void register() {
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class).getServiceRegistry()
+				.getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_LOAD, this);
+		// chay sau listener mac dinh (listener do moi that su nap collection)
+		registry.appendListeners(EventType.INIT_COLLECTION, this);
+	}
+
+	@Override
+	public void onPostLoad(PostLoadEvent event) {
+		StatementCounter.entityLoad(event.getPersister().getEntityName());
+	}
+
+	@Override
+	public void onInitializeCollection(InitializeCollectionEvent event) throws HibernateException {
+		StatementCounter.collectionFetch(event.getCollection().getRole());
+	}
+}
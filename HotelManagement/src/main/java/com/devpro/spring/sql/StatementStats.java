@@ -0,0 +1,120 @@
+package com.devpro.spring.sql;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * So cau SQL, so entity nap, so collection nap va thoi gian giu ket noi JDBC trong mot don vi cong viec
+ * (mot request HTTP hoac mot doan test). Chi duoc cap nhat tren luong da goi StatementCounter.start().
+ */
+public class StatementStats {
+
+	private int statements;
+	private int entityLoads;
+	private int collectionFetches;
+
+	private int connections;
+	private int openConnections;
+	private long connectionHoldNanos;
+	private boolean connectionHeldDuringRender;
+
+	// giu thu tu xuat hien de log de doc
+	private final Map<String, Integer> statementCounts = new LinkedHashMap<>();
+	private final Map<String, Integer> entityLoadCounts = new LinkedHashMap<>();
+	private final Map<String, Integer> collectionFetchCounts = new LinkedHashMap<>();
+
+	void addStatement(String sql) {
+		statements++;
+		statementCounts.merge(normalize(sql), 1, Integer::sum);
+	}
+
+	void addEntityLoad(String entityName) {
+		entityLoads++;
+		entityLoadCounts.merge(entityName, 1, Integer::sum);
+	}
+
+	void addCollectionFetch(String role) {
+		collectionFetches++;
+		collectionFetchCounts.merge(role, 1, Integer::sum);
+	}
+
+	void connectionAcquired() {
+		connections++;
+		openConnections++;
+	}
+
+	void connectionReleased(long holdNanos) {
+		openConnections--;
+		connectionHoldNanos += holdNanos;
+	}
+
+	void beforeRender() {
+		if (openConnections > 0) {
+			connectionHeldDuringRender = true;
+		}
+	}
+
+	public int getStatements() {
+		return statements;
+	}
+
+	public int getEntityLoads() {
+		return entityLoads;
+	}
+
+	public int getCollectionFetches() {
+		return collectionFetches;
+	}
+
+	public int getConnections() {
+		return connections;
+	}
+
+	public long getConnectionHoldNanos() {
+		return connectionHoldNanos;
+	}
+
+	/**
+	 * Con ket noi chua tra ve pool khi bat dau render view (open-in-view, hoac transaction bao ca view).
+	 */
+	public boolean isConnectionHeldDuringRender() {
+		return connectionHeldDuringRender;
+	}
+
+	public Map<String, Integer> getStatementCounts() {
+		return statementCounts;
+	}
+
+	public Map<String, Integer> getEntityLoadCounts() {
+		return entityLoadCounts;
+	}
+
+	public Map<String, Integer> getCollectionFetchCounts() {
+		return collectionFetchCounts;
+	}
+
+	/**
+	 * Cau select giong het nhau (chi khac tham so) chay tu threshold lan tro len: dau hieu N+1
+	 * (nap lazy tung dong trong vong lap / khi Jackson serialize).
+	 */
+	public Map<String, Integer> getNPlusOneSuspects(int threshold) {
+		Map<String, Integer> suspects = new LinkedHashMap<>();
+		for (Map.Entry<String, Integer> entry : statementCounts.entrySet()) {
+			if (entry.getValue() >= threshold && entry.getKey().regionMatches(true, 0, "select", 0, 6)) {
+				suspects.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return suspects;
+	}
+
+	@Override
+	public String toString() {
+		return statements + " statements, " + entityLoads + " entity loads " + entityLoadCounts + ", "
+				+ collectionFetches + " collection fetches " + collectionFetchCounts + ", " + connections
+				+ " connections held " + connectionHoldNanos / 1000000 + " ms";
+	}
+
+	private static String normalize(String sql) {
+		return sql.trim().replaceAll("\\s+", " ");
+	}
+}
@@ -0,0 +1,21 @@
+package com.devpro.spring.sql;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Danh dau thoi diem controller xong, view sap render: ket noi con mo luc nay se bi giu trong luc render.
+ */
+public class ViewRenderInterceptor implements HandlerInterceptor {
+
+	@Override
+	public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+			ModelAndView modelAndView) {
+		if (modelAndView != null) {
+			StatementCounter.beforeRender();
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.devpro.spring.startup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * Thoi gian tao tung bean luc khoi dong (tu sau khi khoi tao den sau init), tru phan thoi gian tao cac bean
+ * phu thuoc trong luc do: neu khong, repository dau tien se "chiem" ca thoi gian dung entityManagerFactory.
+ * Khong bat dau tu postProcessBeforeInstantiation: FactoryBean (repository) bi khoi tao som de doan kieu
+ * tu rat lau truoc khi that su duoc tao.
+ */
+class BeanTimingPostProcessor implements MergedBeanDefinitionPostProcessor {
+
+	// bean dang tao, long nhau theo thu tu phu thuoc
+	private final Deque<String> creating = new ArrayDeque<>();
+	private final Map<String, Long> started = new HashMap<>();
+	private final Map<String, Long> nested = new HashMap<>();
+	private final Map<String, Long> elapsed = new HashMap<>();
+
+	@Override
+	public synchronized void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition, Class<?> beanType,
+			String beanName) {
+		if (!started.containsKey(beanName)) {
+			started.put(beanName, System.nanoTime());
+			creating.push(beanName);
+		}
+	}
+
+	@Override
+	public synchronized Object postProcessAfterInitialization(Object bean, String beanName) {
+		Long start = started.remove(beanName);
+		if (start == null) {
+			return bean;
+		}
+		long total = System.nanoTime() - start;
+		Long inner = nested.remove(beanName);
+		elapsed.put(beanName, total - (inner == null ? 0 : inner));
+		// bo ca bean tao loi / bi thay the (khong qua after) nam tren bean nay
+		if (creating.contains(beanName)) {
+			String top;
+			do {
+				top = creating.pop();
+			} while (!top.equals(beanName));
+		}
+		if (!creating.isEmpty()) {
+			nested.merge(creating.peek(), total, Long::sum);
+		}
+		return bean;
+	}
+
+	/**
+	 * @return ten bean + thoi gian (ms), cham nhat truoc
+	 */
+	synchronized Map<String, Long> slowest(int limit) {
+		List<Map.Entry<String, Long>> beans = new ArrayList<>(elapsed.entrySet());
+		beans.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+		Map<String, Long> result = new LinkedHashMap<>();
+		for (Map.Entry<String, Long> bean : beans.subList(0, Math.min(limit, beans.size()))) {
+			result.put(bean.getKey(), TimeUnit.NANOSECONDS.toMillis(bean.getValue()));
+		}
+		return result;
+	}
+}
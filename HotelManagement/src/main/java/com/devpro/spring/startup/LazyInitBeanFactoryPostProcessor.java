@@ -0,0 +1,35 @@
+package com.devpro.spring.startup;
+
+import java.util.Collection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * Danh dau lazy-init cho cac bean chi admin dung (hotel.startup.lazy-beans): tao o request dau tien thay vi luc
+ * khoi dong. Controller lazy van duoc map URL luc khoi dong (handler mapping chi doc kieu cua bean).
+ * Khong dung cho bean co @Scheduled / @EventListener: bean chua tao thi lich chua chay.
+ */
+class LazyInitBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LazyInitBeanFactoryPostProcessor.class);
+
+	private final Collection<String> beanNames;
+
+	LazyInitBeanFactoryPostProcessor(Collection<String> beanNames) {
+		this.beanNames = beanNames;
+	}
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+		for (String beanName : beanNames) {
+			if (beanFactory.containsBeanDefinition(beanName)) {
+				beanFactory.getBeanDefinition(beanName).setLazyInit(true);
+			} else {
+				LOGGER.warn("hotel.startup.lazy-beans: no bean named {}", beanName);
+			}
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.devpro.spring.startup;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Bao cao thoi gian khoi dong theo tung pha (log INFO khi ApplicationReadyEvent, metric hotel.startup.phase) va
+ * cac bean tao cham nhat. Dang ky trong main() / ServletInitializer vi phai nhan su kien truoc khi co context.
+ * hotel.startup.lazy-beans: bean tao khi dung lan dau (xem LazyInitBeanFactoryPostProcessor).
+ * hotel.startup.exit-on-ready=true: thoat ngay khi khoi dong xong (lan chay ghi danh sach lop cho CDS luc build).
+ */
+public class StartupTimingListener implements ApplicationListener<ApplicationEvent> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StartupTimingListener.class);
+
+	static final String PHASE_METRIC = "hotel.startup.phase";
+	private static final int SLOWEST_BEANS = 10;
+
+	// pha -> thoi diem ket thuc (nanoTime), theo thu tu
+	private final Map<String, Long> marks = new LinkedHashMap<>();
+	private long jvmToMainMillis;
+	private BeanTimingPostProcessor beanTiming;
+
+	@Override
+	public void onApplicationEvent(ApplicationEvent event) {
+		if (event instanceof ApplicationStartingEvent) {
+			// devtools restart dung lai listener: bat dau lai tu dau
+			marks.clear();
+			jvmToMainMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+			marks.put("starting", System.nanoTime());
+		} else if (event instanceof ApplicationEnvironmentPreparedEvent) {
+			marks.put("environment", System.nanoTime());
+		} else if (event instanceof ApplicationPreparedEvent) {
+			marks.put("context-prepare", System.nanoTime());
+			prepare(((ApplicationPreparedEvent) event).getApplicationContext());
+		} else if (event instanceof ContextRefreshedEvent) {
+			marks.putIfAbsent("beans", System.nanoTime());
+		} else if (event instanceof WebServerInitializedEvent) {
+			marks.putIfAbsent("web-server", System.nanoTime());
+		} else if (event instanceof ApplicationStartedEvent) {
+			marks.put("started", System.nanoTime());
+		} else if (event instanceof ApplicationReadyEvent) {
+			marks.put("runners", System.nanoTime());
+			ready(((ApplicationReadyEvent) event).getApplicationContext());
+		}
+	}
+
+	private void prepare(ConfigurableApplicationContext context) {
+		beanTiming = new BeanTimingPostProcessor();
+		context.getBeanFactory().addBeanPostProcessor(beanTiming);
+		// chay sau cac BeanDefinitionRegistryPostProcessor: quet @Component, doc lop @Configuration xong
+		context.addBeanFactoryPostProcessor(beanFactory -> marks.put("bean-definitions", System.nanoTime()));
+		String lazyBeans = context.getEnvironment().getProperty("hotel.startup.lazy-beans", "");
+		if (StringUtils.hasText(lazyBeans)) {
+			context.addBeanFactoryPostProcessor(new LazyInitBeanFactoryPostProcessor(
+					Arrays.asList(StringUtils.tokenizeToStringArray(lazyBeans, ","))));
+		}
+	}
+
+	/**
+	 * @return pha -> thoi gian (ms), "jvm" la tu luc JVM chay den main()
+	 */
+	Map<String, Long> phases() {
+		Map<String, Long> phases = new LinkedHashMap<>();
+		phases.put("jvm", jvmToMainMillis);
+		Long previous = null;
+		for (Map.Entry<String, Long> mark : marks.entrySet()) {
+			if (previous != null) {
+				phases.put(mark.getKey(), TimeUnit.NANOSECONDS.toMillis(mark.getValue() - previous));
+			}
+			previous = mark.getValue();
+		}
+		return phases;
+	}
+
+	private void ready(ConfigurableApplicationContext context) {
+		Map<String, Long> phases = phases();
+		long total = phases.values().stream().mapToLong(Long::longValue).sum();
+		StringBuilder report = new StringBuilder("Startup ").append(total).append(" ms:");
+		phases.forEach((phase, millis) -> report.append(String.format("%n  %-16s %6d ms", phase, millis)));
+		report.append(String.format("%n  slowest beans (excluding dependencies):"));
+		beanTiming.slowest(SLOWEST_BEANS)
+				.forEach((bean, millis) -> report.append(String.format("%n    %-48s %6d ms", bean, millis)));
+		LOGGER.info("{}", report);
+
+		context.getBeanProvider(MeterRegistry.class).ifAvailable(registry -> phases.forEach((phase,
+				millis) -> TimeGauge.builder(PHASE_METRIC, millis, TimeUnit.MILLISECONDS, Long::doubleValue)
+						.tag("phase", phase).register(registry)));
+
+		Environment environment = context.getEnvironment();
+		if (environment.getProperty("hotel.startup.exit-on-ready", Boolean.class, false)) {
+			System.exit(SpringApplication.exit(context));
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.devpro.spring.utils;
+
+import java.util.Date;
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * GET co dieu kien cho cac API tra cuu 1 ban ghi: ETag = loai + id + updated_at, Last-Modified = updated_at.
+ * Controller chi doc cot updated_at truoc; khop If-None-Match / If-Modified-Since thi tra 304,
+ * khong doc ban ghi va khong serialize body.
+ */
+public class EtagUtils {
+
+	// trinh duyet duoc luu nhung phai hoi lai moi lan; private: du lieu sau dang nhap, proxy dung chung khong luu
+	private static final CacheControl LOOKUP_CACHE = CacheControl.noCache().cachePrivate();
+
+	private EtagUtils() {
+	}
+
+	public static String etag(String kind, Long id, Date updatedAt) {
+		return "\"" + kind + "-" + id + "-" + updatedAt.getTime() + "\"";
+	}
+
+	/**
+	 * updatedAt null (id khong ton tai, dong cu chua co cot) -> tra body nhu truoc, khong kem ETag.
+	 */
+	public static <T> ResponseEntity<T> lookup(WebRequest request, String kind, Long id, Date updatedAt,
+			Supplier<T> body) {
+		if (updatedAt == null) {
+			return ResponseEntity.ok(body.get());
+		}
+		String etag = etag(kind, id, updatedAt);
+		if (request.checkNotModified(etag, updatedAt.getTime())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(LOOKUP_CACHE).build();
+		}
+		return ResponseEntity.ok().eTag(etag).lastModified(updatedAt.getTime()).cacheControl(LOOKUP_CACHE)
+				.body(body.get());
+	}
+}
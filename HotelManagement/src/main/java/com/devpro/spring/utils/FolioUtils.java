@@ -0,0 +1,75 @@
+package com.devpro.spring.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+public class FolioUtils {
+
+	// so tien nhap tay (phu thu, giam tru): so khong am, de trong = 0
+	public static final String AMOUNT_PATTERN = "\\s*(\\d+(\\.\\d*)?)?\\s*";
+
+	private FolioUtils() {
+	}
+
+	// tien luu dang chuoi (vd: "450000", "427500.0") -> lam tron ve dong
+	public static long parseAmount(String amount) {
+		if (amount == null || amount.trim().isEmpty()) {
+			return 0L;
+		}
+		return new BigDecimal(amount.trim()).setScale(0, RoundingMode.HALF_UP).longValue();
+	}
+
+	public static long toAmount(Object value) {
+		if (value == null) {
+			return 0L;
+		}
+		if (value instanceof BigDecimal) {
+			return ((BigDecimal) value).setScale(0, RoundingMode.HALF_UP).longValue();
+		}
+		if (value instanceof Number) {
+			return ((Number) value).longValue();
+		}
+		return parseAmount(String.valueOf(value));
+	}
+
+	public static LocalDate toLocalDate(Object value) {
+		if (value == null) {
+			return null;
+		}
+		if (value instanceof LocalDate) {
+			return (LocalDate) value;
+		}
+		if (value instanceof java.sql.Date) {
+			return ((java.sql.Date) value).toLocalDate();
+		}
+		if (value instanceof Timestamp) {
+			return ((Timestamp) value).toLocalDateTime().toLocalDate();
+		}
+		if (value instanceof Date) {
+			return ((Date) value).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+		}
+		return LocalDate.parse(String.valueOf(value).substring(0, 10));
+	}
+
+	public static Date toDate(LocalDate date) {
+		return java.sql.Date.valueOf(date);
+	}
+
+	public static long nights(LocalDate checkIn, LocalDate checkOut) {
+		return Math.max(0, ChronoUnit.DAYS.between(checkIn, checkOut));
+	}
+
+	// tra phong trong ngay lay nua so tien (giong CheckOutDto)
+	public static long roomCharge(String priceDay, long nights) {
+		long price = parseAmount(priceDay);
+		if (nights == 0) {
+			return (long) (price * 0.5);
+		}
+		return price * nights;
+	}
+}
@@ -0,0 +1,236 @@
+-- Schema goc cua ung dung (tuong ung cac entity trong com.devpro.spring.model).
+-- Dung "if not exists" de chay duoc ca tren CSDL moi lan CSDL cu tao bang Database/hotel-management.sql
+-- hoac ddl-auto=update (baseline-version=0, cac bang da co duoc giu nguyen).
+
+create table if not exists app_role (
+    role_id bigint not null,
+    role_name varchar(30) not null,
+    primary key (role_id),
+    constraint APP_ROLE_UK unique (role_name)
+) engine=InnoDB;
+
+create table if not exists app_user (
+    user_id bigint not null,
+    user_name varchar(36) not null,
+    encryted_password varchar(128) not null,
+    enabled bit not null,
+    primary key (user_id),
+    constraint APP_USER_UK unique (user_name)
+) engine=InnoDB;
+
+create table if not exists user_role (
+    id bigint not null,
+    user_id bigint not null,
+    role_id bigint not null,
+    primary key (id),
+    constraint USER_ROLE_UK unique (user_id, role_id),
+    constraint user_role_fk1 foreign key (user_id) references app_user (user_id),
+    constraint user_role_fk2 foreign key (role_id) references app_role (role_id)
+) engine=InnoDB;
+
+create table if not exists chamber (
+    chamber_id bigint not null auto_increment,
+    chamber_number varchar(255),
+    chamber_type varchar(255),
+    is_vip varchar(255),
+    price_day varchar(255),
+    chamber_area varchar(255),
+    note varchar(255),
+    is_empty varchar(255),
+    primary key (chamber_id),
+    constraint chamber_number_uk unique (chamber_number)
+) engine=InnoDB;
+
+create table if not exists guest (
+    guest_id bigint not null auto_increment,
+    guest_name varchar(255),
+    birth varchar(255),
+    id_card varchar(255),
+    passport varchar(255),
+    address varchar(255),
+    nationality varchar(255),
+    phone_number varchar(255),
+    email varchar(255),
+    is_familiar varchar(255),
+    is_vip varchar(255),
+    primary key (guest_id)
+) engine=InnoDB;
+
+create table if not exists payment (
+    payment_id bigint not null,
+    method varchar(255),
+    room_amount varchar(255),
+    food_amount varchar(255),
+    service_amount varchar(255),
+    surcharge varchar(255),
+    deduction varchar(255),
+    total_amount varchar(255),
+    payment_date datetime(6),
+    primary key (payment_id)
+) engine=InnoDB;
+
+create table if not exists rental (
+    rental_id bigint not null,
+    discount varchar(255),
+    check_in_date datetime(6),
+    check_out_date datetime(6),
+    note varchar(255),
+    paid varchar(255),
+    guest_id bigint not null,
+    payment_id bigint,
+    primary key (rental_id),
+    constraint rental_fk foreign key (guest_id) references guest (guest_id),
+    constraint rental_fk2 foreign key (payment_id) references payment (payment_id)
+) engine=InnoDB;
+
+create table if not exists rental_chamber (
+    rental_id bigint not null,
+    chamber_id bigint not null,
+    primary key (rental_id, chamber_id),
+    constraint rental_chamber_fk foreign key (rental_id) references rental (rental_id),
+    constraint rental_chamber_fk2 foreign key (chamber_id) references chamber (chamber_id)
+) engine=InnoDB;
+
+create table if not exists category (
+    category_id bigint not null,
+    category_name varchar(255),
+    primary key (category_id)
+) engine=InnoDB;
+
+create table if not exists food_item (
+    food_item_id bigint not null,
+    food_item_name varchar(255),
+    food_item_description varchar(255),
+    price varchar(255),
+    image varchar(255),
+    category_id bigint,
+    primary key (food_item_id),
+    constraint food_item_name_uk unique (food_item_name),
+    constraint food_item_fk foreign key (category_id) references category (category_id)
+) engine=InnoDB;
+
+create table if not exists order_food (
+    order_food_id bigint not null,
+    total_price varchar(255),
+    people_number varchar(255),
+    order_date varchar(255),
+    discount varchar(255),
+    note varchar(255),
+    rental_id bigint not null,
+    primary key (order_food_id),
+    constraint order_food_fk foreign key (rental_id) references rental (rental_id)
+) engine=InnoDB;
+
+create table if not exists service (
+    service_id bigint not null,
+    service_name varchar(255),
+    price varchar(255),
+    unit varchar(255),
+    service_description varchar(255),
+    note varchar(255),
+    primary key (service_id)
+) engine=InnoDB;
+
+create table if not exists service_bill (
+    service_bill_id bigint not null,
+    total_price varchar(255),
+    order_date varchar(255),
+    discount varchar(255),
+    note varchar(255),
+    rental_id bigint,
+    primary key (service_bill_id),
+    constraint service_bill_fk foreign key (rental_id) references rental (rental_id)
+) engine=InnoDB;
+
+create table if not exists section (
+    section_id bigint not null,
+    section_name varchar(255),
+    section_manager_id varchar(255),
+    primary key (section_id)
+) engine=InnoDB;
+
+create table if not exists employee (
+    employee_id bigint not null,
+    employee_number varchar(255) not null,
+    employee_name varchar(255) not null,
+    birth varchar(255),
+    gender varchar(255),
+    address varchar(255),
+    email varchar(255),
+    phone_number varchar(255),
+    salary varchar(255),
+    manager_number varchar(255),
+    section_id bigint not null,
+    primary key (employee_id),
+    constraint employee_fk2 foreign key (section_id) references section (section_id)
+) engine=InnoDB;
+
+create table if not exists report_daily_revenue (
+    id bigint not null auto_increment,
+    report_date date not null,
+    source varchar(10) not null,
+    chamber_type varchar(25) not null,
+    is_vip varchar(10) not null,
+    amount bigint not null,
+    item_count bigint not null,
+    primary key (id),
+    constraint REPORT_DAILY_REVENUE_UK unique (report_date, source, chamber_type, is_vip)
+) engine=InnoDB;
+
+create table if not exists report_daily_occupancy (
+    id bigint not null auto_increment,
+    report_date date not null,
+    occupied_rooms bigint not null,
+    total_rooms bigint not null,
+    check_outs bigint not null,
+    stay_nights bigint not null,
+    primary key (id),
+    constraint report_daily_occupancy_uk unique (report_date)
+) engine=InnoDB;
+
+create table if not exists import_job (
+    import_job_id bigint not null auto_increment,
+    kind varchar(255) not null,
+    file_name varchar(255),
+    status varchar(255) not null,
+    last_line bigint not null,
+    imported_rows bigint not null,
+    error_rows bigint not null,
+    message varchar(255),
+    updated_at datetime(6),
+    primary key (import_job_id)
+) engine=InnoDB;
+
+-- bang cap id: hibernate_sequence cho app_user, app_role, user_role, service;
+-- <table>_seq cho cac entity dung PooledIdGenerator (gia tri dau = max(id) + 1, xem IdBlockMigration)
+create table if not exists hibernate_sequence (next_val bigint) engine=InnoDB;
+create table if not exists rental_seq (next_val bigint) engine=InnoDB;
+create table if not exists order_food_seq (next_val bigint) engine=InnoDB;
+create table if not exists service_bill_seq (next_val bigint) engine=InnoDB;
+create table if not exists food_item_seq (next_val bigint) engine=InnoDB;
+create table if not exists category_seq (next_val bigint) engine=InnoDB;
+create table if not exists employee_seq (next_val bigint) engine=InnoDB;
+create table if not exists section_seq (next_val bigint) engine=InnoDB;
+create table if not exists payment_seq (next_val bigint) engine=InnoDB;
+
+-- tai khoan mac dinh giong Database/hotel-management.sql (admin/user), chi them khi CSDL chua co tai khoan nao;
+-- doi mat khau sau khi cai dat
+insert into app_role (role_id, role_name)
+select r.role_id, r.role_name from (select 1 as role_id, 'ROLE_ADMIN' as role_name
+    union all select 2, 'ROLE_USER') r
+where not exists (select 1 from app_role);
+insert into app_user (user_id, user_name, encryted_password, enabled)
+select u.user_id, u.user_name, '$2a$10$PrI5Gk9L.tSZiW9FXhTS8O8Mz9E97k2FZbFvGFFaSsiTUIl.TCrFu', 1 from (select 1 as user_id,
+    'admin' as user_name union all select 2, 'user') u
+where not exists (select 1 from app_user);
+insert into user_role (id, user_id, role_id)
+select ur.id, ur.user_id, ur.role_id from (select 1 as id, 1 as user_id, 1 as role_id
+    union all select 2, 1, 2 union all select 3, 2, 2) ur
+where not exists (select 1 from user_role)
+    and exists (select 1 from app_user where user_id = 1 and user_name = 'admin')
+    and exists (select 1 from app_user where user_id = 2 and user_name = 'user');
+
+insert into hibernate_sequence (next_val)
+select greatest((select coalesce(max(user_id), 0) from app_user), (select coalesce(max(role_id), 0) from app_role),
+        (select coalesce(max(id), 0) from user_role), (select coalesce(max(service_id), 0) from service)) + 1
+from dual where not exists (select 1 from hibernate_sequence);
@@ -0,0 +1,30 @@
+-- Index cho cac dieu kien loc/join trong CustomQuery.
+-- InnoDB: index phu luon chua khoa chinh nen (paid, guest_id, check_in_date) da "phu" ca rental_id.
+
+-- check-in: tim khach theo CMND (GUEST_SEARCH_CART, GUEST_CHECK_EXIST_DATABASE, GUEST_UPDATE_COMPLETE, import)
+create index idx_guest_id_card on guest (id_card);
+
+-- luot thue dang mo (paid = 'false'): ACTIVE_RENTALS, MULTIPLE_GET_* ; index phu, khong can doc bang rental
+create index idx_rental_paid_guest on rental (paid, guest_id, check_in_date);
+-- doanh thu tra phong theo ngay (REPORT_SOURCE_CHECK_OUT: paid = 'true' and check_out_date trong khoang)
+create index idx_rental_paid_check_out on rental (paid, check_out_date);
+-- so dem luu tru (REPORT_SOURCE_STAYS: check_in_date < :beforeDate)
+create index idx_rental_check_in on rental (check_in_date, check_out_date);
+
+-- join chamber -> rental_chamber -> rental theo so phong (check-out, order); khoa chinh (rental_id, chamber_id)
+-- chi phuc vu chieu rental -> chamber
+create index idx_rental_chamber_chamber on rental_chamber (chamber_id, rental_id);
+
+-- tim phong trong theo loai/vip (CHAMBER_SEARCH_PRICE_*); cast(price_day) khong dung duoc index nen khong dua vao
+-- (3 cot varchar(255) utf8mb4 vua du gioi han 3072 byte cua khoa index InnoDB)
+create index idx_chamber_type_vip_empty on chamber (chamber_type, is_vip, is_empty);
+
+-- tong tien do an/dich vu cua luot thue (MULTIPLE_GET_TOTAL_*, CHECK_OUT_*_TOTAL): index phu (rental_id, total_price)
+create index idx_order_food_rental_total on order_food (rental_id, total_price);
+create index idx_service_bill_rental_total on service_bill (rental_id, total_price);
+-- doanh thu theo ngay (REPORT_SOURCE_FOOD/SERVICE): index phu (order_date, total_price)
+create index idx_order_food_date_total on order_food (order_date, total_price);
+create index idx_service_bill_date_total on service_bill (order_date, total_price);
+
+-- import nhan vien: kiem tra trung ma nhan vien
+create index idx_employee_number on employee (employee_number);
@@ -0,0 +1,9 @@
+-- Thoi diem sua cuoi cua cac bang tra cuu (/find-chamber, /find-guest, /find-employee, /service/find-food,
+-- /service/find-service, /order/service-price): lam ETag/Last-Modified, tra 304 ma khong doc ca dong.
+-- Entity dat cot nay trong @PrePersist/@PreUpdate, cac cau update hang loat trong CustomQuery dat :updatedAt;
+-- default cho dong cu va cho import chamber ghi bang JDBC.
+alter table chamber add column updated_at datetime(6) default current_timestamp(6);
+alter table guest add column updated_at datetime(6) default current_timestamp(6);
+alter table employee add column updated_at datetime(6) default current_timestamp(6);
+alter table food_item add column updated_at datetime(6) default current_timestamp(6);
+alter table service add column updated_at datetime(6) default current_timestamp(6);
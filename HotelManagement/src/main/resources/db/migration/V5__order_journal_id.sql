@@ -0,0 +1,6 @@
+-- Ma ban ghi journal cua order ghi sau (hotel.order-journal): khi khoi dong lai, journal duoc doc lai tu checkpoint,
+-- order da co dong mang journal_id thi bo qua. Order ghi truc tiep de null (unique cho phep nhieu null).
+alter table order_food add column journal_id varchar(36) null;
+alter table service_bill add column journal_id varchar(36) null;
+create unique index ux_order_food_journal_id on order_food (journal_id);
+create unique index ux_service_bill_journal_id on service_bill (journal_id);
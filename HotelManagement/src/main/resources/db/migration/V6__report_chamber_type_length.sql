@@ -0,0 +1,4 @@
+-- report_daily_revenue.chamber_type lay tu chamber.chamber_type (varchar(255) nhap tu do): varchar(25) lam rollup
+-- tra phong va backfill loi "data too long" voi loai phong dai. Khoa unique
+-- (report_date, source, chamber_type, is_vip) utf8mb4 van duoi gioi han 3072 byte cua InnoDB.
+alter table report_daily_revenue modify chamber_type varchar(255) not null;
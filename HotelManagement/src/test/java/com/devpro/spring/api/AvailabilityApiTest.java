@@ -0,0 +1,296 @@
+package com.devpro.spring.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.devpro.spring.model.AjaxResponseBody;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.registry.ActiveRentalRegistry;
+import com.devpro.spring.repository.ChamberRepository;
+import com.devpro.spring.repository.GuestRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.service.ChamberService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Lớp test các API tra cứu bất đồng bộ /availability/** (tìm phòng trống, phòng đang ở, khách theo phòng).
+ * Không dùng @Transactional: truy vấn chạy trên luồng khác nên chỉ thấy dữ liệu đã commit.
+ * Benchmark chỉ chạy khi bật: mvn test -Dtest=AvailabilityApiTest -Dbenchmark=true
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class AvailabilityApiTest {
+
+    private static final String CHAMBER_NUMBER = "AV";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AvailabilityApi availabilityApi;
+
+    @Autowired
+    private ChamberService chamberService;
+
+    @Autowired
+    private ChamberRepository chamberRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private ActiveRentalRegistry activeRentalRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+
+    private final List<Rental> rentals = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @After
+    public void tearDown() {
+        rentals.forEach(rental -> {
+            rentalRepository.delete(rental);
+            guestRepository.delete(rental.getGuest());
+        });
+        chamberRepository.findAll().stream().filter(c -> c.getChamberNumber().startsWith(CHAMBER_NUMBER))
+                .forEach(chamberRepository::delete);
+        activeRentalRegistry.reload();
+    }
+
+    private Chamber createChamber(String number, String price, String isEmpty) {
+        return chamberRepository.save(new Chamber(number, "couple", "false", price, "20", "note", isEmpty));
+    }
+
+    private Rental createRental(String number) {
+        Guest guest = guestRepository.save(new Guest("Nguyen Van A", "1990-01-01", "AV" + number, "P" + number,
+                "Ha Noi", "Viet Nam", "0123456789", "a@example.com", "false", "false"));
+        Set<Chamber> chambers = new HashSet<>();
+        chambers.add(createChamber(number, "500000", "false"));
+        Rental rental = new Rental();
+        rental.setGuest(guest);
+        rental.setChambers(chambers);
+        rental.setPaid("false");
+        rental = rentalRepository.save(rental);
+        rentals.add(rental);
+        return rental;
+    }
+
+    private ResultActions performAsync(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url)).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+
+    /**
+     * Test case TC-AVAIL-001: Tìm phòng trống theo khoảng giá, loại phòng, VIP (cùng tham số với /check-in).
+     * Expected: Request xử lý bất đồng bộ, JSON chỉ gồm phòng trống đúng bộ lọc.
+     */
+    @Test
+    public void testSearchChambers_ShouldReturnEmptyChambersAsync() throws Exception {
+        createChamber("AV101", "500000", "true");
+        createChamber("AV102", "500000", "false");
+        createChamber("AV103", "2000000", "true");
+
+        performAsync("/availability/chambers?p=1&t=couple&v=false")
+                .andExpect(jsonPath("$.content[?(@.chamberNumber == 'AV101')]").exists())
+                .andExpect(jsonPath("$.content[?(@.chamberNumber == 'AV102')]").doesNotExist())
+                .andExpect(jsonPath("$.content[?(@.chamberNumber == 'AV103')]").doesNotExist());
+    }
+
+    /**
+     * Test case TC-AVAIL-002: Tra cứu khách theo số phòng đang ở và danh sách phòng đang ở.
+     * Expected: Trả về tên khách, rental id của lượt thuê đang mở; phòng đang ở có trong danh sách.
+     */
+    @Test
+    public void testFindGuest_ShouldReturnGuestOfOpenRental() throws Exception {
+        Rental rental = createRental("AV201");
+        activeRentalRegistry.reload();
+
+        performAsync("/availability/guest?number=AV201")
+                .andExpect(jsonPath("$.name").value("Nguyen Van A"))
+                .andExpect(jsonPath("$.rentalId").value(String.valueOf(rental.getRentalId())));
+        mockMvc.perform(get("/availability/occupied")).andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@ == 'AV201')]").exists());
+    }
+
+    /**
+     * Test case TC-AVAIL-003: Tất cả luồng truy vấn đang bận và hàng đợi đã đầy.
+     * Expected: Request bị từ chối ngay với 503 + Retry-After, metric hotel.availability.rejected tăng.
+     */
+    @Test
+    public void testSearchChambers_QueueFull_ShouldReturnServiceUnavailable() throws Exception {
+        AvailabilityApi api = new AvailabilityApi(1, 1);
+        ReflectionTestUtils.setField(api, "chamberService", chamberService);
+        ReflectionTestUtils.setField(api, "meterRegistry", meterRegistry);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(api, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+        double rejected = meterRegistry.counter(AvailabilityApi.REJECTED_METRIC).count();
+        try {
+            // 1 luong dang chay + 1 viec trong hang doi
+            executor.execute(() -> await(release));
+            executor.execute(() -> await(release));
+            try {
+                api.searchChambers(0, 1, "couple", "false");
+                fail("Hàng đợi đầy phải từ chối request");
+            } catch (RejectedExecutionException e) {
+                ResponseEntity<AjaxResponseBody> response = api.handleRejected();
+                assertEquals(503, response.getStatusCodeValue());
+                assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+            }
+            assertEquals(rejected + 1, meterRegistry.counter(AvailabilityApi.REJECTED_METRIC).count(), 0.0);
+        } finally {
+            release.countDown();
+            api.shutdown();
+        }
+    }
+
+    /**
+     * Test case TC-AVAIL-004: Truy vấn tra cứu chạy quá hotel.availability.timeout-ms.
+     * Expected: Request kết thúc bằng TimeoutException (503 + Retry-After) thay vì chờ timeout async chung,
+     * metric hotel.availability.timeout tăng.
+     */
+    @Test
+    public void testFindGuest_SlowQuery_ShouldTimeOut() throws Exception {
+        AvailabilityApi api = new AvailabilityApi(1, 1);
+        ReflectionTestUtils.setField(api, "activeRentalRegistry", activeRentalRegistry);
+        ReflectionTestUtils.setField(api, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(api, "timeoutMs", 100L);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(api, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+        double timeouts = meterRegistry.counter(AvailabilityApi.TIMEOUT_METRIC).count();
+        try {
+            // luong duy nhat dang ban: tra cuu nam trong hang doi qua thoi gian cho phep
+            executor.execute(() -> await(release));
+            CompletableFuture<?> future = api.findGuestByChamberNumber("AV404");
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                fail("Tra cứu quá thời gian phải bị hủy");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof TimeoutException);
+            }
+            assertEquals(503, api.handleRejected().getStatusCodeValue());
+            assertEquals(timeouts + 1, meterRegistry.counter(AvailabilityApi.TIMEOUT_METRIC).count(), 0.0);
+        } finally {
+            release.countDown();
+            api.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Benchmark BENCH-AVAIL-001: 16 luồng "tomcat" nhận 400 request tìm phòng (truy vấn CSDL) xen kẽ 400 request
+     * danh sách phòng đang ở (bộ nhớ). MVC: luồng giữ request đến khi truy vấn xong; async: luồng trả về ngay.
+     * Expected: Request nhẹ không phải xếp hàng sau request nặng khi tìm phòng chạy async; phần vượt hàng đợi nhận 503.
+     */
+    @Test
+    public void benchmarkCheapRequestLatency_BlockingVsAsync() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+        for (int i = 0; i < 200; i++) {
+            createChamber("AV" + (1000 + i), "500000", "true");
+        }
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("blocking: %s%n", run(false));
+            System.out.printf("async:    %s%n", run(true));
+        }
+    }
+
+    private String run(boolean async) throws Exception {
+        ExecutorService servletThreads = Executors.newFixedThreadPool(16);
+        List<Future<?>> heavy = new ArrayList<>();
+        List<Long> cheapNanos = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<?>> pending = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+        long start = System.nanoTime();
+        for (int i = 0; i < 400; i++) {
+            int page = i % 16;
+            heavy.add(servletThreads.submit(() -> {
+                if (async) {
+                    try {
+                        pending.add(availabilityApi.searchChambers(page, 1, "couple", "false"));
+                    } catch (RejectedExecutionException e) {
+                        rejected.incrementAndGet();
+                    }
+                } else {
+                    chamberService.searchChamberWithPrice1(PageRequest.of(page, 12), "couple", "false")
+                            .getContent().size();
+                }
+            }));
+            long submitted = System.nanoTime();
+            servletThreads.submit(() -> {
+                availabilityApi.getOccupiedChambers();
+                cheapNanos.add(System.nanoTime() - submitted);
+            });
+        }
+        for (Future<?> future : heavy) {
+            future.get();
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).get();
+        long total = System.nanoTime() - start;
+        servletThreads.shutdown();
+        servletThreads.awaitTermination(1, TimeUnit.MINUTES);
+        List<Long> sorted = new ArrayList<>(cheapNanos);
+        Collections.sort(sorted);
+        return String.format("total %d ms, cheap request p50 %.2f ms, p99 %.2f ms, rejected (503) %d",
+                total / 1000000, sorted.get(sorted.size() / 2) / 1e6, sorted.get(sorted.size() * 99 / 100) / 1e6,
+                rejected.get());
+    }
+}
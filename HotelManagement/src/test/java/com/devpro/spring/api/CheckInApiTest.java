@@ -1,5 +1,7 @@
 package com.devpro.spring.api;
 
+import javax.persistence.EntityManager;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -20,6 +22,8 @@ import com.devpro.spring.model.Guest;
 import com.devpro.spring.repository.ChamberRepository;
 import com.devpro.spring.repository.GuestRepository;
 import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.sql.StatementCounter;
+import com.devpro.spring.sql.StatementStats;
 
 /**
  * Lớp test integration cho CheckInApi.
@@ -46,6 +50,9 @@ public class CheckInApiTest {
     @Autowired
     private CheckInApi checkInApi;
 
+    @Autowired
+    private EntityManager entityManager;
+
     /**
      * Test case TC-CHECKIN-001: Kiểm tra khi có lỗi validation trên CheckInInfoDto.
      * Expected: Trả về ResponseEntity status 400 với message lỗi từ Errors.
@@ -443,6 +450,28 @@ public class CheckInApiTest {
         assertEquals("false", guest.getIsVip()); // isVip false
     }
 
+    /**
+     * Test case TC-CHECKIN-015: Kiểm tra số câu SQL của check-in khách mới.
+     * Expected: Check-in thành công với không quá 10 câu SQL (ngân sách của /rent-chamber), không có N+1.
+     */
+    @Test
+    public void testRentChamber_NewGuest_ShouldStayWithinStatementBudget() {
+        CheckInInfoDto checkInInfoDto = createValidCheckInInfoDto();
+        Errors errors = new BeanPropertyBindingResult(checkInInfoDto, "checkInInfoDto");
+        Chamber chamber = chamberRepository.saveAndFlush(new Chamber("101", "single", "true", "100", "20", "note", "true"));
+        checkInInfoDto.setChamberId(chamber.getChamberId());
+
+        // Đếm câu SQL của riêng lời gọi API (flush để tính cả câu insert)
+        StatementCounter.start();
+        ResponseEntity<?> response = checkInApi.getSearchResultViaAjax(checkInInfoDto, errors);
+        entityManager.flush();
+        StatementStats stats = StatementCounter.stop();
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertTrue(stats.toString(), stats.getStatements() <= 10);
+        assertTrue(stats.getNPlusOneSuspects(5).isEmpty());
+    }
+
     /**
      * Helper method tạo CheckInInfoDto hợp lệ.
      */
@@ -1,5 +1,8 @@
 package com.devpro.spring.api;
 
+import java.util.Collections;
+import java.util.Date;
+
 import javax.persistence.EntityManager;
 
 import static org.junit.Assert.assertEquals;
@@ -11,16 +14,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.transaction.AfterTransaction;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
 
+import com.devpro.spring.dto.CartItemDto;
 import com.devpro.spring.dto.OrderFoodDto;
 import com.devpro.spring.dto.OrderServiceDto;
 import com.devpro.spring.model.AjaxResponseBody;
+import com.devpro.spring.model.FoodItem;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.pricing.PriceBookRegistry;
 import com.devpro.spring.repository.OrderFoodRepository;
 import com.devpro.spring.repository.RentalRepository;
 import com.devpro.spring.repository.ServiceBillRepository;
+import com.devpro.spring.sql.StatementCounter;
+import com.devpro.spring.sql.StatementStats;
 
 /**
  * Lớp test integration cho OrderApi.
@@ -50,6 +61,14 @@ public class OrderApiTest {
     @Autowired
     private OrderApi orderApi;
 
+    @Autowired
+    private PriceBookRegistry priceBookRegistry;
+
+    @AfterTransaction
+    public void reloadPriceBook() {
+        priceBookRegistry.reload();
+    }
+
     /**
      * Test case TC-ORDER-001: Kiểm tra khi totalPrice âm.
      * Expected: Trả về ResponseEntity status 400 với message lỗi validation.
@@ -423,6 +442,41 @@ public class OrderApiTest {
         assertEquals(0, serviceBillRepository.count());
     }
 
+    /**
+     * Test case TC-ORDER-016: Kiểm tra số câu SQL khi đặt đồ ăn cho rental đang mở.
+     * Expected: Lưu thành công với không quá 6 câu SQL (ngân sách của /order/order-food), không có N+1.
+     */
+    @Test
+    public void testAddOrderFood_ShouldStayWithinStatementBudget() {
+        Guest guest = new Guest("Nguyen Van A", "1990-01-01", "123456789", "P123456", "Ha Noi", "Viet Nam",
+                "0123456789", "a@example.com", "false", "false");
+        em.persist(guest);
+        Rental rental = new Rental();
+        rental.setGuest(guest);
+        rental.setCheckInDate(new Date());
+        rental.setPaid("false");
+        rental = rentalRepository.saveAndFlush(rental);
+        FoodItem foodItem = new FoodItem("Pho bo", "", "50000", null, null);
+        em.persist(foodItem);
+        em.flush();
+        em.clear();
+        priceBookRegistry.reload();
+        OrderFoodDto orderFoodDto = createValidOrderFoodDto(rental.getRentalId());
+        orderFoodDto.setItems(Collections.singletonList(new CartItemDto(foodItem.getId(), 2)));
+        Errors errors = new BeanPropertyBindingResult(orderFoodDto, "orderFoodDto");
+
+        // Đếm câu SQL của riêng lời gọi API (flush để tính cả câu insert)
+        StatementCounter.start();
+        ResponseEntity<?> response = orderApi.addOrderFood(orderFoodDto, errors);
+        em.flush();
+        StatementStats stats = StatementCounter.stop();
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, orderFoodRepository.count());
+        assertTrue(stats.toString(), stats.getStatements() <= 6);
+        assertTrue(stats.getNPlusOneSuspects(5).isEmpty());
+    }
+
     /**
      * Helper method tạo OrderFoodDto hợp lệ.
      */
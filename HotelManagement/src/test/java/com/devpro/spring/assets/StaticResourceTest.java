@@ -0,0 +1,118 @@
+package com.devpro.spring.assets;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.regex.Pattern;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+/**
+ * Lớp test chuỗi phục vụ tài nguyên tĩnh: URL có mã băm nội dung trong template, bản nén sẵn .gz
+ * (tạo ở pha process-resources) và header cache theo loại URL.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class StaticResourceTest {
+
+    private static final String JQUERY = "/homepage/js/jquery-3.3.1.min.js";
+    private static final String FONTAWESOME_CSS = "/homepage/fontawesome/css/all.min.css";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterRegistrationBean<StaticResourceCacheFilter> staticResourceCacheFilter;
+
+    @Autowired
+    private FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter;
+
+    @Autowired
+    private ResourceUrlProvider resourceUrlProvider;
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(staticResourceCacheFilter.getFilter(), resourceUrlEncodingFilter.getFilter()).build();
+    }
+
+    private static Pattern fingerprinted(String path) {
+        int dot = path.lastIndexOf('.');
+        return Pattern.compile(Pattern.quote(path.substring(0, dot)) + "-[0-9a-f]{32}" + Pattern.quote(path.substring(dot)));
+    }
+
+    /**
+     * Test case TC-ASSET-001: Trang login render link css / js có mã băm nội dung, dùng bản .min của vendor.
+     * Expected: Không còn link tương đối không mã băm tới tài nguyên tĩnh.
+     */
+    @Test
+    public void testLoginPage_ShouldLinkFingerprintedAssets() throws Exception {
+        String html = mockMvc.perform(get("/login")).andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString();
+
+        assertTrue(fingerprinted("/login/vendor/bootstrap/js/popper.min.js").matcher(html).find());
+        assertTrue(fingerprinted("/login/css/main.css").matcher(html).find());
+        assertTrue(!html.contains("src=\"login/") && !html.contains("href=\"login/"));
+    }
+
+    /**
+     * Test case TC-ASSET-002: Tải js qua URL có mã băm với Accept-Encoding gzip.
+     * Expected: Trả bản .gz nén sẵn, cache 1 năm immutable.
+     */
+    @Test
+    public void testFingerprintedScript_ShouldServePrecompressedAndImmutable() throws Exception {
+        Assume.assumeTrue("gzip khong co tren may build", new ClassPathResource("static" + JQUERY + ".gz").exists());
+        String url = resourceUrlProvider.getForLookupPath(JQUERY);
+        assertTrue(fingerprinted(JQUERY).matcher(url).matches());
+
+        mockMvc.perform(get(url).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br")).andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString("Accept-Encoding")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, StaticResourceCacheFilter.IMMUTABLE));
+    }
+
+    /**
+     * Test case TC-ASSET-003: Css được viết lại link url() sang bản có mã băm; URL không mã băm phải hỏi lại server.
+     * Expected: Font trong all.min.css có mã băm, Cache-Control no-cache cho URL gốc.
+     */
+    @Test
+    public void testCssLinks_ShouldBeRewrittenAndUnversionedRevalidated() throws Exception {
+        String css = mockMvc.perform(get(FONTAWESOME_CSS)).andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, StaticResourceCacheFilter.REVALIDATE))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(fingerprinted("/homepage/fontawesome/webfonts/fa-solid-900.woff2").matcher(css).find());
+    }
+
+    /**
+     * Test case TC-ASSET-004: Các biến thể FontAwesome không dùng bị loại khỏi bản build.
+     * Expected: Chỉ còn css/all.min.css + webfonts.
+     */
+    @Test
+    public void testUnusedFontAwesomeVariants_ShouldNotBePackaged() {
+        assertNotNull(resourceUrlProvider.getForLookupPath(FONTAWESOME_CSS));
+        assertTrue(!new ClassPathResource("static/homepage/fontawesome/js/all.js").exists());
+        assertTrue(!new ClassPathResource("static/homepage/fontawesome/css/all.css").exists());
+        assertTrue(new ClassPathResource("static/homepage/fontawesome/webfonts/fa-solid-900.woff2").exists());
+    }
+}
@@ -0,0 +1,100 @@
+package com.devpro.spring.config;
+
+import javax.sql.DataSource;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devpro.spring.datasource.ReadYourWrites;
+import com.devpro.spring.datasource.ReplicaLagMonitor;
+
+/**
+ * Lớp test integration cho định tuyến primary/replica với 2 database H2 nhúng.
+ * Replica dùng database riêng nên truy vấn DATABASE() cho biết connection đang đi đâu.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routingprimary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "hotel.datasource.replica.url=jdbc:h2:mem:routingreplica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "hotel.datasource.replica.lag-query=select 0",
+        "hotel.datasource.replica.max-lag-seconds=5",
+        "hotel.datasource.replica.lag-check-ms=3600000"
+})
+public class ReplicaRoutingConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> new JdbcTemplate(dataSource).queryForObject("select database()", String.class));
+    }
+
+    @Before
+    public void setUp() {
+        ReadYourWrites.clear();
+        replicaLagMonitor.update(0L);
+    }
+
+    @After
+    public void tearDown() {
+        ReadYourWrites.clear();
+        replicaLagMonitor.update(0L);
+    }
+
+    /**
+     * Test case TC-ROUTING-001: Transaction readOnly và transaction ghi.
+     * Expected: readOnly đọc từ replica, transaction ghi đi primary.
+     */
+    @Test
+    public void testRouting_ReadOnlyTransaction_ShouldUseReplica() {
+        assertEquals("ROUTINGREPLICA", currentDatabase(true));
+        ReadYourWrites.clear();
+        assertEquals("ROUTINGPRIMARY", currentDatabase(false));
+    }
+
+    /**
+     * Test case TC-ROUTING-002: Đọc ngay sau khi ghi trong cùng phiên.
+     * Expected: Lần đọc readOnly sau khi ghi bị ghim vào primary, hết ghim thì về replica.
+     */
+    @Test
+    public void testRouting_ReadAfterWrite_ShouldPinPrimary() {
+        currentDatabase(false);
+        assertEquals("ROUTINGPRIMARY", currentDatabase(true));
+
+        ReadYourWrites.setPinnedUntil(System.currentTimeMillis() - 1);
+        assertEquals("ROUTINGREPLICA", currentDatabase(true));
+    }
+
+    /**
+     * Test case TC-ROUTING-003: Replica trễ quá ngưỡng hoặc không xác định được độ trễ.
+     * Expected: readOnly quay về primary, replica bắt kịp thì dùng lại replica.
+     */
+    @Test
+    public void testRouting_ReplicaLagging_ShouldFallBackToPrimary() {
+        replicaLagMonitor.update(30L);
+        assertEquals("ROUTINGPRIMARY", currentDatabase(true));
+
+        replicaLagMonitor.update(null);
+        assertEquals("ROUTINGPRIMARY", currentDatabase(true));
+
+        replicaLagMonitor.check();
+        assertEquals("ROUTINGREPLICA", currentDatabase(true));
+    }
+}
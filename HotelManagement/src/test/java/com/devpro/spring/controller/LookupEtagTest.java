@@ -0,0 +1,195 @@
+package com.devpro.spring.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.devpro.spring.model.Category;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.Employee;
+import com.devpro.spring.model.FoodItem;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.HotelService;
+import com.devpro.spring.model.Section;
+import com.devpro.spring.pricing.PriceBookRegistry;
+import com.devpro.spring.service.ChamberService;
+import com.devpro.spring.service.FoodItemService;
+import com.devpro.spring.sql.StatementCounter;
+import com.devpro.spring.sql.StatementStats;
+
+/**
+ * Lớp test GET có điều kiện của các API tra cứu: ETag/Last-Modified theo cột updated_at,
+ * If-None-Match khớp thì trả 304 mà không đọc bản ghi; sửa bản ghi (kể cả câu update hàng loạt) thì ETag đổi.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@WithMockUser(roles = "USER")
+public class LookupEtagTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ChamberService chamberService;
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private PriceBookRegistry priceBookRegistry;
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @AfterTransaction
+    public void reloadPriceBook() {
+        priceBookRegistry.reload();
+    }
+
+    private MvcResult fetch(String url) throws Exception {
+        return mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+    }
+
+    private MvcResult revalidate(String url, String etag) throws Exception {
+        return mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+    }
+
+    /**
+     * Test case TC-ETAG-001: Gọi lại 5 API tra cứu với ETag của lần trước.
+     * Expected: Lần đầu 200 kèm ETag và Cache-Control cho phép lưu (không phải no-store);
+     * lần sau 304, body rỗng, chỉ 1 câu SQL (đọc updated_at).
+     */
+    @Test
+    public void testRepeatLookup_ShouldReturnNotModified() throws Exception {
+        Guest guest = new Guest("Nguyen Van E", "1990-01-01", "ET001", "P001", "Ha Noi", "Viet Nam",
+                "0123456789", "e@example.com", "false", "false");
+        entityManager.persist(guest);
+        Chamber chamber = new Chamber("E101", "single", "false", "300000", "20", "note", "true");
+        entityManager.persist(chamber);
+        Section section = new Section();
+        section.setSectionName("Le tan");
+        entityManager.persist(section);
+        Employee employee = new Employee();
+        employee.setSection(section);
+        employee.setEmployeeNumber("NVE1");
+        employee.setEmployeeName("Tran Thi E");
+        entityManager.persist(employee);
+        Category category = new Category();
+        category.setCategoryName("Mon chinh");
+        entityManager.persist(category);
+        FoodItem foodItem = new FoodItem("Bun cha", "mo ta", "40000", null, category);
+        entityManager.persist(foodItem);
+        HotelService service = new HotelService("Giat kho", "30000", "kg", "mo ta", "");
+        entityManager.persist(service);
+        entityManager.flush();
+        entityManager.clear();
+
+        String[] urls = { "/find-guest?id=" + guest.getGuestId(), "/find-chamber?id=" + chamber.getChamberId(),
+                "/find-employee?id=" + employee.getEmployeeId(), "/service/find-food?id=" + foodItem.getId(),
+                "/service/find-service?id=" + service.getId() };
+        for (String url : urls) {
+            MvcResult first = fetch(url);
+            String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+            assertNotNull(url, etag);
+            assertNotNull(url, first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED));
+            String cacheControl = first.getResponse().getHeader(HttpHeaders.CACHE_CONTROL);
+            assertTrue(url + ": " + cacheControl, cacheControl.contains("no-cache"));
+            assertFalse(url + ": " + cacheControl, cacheControl.contains("no-store"));
+
+            StatementCounter.start();
+            MvcResult second = revalidate(url, etag);
+            StatementStats stats = StatementCounter.stop();
+
+            assertEquals(url, 304, second.getResponse().getStatus());
+            assertEquals(url, "", second.getResponse().getContentAsString());
+            assertEquals(url, 1, stats.getStatements());
+        }
+    }
+
+    /**
+     * Test case TC-ETAG-002: Sửa phòng bằng câu update hàng loạt, sửa món ăn bằng bản detached (như ServiceController).
+     * Expected: ETag cũ không còn khớp, trả 200 với dữ liệu mới.
+     */
+    @Test
+    public void testUpdatedEntity_ShouldChangeEtag() throws Exception {
+        Chamber chamber = new Chamber("E201", "single", "false", "300000", "20", "note", "true");
+        entityManager.persist(chamber);
+        FoodItem foodItem = new FoodItem("Nem ran", "mo ta", "30000", null, null);
+        entityManager.persist(foodItem);
+        entityManager.flush();
+        entityManager.clear();
+        String chamberUrl = "/find-chamber?id=" + chamber.getChamberId();
+        String foodUrl = "/service/find-food?id=" + foodItem.getId();
+        String chamberEtag = fetch(chamberUrl).getResponse().getHeader(HttpHeaders.ETAG);
+        String foodEtag = fetch(foodUrl).getResponse().getHeader(HttpHeaders.ETAG);
+        // updated_at tinh theo mili giay
+        Thread.sleep(5);
+
+        chamberService.updateChamberInfo("E201", "couple", "350000", "25", "note", "false", chamber.getChamberId());
+        foodItemService.saveFoodItem(new FoodItem(foodItem.getId(), "Nem ran", "mo ta", "35000", "", null));
+        entityManager.flush();
+        entityManager.clear();
+
+        MvcResult chamberResult = revalidate(chamberUrl, chamberEtag);
+        assertEquals(200, chamberResult.getResponse().getStatus());
+        assertNotEquals(chamberEtag, chamberResult.getResponse().getHeader(HttpHeaders.ETAG));
+        mockMvc.perform(get(chamberUrl)).andExpect(jsonPath("$.chamberType").value("couple"));
+
+        MvcResult foodResult = revalidate(foodUrl, foodEtag);
+        assertEquals(200, foodResult.getResponse().getStatus());
+        mockMvc.perform(get(foodUrl)).andExpect(jsonPath("$.price").value("35000"));
+    }
+
+    /**
+     * Test case TC-ETAG-003: /order/service-price lấy ETag từ bảng giá trong bộ nhớ.
+     * Expected: Cả lần 200 và lần 304 đều không có câu SQL nào.
+     */
+    @Test
+    public void testServicePrice_ShouldRevalidateWithoutSql() throws Exception {
+        HotelService service = new HotelService("Dua don", "150000", "luot", "mo ta", "");
+        entityManager.persist(service);
+        entityManager.flush();
+        priceBookRegistry.reload();
+        String url = "/order/service-price?id=" + service.getId();
+
+        StatementCounter.start();
+        MvcResult first = mockMvc.perform(get(url)).andExpect(jsonPath("$.message").value("150000/luot"))
+                .andReturn();
+        MvcResult second = revalidate(url, first.getResponse().getHeader(HttpHeaders.ETAG));
+        StatementStats stats = StatementCounter.stop();
+
+        assertEquals(304, second.getResponse().getStatus());
+        assertEquals(0, stats.getStatements());
+    }
+}
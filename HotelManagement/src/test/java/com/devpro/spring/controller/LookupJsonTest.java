@@ -0,0 +1,186 @@
+package com.devpro.spring.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.model.Category;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.Employee;
+import com.devpro.spring.model.FoodItem;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.HotelService;
+import com.devpro.spring.model.Section;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+/**
+ * Lớp test JSON của các API tra cứu (/find-guest, /find-chamber, /find-employee, /service/find-food,
+ * /service/find-service) sau khi chuyển từ entity sang DTO nạp bằng 1 câu select new.
+ * Benchmark chỉ chạy khi bật: mvn test -Dtest=LookupJsonTest -Dbenchmark=true
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class LookupJsonTest {
+
+    private static final int WARMUP = 20000;
+    private static final int ITERATIONS = 100000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GuestController guestController;
+
+    @Autowired
+    private ChamberController chamberController;
+
+    @Autowired
+    private EmployeeController employeeController;
+
+    @Autowired
+    private ServiceController serviceController;
+
+    private Guest createGuest() {
+        Guest guest = new Guest("Nguyen Van A", "1990-01-01", "123456789", "P123456", "Ha Noi", "Viet Nam",
+                "0123456789", "a@example.com", "false", "true");
+        entityManager.persist(guest);
+        return guest;
+    }
+
+    private Chamber createChamber() {
+        Chamber chamber = new Chamber("101", "single", "true", "100", "20", "note", "true");
+        entityManager.persist(chamber);
+        return chamber;
+    }
+
+    private Employee createEmployee() {
+        Section section = new Section();
+        section.setSectionName("Lễ tân");
+        entityManager.persist(section);
+        Employee employee = new Employee();
+        employee.setSection(section);
+        employee.setEmployeeNumber("NV01");
+        employee.setEmployeeName("Tran Thi B");
+        employee.setSalary("10000000");
+        entityManager.persist(employee);
+        return employee;
+    }
+
+    private FoodItem createFoodItem() {
+        Category category = new Category();
+        category.setCategoryName("Món chính");
+        entityManager.persist(category);
+        FoodItem foodItem = new FoodItem("Phở Bò", "Phở bò truyền thống", "50000", "pho-bo.jpg", category);
+        entityManager.persist(foodItem);
+        return foodItem;
+    }
+
+    private HotelService createHotelService() {
+        HotelService service = new HotelService();
+        service.setName("Giặt là");
+        service.setPrice("20000");
+        service.setUnit("kg");
+        entityManager.persist(service);
+        return service;
+    }
+
+    private Set<String> fieldNames(Object value) {
+        Set<String> names = new TreeSet<>();
+        Iterator<String> iterator = objectMapper.valueToTree(value).fieldNames();
+        iterator.forEachRemaining(names::add);
+        return names;
+    }
+
+    /**
+     * Test case TC-LOOKUP-001: JSON của DTO giữ nguyên tên field mà entity trả về trước đây.
+     * Expected: Script trên trang guest / chamber / employee / service đọc được đủ field như cũ.
+     */
+    @Test
+    public void testLookupDtos_ShouldKeepEntityJsonFields() {
+        Guest guest = createGuest();
+        Chamber chamber = createChamber();
+        Employee employee = createEmployee();
+        FoodItem foodItem = createFoodItem();
+        HotelService service = createHotelService();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(fieldNames(entityManager.find(Guest.class, guest.getGuestId())),
+                fieldNames(guestController.findOneGuest(guest.getGuestId())));
+        assertEquals(fieldNames(entityManager.find(Chamber.class, chamber.getChamberId())),
+                fieldNames(chamberController.findChamber(chamber.getChamberId())));
+        assertEquals(fieldNames(entityManager.find(Employee.class, employee.getEmployeeId())),
+                fieldNames(employeeController.findOneEmployee(employee.getEmployeeId())));
+        assertEquals(fieldNames(entityManager.find(HotelService.class, service.getId())),
+                fieldNames(serviceController.findService(service.getId())));
+        // DTO mon an co them ten category (entity bo qua category)
+        assertTrue(fieldNames(serviceController.findFood(foodItem.getId()))
+                .containsAll(fieldNames(entityManager.find(FoodItem.class, foodItem.getId()))));
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private String measure(String label, ObjectMapper mapper, Object value) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            mapper.writeValueAsBytes(value);
+        }
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(value);
+        }
+        long nanos = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+        return String.format("%-34s %7.0f ns/call, %5d bytes/call%n", label, (double) nanos / ITERATIONS,
+                bytes / ITERATIONS);
+    }
+
+    /**
+     * Test case TC-LOOKUP-BENCH-001: Chi phí serialize mỗi lần gọi /find-guest: proxy getOne() + Jackson reflection
+     * (trước) so với DTO + Afterburner (sau).
+     */
+    @Test
+    public void benchmarkGuestLookupSerialization() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+        Guest guest = createGuest();
+        entityManager.flush();
+        entityManager.clear();
+        Guest proxy = entityManager.getReference(Guest.class, guest.getGuestId());
+
+        // truoc: ObjectMapper mac dinh + fail-on-empty-beans=false (serialize duoc proxy)
+        ObjectMapper reflection = new ObjectMapper().disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        ObjectMapper afterburner = new ObjectMapper().disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .registerModule(new AfterburnerModule());
+        Object dto = guestController.findOneGuest(guest.getGuestId());
+
+        StringBuilder report = new StringBuilder("/find-guest x ").append(ITERATIONS).append(" serializations\n");
+        report.append(measure("proxy getOne() + reflection (truoc)", reflection, proxy));
+        report.append(measure("DTO + reflection", reflection, dto));
+        report.append(measure("DTO + Afterburner (sau)", afterburner, dto));
+        report.append(measure("DTO + ObjectMapper cua ung dung", objectMapper, dto));
+        System.out.print(report);
+    }
+}
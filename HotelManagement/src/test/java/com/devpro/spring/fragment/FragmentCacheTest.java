@@ -0,0 +1,254 @@
+package com.devpro.spring.fragment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.devpro.spring.datasource.ReadYourWrites;
+import com.devpro.spring.model.HotelService;
+import com.devpro.spring.repository.ChamberRepository;
+import com.devpro.spring.repository.HotelServiceRepository;
+import com.devpro.spring.service.ChamberService;
+import com.devpro.spring.service.HotelServiceService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Lớp test cache fragment Thymeleaf: lưới phòng check-in, bảng dịch vụ, select của trang order.
+ * Không dùng @Transactional: phiên bản dữ liệu chỉ tăng khi transaction ghi commit.
+ * Benchmark chỉ chạy khi bật: mvn test -Dtest=FragmentCacheTest -Dbenchmark=true
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class FragmentCacheTest {
+
+    private static final String CHAMBER_NUMBER = "FC";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FragmentCache fragmentCache;
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ChamberService chamberService;
+
+    @Autowired
+    private ChamberRepository chamberRepository;
+
+    @Autowired
+    private HotelServiceService hotelServiceService;
+
+    @Autowired
+    private HotelServiceRepository hotelServiceRepository;
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        fragmentCache.clear();
+    }
+
+    @After
+    public void tearDown() {
+        fragmentCache.setEnabled(true);
+        chamberRepository.findAll().stream().filter(c -> c.getChamberNumber().startsWith(CHAMBER_NUMBER))
+                .forEach(chamberRepository::delete);
+        hotelServiceRepository.findAll().stream().filter(s -> s.getName().startsWith(CHAMBER_NUMBER))
+                .forEach(hotelServiceRepository::delete);
+    }
+
+    private String html(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+    }
+
+    private double count(String fragment, String result) {
+        return meterRegistry.counter(FragmentCache.LOOKUP_METRIC, "fragment", fragment, "result", result).count();
+    }
+
+    private static HotelService newService(String name) {
+        HotelService service = new HotelService();
+        service.setName(name);
+        service.setPrice("20000");
+        service.setUnit("kg");
+        return service;
+    }
+
+    /**
+     * Test case TC-FRAGMENT-001: Mở lại trang check-in với cùng bộ lọc.
+     * Expected: Lần 2 lấy lưới phòng từ cache (hit), HTML giống hệt lần 1.
+     */
+    @Test
+    public void testCheckInGrid_SecondRequest_ShouldBeServedFromCache() throws Exception {
+        chamberService.addChamber(CHAMBER_NUMBER + "101", "single", "100", "20", "note", "true");
+        double hits = count("chamber-grid", "hit");
+
+        String first = html(get("/check-in").param("p", "1"));
+        String second = html(get("/check-in").param("p", "1"));
+
+        assertEquals(first, second);
+        assertTrue(first.contains(CHAMBER_NUMBER + "101"));
+        assertEquals(hits + 1, count("chamber-grid", "hit"), 0);
+        assertTrue(!first.contains("cache:depends") && !first.contains("th:fragment"));
+    }
+
+    /**
+     * Test case TC-FRAGMENT-002: Thêm phòng qua ChamberService sau khi lưới đã được cache.
+     * Expected: Phiên bản Chamber tăng, lần render sau là miss và có phòng mới.
+     */
+    @Test
+    public void testCheckInGrid_AfterSave_ShouldRenderNewVersion() throws Exception {
+        chamberService.addChamber(CHAMBER_NUMBER + "101", "single", "100", "20", "note", "true");
+        html(get("/check-in").param("p", "1"));
+        long version = dataVersions.current("Chamber");
+
+        chamberService.addChamber(CHAMBER_NUMBER + "102", "single", "100", "20", "note", "true");
+        double misses = count("chamber-grid", "miss");
+        String html = html(get("/check-in").param("p", "1"));
+
+        assertEquals(version + 1, dataVersions.current("Chamber"));
+        assertEquals(misses + 1, count("chamber-grid", "miss"), 0);
+        assertTrue(html.contains(CHAMBER_NUMBER + "102"));
+    }
+
+    /**
+     * Test case TC-FRAGMENT-003: Khoá cache theo tham số query khai báo trong cache:params.
+     * Expected: Từ khoá khác -> entry khác cho bảng món ăn; bảng dịch vụ (cache:params="") dùng chung 1 entry.
+     */
+    @Test
+    public void testServicePage_ShouldKeyByDeclaredParams() throws Exception {
+        hotelServiceService.saveService(newService(CHAMBER_NUMBER + " Giặt là"));
+        double serviceHits = count("service-rows", "hit");
+        double foodHits = count("food-table", "hit");
+
+        html(get("/service").param("search-text", ""));
+        String html = html(get("/service").param("search-text", "Phở"));
+
+        assertEquals(serviceHits + 1, count("service-rows", "hit"), 0);
+        assertEquals(foodHits, count("food-table", "hit"), 0);
+        assertEquals(3, fragmentCache.size());
+        assertTrue(html.contains(CHAMBER_NUMBER + " Giặt là"));
+    }
+
+    /**
+     * Test case TC-FRAGMENT-004: Xoá dịch vụ trong transaction bị rollback.
+     * Expected: Phiên bản HotelService giữ nguyên (chỉ tăng khi commit), trang order vẫn dùng cache.
+     */
+    @Test
+    public void testBump_RolledBackTransaction_ShouldKeepVersion() throws Exception {
+        HotelService service = hotelServiceRepository.save(newService(CHAMBER_NUMBER + " Đưa đón"));
+        html(get("/order"));
+        long version = dataVersions.current("HotelService");
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            hotelServiceService.deleteService(service.getId());
+            status.setRollbackOnly();
+            return null;
+        });
+        double hits = count("service-options", "hit");
+        String html = html(get("/order"));
+
+        assertEquals(version, dataVersions.current("HotelService"));
+        assertEquals(hits + 1, count("service-options", "hit"), 0);
+        assertTrue(html.contains(CHAMBER_NUMBER + " Đưa đón"));
+    }
+
+    /**
+     * Test case TC-FRAGMENT-005: Request đến ngay sau khi phiên bản Chamber tăng (replica có thể chưa kịp đồng bộ).
+     * Expected: Trong lúc xử lý request, đọc bị ghim vào primary; sau request trả lại mốc ghim cũ (không lưu vào session).
+     * Khi lần tăng gần nhất đã quá max-lag thì không ghim.
+     */
+    @Test
+    public void testRequestAfterBump_ShouldReadFromPrimary() throws Exception {
+        chamberService.addChamber(CHAMBER_NUMBER + "101", "single", "100", "20", "note", "true");
+        FragmentVersionInterceptor interceptor = new FragmentVersionInterceptor(dataVersions, 60000);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/check-in");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ReadYourWrites.clear();
+        try {
+            interceptor.preHandle(request, response, null);
+            assertTrue(ReadYourWrites.isPinned());
+            interceptor.afterCompletion(request, response, null, null);
+            assertNull(ReadYourWrites.getPinnedUntil());
+
+            FragmentVersionInterceptor noLag = new FragmentVersionInterceptor(dataVersions, 0);
+            noLag.preHandle(request, response, null);
+            assertFalse(ReadYourWrites.isPinned());
+            noLag.afterCompletion(request, response, null, null);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private long measure(MockHttpServletRequestBuilder request, int iterations) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            html(request);
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    /**
+     * Test case TC-FRAGMENT-BENCH-001: Thời gian mỗi request trang check-in / service / order khi tắt cache (như trước đây)
+     * so với khi fragment được cache; in tỉ lệ hit và thời gian render tiết kiệm.
+     */
+    @Test
+    public void benchmarkFragmentCache() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+        for (int i = 0; i < 12; i++) {
+            chamberService.addChamber(CHAMBER_NUMBER + (200 + i), "single", "100", "20", "note", "true");
+            hotelServiceService.saveService(newService(CHAMBER_NUMBER + " Dịch vụ " + i));
+        }
+        int iterations = 500;
+        StringBuilder report = new StringBuilder("fragment cache x ").append(iterations).append(" requests\n");
+        for (String url : new String[] { "/check-in?p=1", "/service", "/order" }) {
+            fragmentCache.setEnabled(false);
+            measure(get(url), 50);
+            long uncached = measure(get(url), iterations);
+            fragmentCache.setEnabled(true);
+            measure(get(url), 50);
+            long cached = measure(get(url), iterations);
+            report.append(String.format("%-14s khong cache %7.1f us/request, co cache %7.1f us/request%n", url,
+                    uncached / 1e3, cached / 1e3));
+        }
+        for (String fragment : new String[] { "chamber-grid", "food-table", "service-rows", "food-options",
+                "service-options" }) {
+            double hits = count(fragment, "hit");
+            double total = hits + count(fragment, "miss");
+            report.append(String.format("%-16s hit rate %5.1f%%, render tiet kiem %7.1f ms%n", fragment,
+                    total == 0 ? 0 : 100 * hits / total,
+                    meterRegistry.counter(FragmentCache.SAVED_METRIC, "fragment", fragment).count() * 1e3));
+        }
+        System.out.print(report);
+    }
+}
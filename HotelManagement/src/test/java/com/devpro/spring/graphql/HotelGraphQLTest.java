@@ -0,0 +1,228 @@
+package com.devpro.spring.graphql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.api.GraphQLApi;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.FoodItem;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.HotelService;
+import com.devpro.spring.model.OrderFood;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.model.ServiceBill;
+import com.devpro.spring.registry.ActiveRentalRegistry;
+import com.devpro.spring.sql.StatementCounter;
+import com.devpro.spring.sql.StatementStats;
+import com.devpro.spring.utils.FolioUtils;
+
+import graphql.ExecutionResult;
+
+/**
+ * Lớp test API /graphql cho màn hình order / check-out: 1 request lấy đủ dữ liệu,
+ * các lần đọc cùng loại gom lại bằng DataLoader, truy vấn quá phức tạp bị từ chối.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class HotelGraphQLTest {
+
+    private static final String ORDER_SCREEN = "query($number: String!, $foods: [ID!]!, $services: [ID!]!) {"
+            + " rental(chamberNumber: $number) { rentalId guest { guestName phoneNumber isVip } }"
+            + " foodItems(ids: $foods) { id name price }"
+            + " hotelServices(ids: $services) { id name price unit } }";
+
+    private static final String CHECK_OUT_SCREEN = "query($numbers: [String!]!) {"
+            + " rentals(chamberNumbers: $numbers) { rentalId checkInDate guest { guestName idCard }"
+            + " chambers { chamberNumber priceDay } folio { nights room food service total } } }";
+
+    @Autowired
+    private HotelGraphQL hotelGraphQL;
+
+    @Autowired
+    private GraphQLApi graphQLApi;
+
+    @Autowired
+    private ActiveRentalRegistry activeRentalRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterTransaction
+    public void reloadRegistry() {
+        activeRentalRegistry.reload();
+    }
+
+    private Rental createRental(String number, String priceDay, LocalDate checkIn) {
+        Guest guest = new Guest("Khach " + number, "1990-01-01", "GQ" + number, "P" + number, "Ha Noi", "Viet Nam",
+                "0123456789", "a@example.com", "false", "true");
+        entityManager.persist(guest);
+        Chamber chamber = new Chamber(number, "single", "true", priceDay, "20", "note", "false");
+        entityManager.persist(chamber);
+        Set<Chamber> chambers = new HashSet<>();
+        chambers.add(chamber);
+        Rental rental = new Rental();
+        rental.setGuest(guest);
+        rental.setChambers(chambers);
+        rental.setCheckInDate(FolioUtils.toDate(checkIn));
+        rental.setPaid("false");
+        entityManager.persist(rental);
+        return rental;
+    }
+
+    private FoodItem createFoodItem(String name) {
+        FoodItem foodItem = new FoodItem(name, "mo ta", "50000", null, null);
+        entityManager.persist(foodItem);
+        return foodItem;
+    }
+
+    private HotelService createService(String name) {
+        HotelService service = new HotelService(name, "20000", "kg", "mo ta", "");
+        entityManager.persist(service);
+        return service;
+    }
+
+    private void prepareRegistry() {
+        entityManager.flush();
+        entityManager.clear();
+        activeRentalRegistry.reload();
+    }
+
+    private static Map<String, Object> variables(Object... pairs) {
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            variables.put((String) pairs[i], pairs[i + 1]);
+        }
+        return variables;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T path(Object data, Object... keys) {
+        Object value = data;
+        for (Object key : keys) {
+            value = key instanceof Integer ? ((List<Object>) value).get((Integer) key)
+                    : ((Map<String, Object>) value).get(key);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Test case TC-GRAPHQL-001: Màn hình order lấy khách của phòng, 3 món ăn (1 món lặp lại) và 1 dịch vụ trong 1 request.
+     * Expected: Đủ dữ liệu, món lặp lại chỉ đọc 1 lần, mỗi loại dữ liệu 1 câu SQL (rental, khách, món ăn, dịch vụ).
+     */
+    @Test
+    public void testOrderScreen_ShouldBatchLookupsByType() {
+        Rental rental = createRental("G301", "400000", LocalDate.now());
+        FoodItem pho = createFoodItem("Pho bo");
+        FoodItem com = createFoodItem("Com rang");
+        HotelService laundry = createService("Giat la");
+        prepareRegistry();
+
+        List<String> foods = new ArrayList<>();
+        foods.add(String.valueOf(pho.getId()));
+        foods.add(String.valueOf(com.getId()));
+        foods.add(String.valueOf(pho.getId()));
+        List<String> services = new ArrayList<>();
+        services.add(String.valueOf(laundry.getId()));
+
+        StatementCounter.start();
+        ExecutionResult result = hotelGraphQL.execute(ORDER_SCREEN, null,
+                variables("number", "G301", "foods", foods, "services", services));
+        StatementStats stats = StatementCounter.stop();
+
+        assertTrue(result.getErrors().toString(), result.getErrors().isEmpty());
+        Object data = result.getData();
+        assertEquals(String.valueOf(rental.getRentalId()), path(data, "rental", "rentalId"));
+        assertEquals("Khach G301", path(data, "rental", "guest", "guestName"));
+        assertEquals("Pho bo", path(data, "foodItems", 0, "name"));
+        assertEquals("Com rang", path(data, "foodItems", 1, "name"));
+        assertEquals("Pho bo", path(data, "foodItems", 2, "name"));
+        assertEquals("kg", path(data, "hotelServices", 0, "unit"));
+        // rental + guest + food items + hotel services
+        assertEquals(4, stats.getStatements());
+    }
+
+    /**
+     * Test case TC-GRAPHQL-002: Màn hình check-out lấy folio của 2 phòng đang ở và 1 phòng trống.
+     * Expected: Phòng trống bị bỏ qua; số câu SQL không tăng theo số phòng; tiền phòng tính như lúc trả phòng.
+     */
+    @Test
+    public void testCheckOutScreen_ShouldNotScaleStatementsWithRooms() {
+        Rental first = createRental("G401", "400000", LocalDate.now().minusDays(2));
+        Rental second = createRental("G402", "300000", LocalDate.now());
+        entityManager.persist(new OrderFood("150000", "2", "2019-07-20", "0", "", first));
+        entityManager.persist(new OrderFood("50000", "1", "2019-07-20", "0", "", first));
+        entityManager.persist(new ServiceBill("20000", "2019-07-20", "0", "", second));
+        prepareRegistry();
+
+        List<String> numbers = new ArrayList<>();
+        numbers.add("G401");
+        numbers.add("G402");
+        StatementCounter.start();
+        ExecutionResult result = hotelGraphQL.execute(CHECK_OUT_SCREEN, null, variables("numbers", numbers));
+        StatementStats stats = StatementCounter.stop();
+
+        assertTrue(result.getErrors().toString(), result.getErrors().isEmpty());
+        List<Object> rentals = path(result.getData(), "rentals");
+        assertEquals(2, rentals.size());
+        assertEquals(String.valueOf(first.getRentalId()), path(rentals, 0, "rentalId"));
+        assertEquals(2, ((Number) path(rentals, 0, "folio", "nights")).intValue());
+        assertEquals(800000, ((Number) path(rentals, 0, "folio", "room")).longValue());
+        assertEquals(200000, ((Number) path(rentals, 0, "folio", "food")).longValue());
+        assertEquals(1000000, ((Number) path(rentals, 0, "folio", "total")).longValue());
+        // tra phong trong ngay: nua gia phong
+        assertEquals(150000, ((Number) path(rentals, 1, "folio", "room")).longValue());
+        assertEquals(20000, ((Number) path(rentals, 1, "folio", "service")).longValue());
+        assertEquals("Khach G402", path(rentals, 1, "guest", "guestName"));
+        // rentals + guests + tong tien an + tong tien dich vu
+        assertEquals(4, stats.getStatements());
+
+        numbers.add("G999");
+        result = hotelGraphQL.execute(CHECK_OUT_SCREEN, null, variables("numbers", numbers));
+        assertEquals(2, ((List<?>) path(result.getData(), "rentals")).size());
+    }
+
+    /**
+     * Test case TC-GRAPHQL-003: Truy vấn xin quá nhiều phần tử (vượt hotel.graphql.max-complexity).
+     * Expected: Bị từ chối trước khi chạy, không có câu SQL nào, trả về lỗi trong "errors".
+     */
+    @Test
+    public void testTooComplexQuery_ShouldBeRejected() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add(String.valueOf(i));
+        }
+        Map<String, Object> request = new HashMap<>();
+        request.put("query", "query($ids: [ID!]!) { foodItems(ids: $ids) { id name price description } }");
+        request.put("variables", variables("ids", ids));
+
+        StatementCounter.start();
+        Map<String, Object> response = graphQLApi.execute(request);
+        StatementStats stats = StatementCounter.stop();
+
+        assertNull(response.get("data"));
+        assertFalse(((List<?>) response.get("errors")).isEmpty());
+        assertTrue(response.get("errors").toString().contains("complexity"));
+        assertEquals(0, stats.getStatements());
+    }
+}
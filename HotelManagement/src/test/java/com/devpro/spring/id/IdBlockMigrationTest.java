@@ -0,0 +1,91 @@
+package com.devpro.spring.id;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.model.Category;
+
+/**
+ * Lớp test integration cho cấp id theo khối (PooledIdGenerator) và IdBlockMigration.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class IdBlockMigrationTest {
+
+    @Autowired
+    private IdBlockMigration idBlockMigration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private long nextVal(String table) {
+        return jdbcTemplate.queryForObject("select next_val from " + table, Long.class);
+    }
+
+    /**
+     * Test case TC-IDBLOCK-001: Bảng cấp khối rỗng được khởi tạo từ max(id) + 1.
+     */
+    @Test
+    public void testSeedEmptyBlockTable() {
+        jdbcTemplate.update("insert into section (section_id, section_name, section_manager_id) values (700, 'Bench', '1')");
+        jdbcTemplate.update("delete from section_seq");
+
+        idBlockMigration.migrate();
+
+        assertEquals(701L, nextVal("section_seq"));
+    }
+
+    /**
+     * Test case TC-IDBLOCK-002: next_val thấp hơn id đang có (id cũ từ hibernate_sequence) được đẩy lên.
+     */
+    @Test
+    public void testRaiseBlockTableBelowMaxId() {
+        jdbcTemplate.update("update category_seq set next_val = 1");
+        jdbcTemplate.update("insert into category (category_id, category_name) values (900, 'Cũ')");
+
+        idBlockMigration.migrate();
+
+        assertEquals(901L, nextVal("category_seq"));
+        // chạy lại không thay đổi gì
+        idBlockMigration.migrate();
+        assertEquals(901L, nextVal("category_seq"));
+    }
+
+    /**
+     * Test case TC-IDBLOCK-003: Id cấp cho entity luôn nhỏ hơn next_val của bảng cấp khối.
+     */
+    @Test
+    public void testAllocatedIdsBelowNextVal() {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            Category category = new Category();
+            category.setCategoryName("Khối " + i);
+            entityManager.persist(category);
+            ids.add(category.getCategoryId());
+        }
+        entityManager.flush();
+
+        assertEquals(5, ids.size());
+        long next = nextVal("category_seq");
+        for (Long id : ids) {
+            assertTrue(id < next);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.devpro.spring.id;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.OrderFood;
+import com.devpro.spring.model.Rental;
+
+/**
+ * Đo tốc độ ghi order_food: cách cũ (1 lượt khóa bảng sequence dùng chung + 1 câu insert cho mỗi dòng)
+ * so với cấp id theo khối + JDBC batch.
+ * Chỉ chạy khi bật: mvn test -Dtest=OrderInsertBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=20000]
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@TestPropertySource(properties = { "spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true" })
+@Transactional
+public class OrderInsertBenchmarkTest {
+
+    private static final String SHARED_SEQUENCE = "bench_hibernate_sequence";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private int rows;
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+        rows = Integer.getInteger("benchmark.rows", 10000);
+    }
+
+    private Rental createRental() {
+        Guest guest = new Guest("Nguyen Van C", "1990-01-01", "BENCH01", "PBENCH01", "Ha Noi", "Viet Nam",
+                "0123456789", "c@example.com", "false", "false");
+        entityManager.persist(guest);
+        Rental rental = new Rental();
+        rental.setGuest(guest);
+        rental.setPaid("false");
+        entityManager.persist(rental);
+        entityManager.flush();
+        return rental;
+    }
+
+    /**
+     * Test case TC-IDBLOCK-BENCH-001: So sánh số dòng order_food ghi được mỗi giây trước và sau.
+     */
+    @Test
+    public void benchmarkOrderInserts() {
+        Rental rental = createRental();
+        String today = LocalDate.now().toString();
+
+        // truoc: giong GenerationType.AUTO tren MySQL5Dialect - moi dong doc + tang hibernate_sequence roi insert rieng
+        jdbcTemplate.execute("create table if not exists " + SHARED_SEQUENCE + " (next_val bigint)");
+        jdbcTemplate.update("delete from " + SHARED_SEQUENCE);
+        jdbcTemplate.update("insert into " + SHARED_SEQUENCE + " values (10000000)");
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            Long id = jdbcTemplate.queryForObject("select next_val from " + SHARED_SEQUENCE + " for update", Long.class);
+            jdbcTemplate.update("update " + SHARED_SEQUENCE + " set next_val = ? where next_val = ?", id + 1, id);
+            jdbcTemplate.update("insert into order_food (order_food_id, total_price, people_number, order_date, discount, note, rental_id)"
+                    + " values (?, ?, ?, ?, ?, ?, ?)", id, "50000", "2", today, "0", "", rental.getRentalId());
+        }
+        long before = System.nanoTime() - start;
+
+        // sau: PooledIdGenerator cap id trong bo nho, Hibernate gom insert thanh batch
+        start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            entityManager.persist(new OrderFood("50000", "2", today, "0", "", rental));
+            if ((i + 1) % 50 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                rental = entityManager.getReference(Rental.class, rental.getRentalId());
+            }
+        }
+        entityManager.flush();
+        long after = System.nanoTime() - start;
+
+        System.out.println(String.format("order_food x %d: shared sequence %.0f rows/s, pooled-lo + batch %.0f rows/s",
+                rows, rows * 1e9 / before, rows * 1e9 / after));
+        Long count = jdbcTemplate.queryForObject("select count(*) from order_food where rental_id = ?", Long.class,
+                rental.getRentalId());
+        assertEquals(2L * rows, count.longValue());
+        jdbcTemplate.execute("drop table " + SHARED_SEQUENCE);
+    }
+}
@@ -0,0 +1,351 @@
+package com.devpro.spring.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import com.devpro.spring.api.OrderApi;
+import com.devpro.spring.dto.CartItemDto;
+import com.devpro.spring.dto.CheckOutResultDto;
+import com.devpro.spring.dto.OrderFoodDto;
+import com.devpro.spring.dto.OrderServiceDto;
+import com.devpro.spring.model.FoodItem;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.HotelService;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.pricing.PriceBookRegistry;
+import com.devpro.spring.repository.FoodItemRepository;
+import com.devpro.spring.repository.GuestRepository;
+import com.devpro.spring.repository.HotelServiceRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.service.CheckOutService;
+import com.devpro.spring.sql.StatementCounter;
+import com.devpro.spring.sql.StatementStats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Lớp test ghi sau order ăn uống / dịch vụ qua journal (hotel.order-journal.enabled=true).
+ * Không dùng @Transactional: order được ghi vào DB bởi flush() trong transaction riêng.
+ * Tự động flush bị tắt (flush-interval-ms rất lớn), test gọi flush() trực tiếp.
+ * Context riêng dùng database H2 riêng để create-drop không xóa dữ liệu của context dùng chung.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderjournal;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "hotel.order-journal.enabled=true",
+        "hotel.order-journal.path=" + OrderJournalTest.DIR + "/orders.journal",
+        "hotel.order-journal.size-mb=1",
+        "hotel.order-journal.flush-interval-ms=3600000" })
+public class OrderJournalTest {
+
+    static final String DIR = "target/order-journal-test";
+
+    // ngay rieng de khong lan vao bao cao ngay cua test khac
+    private static final String ORDER_DATE = "2001-02-03";
+
+    @Autowired
+    private OrderJournal orderJournal;
+
+    @Autowired
+    private OrderApi orderApi;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CheckOutService checkOutService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private HotelServiceRepository hotelServiceRepository;
+
+    @Autowired
+    private PriceBookRegistry priceBookRegistry;
+
+    private final List<Rental> rentals = new ArrayList<>();
+
+    // tong tien do server tinh theo bang gia: 1 mon 100000, 1 dich vu 20000
+    private FoodItem foodItem;
+    private HotelService service;
+
+    @BeforeClass
+    public static void deleteJournal() {
+        FileSystemUtils.deleteRecursively(new File(DIR));
+    }
+
+    @Before
+    public void setUp() {
+        foodItem = foodItemRepository.save(new FoodItem("Pho journal", "", "100000", null, null));
+        service = hotelServiceRepository.save(new HotelService("Giat journal", "20000", "kg", "", ""));
+        priceBookRegistry.reload();
+    }
+
+    @After
+    public void tearDown() {
+        orderJournal.flush();
+        for (Rental rental : rentals) {
+            jdbcTemplate.update("delete from order_food where rental_id = ?", rental.getRentalId());
+            jdbcTemplate.update("delete from service_bill where rental_id = ?", rental.getRentalId());
+            rentalRepository.deleteById(rental.getRentalId());
+            guestRepository.deleteById(rental.getGuest().getGuestId());
+        }
+        foodItemRepository.delete(foodItem);
+        hotelServiceRepository.delete(service);
+        priceBookRegistry.reload();
+        jdbcTemplate.update("delete from report_daily_revenue where report_date = ?", Date.valueOf(ORDER_DATE));
+    }
+
+    private Rental createRental(String idCard) {
+        Guest guest = guestRepository.save(new Guest("Nguyen Van J", "1990-01-01", idCard, "P" + idCard, "Ha Noi",
+                "Viet Nam", "0123456789", "j@example.com", "false", "false"));
+        Rental rental = new Rental();
+        rental.setGuest(guest);
+        rental.setCheckInDate(new Date(System.currentTimeMillis()));
+        rental.setPaid("false");
+        rental = rentalRepository.save(rental);
+        rentals.add(rental);
+        return rental;
+    }
+
+    private ResponseEntity<?> postFood(Long rentalId, int quantity) {
+        OrderFoodDto order = new OrderFoodDto(rentalId, "2", ORDER_DATE, "journal", "0", "0");
+        order.setItems(Collections.singletonList(new CartItemDto(foodItem.getId(), quantity)));
+        return orderApi.addOrderFood(order, new BeanPropertyBindingResult(order, "order"));
+    }
+
+    private ResponseEntity<?> postService(Long rentalId) {
+        OrderServiceDto order = new OrderServiceDto(rentalId, ORDER_DATE, "journal", "0", "0");
+        order.setItems(Collections.singletonList(new CartItemDto(service.getId(), 1)));
+        return orderApi.addOrderService(order, new BeanPropertyBindingResult(order, "order"));
+    }
+
+    private int count(String table, Rental rental) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where rental_id = ?", Integer.class,
+                rental.getRentalId());
+    }
+
+    private double entries(String result) {
+        Counter counter = meterRegistry.find(OrderJournal.ENTRIES_METRIC).tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    /**
+     * Test case TC-JOURNAL-001: POS gửi 3 order ăn uống và 2 order dịch vụ khi bật ghi sau.
+     * Expected: Trả lời thành công ngay, chỉ có câu đọc trạng thái rental, không ghi DB; sau flush() đủ 5 dòng
+     * trong DB, hàng đợi về 0, có metric độ sâu hàng đợi và độ trễ ghi.
+     */
+    @Test
+    public void testOrders_ShouldBeAcknowledgedThenWrittenInBatch() {
+        Rental rental = createRental("OJ001");
+
+        StatementCounter.start();
+        for (int i = 1; i <= 3; i++) {
+            assertEquals(200, postFood(rental.getRentalId(), i).getStatusCodeValue());
+        }
+        for (int i = 1; i <= 2; i++) {
+            assertEquals(200, postService(rental.getRentalId()).getStatusCodeValue());
+        }
+        StatementStats stats = StatementCounter.stop();
+
+        // rental khong gan phong nen khong co trong registry: 1 cau doc paid / order
+        assertEquals(5, stats.getStatements());
+        assertEquals(0, count("order_food", rental));
+        assertEquals(5, orderJournal.getQueueDepth());
+        assertEquals(5.0, meterRegistry.find(OrderJournal.QUEUE_DEPTH_METRIC).gauge().value(), 0);
+
+        assertEquals(5, orderJournal.flush());
+        assertEquals(3, count("order_food", rental));
+        assertEquals(2, count("service_bill", rental));
+        assertEquals(0, orderJournal.getQueueDepth());
+        assertEquals(orderJournal.getFile().getTail(), orderJournal.getFile().getCheckpoint());
+        assertTrue(meterRegistry.find(OrderJournal.LATENCY_METRIC).timer().count() >= 5);
+        assertTrue(meterRegistry.find(OrderJournal.FLUSH_METRIC).timer().count() >= 1);
+    }
+
+    /**
+     * Test case TC-JOURNAL-002: Sập sau khi order đã vào DB nhưng trước khi lưu checkpoint, khởi động lại đọc journal.
+     * Expected: Order đã ghi bị bỏ qua theo journal_id, order chưa ghi được ghi đúng 1 lần.
+     */
+    @Test
+    public void testReplayAfterCrash_ShouldSkipOrdersAlreadyWritten() {
+        Rental rental = createRental("OJ002");
+        int checkpoint = orderJournal.getFile().getCheckpoint();
+        postFood(rental.getRentalId(), 1);
+        postFood(rental.getRentalId(), 2);
+        assertEquals(2, orderJournal.flush());
+
+        // checkpoint cu: nhu the sap truoc khi kip ghi checkpoint
+        orderJournal.getFile().checkpoint(checkpoint);
+        postFood(rental.getRentalId(), 3);
+        double duplicates = entries("duplicate");
+        orderJournal.recover();
+
+        assertEquals(3, orderJournal.getQueueDepth());
+        assertEquals(1, orderJournal.flush());
+        assertEquals(3, count("order_food", rental));
+        assertEquals(2, entries("duplicate") - duplicates, 0);
+        assertEquals(Integer.valueOf(600000), jdbcTemplate.queryForObject(
+                "select sum(cast(total_price as int)) from order_food where rental_id = ?", Integer.class,
+                rental.getRentalId()));
+    }
+
+    /**
+     * Test case TC-JOURNAL-003: POS gửi order cho rental không tồn tại; 1 order trong lô trỏ tới rental không
+     * tồn tại (ghi vào journal trước khi rental bị xóa).
+     * Expected: API trả 400, không ghi journal; khi ghi lô, các order khác vẫn được ghi, order lỗi bị loại
+     * (metric rejected), hàng đợi không bị kẹt.
+     */
+    @Test
+    public void testInvalidRental_ShouldRejectOnlyThatOrder() {
+        Rental rental = createRental("OJ003");
+        double rejected = entries("rejected");
+        assertEquals(400, postFood(Long.MAX_VALUE, 1).getStatusCodeValue());
+        assertEquals(0, orderJournal.getQueueDepth());
+
+        postFood(rental.getRentalId(), 1);
+        OrderFoodDto orphan = new OrderFoodDto(Long.MAX_VALUE, "2", ORDER_DATE, "journal", "0", "100000");
+        assertTrue(orderJournal.append(OrderJournalEntry.food(orphan)));
+        postFood(rental.getRentalId(), 1);
+
+        assertEquals(2, orderJournal.flush());
+        assertEquals(2, count("order_food", rental));
+        assertEquals(1, entries("rejected") - rejected, 0);
+        assertEquals(0, orderJournal.getQueueDepth());
+    }
+
+    /**
+     * Test case TC-JOURNAL-004: File journal có bản ghi cuối ghi dở (sập giữa chừng) và sau khi quay về đầu file.
+     * Expected: Chỉ đọc lại các bản ghi nguyên vẹn; sau rewind các bản ghi cũ không được đọc lại.
+     */
+    @Test
+    public void testJournalFile_ShouldIgnoreTornTailAndRewoundRecords() throws IOException {
+        Path path = Paths.get(DIR, "file-test.journal");
+        Files.deleteIfExists(path);
+        int second;
+        try (OrderJournalFile file = OrderJournalFile.open(path, 4096)) {
+            int first = file.append("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+            second = file.append("{\"b\":2}".getBytes(StandardCharsets.UTF_8));
+            file.sync(second);
+            assertEquals(first, file.pending().get(0).getEnd());
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(path.toFile(), "rw")) {
+            raw.seek(second - 1);
+            raw.write('x');
+        }
+
+        try (OrderJournalFile file = OrderJournalFile.open(path, 4096)) {
+            assertEquals(1, file.pending().size());
+            assertEquals("{\"a\":1}", new String(file.pending().get(0).getPayload(), StandardCharsets.UTF_8));
+            file.checkpoint(file.getTail());
+            assertTrue(file.rewind(0));
+            assertFalse(file.rewind(0));
+        }
+        try (OrderJournalFile file = OrderJournalFile.open(path, 4096)) {
+            assertTrue(file.pending().isEmpty());
+            assertEquals(OrderJournalFile.HEADER_BYTES, file.getTail());
+        }
+    }
+
+    /**
+     * Test case TC-JOURNAL-005: Gửi order rồi trả phòng ngay khi order còn trong hàng đợi, sau đó gửi thêm order.
+     * Expected: Tiền đồ ăn của payment có order vừa gửi, hàng đợi về 0; order gửi sau khi thanh toán bị trả 400.
+     */
+    @Test
+    public void testCheckOut_ShouldIncludeQueuedOrders() {
+        Rental rental = createRental("OJ005");
+        assertEquals(200, postFood(rental.getRentalId(), 2).getStatusCodeValue());
+        assertEquals(1, orderJournal.getQueueDepth());
+
+        CheckOutResultDto result = checkOutService.checkOut(rental.getRentalId(), null, null, null);
+
+        assertTrue(result.isSettled());
+        assertEquals(200000L, result.getFoodAmount());
+        assertEquals(1, count("order_food", rental));
+        assertEquals(0, orderJournal.getQueueDepth());
+        assertEquals(400, postFood(rental.getRentalId(), 1).getStatusCodeValue());
+        assertEquals(0, orderJournal.getQueueDepth());
+    }
+
+    /**
+     * Test case TC-JOURNAL-006: POS gửi order trong lúc lượt thuê đang trả phòng (sau lần flush của trả phòng,
+     * trước khi markPaid commit).
+     * Expected: API trả 400, order không vào journal; trả phòng xong order không được nhận nữa.
+     */
+    @Test
+    public void testOrderDuringCheckOut_ShouldBeRefused() {
+        Rental rental = createRental("OJ006");
+        List<Long> ids = Collections.singletonList(rental.getRentalId());
+
+        orderJournal.beginCheckOut(ids);
+        try {
+            assertTrue(orderJournal.flush(ids));
+            assertEquals(400, postFood(rental.getRentalId(), 1).getStatusCodeValue());
+            assertEquals(400, postService(rental.getRentalId()).getStatusCodeValue());
+            assertEquals(0, orderJournal.getQueueDepth());
+        } finally {
+            orderJournal.endCheckOut(ids);
+        }
+        assertEquals(200, postFood(rental.getRentalId(), 1).getStatusCodeValue());
+        assertEquals(1, orderJournal.getQueueDepth());
+    }
+
+    /**
+     * Test case TC-JOURNAL-007: Order của lượt thuê đã thanh toán lọt vào journal (qua kiểm tra của API trước khi
+     * trả phòng xong).
+     * Expected: Khi ghi lô, order đó bị loại (metric rejected), không có dòng order_food; order khác vẫn được ghi.
+     */
+    @Test
+    public void testPaidRental_ShouldRejectQueuedOrder() {
+        Rental paid = createRental("OJ007A");
+        Rental open = createRental("OJ007B");
+        double rejected = entries("rejected");
+        OrderFoodDto late = new OrderFoodDto(paid.getRentalId(), "2", ORDER_DATE, "journal", "0", "100000");
+        assertTrue(orderJournal.append(OrderJournalEntry.food(late)));
+        postFood(open.getRentalId(), 1);
+        jdbcTemplate.update("update rental set paid = 'true' where rental_id = ?", paid.getRentalId());
+
+        assertEquals(1, orderJournal.flush());
+        assertEquals(0, count("order_food", paid));
+        assertEquals(1, count("order_food", open));
+        assertEquals(1, entries("rejected") - rejected, 0);
+        assertEquals(0, orderJournal.getQueueDepth());
+    }
+}
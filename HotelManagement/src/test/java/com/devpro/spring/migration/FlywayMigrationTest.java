@@ -0,0 +1,150 @@
+package com.devpro.spring.migration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * Lớp test cho các migration Flyway: context khởi động với ddl-auto=validate trên CSDL chỉ tạo bằng migration
+ * (H2 chế độ MySQL, dialect MySQL như production), nên schema sai lệch với entity sẽ làm test lỗi ngay khi khởi động.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = { "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:com/devpro/spring/migration",
+        "spring.datasource.url=jdbc:h2:mem:flywaytest;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQL5Dialect" })
+public class FlywayMigrationTest {
+
+    private static final String[] LOCATIONS = { "classpath:db/migration", "classpath:com/devpro/spring/migration" };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Flyway flyway;
+
+    private List<String> indexNames(JdbcTemplate template, String table) {
+        return template.queryForList(
+                "select distinct lower(index_name) from information_schema.indexes where lower(table_name) = ?",
+                String.class, table);
+    }
+
+    /**
+     * Test case TC-MIGRATION-001: Tất cả migration chạy thành công và tạo tài khoản mặc định.
+     */
+    @Test
+    public void testMigrationsApplied() {
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals(6, flyway.info().applied().length);
+        assertEquals(Integer.valueOf(2), jdbcTemplate.queryForObject("select count(*) from app_user", Integer.class));
+        assertEquals(Integer.valueOf(3), jdbcTemplate.queryForObject("select count(*) from user_role", Integer.class));
+    }
+
+    /**
+     * Test case TC-MIGRATION-002: Có index cho các cột lọc/join của CustomQuery.
+     */
+    @Test
+    public void testQueryIndexesCreated() {
+        assertTrue(indexNames(jdbcTemplate, "guest").contains("idx_guest_id_card"));
+        assertTrue(indexNames(jdbcTemplate, "rental").contains("idx_rental_paid_guest"));
+        assertTrue(indexNames(jdbcTemplate, "rental").contains("idx_rental_paid_check_out"));
+        assertTrue(indexNames(jdbcTemplate, "rental_chamber").contains("idx_rental_chamber_chamber"));
+        assertTrue(indexNames(jdbcTemplate, "chamber").contains("idx_chamber_type_vip_empty"));
+        assertTrue(indexNames(jdbcTemplate, "order_food").contains("idx_order_food_rental_total"));
+        assertTrue(indexNames(jdbcTemplate, "service_bill").contains("idx_service_bill_rental_total"));
+    }
+
+    /**
+     * Test case TC-MIGRATION-004: Các bảng tra cứu có cột updated_at (ETag của /find-*), dòng cũ nhận giá trị mặc định.
+     */
+    @Test
+    public void testLookupUpdatedAtColumns() {
+        for (String table : new String[] { "chamber", "guest", "employee", "food_item", "service" }) {
+            assertEquals(table, Integer.valueOf(1), jdbcTemplate.queryForObject(
+                    "select count(*) from information_schema.columns "
+                            + "where lower(table_name) = ? and lower(column_name) = 'updated_at'",
+                    Integer.class, table));
+        }
+        jdbcTemplate.update("insert into chamber (chamber_number) values ('M001')");
+        assertNotNull(jdbcTemplate.queryForObject("select updated_at from chamber where chamber_number = 'M001'",
+                Timestamp.class));
+        jdbcTemplate.update("delete from chamber where chamber_number = 'M001'");
+    }
+
+    /**
+     * Test case TC-MIGRATION-005: order_food / service_bill có cột journal_id (ghi sau qua journal) với unique index.
+     * Expected: Nhiều order ghi trực tiếp (journal_id null) không vi phạm unique.
+     */
+    @Test
+    public void testOrderJournalIdColumns() {
+        assertTrue(indexNames(jdbcTemplate, "order_food").contains("ux_order_food_journal_id"));
+        assertTrue(indexNames(jdbcTemplate, "service_bill").contains("ux_service_bill_journal_id"));
+        assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject("select count(*) from information_schema.columns "
+                + "where lower(table_name) = 'service_bill' and lower(column_name) = 'journal_id'", Integer.class));
+    }
+
+    /**
+     * Test case TC-MIGRATION-006: report_daily_revenue.chamber_type dài bằng chamber.chamber_type.
+     * Expected: Cột varchar(255), ghi được loại phòng dài hơn 25 ký tự.
+     */
+    @Test
+    public void testReportChamberTypeLength() {
+        assertEquals(Integer.valueOf(255), jdbcTemplate.queryForObject("select character_maximum_length "
+                + "from information_schema.columns where lower(table_name) = 'report_daily_revenue' "
+                + "and lower(column_name) = 'chamber_type'", Integer.class));
+        assertEquals(Integer.valueOf(255), jdbcTemplate.queryForObject("select character_maximum_length "
+                + "from information_schema.columns where lower(table_name) = 'chamber' "
+                + "and lower(column_name) = 'chamber_type'", Integer.class));
+    }
+
+    /**
+     * Test case TC-MIGRATION-003: CSDL cũ tạo từ Database/hotel-management.sql được baseline và sửa cột cho khớp entity.
+     */
+    @Test
+    public void testLegacySchemaAligned() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:flywaylegacy;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        legacy.execute("create table guest (guest_id bigint auto_increment primary key, guest_name varchar(125), "
+                + "id_card varchar(25))");
+        legacy.execute("create table payment (payment_id bigint auto_increment primary key, method varchar(50))");
+        legacy.execute("create table rental (rental_id bigint auto_increment primary key, discount varchar(25), "
+                + "check_in_date date, check_out_date date, note varchar(255), paid varchar(25), guest_id bigint, "
+                + "payment_id bigint not null, foreign key (payment_id) references payment (payment_id))");
+        legacy.execute("create table section (section_id bigint auto_increment primary key, section_name varchar(50), "
+                + "section_manager_id bigint)");
+        legacy.update("insert into guest (guest_name, id_card) values ('Nguyen Van A', '0123')");
+
+        Flyway.configure().dataSource(dataSource).locations(LOCATIONS).baselineOnMigrate(true).baselineVersion("0")
+                .load().migrate();
+
+        List<String> paymentColumns = legacy.queryForList(
+                "select lower(column_name) from information_schema.columns where lower(table_name) = 'payment'",
+                String.class);
+        assertTrue(paymentColumns.contains("total_amount"));
+        assertTrue(paymentColumns.contains("payment_date"));
+        assertEquals("YES", legacy.queryForObject("select is_nullable from information_schema.columns "
+                + "where lower(table_name) = 'rental' and lower(column_name) = 'payment_id'", String.class));
+        assertEquals("TIMESTAMP", legacy.queryForObject("select upper(type_name) from information_schema.columns "
+                + "where lower(table_name) = 'rental' and lower(column_name) = 'check_in_date'", String.class));
+        assertEquals("VARCHAR", legacy.queryForObject("select upper(type_name) from information_schema.columns "
+                + "where lower(table_name) = 'section' and lower(column_name) = 'section_manager_id'", String.class));
+        // du lieu cu giu nguyen, bang moi duoc tao
+        assertEquals(Integer.valueOf(1), legacy.queryForObject("select count(*) from guest", Integer.class));
+        assertTrue(indexNames(legacy, "guest").contains("idx_guest_id_card"));
+        legacy.execute("drop all objects");
+    }
+}
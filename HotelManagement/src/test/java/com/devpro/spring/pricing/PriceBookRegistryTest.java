@@ -0,0 +1,257 @@
+package com.devpro.spring.pricing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import com.devpro.spring.api.OrderApi;
+import com.devpro.spring.controller.OrderController;
+import com.devpro.spring.dto.CartDto;
+import com.devpro.spring.dto.CartItemDto;
+import com.devpro.spring.dto.CartPriceDto;
+import com.devpro.spring.dto.OrderFoodDto;
+import com.devpro.spring.dto.OrderServiceDto;
+import com.devpro.spring.fragment.DataVersions;
+import com.devpro.spring.model.AjaxResponseBody;
+import com.devpro.spring.model.FoodItem;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.HotelService;
+import com.devpro.spring.model.OrderFood;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.repository.OrderFoodRepository;
+import com.devpro.spring.sql.StatementCounter;
+import com.devpro.spring.sql.StatementStats;
+
+/**
+ * Lớp test bảng giá trong bộ nhớ và API tính tiền giỏ hàng /order/price-cart:
+ * tính cả giỏ không cần SQL, bảng giá dựng lại khi catalogue đổi phiên bản,
+ * tổng tiền của hóa đơn do server tính thay cho số client gửi lên.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class PriceBookRegistryTest {
+
+    @Autowired
+    private PriceBookRegistry priceBookRegistry;
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Autowired
+    private OrderApi orderApi;
+
+    @Autowired
+    private OrderController orderController;
+
+    @Autowired
+    private OrderFoodRepository orderFoodRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterTransaction
+    public void reloadPriceBook() {
+        // bo cac mon/dich vu cua test da rollback
+        priceBookRegistry.reload();
+    }
+
+    private FoodItem createFoodItem(String name, String price) {
+        FoodItem foodItem = new FoodItem(name, "mo ta", price, null, null);
+        entityManager.persist(foodItem);
+        return foodItem;
+    }
+
+    private HotelService createService(String name, String price, String unit) {
+        HotelService service = new HotelService(name, price, unit, "mo ta", "");
+        entityManager.persist(service);
+        return service;
+    }
+
+    private static List<CartItemDto> items(Object... pairs) {
+        List<CartItemDto> items = new ArrayList<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            items.add(new CartItemDto((Long) pairs[i], (Integer) pairs[i + 1]));
+        }
+        return items;
+    }
+
+    /**
+     * Test case TC-PRICING-001: Tính giỏ hàng 2 món ăn + 1 dịch vụ, giảm giá 10% món ăn và 5% dịch vụ.
+     * Expected: Tiền từng dòng, tổng, giảm giá (làm tròn đến đồng) đúng; không có câu SQL nào.
+     */
+    @Test
+    public void testPriceCart_ShouldPriceWholeBasketWithoutSql() {
+        FoodItem pho = createFoodItem("Pho bo", "45000");
+        FoodItem tra = createFoodItem("Tra da", "5000.0");
+        HotelService laundry = createService("Giat la", "20000", "kg");
+        entityManager.flush();
+        priceBookRegistry.reload();
+
+        CartDto cart = new CartDto();
+        cart.setFoods(items(pho.getId(), 2, tra.getId(), 3));
+        cart.setServices(items(laundry.getId(), 3));
+        cart.setFoodDiscount("10");
+        cart.setServiceDiscount("5");
+
+        StatementCounter.start();
+        ResponseEntity<?> response = orderApi.priceCart(cart);
+        StatementStats stats = StatementCounter.stop();
+
+        assertEquals(200, response.getStatusCodeValue());
+        CartPriceDto price = (CartPriceDto) response.getBody();
+        assertEquals(3, price.getLines().size());
+        assertEquals(90000, price.getLines().get(0).getAmount());
+        assertEquals(15000, price.getLines().get(1).getAmount());
+        assertEquals("kg", price.getLines().get(2).getUnit());
+        assertEquals(105000, price.getFoodSubtotal());
+        assertEquals(94500, price.getFoodTotal());
+        // 60000 * 5% = 3000
+        assertEquals(57000, price.getServiceTotal());
+        assertEquals(151500, price.getTotal());
+        assertEquals(0, stats.getStatements());
+    }
+
+    /**
+     * Test case TC-PRICING-002: Đổi giá món ăn rồi tăng phiên bản FoodItem (như khi 1 request khác commit).
+     * Expected: Trước khi tăng phiên bản vẫn dùng bản chụp cũ; sau đó dựng bản mới, bản cũ không bị sửa.
+     */
+    @Test
+    public void testCatalogueChange_ShouldSwapSnapshot() {
+        FoodItem pho = createFoodItem("Pho ga", "40000");
+        entityManager.flush();
+        PriceBook before = priceBookRegistry.reload();
+
+        pho.setPrice("42000");
+        entityManager.flush();
+        assertSame(before, priceBookRegistry.current());
+
+        // bump() ngoai transaction tang ngay, giong afterCommit cua request sua mon
+        CompletableFuture.runAsync(() -> dataVersions.bump(FoodItem.class)).join();
+        PriceBook after = priceBookRegistry.current();
+
+        assertNotSame(before, after);
+        assertEquals(40000, before.priceFood(pho.getId(), 1).getAmount());
+        assertEquals(42000, after.priceFood(pho.getId(), 1).getAmount());
+        assertSame(after, priceBookRegistry.current());
+    }
+
+    /**
+     * Test case TC-PRICING-003: Đặt món có danh sách món, client gửi tổng tiền sai.
+     * Expected: Hóa đơn lưu tổng tiền server tính (sau giảm giá), không phải số client gửi.
+     */
+    @Test
+    public void testAddOrderFood_WithItems_ShouldUseServerTotal() {
+        Guest guest = new Guest("Nguyen Van B", "1990-01-01", "PB123", "P999", "Ha Noi", "Viet Nam",
+                "0123456789", "b@example.com", "false", "false");
+        entityManager.persist(guest);
+        Rental rental = new Rental();
+        rental.setGuest(guest);
+        rental.setCheckInDate(new Date());
+        rental.setPaid("false");
+        entityManager.persist(rental);
+        FoodItem pho = createFoodItem("Pho tai", "50000");
+        entityManager.flush();
+        priceBookRegistry.reload();
+
+        OrderFoodDto order = new OrderFoodDto(rental.getRentalId(), "2", "2023-01-01", "", "10", "1");
+        order.setItems(items(pho.getId(), 3));
+        ResponseEntity<?> response = orderApi.addOrderFood(order, new BeanPropertyBindingResult(order, "order"));
+
+        assertEquals(200, response.getStatusCodeValue());
+        List<OrderFood> saved = orderFoodRepository.findAll();
+        assertEquals(1, saved.size());
+        assertEquals("135000", saved.get(0).getTotalPrice());
+    }
+
+    /**
+     * Test case TC-PRICING-004: Giỏ hàng có món không tồn tại, số lượng 0, giảm giá quá 100%.
+     * Expected: Trả về 400 với message cho người dùng, không lưu gì.
+     */
+    @Test
+    public void testInvalidCart_ShouldReturnBadRequest() {
+        FoodItem pho = createFoodItem("Pho chay", "30000");
+        entityManager.flush();
+        priceBookRegistry.reload();
+
+        CartDto unknown = new CartDto();
+        unknown.setFoods(items(-1L, 1));
+        ResponseEntity<?> response = orderApi.priceCart(unknown);
+        assertEquals(400, response.getStatusCodeValue());
+        assertTrue(((AjaxResponseBody) response.getBody()).getMessage().contains("không tồn tại"));
+
+        CartDto zero = new CartDto();
+        zero.setFoods(items(pho.getId(), 0));
+        assertEquals(400, orderApi.priceCart(zero).getStatusCodeValue());
+
+        CartDto discount = new CartDto();
+        discount.setFoods(items(pho.getId(), 1));
+        discount.setFoodDiscount("150");
+        assertEquals(400, orderApi.priceCart(discount).getStatusCodeValue());
+
+        OrderFoodDto order = new OrderFoodDto(1L, "2", "2023-01-01", "", "0", "30000");
+        order.setItems(items(-1L, 1));
+        assertEquals(400, orderApi.addOrderFood(order, new BeanPropertyBindingResult(order, "order"))
+                .getStatusCodeValue());
+        assertEquals(0, orderFoodRepository.count());
+    }
+
+    /**
+     * Test case TC-PRICING-005: Đặt món / dịch vụ không gửi danh sách món, chỉ gửi tổng tiền.
+     * Expected: Trả về 400, không lưu tổng tiền do client tự tính.
+     */
+    @Test
+    public void testAddOrder_WithoutItems_ShouldReturnBadRequest() {
+        OrderFoodDto food = new OrderFoodDto(1L, "2", "2023-01-01", "", "0", "1");
+        ResponseEntity<?> response = orderApi.addOrderFood(food, new BeanPropertyBindingResult(food, "order"));
+        assertEquals(400, response.getStatusCodeValue());
+        assertEquals("Chưa chọn món ăn!", ((AjaxResponseBody) response.getBody()).getMessage());
+
+        OrderServiceDto service = new OrderServiceDto(1L, "2023-01-01", "", "0", "1");
+        service.setItems(new ArrayList<>());
+        assertEquals(400, orderApi.addOrderService(service, new BeanPropertyBindingResult(service, "order"))
+                .getStatusCodeValue());
+        assertEquals(0, orderFoodRepository.count());
+    }
+
+    /**
+     * Test case TC-PRICING-006: Thêm món / dịch vụ vào bảng order với số lượng mặc định 0, món không tồn tại,
+     * số lượng không phải số.
+     * Expected: Trả về 400 kèm message (như /order/price-cart) thay vì lỗi 500.
+     */
+    @Test
+    public void testAddMenu_InvalidQuantity_ShouldReturnBadRequest() {
+        FoodItem pho = createFoodItem("Pho cuon", "30000");
+        HotelService laundry = createService("Giat hap", "20000", "kg");
+        entityManager.flush();
+        priceBookRegistry.reload();
+
+        assertEquals(200, orderController.addMenuFood(pho.getId(), 2).getStatusCodeValue());
+        ResponseEntity<?> zero = orderController.addMenuFood(pho.getId(), 0);
+        assertEquals(400, zero.getStatusCodeValue());
+        assertTrue(zero.getBody() instanceof AjaxResponseBody);
+        assertEquals(400, orderController.addMenuFood(-1L, 1).getStatusCodeValue());
+
+        assertEquals(200, orderController.addService(laundry.getId(), "3").getStatusCodeValue());
+        assertEquals(400, orderController.addService(laundry.getId(), "0").getStatusCodeValue());
+        assertEquals(400, orderController.addService(laundry.getId(), "abc").getStatusCodeValue());
+    }
+}
@@ -0,0 +1,181 @@
+package com.devpro.spring.registry;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.Payment;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.repository.ChamberRepository;
+import com.devpro.spring.repository.GuestRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.utils.FolioUtils;
+
+/**
+ * Lớp test integration cho ActiveRentalRegistry.
+ * Registry là singleton dùng chung nên sau mỗi test (sau rollback) nạp lại từ database.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class ActiveRentalRegistryTest {
+
+    @Autowired
+    private ActiveRentalRegistry activeRentalRegistry;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private ChamberRepository chamberRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterTransaction
+    public void reloadRegistry() {
+        activeRentalRegistry.reload();
+    }
+
+    private Rental createRental(String number, String paid) {
+        Payment payment = new Payment();
+        entityManager.persist(payment);
+        Guest guest = guestRepository.save(new Guest("Nguyen Van A", "1990-01-01", "AR" + number, "P" + number,
+                "Ha Noi", "Viet Nam", "0123456789", "a@example.com", "false", "false"));
+        Chamber chamber = chamberRepository.save(new Chamber(number, "couple", "false", "500000", "20", "note", "false"));
+        Set<Chamber> chambers = new HashSet<>();
+        chambers.add(chamber);
+
+        Rental rental = new Rental();
+        rental.setGuest(guest);
+        rental.setChambers(chambers);
+        rental.setPayment(payment);
+        rental.setCheckInDate(FolioUtils.toDate(LocalDate.of(2019, 7, 20)));
+        rental.setPaid(paid);
+        return rentalRepository.save(rental);
+    }
+
+    /**
+     * Test case TC-REGISTRY-001: Nạp lại registry từ database.
+     * Expected: Chỉ phòng có rental chưa thanh toán được nạp, kèm rental id và guest id đúng.
+     */
+    @Test
+    public void testReload_ShouldLoadOnlyUnpaidRentals() {
+        Rental open = createRental("R902", "false");
+        createRental("R901", "true");
+        entityManager.flush();
+
+        activeRentalRegistry.reload();
+
+        ActiveRental entry = activeRentalRegistry.get("R902");
+        assertNotNull(entry);
+        assertEquals(open.getRentalId().longValue(), entry.getRentalId());
+        assertEquals(open.getGuest().getGuestId(), entry.getGuestId());
+        assertNull(activeRentalRegistry.get("R901"));
+        assertTrue(activeRentalRegistry.getOccupiedChamberNumbers().contains("R902"));
+        assertFalse(activeRentalRegistry.getOccupiedChamberNumbers().contains("R901"));
+    }
+
+    /**
+     * Test case TC-REGISTRY-002: Tra cứu phòng chưa có trong registry.
+     * Expected: find() đọc từ database và bổ sung vào registry, phòng không có khách trả về null.
+     */
+    @Test
+    public void testFind_Miss_ShouldFallBackToDatabase() {
+        Rental open = createRental("R903", "false");
+        entityManager.flush();
+        assertNull(activeRentalRegistry.get("R903"));
+
+        ActiveRental entry = activeRentalRegistry.find("R903");
+
+        assertEquals(open.getRentalId().longValue(), entry.getRentalId());
+        assertNotNull(activeRentalRegistry.get("R903"));
+        assertNull(activeRentalRegistry.find("R999"));
+    }
+
+    /**
+     * Test case TC-REGISTRY-003: Đăng ký rental mới trong transaction bị rollback.
+     * Expected: Registry chỉ cập nhật sau commit, rollback thì không còn phòng ảo.
+     */
+    @Test
+    public void testRegister_RolledBack_ShouldNotBeVisible() {
+        Rental open = createRental("R904", "false");
+        entityManager.flush();
+
+        activeRentalRegistry.register(open);
+        assertNull(activeRentalRegistry.get("R904"));
+
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+        assertNull(activeRentalRegistry.get("R904"));
+    }
+
+    /**
+     * Test case TC-REGISTRY-004: Trả phòng commit trong lúc reload đang đọc database (đọc thấy rental còn mở).
+     * Expected: Kết quả đọc cũ không đưa phòng trở lại registry, find() cũng không bổ sung lại rental đã trả.
+     */
+    @Test
+    public void testReleaseDuringReload_ShouldSkipStaleRental() {
+        Rental open = createRental("R905", "false");
+        entityManager.flush();
+        activeRentalRegistry.reload();
+        assertNotNull(activeRentalRegistry.get("R905"));
+
+        long since = activeRentalRegistry.getSequence();
+        List<Object[]> rows = rentalRepository.getActiveRentals();
+        // release tu luong khac, ngoai transaction cua test: ap dung ngay nhu sau commit
+        CompletableFuture.runAsync(() -> activeRentalRegistry.release(open.getRentalId())).join();
+        activeRentalRegistry.apply(rows, since);
+
+        assertNull(activeRentalRegistry.get("R905"));
+        assertFalse(activeRentalRegistry.getOccupiedChamberNumbers().contains("R905"));
+        assertNull(activeRentalRegistry.find("R905"));
+        assertNull(activeRentalRegistry.get("R905"));
+    }
+
+    /**
+     * Test case TC-REGISTRY-005: Check-in commit trong lúc reload đang đọc database (đọc chưa thấy rental mới).
+     * Expected: Kết quả đọc cũ không xoá phòng vừa check-in khỏi registry; lần reload sau vẫn đồng bộ bình thường.
+     */
+    @Test
+    public void testRegisterDuringReload_ShouldKeepNewRental() {
+        activeRentalRegistry.reload();
+        long since = activeRentalRegistry.getSequence();
+        List<Object[]> rows = rentalRepository.getActiveRentals();
+
+        Rental open = createRental("R906", "false");
+        entityManager.flush();
+        // check-in tu luong khac, ngoai transaction cua test: ap dung ngay nhu sau commit
+        CompletableFuture.runAsync(() -> activeRentalRegistry.register(open)).join();
+        activeRentalRegistry.apply(rows, since);
+
+        assertNotNull(activeRentalRegistry.get("R906"));
+        assertTrue(activeRentalRegistry.getOccupiedChamberNumbers().contains("R906"));
+
+        activeRentalRegistry.reload();
+        assertEquals((long) open.getRentalId(), activeRentalRegistry.get("R906").getRentalId());
+    }
+}
@@ -2,10 +2,14 @@ package com.devpro.spring.repository;
 
 import java.util.List;
 
+import javax.persistence.EntityManager;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+
+import org.hibernate.Session;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +37,9 @@ public class GuestRepositoryTest {
     @Autowired
     private GuestRepository guestRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     /**
      * Test case TC-GUEST-REPO-001: Kiểm tra searchGuests với pagination.
      * Mục đích: Verify method searchGuests(Pageable, String) hoạt động đúng với pagination
@@ -322,4 +329,27 @@ public class GuestRepositoryTest {
         // Kiểm tra kết quả
         assertEquals(Integer.valueOf(2), result);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test case TC-GUEST-REPO-015: Kiểm tra searchGuests nạp entity ở chế độ read-only.
+     * Mục đích: Trang danh sách không chụp snapshot / dirty checking kể cả khi chạy trong transaction ghi (test này)
+     * Expected: Entity trả về là read-only, sửa field rồi flush không sinh câu update.
+     */
+    @Test
+    public void testSearchGuests_ShouldLoadReadOnlyEntities() {
+        Guest guest = new Guest("Nguyen Van A", "1990-01-01", "123456789", "P123456", "Ha Noi", "Viet Nam", "0123456789", "a@example.com", "false", "false");
+        guestRepository.save(guest);
+        entityManager.flush();
+        entityManager.clear();
+
+        Page<Guest> result = guestRepository.searchGuests(PageRequest.of(0, 10), "%Nguyen%");
+        Guest loaded = result.getContent().get(0);
+        assertTrue(entityManager.unwrap(Session.class).isReadOnly(loaded));
+
+        loaded.setGuestName("Nguyen Van B");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals("Nguyen Van A", guestRepository.findById(guest.getGuestId()).get().getGuestName());
+    }
+}
@@ -0,0 +1,317 @@
+package com.devpro.spring.repository;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.repository.plan.QueryPlan;
+import com.devpro.spring.repository.plan.QueryPlanAnalyzer;
+import com.devpro.spring.repository.plan.SqlCapture;
+
+/**
+ * Kiểm tra kế hoạch thực thi (EXPLAIN ANALYZE) của mọi truy vấn trong package repository:
+ * các phương thức @Query (CustomQuery) và các phương thức kế thừa từ JpaRepository.
+ * Dữ liệu mẫu đủ lớn để quét cả bảng bị phát hiện; truy vấn vi phạm mà không có trong
+ * query-plan-allowlist.txt làm test lỗi. Báo cáo kế hoạch ghi vào target/query-plan-report.txt.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.devpro.spring.repository.plan.SqlCapture",
+        "spring.datasource.url=jdbc:h2:mem:queryplan;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.show-sql=false" })
+@Transactional
+public class QueryPlanTest {
+
+    // bảng có từ LARGE_TABLE_ROWS dòng trở lên được coi là bảng lớn
+    private static final long LARGE_TABLE_ROWS = 1000;
+
+    // số dòng tối đa một truy vấn được phép quét
+    private static final long ROW_BUDGET = 1000;
+
+    private static final long SEED_ID = 1_000_000L;
+
+    // các phương thức kế thừa cũng được kiểm tra (truy vấn sinh tự động)
+    private static final List<String> INHERITED_METHODS = Arrays.asList("findById", "existsById", "count",
+            "findAll(Pageable)");
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Before
+    public void seed() {
+        jdbcTemplate.batchUpdate("insert into section (section_id, section_name, section_manager_id) values (?, ?, ?)",
+                rows(10, i -> new Object[] { SEED_ID + i, "Bộ phận " + i, "1" }));
+        jdbcTemplate.batchUpdate("insert into category (category_id, category_name) values (?, ?)",
+                rows(10, i -> new Object[] { SEED_ID + i, "Nhóm " + i }));
+        jdbcTemplate.batchUpdate("insert into food_item (food_item_id, food_item_name, price, category_id) values (?, ?, ?, ?)",
+                rows(200, i -> new Object[] { SEED_ID + i, "Món QP" + i, "50000", SEED_ID + i % 10 }));
+        jdbcTemplate.batchUpdate("insert into employee (employee_id, employee_number, employee_name, section_id) values (?, ?, ?, ?)",
+                rows(2000, i -> new Object[] { SEED_ID + i, "QP" + i, "Nhân viên " + i, SEED_ID + i % 10 }));
+        jdbcTemplate.batchUpdate("insert into chamber (chamber_id, chamber_number, chamber_type, is_vip, price_day, is_empty) "
+                + "values (?, ?, ?, ?, ?, ?)", rows(300, i -> new Object[] { SEED_ID + i, "QP" + i,
+                        i % 3 == 0 ? "single" : i % 3 == 1 ? "couple" : "family", i % 2 == 0 ? "true" : "false",
+                        String.valueOf(500000 + i * 10000), i % 4 == 0 ? "true" : "false" }));
+        jdbcTemplate.batchUpdate("insert into guest (guest_id, guest_name, id_card, nationality, is_vip) values (?, ?, ?, ?, ?)",
+                rows(5000, i -> new Object[] { SEED_ID + i, "Khách " + i, "QP" + i, "Việt Nam", "false" }));
+        jdbcTemplate.batchUpdate("insert into payment (payment_id, method, total_amount) values (?, ?, ?)",
+                rows(2000, i -> new Object[] { SEED_ID + i, "cash", "1000000" }));
+        // 200 lượt thuê đang mở (<= số phòng), còn lại đã trả phòng
+        jdbcTemplate.batchUpdate("insert into rental (rental_id, check_in_date, check_out_date, paid, guest_id, payment_id) "
+                + "values (?, ?, ?, ?, ?, ?)", rows(5000, i -> new Object[] { SEED_ID + i,
+                        java.sql.Date.valueOf(LocalDate.of(2019, 1, 1).plusDays(i % 700)),
+                        i < 4800 ? java.sql.Date.valueOf(LocalDate.of(2019, 1, 3).plusDays(i % 700)) : null,
+                        i < 4800 ? "true" : "false", SEED_ID + i, i < 2000 ? SEED_ID + i : null }));
+        jdbcTemplate.batchUpdate("insert into rental_chamber (rental_id, chamber_id) values (?, ?)",
+                rows(5000, i -> new Object[] { SEED_ID + i, SEED_ID + i % 300 }));
+        jdbcTemplate.batchUpdate("insert into order_food (order_food_id, total_price, people_number, order_date, rental_id) "
+                + "values (?, ?, ?, ?, ?)", rows(10000, i -> new Object[] { SEED_ID + i, "120000", "2",
+                        LocalDate.of(2019, 1, 1).plusDays(i % 700).toString(), SEED_ID + i % 5000 }));
+        jdbcTemplate.batchUpdate("insert into service_bill (service_bill_id, total_price, order_date, rental_id) "
+                + "values (?, ?, ?, ?)", rows(5000, i -> new Object[] { SEED_ID + i, "30000",
+                        LocalDate.of(2019, 1, 1).plusDays(i % 700).toString(), SEED_ID + i }));
+        jdbcTemplate.batchUpdate("insert into report_daily_revenue (report_date, source, chamber_type, is_vip, amount, item_count) "
+                + "values (?, ?, ?, ?, ?, ?)", rows(3000, i -> new Object[] {
+                        java.sql.Date.valueOf(LocalDate.of(2019, 1, 1).plusDays(i / 6)), i % 2 == 0 ? "ROOM" : "FOOD",
+                        i % 3 == 0 ? "single" : i % 3 == 1 ? "couple" : "family", "false", 100000L, 1L }));
+        jdbcTemplate.batchUpdate("insert into report_daily_occupancy (report_date, occupied_rooms, total_rooms, check_outs, stay_nights) "
+                + "values (?, ?, ?, ?, ?)", rows(2000, i -> new Object[] {
+                        java.sql.Date.valueOf(LocalDate.of(2018, 1, 1).plusDays(i)), 100L, 300L, 10L, 20L }));
+    }
+
+    private static List<Object[]> rows(int count, IntFunction<Object[]> row) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(row.apply(i));
+        }
+        return rows;
+    }
+
+    /**
+     * Test case TC-QUERYPLAN-001: Mọi truy vấn repository không quét cả bảng lớn, không sort/temp ngoài index
+     * và không vượt ngân sách số dòng (trừ các truy vấn đã chấp nhận trong allowlist).
+     */
+    @Test
+    public void testRepositoryQueryPlans() throws IOException {
+        QueryPlanAnalyzer analyzer = newAnalyzer();
+        Map<String, String> allowlist = loadAllowlist();
+        List<QueryPlan> plans = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : captureRepositorySql().entrySet()) {
+            for (String sql : entry.getValue()) {
+                plans.add(analyzer.analyze(entry.getKey(), sql));
+            }
+        }
+        plans.sort(Comparator.comparing(QueryPlan::getKey));
+
+        List<String> failures = new ArrayList<>();
+        Set<String> violating = new LinkedHashSet<>();
+        StringBuilder report = new StringBuilder();
+        for (QueryPlan plan : plans) {
+            report.append("== ").append(plan.getKey()).append('\n').append(plan.getSql()).append('\n');
+            if (plan.getError() != null) {
+                report.append("-- không phân tích được trên H2: ").append(plan.getError()).append('\n');
+            } else {
+                report.append(plan.getPlan()).append('\n').append("-- rows scanned: ").append(plan.getScannedRows())
+                        .append('\n');
+            }
+            if (!plan.getViolations().isEmpty()) {
+                violating.add(plan.getKey());
+                report.append("-- VIOLATIONS: ").append(plan.getViolations());
+                if (allowlist.containsKey(plan.getKey())) {
+                    report.append(" (allowlist: ").append(allowlist.get(plan.getKey())).append(')');
+                } else {
+                    failures.add(plan.getKey() + " " + plan.getViolations());
+                }
+                report.append('\n');
+            }
+            report.append('\n');
+        }
+        Path target = Paths.get("target", "query-plan-report.txt");
+        Files.createDirectories(target.getParent());
+        Files.write(target, report.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertFalse("không thu được truy vấn nào", plans.isEmpty());
+        if (!failures.isEmpty()) {
+            fail("Truy vấn quét cả bảng / sort / vượt ngân sách dòng (xem target/query-plan-report.txt):\n"
+                    + String.join("\n", failures));
+        }
+        // allowlist không được giữ các truy vấn đã hết vi phạm (đã sửa thì xóa khỏi allowlist)
+        for (String key : allowlist.keySet()) {
+            assertTrue("allowlist thừa: " + key, violating.contains(key));
+        }
+    }
+
+    /**
+     * Test case TC-QUERYPLAN-002: Bộ phân tích phát hiện LIKE '%...%' quét cả bảng lớn.
+     */
+    @Test
+    public void testAnalyzerFlagsFullScan() {
+        QueryPlanAnalyzer analyzer = newAnalyzer();
+
+        QueryPlan scan = analyzer.analyze("like", "select g.guest_id from guest g where g.guest_name like ?");
+        QueryPlan lookup = analyzer.analyze("lookup", "select g.guest_id from guest g where g.id_card = ?");
+
+        assertFalse(scan.getViolations().isEmpty());
+        assertTrue(scan.getViolations().get(0).startsWith("FULL_SCAN GUEST"));
+        assertTrue(lookup.getViolations().isEmpty());
+    }
+
+    private QueryPlanAnalyzer newAnalyzer() {
+        QueryPlanAnalyzer analyzer = new QueryPlanAnalyzer(jdbcTemplate, LARGE_TABLE_ROWS, ROW_BUDGET);
+        analyzer.setSamples(SEED_ID + 1, "QP1", LocalDate.of(2019, 6, 1));
+        return analyzer;
+    }
+
+    private Map<String, List<String>> captureRepositorySql() {
+        Map<String, List<String>> captured = new LinkedHashMap<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            Class<?> repositoryInterface = repositories.getRepositoryInformationFor(domainType).get()
+                    .getRepositoryInterface();
+            if (!repositoryInterface.getPackage().getName().equals(getClass().getPackage().getName())) {
+                continue;
+            }
+            Object repository = repositories.getRepositoryFor(domainType).get();
+            List<Method> methods = new ArrayList<>(Arrays.asList(repositoryInterface.getDeclaredMethods()));
+            for (Method method : repositoryInterface.getMethods()) {
+                if (INHERITED_METHODS.contains(signature(method))) {
+                    methods.add(method);
+                }
+            }
+            for (Method method : methods) {
+                String key = repositoryInterface.getSimpleName() + "." + signature(method);
+                List<String> sql = invoke(repository, method);
+                if (!sql.isEmpty()) {
+                    captured.put(key, sql);
+                }
+            }
+        }
+        return captured;
+    }
+
+    private static String signature(Method method) {
+        // phương thức nạp chồng (vd: searchGuests có/không Pageable) phân biệt bằng kiểu tham số Pageable
+        boolean pageable = Arrays.asList(method.getParameterTypes()).contains(Pageable.class);
+        if (method.getName().equals("findAll") || pageable) {
+            return method.getName() + (pageable ? "(Pageable)" : "()");
+        }
+        return method.getName();
+    }
+
+    private List<String> invoke(Object repository, Method method) {
+        Object[] args = new Object[method.getParameterCount()];
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            args[i] = sampleArgument(types[i]);
+        }
+        SqlCapture.start();
+        try {
+            Object result = method.invoke(repository, args);
+            if (result instanceof Stream) {
+                ((Stream<?>) result).close();
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            // chỉ cần câu SQL; lỗi thực thi (vd: hàm riêng của MySQL) được ghi trong báo cáo
+        } finally {
+            entityManager.clear();
+        }
+        return SqlCapture.stop();
+    }
+
+    private static Object sampleArgument(Class<?> type) {
+        if (type == Long.class || type == long.class) {
+            return SEED_ID;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 1;
+        }
+        if (type == String.class) {
+            return "QP1";
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.of(2019, 6, 1);
+        }
+        if (type == Date.class) {
+            return java.sql.Date.valueOf(LocalDate.of(2019, 6, 1));
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return Arrays.asList(SEED_ID);
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 10);
+        }
+        return null;
+    }
+
+    private Map<String, String> loadAllowlist() throws IOException {
+        Map<String, String> allowlist = new LinkedHashMap<>();
+        try (InputStream in = getClass().getResourceAsStream("/query-plan-allowlist.txt")) {
+            if (in == null) {
+                return allowlist;
+            }
+            for (String line : new String(readAll(in), StandardCharsets.UTF_8).split("\n")) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                int comment = trimmed.indexOf('#');
+                String key = (comment < 0 ? trimmed : trimmed.substring(0, comment)).trim();
+                allowlist.put(key, comment < 0 ? "" : trimmed.substring(comment + 1).trim());
+            }
+        }
+        return allowlist;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
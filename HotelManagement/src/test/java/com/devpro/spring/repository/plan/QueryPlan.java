@@ -0,0 +1,58 @@
+package com.devpro.spring.repository.plan;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ket qua EXPLAIN ANALYZE cua 1 cau SQL sinh ra tu 1 phuong thuc repository.
+ */
+public class QueryPlan {
+
+    private final String key;
+    private final String sql;
+    private String plan;
+    private String error;
+    private long scannedRows;
+    private final List<String> violations = new ArrayList<>();
+
+    public QueryPlan(String key, String sql) {
+        this.key = key;
+        this.sql = sql;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public void setPlan(String plan) {
+        this.plan = plan;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public long getScannedRows() {
+        return scannedRows;
+    }
+
+    public void setScannedRows(long scannedRows) {
+        this.scannedRows = scannedRows;
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,177 @@
+package com.devpro.spring.repository.plan;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Chay EXPLAIN ANALYZE (H2) cho cau SQL va danh dau vi pham:
+ * <ul>
+ * <li>FULL_SCAN: quet toan bo bang lon (tableScan hoac duyet index khong dieu kien, so dong quet vuot ngan sach)</li>
+ * <li>SORT: co order by nhung khong sap xep theo index (tuong duong filesort cua MySQL)</li>
+ * <li>TEMP: group by / distinct khong theo index (tuong duong using temporary)</li>
+ * <li>ROWS: tong so dong quet vuot ngan sach</li>
+ * <li>UNANALYZED: H2 khong chay duoc cau SQL (cu phap rieng MySQL), can xem tay</li>
+ * </ul>
+ * Tham so duoc gan gia tri mau theo kieu (setSamples): phep so sanh dung index chi quet vai dong,
+ * con LIKE/cast tren cot phai quet ca bang.
+ */
+public class QueryPlanAnalyzer {
+
+    private static final Pattern ACCESS = Pattern.compile("/\\* PUBLIC\\.([A-Z0-9_]+)(\\.tableScan|: [^*]*)?\\s*\\*/"
+            + "(?:[^/]|/(?!\\*))*?/\\* scanCount: (\\d+) \\*/");
+
+    private static final Pattern PAGING = Pattern.compile("(?i) limit \\?( offset \\?)?\\s*$");
+
+    private static final int PAGE_SIZE = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private long sampleId = 1L;
+    private String sampleText = "x";
+    private LocalDate sampleDate = LocalDate.now();
+    private final long largeTableRows;
+    private final long rowBudget;
+    private final Map<String, String> indexTables = new HashMap<>();
+    private final Map<String, Long> tableRows = new HashMap<>();
+
+    public QueryPlanAnalyzer(JdbcTemplate jdbcTemplate, long largeTableRows, long rowBudget) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.largeTableRows = largeTableRows;
+        this.rowBudget = rowBudget;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(
+                "select index_name, table_name from information_schema.indexes where table_schema = 'PUBLIC'")) {
+            indexTables.put((String) row.get("INDEX_NAME"), (String) row.get("TABLE_NAME"));
+        }
+        for (String table : jdbcTemplate.queryForList(
+                "select table_name from information_schema.tables where table_schema = 'PUBLIC'", String.class)) {
+            tableRows.put(table, jdbcTemplate.queryForObject("select count(*) from \"" + table + "\"", Long.class));
+        }
+    }
+
+    public void setSamples(long sampleId, String sampleText, LocalDate sampleDate) {
+        this.sampleId = sampleId;
+        this.sampleText = sampleText;
+        this.sampleDate = sampleDate;
+    }
+
+    public long getTableRows(String table) {
+        Long rows = tableRows.get(table.toUpperCase(Locale.ROOT));
+        return rows == null ? 0 : rows;
+    }
+
+    public QueryPlan analyze(String key, String sql) {
+        QueryPlan result = new QueryPlan(key, sql);
+        String plan;
+        try {
+            plan = explain(sql);
+        } catch (RuntimeException e) {
+            // cu phap rieng cua MySQL (vd: datediff 2 tham so) khong chay duoc tren H2
+            result.setError(e.getMessage());
+            result.getViolations().add("UNANALYZED");
+            return result;
+        }
+        result.setPlan(plan);
+
+        long scanned = 0;
+        Matcher matcher = ACCESS.matcher(plan);
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            long count = Long.parseLong(matcher.group(3));
+            scanned += count;
+            boolean tableScan = ".tableScan".equals(matcher.group(2));
+            // duyet index khong co dieu kien (vd: PRIMARY_KEY_8 */) cung la quet ca bang
+            boolean unconditional = matcher.group(2) == null;
+            String table = tableScan ? name : indexTables.getOrDefault(name, name);
+            if ((tableScan || unconditional) && getTableRows(table) >= largeTableRows && count > rowBudget) {
+                result.getViolations().add("FULL_SCAN " + table + " (" + count + " rows)");
+            }
+        }
+        result.setScannedRows(scanned);
+
+        String upperSql = sql.toUpperCase(Locale.ROOT);
+        boolean overBudget = scanned > rowBudget;
+        if (upperSql.contains(" ORDER BY ") && !plan.contains("/* index sorted */") && overBudget) {
+            result.getViolations().add("SORT (" + scanned + " rows)");
+        }
+        if ((upperSql.contains(" GROUP BY ") || upperSql.startsWith("SELECT DISTINCT "))
+                && !plan.contains("/* group sorted */") && overBudget) {
+            result.getViolations().add("TEMP (" + scanned + " rows)");
+        }
+        if (overBudget && result.getViolations().isEmpty()) {
+            result.getViolations().add("ROWS (" + scanned + " > " + rowBudget + ")");
+        }
+        return result;
+    }
+
+    // gia tri mau theo kieu cot: khoa so tro toi dong co that, chuoi/ngay co do chon loc nhu du lieu that
+    private void bindSample(PreparedStatement statement, int index, int type) throws SQLException {
+        switch (type) {
+        case Types.BIGINT:
+        case Types.INTEGER:
+        case Types.SMALLINT:
+        case Types.TINYINT:
+        case Types.NUMERIC:
+        case Types.DECIMAL:
+            statement.setLong(index, sampleId);
+            break;
+        case Types.DATE:
+            statement.setDate(index, java.sql.Date.valueOf(sampleDate));
+            break;
+        case Types.TIMESTAMP:
+            statement.setTimestamp(index, Timestamp.valueOf(sampleDate.atStartOfDay()));
+            break;
+        case Types.BOOLEAN:
+        case Types.BIT:
+            statement.setBoolean(index, false);
+            break;
+        case Types.VARCHAR:
+        case Types.CHAR:
+        case Types.LONGVARCHAR:
+        case Types.NVARCHAR:
+            statement.setString(index, sampleText);
+            break;
+        default:
+            statement.setInt(index, PAGE_SIZE);
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain analyze " + sql)) {
+                ParameterMetaData metaData = statement.getParameterMetaData();
+                int count = metaData.getParameterCount();
+                // limit ? [offset ?] o cuoi cau: H2 bao kieu VARCHAR, gan kich thuoc 1 trang / offset 0
+                Matcher paging = PAGING.matcher(sql);
+                int pagingParams = paging.find() ? (paging.group(1) == null ? 1 : 2) : 0;
+                for (int i = 1; i <= count; i++) {
+                    if (i == count - pagingParams + 1) {
+                        statement.setInt(i, PAGE_SIZE);
+                    } else if (i > count - pagingParams + 1) {
+                        statement.setInt(i, 0);
+                    } else {
+                        bindSample(statement, i, metaData.getParameterType(i));
+                    }
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1));
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
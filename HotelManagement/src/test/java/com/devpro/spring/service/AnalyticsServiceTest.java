@@ -0,0 +1,208 @@
+package com.devpro.spring.service;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.analytics.CubeDimension;
+import com.devpro.spring.analytics.CubeQuery;
+import com.devpro.spring.analytics.CubeRow;
+import com.devpro.spring.analytics.FolioCube;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.OrderFood;
+import com.devpro.spring.model.Payment;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.model.ServiceBill;
+import com.devpro.spring.repository.ChamberRepository;
+import com.devpro.spring.repository.GuestRepository;
+import com.devpro.spring.repository.OrderFoodRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.repository.ServiceBillRepository;
+import com.devpro.spring.utils.FolioUtils;
+
+/**
+ * Lớp test integration cho AnalyticsServiceImpl và FolioCube.
+ * Test nạp dữ liệu lịch sử vào cube dạng cột, nạp tăng dần theo id, group-by và filter.
+ * Cube là singleton dùng chung giữa các test nên mỗi test lọc theo quốc tịch riêng.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class AnalyticsServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2019, 7, 25);
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private ChamberRepository chamberRepository;
+
+    @Autowired
+    private OrderFoodRepository orderFoodRepository;
+
+    @Autowired
+    private ServiceBillRepository serviceBillRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Rental createRental(String number, String nationality, LocalDate checkIn, LocalDate checkOut) {
+        Payment payment = new Payment();
+        entityManager.persist(payment);
+        Guest guest = guestRepository.save(new Guest("Nguyen Van A", "1990-01-01", "ID" + number, "P" + number,
+                "Ha Noi", nationality, "0123456789", "a@example.com", "false", "false"));
+        Chamber chamber = chamberRepository.save(new Chamber(number, "couple", "true", "1000000", "20", "note", "false"));
+        Set<Chamber> chambers = new HashSet<>();
+        chambers.add(chamber);
+
+        Rental rental = new Rental();
+        rental.setGuest(guest);
+        rental.setChambers(chambers);
+        rental.setPayment(payment);
+        rental.setCheckInDate(FolioUtils.toDate(checkIn));
+        rental.setPaid("false");
+        if (checkOut != null) {
+            rental.setCheckOutDate(FolioUtils.toDate(checkOut));
+            rental.setPaid("true");
+        }
+        return rentalRepository.save(rental);
+    }
+
+    private long amountOf(List<CubeRow> rows, String key, String value) {
+        return rows.stream().filter(r -> value.equals(r.getKeys().get(key))).mapToLong(CubeRow::getAmount).sum();
+    }
+
+    /**
+     * Test case TC-ANALYTICS-001: Nạp rental đã trả phòng, order đồ ăn và dịch vụ.
+     * Expected: Doanh thu theo nguồn (phòng/đồ ăn/dịch vụ) đúng cho quốc tịch được lọc.
+     */
+    @Test
+    public void testRefresh_SettledRentalAndOrders_ShouldGroupBySource() {
+        Rental rental = createRental("A101", "Lao", DAY.minusDays(2), DAY);
+        orderFoodRepository.save(new OrderFood("200000", "2", DAY.toString(), "0", "", rental));
+        serviceBillRepository.save(new ServiceBill("90000", DAY.toString(), "0", "", rental));
+        entityManager.flush();
+
+        analyticsService.refresh();
+        List<CubeRow> rows = analyticsService.query(new CubeQuery()
+                .groupBy(CubeDimension.SOURCE)
+                .filter(CubeDimension.NATIONALITY, "Lao"));
+
+        assertEquals(2000000L, amountOf(rows, "source", "room"));
+        assertEquals(200000L, amountOf(rows, "source", "food"));
+        assertEquals(90000L, amountOf(rows, "source", "service"));
+    }
+
+    /**
+     * Test case TC-ANALYTICS-002: Nạp tăng dần - rental đang ở, sau đó trả phòng.
+     * Expected: Lần nạp đầu chưa có tiền phòng, sau khi trả phòng lần nạp sau bổ sung tiền phòng.
+     */
+    @Test
+    public void testRefresh_OpenRentalLaterSettled_ShouldAddRoomRevenue() {
+        Rental rental = createRental("A201", "Campuchia", DAY.minusDays(1), null);
+        orderFoodRepository.save(new OrderFood("100000", "1", DAY.toString(), "0", "", rental));
+        entityManager.flush();
+
+        analyticsService.refresh();
+        CubeQuery query = new CubeQuery().groupBy(CubeDimension.SOURCE).filter(CubeDimension.NATIONALITY, "Campuchia");
+        assertEquals(0L, amountOf(analyticsService.query(query), "source", "room"));
+        assertEquals(100000L, amountOf(analyticsService.query(query), "source", "food"));
+
+        rental.setPaid("true");
+        rental.setCheckOutDate(FolioUtils.toDate(DAY));
+        rentalRepository.save(rental);
+        entityManager.flush();
+        analyticsService.refresh();
+
+        assertEquals(1000000L, amountOf(analyticsService.query(query), "source", "room"));
+        assertEquals(100000L, amountOf(analyticsService.query(query), "source", "food"));
+    }
+
+    /**
+     * Test case TC-ANALYTICS-004: Order có id nhỏ hơn commit sau order có id lớn hơn đã được nạp
+     * (transaction song song, id cấp theo khối).
+     * Expected: Lần nạp sau vẫn đếm order đến muộn, order đã đếm không bị đếm lại khi đọc lại vùng overlap.
+     */
+    @Test
+    public void testRefresh_OrderCommittedOutOfIdOrder_ShouldBeCounted() {
+        Rental rental = createRental("A401", "Myanmar", DAY.minusDays(1), DAY);
+        OrderFood late = orderFoodRepository.save(new OrderFood("70000", "1", DAY.toString(), "0", "", rental));
+        orderFoodRepository.save(new OrderFood("30000", "1", DAY.toString(), "0", "", rental));
+        entityManager.flush();
+        // order id nho chua commit luc nap
+        jdbcTemplate.update("delete from order_food where order_food_id = ?", late.getId());
+        entityManager.clear();
+
+        analyticsService.refresh();
+        CubeQuery query = new CubeQuery().groupBy(CubeDimension.SOURCE).filter(CubeDimension.NATIONALITY, "Myanmar");
+        assertEquals(30000L, amountOf(analyticsService.query(query), "source", "food"));
+
+        jdbcTemplate.update("insert into order_food (order_food_id, total_price, people_number, order_date, discount, "
+                + "note, rental_id) values (?, '70000', '1', ?, '0', '', ?)", late.getId(), DAY.toString(),
+                rental.getRentalId());
+        analyticsService.refresh();
+        analyticsService.refresh();
+
+        assertEquals(100000L, amountOf(analyticsService.query(query), "source", "food"));
+        assertEquals(1000000L, amountOf(analyticsService.query(query), "source", "room"));
+    }
+
+    /**
+     * Test case TC-ANALYTICS-003: Quét song song trên cube lớn (nhiều hơn ngưỡng chia fork-join).
+     * Expected: Tổng theo tháng x VIP đúng, filter theo khoảng ngày đúng.
+     */
+    @Test
+    public void testFolioCube_ParallelScan_ShouldMatchSequentialTotals() {
+        FolioCube cube = new FolioCube();
+        LocalDate start = LocalDate.of(2019, 1, 1);
+        for (int i = 0; i < 50000; i++) {
+            cube.append(i % 3 == 0 ? "single" : "couple", i % 2 == 0 ? "true" : "false", "Viet Nam", "food",
+                    start.plusDays(i % 365), 1000);
+        }
+
+        List<CubeRow> rows = cube.query(new CubeQuery()
+                .groupBy(CubeDimension.MONTH)
+                .groupBy(CubeDimension.VIP), new ForkJoinPool(4));
+        assertEquals(24, rows.size());
+        assertEquals(50000L * 1000, rows.stream().mapToLong(CubeRow::getAmount).sum());
+        assertTrue(rows.stream().allMatch(r -> r.getKeys().get("month").startsWith("2019-")));
+
+        List<CubeRow> january = cube.query(new CubeQuery()
+                .groupBy(CubeDimension.ROOM_TYPE)
+                .filter(CubeDimension.ROOM_TYPE, "single")
+                .between(start, LocalDate.of(2019, 1, 31)), new ForkJoinPool(2));
+        long expected = 0;
+        for (int i = 0; i < 50000; i++) {
+            if (i % 3 == 0 && i % 365 < 31) {
+                expected += 1000;
+            }
+        }
+        assertEquals(1, january.size());
+        assertEquals(expected, january.get(0).getAmount());
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.devpro.spring.dto.ChamberLookupDto;
 import com.devpro.spring.model.Chamber;
 import com.devpro.spring.repository.ChamberRepository;
 
@@ -607,4 +608,30 @@ public class ChamberServiceTest {
         assertEquals(1, result.getContent().size());
         assertEquals(3, result.getTotalPages());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test case TC-CHAMBER-SERVICE-031: Kiểm tra getChamberLookup trả DTO cho API /find-chamber.
+     * Expected: DTO chứa đủ các field trang chamber / check-in đọc, nạp bằng 1 câu select new.
+     */
+    @Test
+    public void testGetChamberLookup_ShouldReturnDto() {
+        Chamber chamber = chamberRepository.save(new Chamber("101", "single", "true", "100", "20", "note", "true"));
+
+        ChamberLookupDto result = chamberService.getChamberLookup(chamber.getChamberId());
+
+        assertEquals(chamber.getChamberId(), result.getChamberId());
+        assertEquals("101", result.getChamberNumber());
+        assertEquals("single", result.getChamberType());
+        assertEquals("100", result.getPriceDay());
+        assertEquals("note", result.getNote());
+    }
+
+    /**
+     * Test case TC-CHAMBER-SERVICE-032: Kiểm tra getChamberLookup với ID không tồn tại.
+     * Expected: Throw EntityNotFoundException giống findChamber.
+     */
+    @Test(expected = javax.persistence.EntityNotFoundException.class)
+    public void testGetChamberLookup_InvalidId_ShouldThrowException() {
+        chamberService.getChamberLookup(999L);
+    }
+}
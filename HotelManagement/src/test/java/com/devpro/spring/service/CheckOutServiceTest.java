@@ -0,0 +1,215 @@
+package com.devpro.spring.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.dto.CheckOutCommitDto;
+import com.devpro.spring.dto.CheckOutResultDto;
+import com.devpro.spring.dto.ExpressCheckOutDto;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.OrderFood;
+import com.devpro.spring.model.Payment;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.model.ServiceBill;
+import com.devpro.spring.registry.ActiveRentalRegistry;
+import com.devpro.spring.repository.ChamberRepository;
+import com.devpro.spring.repository.GuestRepository;
+import com.devpro.spring.repository.PaymentRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.utils.FolioUtils;
+
+/**
+ * Lớp test integration cho CheckOutService (chốt trả phòng + thanh toán).
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class CheckOutServiceTest {
+
+    @Autowired
+    private CheckOutService checkOutService;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private ChamberRepository chamberRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ActiveRentalRegistry activeRentalRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    @AfterTransaction
+    public void reloadRegistry() {
+        activeRentalRegistry.reload();
+    }
+
+    private Rental createRental(String number, int nights) {
+        Guest guest = guestRepository.save(new Guest("Nguyen Van B", "1990-01-01", "CO" + number, "P" + number,
+                "Ha Noi", "Viet Nam", "0123456789", "b@example.com", "false", "false"));
+        Chamber chamber = chamberRepository.save(new Chamber(number, "couple", "false", "500000", "20", "note", "false"));
+        Set<Chamber> chambers = new HashSet<>();
+        chambers.add(chamber);
+
+        Rental rental = new Rental();
+        rental.setGuest(guest);
+        rental.setChambers(chambers);
+        rental.setCheckInDate(FolioUtils.toDate(LocalDate.now().minusDays(nights)));
+        rental.setPaid("false");
+        return rentalRepository.save(rental);
+    }
+
+    /**
+     * Test case TC-CHECKOUT-001: Trả phòng tính đủ tiền phòng, đồ ăn, dịch vụ, phụ thu và giảm trừ.
+     */
+    @Test
+    public void testCheckOutSettlesFolio() {
+        Rental rental = createRental("CO101", 2);
+        entityManager.persist(new OrderFood("120000", "2", LocalDate.now().toString(), "0", "", rental));
+        entityManager.persist(new ServiceBill("30000", LocalDate.now().toString(), "0", "", rental));
+        entityManager.flush();
+
+        CheckOutResultDto result = checkOutService.checkOut(rental.getRentalId(), null, "10000", "5000");
+
+        assertTrue(result.isSettled());
+        assertEquals(Arrays.asList(rental.getRentalId()), result.getSettledRentalIds());
+        assertEquals(1000000L, result.getRoomAmount());
+        assertEquals(120000L, result.getFoodAmount());
+        assertEquals(30000L, result.getServiceAmount());
+        assertEquals(1155000L, result.getTotalAmount());
+
+        entityManager.clear();
+        Payment payment = paymentRepository.findById(result.getPaymentId()).get();
+        assertEquals("1155000", payment.getTotalAmount());
+        assertEquals("cash", payment.getPaymentMethod());
+
+        Rental saved = rentalRepository.findById(rental.getRentalId()).get();
+        assertEquals("true", saved.getPaid());
+        assertNotNull(saved.getCheckOutDate());
+        assertEquals(result.getPaymentId(), saved.getPayment().getPaymentId());
+        Chamber chamber = saved.getChambers().iterator().next();
+        assertEquals("true", chamber.getIsEmpty());
+    }
+
+    /**
+     * Test case TC-CHECKOUT-002: Gửi lặp yêu cầu trả phòng không tạo thêm payment.
+     */
+    @Test
+    public void testCheckOutTwiceIsSkipped() {
+        Rental rental = createRental("CO102", 1);
+        long before = paymentRepository.count();
+
+        CheckOutResultDto first = checkOutService.checkOut(rental.getRentalId(), "card", null, null);
+        CheckOutResultDto second = checkOutService.checkOut(rental.getRentalId(), "card", null, null);
+
+        assertTrue(first.isSettled());
+        assertFalse(second.isSettled());
+        assertNull(second.getPaymentId());
+        assertEquals(Arrays.asList(rental.getRentalId()), second.getSkippedRentalIds());
+        assertEquals(before + 1, paymentRepository.count());
+    }
+
+    /**
+     * Test case TC-CHECKOUT-003: Trả phòng trong ngày tính nửa giá phòng.
+     */
+    @Test
+    public void testCheckOutSameDayHalfPrice() {
+        Rental rental = createRental("CO103", 0);
+
+        CheckOutResultDto result = checkOutService.checkOut(rental.getRentalId(), null, null, "900000");
+
+        assertEquals(250000L, result.getRoomAmount());
+        // giảm trừ lớn hơn tổng tiền -> không âm
+        assertEquals(0L, result.getTotalAmount());
+    }
+
+    /**
+     * Test case TC-CHECKOUT-004: Trả phòng theo đoàn dùng chung 1 payment, bỏ qua lượt đã thanh toán.
+     */
+    @Test
+    public void testExpressCheckOutGroup() {
+        Rental first = createRental("CO104", 1);
+        Rental second = createRental("CO105", 1);
+        Rental paid = createRental("CO106", 1);
+        checkOutService.checkOut(paid.getRentalId(), null, null, null);
+
+        CheckOutResultDto result = checkOutService.expressCheckOut(
+                Arrays.asList(first.getRentalId(), second.getRentalId(), paid.getRentalId()), "transfer", null, null);
+
+        assertTrue(result.isSettled());
+        assertEquals(2, result.getSettledRentalIds().size());
+        assertEquals(Arrays.asList(paid.getRentalId()), result.getSkippedRentalIds());
+        assertEquals(1000000L, result.getRoomAmount());
+
+        entityManager.clear();
+        assertEquals(result.getPaymentId(), rentalRepository.findById(first.getRentalId()).get().getPayment().getPaymentId());
+        assertEquals(result.getPaymentId(), rentalRepository.findById(second.getRentalId()).get().getPayment().getPaymentId());
+    }
+
+    /**
+     * Test case TC-CHECKOUT-005: Phụ thu / giảm trừ không phải số hoặc âm.
+     * Expected: DTO không hợp lệ (API trả 400); service từ chối trước khi cập nhật, lượt thuê vẫn chưa thanh toán.
+     */
+    @Test
+    public void testInvalidSurchargeOrDeductionIsRejectedBeforeUpdate() {
+        Rental rental = createRental("CO107", 1);
+        entityManager.flush();
+        CheckOutCommitDto commit = new CheckOutCommitDto();
+        commit.setRentalId(rental.getRentalId());
+        commit.setSurcharge("abc");
+        commit.setDeduction("-5000");
+        assertEquals(2, validator.validate(commit).size());
+        commit.setSurcharge(" 10000 ");
+        commit.setDeduction("");
+        assertTrue(validator.validate(commit).isEmpty());
+        ExpressCheckOutDto express = new ExpressCheckOutDto();
+        express.setSurcharge("-1");
+        assertEquals(1, validator.validate(express).size());
+
+        long before = paymentRepository.count();
+        for (String[] amounts : new String[][] { { "abc", null }, { null, "-5000" } }) {
+            try {
+                checkOutService.checkOut(rental.getRentalId(), null, amounts[0], amounts[1]);
+                fail("Phải từ chối phụ thu / giảm trừ không hợp lệ");
+            } catch (IllegalArgumentException e) {
+                // đúng mong đợi
+            }
+        }
+
+        entityManager.clear();
+        assertEquals("false", rentalRepository.findById(rental.getRentalId()).get().getPaid());
+        assertEquals(before, paymentRepository.count());
+    }
+}
@@ -0,0 +1,170 @@
+package com.devpro.spring.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.hibernate.Session;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.export.ExportFormat;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.OrderFood;
+import com.devpro.spring.model.Payment;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.model.ServiceBill;
+import com.devpro.spring.repository.ChamberRepository;
+import com.devpro.spring.repository.GuestRepository;
+import com.devpro.spring.repository.OrderFoodRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.repository.ServiceBillRepository;
+import com.devpro.spring.utils.FolioUtils;
+
+/**
+ * Lớp test integration cho ExportServiceImpl.
+ * Test xuất khách, thuê phòng và hóa đơn ra CSV/XLSX đọc từ cursor.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private ChamberRepository chamberRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private OrderFoodRepository orderFoodRepository;
+
+    @Autowired
+    private ServiceBillRepository serviceBillRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Guest createGuest(String name, String idCard, String address) {
+        return guestRepository.save(new Guest(name, "1990-01-01", idCard, "P" + idCard,
+                address, "Viet Nam", "0123456789", "a@example.com", "false", "false"));
+    }
+
+    private Rental createRental(Guest guest, String chamberNumber) {
+        Payment payment = new Payment();
+        entityManager.persist(payment);
+        Chamber chamber = chamberRepository.save(new Chamber(chamberNumber, "couple", "true", "1000000", "20", "note", "false"));
+        Set<Chamber> chambers = new HashSet<>();
+        chambers.add(chamber);
+
+        Rental rental = new Rental();
+        rental.setGuest(guest);
+        rental.setChambers(chambers);
+        rental.setPayment(payment);
+        rental.setCheckInDate(FolioUtils.toDate(LocalDate.of(2019, 7, 20)));
+        rental.setPaid("false");
+        return rentalRepository.save(rental);
+    }
+
+    /**
+     * Test case TC-EXPORT-001: Xuất khách ra CSV, địa chỉ có dấu phẩy và dấu nháy kép.
+     * Expected: Có dòng tiêu đề, giá trị chứa dấu phẩy được bọc nháy kép, dấu nháy được nhân đôi.
+     */
+    @Test
+    public void testExportGuests_Csv_ShouldQuoteSpecialCharacters() throws Exception {
+        createGuest("Tran Van B", "EXP001", "12 Hang Bai, \"Hoan Kiem\"");
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportGuests(ExportFormat.CSV, out);
+        String csv = new String(out.toByteArray(), StandardCharsets.UTF_8);
+
+        assertTrue(csv.contains("Họ tên"));
+        assertTrue(csv.contains("Tran Van B"));
+        assertTrue(csv.contains("\"12 Hang Bai, \"\"Hoan Kiem\"\"\""));
+    }
+
+    /**
+     * Test case TC-EXPORT-002: Các khách đã xuất phải được tách khỏi persistence context.
+     * Expected: Sau khi xuất, persistence context không giữ entity nào.
+     */
+    @Test
+    public void testExportGuests_ShouldDetachStreamedEntities() throws Exception {
+        createGuest("Le Thi C", "EXP002", "Da Nang");
+        createGuest("Vo Van F", "EXP005", "Can Tho");
+        entityManager.flush();
+        entityManager.clear();
+
+        exportService.exportGuests(ExportFormat.CSV, new ByteArrayOutputStream());
+
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    /**
+     * Test case TC-EXPORT-003: Xuất thuê phòng ra XLSX.
+     * Expected: File xlsx đọc lại được, có dòng tiêu đề và dòng thuê phòng với số phòng.
+     */
+    @Test
+    public void testExportRentals_Xlsx_ShouldBeReadable() throws Exception {
+        Rental rental = createRental(createGuest("Pham Van D", "EXP003", "Hue"), "E301");
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportRentals(ExportFormat.XLSX, out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("Mã thuê", sheet.getRow(0).getCell(0).getStringCellValue());
+            boolean found = false;
+            for (Row row : sheet) {
+                if (row.getRowNum() > 0 && row.getCell(0).getNumericCellValue() == rental.getRentalId()) {
+                    assertEquals("E301", row.getCell(8).getStringCellValue());
+                    assertEquals("Pham Van D", row.getCell(6).getStringCellValue());
+                    found = true;
+                }
+            }
+            assertTrue(found);
+        }
+    }
+
+    /**
+     * Test case TC-EXPORT-004: Xuất lịch sử hóa đơn gồm cả order đồ ăn và dịch vụ.
+     * Expected: Có dòng FOOD và SERVICE kèm mã thuê phòng.
+     */
+    @Test
+    public void testExportOrders_Csv_ShouldContainFoodAndServiceRows() throws Exception {
+        Rental rental = createRental(createGuest("Hoang Van E", "EXP004", "Hai Phong"), "E401");
+        orderFoodRepository.save(new OrderFood("150000", "2", "2019-07-21", "0", "", rental));
+        serviceBillRepository.save(new ServiceBill("70000", "2019-07-22", "0", "", rental));
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportOrders(ExportFormat.CSV, out);
+        String csv = new String(out.toByteArray(), StandardCharsets.UTF_8);
+
+        assertTrue(csv.contains("FOOD,") && csv.contains(",2019-07-21,150000,"));
+        assertTrue(csv.contains("SERVICE,") && csv.contains(",2019-07-22,70000,"));
+        assertTrue(csv.contains("," + rental.getRentalId() + ",Hoang Van E"));
+    }
+}
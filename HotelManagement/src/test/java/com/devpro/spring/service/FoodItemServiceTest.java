@@ -363,6 +363,25 @@ public class FoodItemServiceTest {
         assertTrue("Should have multiple pages", page1.getTotalPages() >= 3);
     }
 
+    /**
+     * Test case TC-FOODITEM-SERVICE-013: Kiểm tra getItemLookup trả DTO cho API /service/find-food.
+     * Expected: DTO có đủ field của món ăn kèm tên category, không trả entity / proxy.
+     */
+    @Test
+    public void testGetItemLookup_ShouldReturnDtoWithCategoryName() {
+        Category category = categoryRepository.save(createValidCategory());
+        FoodItem foodItem = foodItemRepository.save(new FoodItem("Phở Bò", "Phở bò truyền thống", "50000", "pho-bo.jpg", category));
+        em.flush();
+        em.clear();
+
+        FoodItemDto result = foodItemService.getItemLookup(foodItem.getId());
+
+        assertEquals(foodItem.getId().longValue(), result.getId());
+        assertEquals("Phở Bò", result.getName());
+        assertEquals("50000", result.getPrice());
+        assertEquals("Món chính", result.getCategory());
+    }
+
     /**
      * Helper method tạo Category hợp lệ cho test.
      */
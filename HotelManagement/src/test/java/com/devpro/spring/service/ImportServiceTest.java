@@ -0,0 +1,181 @@
+package com.devpro.spring.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.devpro.spring.bulk.ImportKind;
+import com.devpro.spring.dto.ImportResultDto;
+import com.devpro.spring.model.ImportJob;
+import com.devpro.spring.model.Section;
+import com.devpro.spring.repository.ImportJobRepository;
+import com.devpro.spring.repository.SectionRepository;
+
+/**
+ * Lớp test integration cho ImportServiceImpl.
+ * Luồng ghi commit từng batch trong transaction riêng nên lớp test không dùng @Transactional,
+ * mỗi test dùng khóa (số phòng, CMND, mã nhân viên) riêng.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ImportServiceTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Dữ liệu do luồng ghi commit không bị rollback theo test, xóa lại để không ảnh hưởng các lớp test khác.
+     */
+    @After
+    public void cleanUp() {
+        jdbcTemplate.update("delete from chamber where chamber_number like 'IM%'");
+        jdbcTemplate.update("delete from guest where id_card like 'IMG%'");
+        jdbcTemplate.update("delete from employee where employee_number like 'IME%'");
+        jdbcTemplate.update("delete from section where section_name like '% IM'");
+        jdbcTemplate.update("delete from import_job");
+    }
+
+    private InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int countChambers(String prefix) {
+        return jdbcTemplate.queryForObject("select count(*) from chamber where chamber_number like ?", Integer.class,
+                prefix + "%");
+    }
+
+    /**
+     * Test case TC-IMPORT-001: Import phòng có 1 dòng sai giá và 1 dòng trùng số phòng trong file.
+     * Expected: Dòng hợp lệ được ghi, dòng lỗi được báo kèm số dòng, job ở trạng thái DONE.
+     */
+    @Test
+    public void testImportChambers_WithInvalidAndDuplicateRows_ShouldReportRowErrors() throws Exception {
+        String content = "chamber_number,chamber_type,is_vip,price_day,chamber_area,note\n"
+                + "IM101,single,false,500000,20,\n"
+                + "IM102,couple,true,abc,25,\n"
+                + "IM103,\"family, 4 người\",false,900000,40,\"tầng 1\"\n"
+                + "IM101,single,false,500000,20,\n";
+
+        ImportResultDto result = importService.importCsv(ImportKind.CHAMBER, "rooms.csv", csv(content), null);
+
+        assertEquals(ImportJob.STATUS_DONE, result.getStatus());
+        assertEquals(2, result.getImportedRows());
+        assertEquals(2, result.getErrorRows());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertEquals(5, result.getErrors().get(1).getLine());
+        assertEquals(2, countChambers("IM1"));
+        assertEquals("family, 4 người", jdbcTemplate.queryForObject(
+                "select chamber_type from chamber where chamber_number = 'IM103'", String.class));
+    }
+
+    /**
+     * Test case TC-IMPORT-002: Chạy lại job bị lỗi từ checkpoint.
+     * Expected: Các dòng đã commit (<= last_line) bị bỏ qua, không báo trùng, các dòng còn lại được ghi.
+     */
+    @Test
+    public void testImportChambers_ResumeFromCheckpoint_ShouldSkipCommittedRows() throws Exception {
+        String header = "chamber_number,chamber_type,is_vip,price_day,chamber_area,note\n";
+        String firstPart = "IM201,single,false,500000,20,\nIM202,single,false,500000,20,\n";
+        ImportResultDto first = importService.importCsv(ImportKind.CHAMBER, "rooms.csv", csv(header + firstPart), null);
+        // gia lap job bi dung giua chung sau khi commit dong 3
+        ImportJob job = importJobRepository.findById(first.getJobId()).get();
+        job.setStatus(ImportJob.STATUS_FAILED);
+        importJobRepository.save(job);
+
+        String full = header + firstPart + "IM203,single,false,500000,20,\nIM204,single,false,500000,20,\n";
+        ImportResultDto resumed = importService.importCsv(ImportKind.CHAMBER, "rooms.csv", csv(full), first.getJobId());
+
+        assertEquals(ImportJob.STATUS_DONE, resumed.getStatus());
+        assertEquals(2, resumed.getSkippedRows());
+        assertEquals(2, resumed.getImportedRows());
+        assertEquals(0, resumed.getErrorRows());
+        assertEquals(4, countChambers("IM2"));
+        ImportJob done = importJobRepository.findById(first.getJobId()).get();
+        assertEquals(5, done.getLastLine());
+        assertEquals(4, done.getImportedRows());
+    }
+
+    /**
+     * Test case TC-IMPORT-003: Import nhiều khách với batch nhỏ và hàng đợi 1 phần tử.
+     * Expected: Luồng đọc chờ luồng ghi, toàn bộ khách được ghi, checkpoint là dòng cuối.
+     */
+    @Test
+    public void testImportGuests_SmallBatchesThroughQueue_ShouldImportAll() throws Exception {
+        StringBuilder content = new StringBuilder("guest_name,birth,id_card,passport,address,nationality,phone_number,email,is_vip\n");
+        for (int i = 0; i < 57; i++) {
+            content.append("Khach ").append(i).append(",1990-01-01,IMG").append(i).append(",,Ha Noi,Viet Nam,0123,,false\n");
+        }
+        Object batchSize = ReflectionTestUtils.getField(importService, "batchSize");
+        Object queueCapacity = ReflectionTestUtils.getField(importService, "queueCapacity");
+        ReflectionTestUtils.setField(importService, "batchSize", 5);
+        ReflectionTestUtils.setField(importService, "queueCapacity", 1);
+        try {
+            ImportResultDto result = importService.importCsv(ImportKind.GUEST, "guests.csv", csv(content.toString()), null);
+
+            assertEquals(57, result.getImportedRows());
+            assertEquals(58, importJobRepository.findById(result.getJobId()).get().getLastLine());
+            assertEquals(Integer.valueOf(57), jdbcTemplate.queryForObject(
+                    "select count(*) from guest where id_card like 'IMG%'", Integer.class));
+        } finally {
+            ReflectionTestUtils.setField(importService, "batchSize", batchSize);
+            ReflectionTestUtils.setField(importService, "queueCapacity", queueCapacity);
+        }
+    }
+
+    /**
+     * Test case TC-IMPORT-004: Import nhân viên, 1 dòng có bộ phận không tồn tại.
+     * Expected: Nhân viên có bộ phận hợp lệ được ghi kèm section_id, dòng còn lại báo lỗi.
+     */
+    @Test
+    public void testImportEmployees_UnknownSection_ShouldReportError() throws Exception {
+        Section section = new Section();
+        section.setSectionName("Lễ tân IM");
+        section = sectionRepository.save(section);
+        String content = "employee_number,employee_name,birth,gender,address,email,phone_number,salary,manager_number,section_name\n"
+                + "IME01,Nguyen Van A,1990-01-01,Nam,Ha Noi,,0123,7000000,,Lễ tân IM\n"
+                + "IME02,Nguyen Van B,1991-01-01,Nam,Ha Noi,,0123,7000000,,Bếp IM\n";
+
+        ImportResultDto result = importService.importCsv(ImportKind.EMPLOYEE, "staff.csv", csv(content), null);
+
+        assertEquals(1, result.getImportedRows());
+        assertEquals(1, result.getErrorRows());
+        assertTrue(result.getErrors().get(0).getMessage().contains("Bếp IM"));
+        assertEquals(section.getSectionId(), jdbcTemplate.queryForObject(
+                "select section_id from employee where employee_number = 'IME01'", Long.class));
+    }
+
+    /**
+     * Test case TC-IMPORT-005: File thiếu cột bắt buộc.
+     * Expected: Job FAILED, thông báo liệt kê cột bị thiếu, không ghi dòng nào.
+     */
+    @Test
+    public void testImportChambers_MissingColumn_ShouldFailJob() throws Exception {
+        String content = "chamber_number,chamber_type,is_vip\nIM301,single,false\n";
+
+        ImportResultDto result = importService.importCsv(ImportKind.CHAMBER, "rooms.csv", csv(content), null);
+
+        assertEquals(ImportJob.STATUS_FAILED, result.getStatus());
+        assertTrue(result.getMessage().contains("price_day"));
+        assertEquals(0, countChambers("IM3"));
+    }
+}
@@ -0,0 +1,214 @@
+package com.devpro.spring.service;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devpro.spring.dto.ReportDto;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.DailyRevenue;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.OrderFood;
+import com.devpro.spring.model.Payment;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.model.ServiceBill;
+import com.devpro.spring.repository.ChamberRepository;
+import com.devpro.spring.repository.DailyRevenueRepository;
+import com.devpro.spring.repository.GuestRepository;
+import com.devpro.spring.repository.OrderFoodRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.repository.ServiceBillRepository;
+import com.devpro.spring.utils.FolioUtils;
+
+/**
+ * Lớp test integration cho ReportServiceImpl và ReportRollupWriter.
+ * Test các chức năng báo cáo: tính lại rollup theo ngày, cộng dồn doanh thu, tổng hợp tháng.
+ * Sử dụng DB H2 để test thực tế, đảm bảo check DB operations.
+ * Mỗi test case rollback transaction để giữ DB sạch.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class ReportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2019, 7, 25);
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportRollupWriter reportRollupWriter;
+
+    @Autowired
+    private DailyRevenueRepository dailyRevenueRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private ChamberRepository chamberRepository;
+
+    @Autowired
+    private OrderFoodRepository orderFoodRepository;
+
+    @Autowired
+    private ServiceBillRepository serviceBillRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Rental createRental(String number, String type, String price, LocalDate checkIn, LocalDate checkOut) {
+        Payment payment = new Payment();
+        entityManager.persist(payment);
+        Guest guest = guestRepository.save(new Guest("Nguyen Van A", "1990-01-01", "ID" + number, "P" + number,
+                "Ha Noi", "Viet Nam", "0123456789", "a@example.com", "false", "false"));
+        Chamber chamber = chamberRepository.save(new Chamber(number, type, "false", price, "20", "note", "false"));
+        Set<Chamber> chambers = new HashSet<>();
+        chambers.add(chamber);
+
+        Rental rental = new Rental();
+        rental.setGuest(guest);
+        rental.setChambers(chambers);
+        rental.setPayment(payment);
+        rental.setCheckInDate(FolioUtils.toDate(checkIn));
+        if (checkOut != null) {
+            rental.setCheckOutDate(FolioUtils.toDate(checkOut));
+            rental.setPaid("true");
+        } else {
+            rental.setPaid("false");
+        }
+        return rentalRepository.save(rental);
+    }
+
+    /**
+     * Test case TC-REPORT-001: Tính lại rollup từ order_food và service_bill.
+     * Expected: Doanh thu đồ ăn/dịch vụ của ngày được cộng đúng, kể cả giá có phần thập phân.
+     */
+    @Test
+    public void testRebuild_FoodAndServiceOrders_ShouldAggregateByDay() {
+        Rental rental = createRental("101", "single", "500000", DAY.minusDays(1), null);
+        orderFoodRepository.save(new OrderFood("200000", "2", DAY.toString(), "0", "", rental));
+        orderFoodRepository.save(new OrderFood("150000.5", "1", DAY.toString(), "0", "", rental));
+        serviceBillRepository.save(new ServiceBill("90000", DAY.toString(), "0", "", rental));
+        entityManager.flush();
+
+        reportRollupWriter.rebuild(DAY, DAY);
+        ReportDto report = reportService.getReport(DAY, DAY);
+
+        assertEquals(350001L, report.getFoodRevenue());
+        assertEquals(90000L, report.getServiceRevenue());
+        assertEquals(0L, report.getRoomRevenue());
+        assertEquals(440001L, report.getTotalRevenue());
+    }
+
+    /**
+     * Test case TC-REPORT-002: Tính lại rollup tiền phòng và công suất phòng.
+     * Expected: Tiền phòng tính theo số đêm, công suất và thời gian ở trung bình đúng.
+     */
+    @Test
+    public void testRebuild_CheckedOutRental_ShouldComputeRoomRevenueAndOccupancy() {
+        createRental("201", "couple", "1000000", DAY.minusDays(2), DAY);
+        entityManager.flush();
+
+        reportRollupWriter.rebuild(DAY.minusDays(2), DAY);
+        ReportDto report = reportService.getReport(DAY.minusDays(2), DAY);
+
+        assertEquals(2000000L, report.getRoomRevenue());
+        assertEquals(1L, report.getCheckOuts());
+        assertEquals(2.0, report.getAverageStay(), 0.0001);
+        // 1 phong, co khach 2 dem trong 3 dem bao cao
+        assertEquals(2L, report.getOccupiedRoomNights());
+        assertEquals(3L, report.getAvailableRoomNights());
+        assertTrue(report.getRows().stream().anyMatch(r -> "couple".equals(r.getChamberType())));
+    }
+
+    /**
+     * Test case TC-REPORT-007: Tính lại rollup tiền phòng cho loại phòng có tên dài hơn 25 ký tự.
+     * Expected: Rollup ghi được, dòng báo cáo giữ nguyên tên loại phòng.
+     */
+    @Test
+    public void testRebuild_LongChamberType_ShouldKeepType() {
+        String type = "Phòng gia đình hướng biển có ban công";
+        createRental("207", type, "1000000", DAY.minusDays(1), DAY);
+        entityManager.flush();
+
+        reportRollupWriter.rebuild(DAY.minusDays(1), DAY);
+        ReportDto report = reportService.getReport(DAY.minusDays(1), DAY);
+
+        assertEquals(1000000L, report.getRoomRevenue());
+        assertTrue(report.getRows().stream().anyMatch(r -> type.equals(r.getChamberType())));
+    }
+
+    /**
+     * Test case TC-REPORT-003: Tính lại rollup nhiều lần cho cùng khoảng ngày.
+     * Expected: Không nhân đôi số liệu (rollup cũ bị xoá trước khi tính lại).
+     */
+    @Test
+    public void testRebuild_Twice_ShouldNotDoubleCount() {
+        Rental rental = createRental("301", "single", "500000", DAY.minusDays(1), null);
+        orderFoodRepository.save(new OrderFood("100000", "1", DAY.toString(), "0", "", rental));
+        entityManager.flush();
+
+        reportRollupWriter.rebuild(DAY, DAY);
+        reportRollupWriter.rebuild(DAY, DAY);
+
+        assertEquals(100000L, reportService.getReport(DAY, DAY).getFoodRevenue());
+    }
+
+    /**
+     * Test case TC-REPORT-004: Cộng dồn doanh thu tăng dần vào rollup.
+     * Expected: Lần đầu tạo dòng mới, lần sau cập nhật cộng dồn.
+     */
+    @Test
+    public void testAddRevenue_Incremental_ShouldAccumulate() {
+        reportRollupWriter.addRevenue(DAY, DailyRevenue.SOURCE_FOOD, "", "", 100000, 1);
+        reportRollupWriter.addRevenue(DAY, DailyRevenue.SOURCE_FOOD, "", "", 50000, 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        ReportDto report = reportService.getReport(DAY, DAY);
+        assertEquals(150000L, report.getFoodRevenue());
+        assertEquals(1, report.getRows().size());
+        assertEquals(2L, report.getRows().get(0).getCount());
+    }
+
+    /**
+     * Test case TC-REPORT-005: Ghi nhận order trong transaction chưa commit.
+     * Expected: Rollup chỉ cập nhật sau khi commit, transaction rollback thì không có dữ liệu.
+     */
+    @Test
+    public void testRecordFoodOrder_BeforeCommit_ShouldNotWriteRollup() {
+        reportService.recordFoodOrder(DAY.toString(), "100000");
+        reportService.recordFoodOrder("not-a-date", "100000"); // ngay sai dinh dang bi bo qua
+
+        assertEquals(0L, dailyRevenueRepository.count());
+    }
+
+    /**
+     * Test case TC-REPORT-006: Báo cáo cho khoảng không có dữ liệu.
+     * Expected: Tất cả số liệu bằng 0, không lỗi chia cho 0.
+     */
+    @Test
+    public void testGetReport_EmptyRange_ShouldReturnZeros() {
+        ReportDto report = reportService.getReport(LocalDate.of(2000, 1, 1), LocalDate.of(2000, 12, 31));
+
+        assertEquals(0L, report.getTotalRevenue());
+        assertEquals(0.0, report.getOccupancyRate(), 0.0001);
+        assertEquals(0.0, report.getAverageStay(), 0.0001);
+        assertTrue(report.getRows().isEmpty());
+    }
+}
@@ -0,0 +1,340 @@
+package com.devpro.spring.singleflight;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devpro.spring.datasource.ReadYourWrites;
+import com.devpro.spring.fragment.DataVersions;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.registry.ActiveRentalRegistry;
+import com.devpro.spring.repository.GuestRepository;
+import com.devpro.spring.service.GuestService;
+import com.devpro.spring.sql.StatementCounter;
+import com.devpro.spring.sql.StatementStats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Lớp test gom truy vấn đọc giống nhau đang chạy cùng lúc (SingleFlight).
+ * Không dùng @Transactional: người gọi đang ở trong transaction luôn tự đọc, không gom.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private ActiveRentalRegistry activeRentalRegistry;
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private GuestService guestService;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double calls(String name, String result) {
+        Counter counter = meterRegistry.find(SingleFlight.CALLS_METRIC).tag("name", name).tag("result", result)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private void awaitCalls(String name, String result, double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (calls(name, result) < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Chưa đủ " + expected + " lần gọi " + result);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Test case TC-SINGLEFLIGHT-001: 8 request cùng khóa đến trong lúc truy vấn đầu tiên đang chạy.
+     * Expected: Truy vấn chỉ chạy 1 lần trong transaction readOnly, cả 8 nhận cùng 1 kết quả, tỉ lệ dùng chung 7/8.
+     */
+    @Test
+    public void testConcurrentCalls_ShouldShareOneQuery() throws Exception {
+        String name = "test-concurrent";
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object> result = new ArrayList<>();
+        boolean[] readOnly = new boolean[1];
+
+        List<Future<Object>> calls = new ArrayList<>();
+        calls.add(executor.submit(() -> singleFlight.execute(name, "p1-single-true", () -> {
+            loads.incrementAndGet();
+            readOnly[0] = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < CALLERS; i++) {
+            calls.add(executor.submit(() -> singleFlight.execute(name, "p1-single-true", () -> {
+                loads.incrementAndGet();
+                return new ArrayList<>();
+            })));
+        }
+        awaitCalls(name, "shared", CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> call : calls) {
+            assertSame(result, call.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertTrue(readOnly[0]);
+        assertEquals(1, calls(name, "leader"), 0);
+        assertEquals((CALLERS - 1) / (double) CALLERS, singleFlight.getShareRatio(name), 0.0001);
+        assertEquals(singleFlight.getShareRatio(name),
+                meterRegistry.find(SingleFlight.SHARE_RATIO_METRIC).tag("name", name).gauge().value(), 0.0001);
+
+        // truy van da xong: lan goi sau chay truy van moi
+        singleFlight.execute(name, "p1-single-true", () -> loads.incrementAndGet());
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Test case TC-SINGLEFLIGHT-002: Truy vấn đầu tiên bị lỗi khi các request khác đang chờ.
+     * Expected: Tất cả nhận cùng lỗi, lỗi không bị nhớ lại, lần gọi sau chạy truy vấn mới.
+     */
+    @Test
+    public void testFailedQuery_ShouldFailAllWaitingCallers() throws Exception {
+        String name = "test-failure";
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> singleFlight.execute(name, 1L, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("db down");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Object> follower = executor.submit(() -> singleFlight.execute(name, 1L, () -> "khong chay"));
+        awaitCalls(name, "shared", 1);
+        release.countDown();
+
+        for (Future<Object> call : Arrays.asList(leader, follower)) {
+            try {
+                call.get(5, TimeUnit.SECONDS);
+                fail("Phải ném lỗi của truy vấn");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+                assertEquals("db down", e.getCause().getMessage());
+            }
+        }
+        assertEquals("ok", singleFlight.execute(name, 1L, () -> "ok"));
+    }
+
+    /**
+     * Test case TC-SINGLEFLIGHT-003: Tra cứu số phòng không có khách 2 lần liên tiếp, sau đó có nhận/trả phòng.
+     * Expected: Lần 2 trả null không chạy SQL (nhớ kết quả null); sau khi phiên bản Chamber tăng thì đọc lại DB.
+     */
+    @Test
+    public void testUnknownChamber_ShouldUseNegativeCacheUntilChamberVersionChanges() {
+        assertNull(activeRentalRegistry.find("SF404"));
+
+        StatementCounter.start();
+        assertNull(activeRentalRegistry.find("SF404"));
+        StatementStats cached = StatementCounter.stop();
+        assertEquals(0, cached.getStatements());
+        assertTrue(calls("active-rental", "negative") >= 1);
+
+        dataVersions.bump(Chamber.class);
+        StatementCounter.start();
+        assertNull(activeRentalRegistry.find("SF404"));
+        StatementStats reloaded = StatementCounter.stop();
+        assertEquals(1, reloaded.getStatements());
+    }
+
+    /**
+     * Test case TC-SINGLEFLIGHT-004: Người gọi đang ở trong transaction (có thể vừa ghi dữ liệu).
+     * Expected: Không gom, không dùng kết quả null đã nhớ, truy vấn chạy trong transaction của người gọi.
+     */
+    @Test
+    public void testCallerInTransaction_ShouldBypass() {
+        String name = "test-bypass";
+        assertNull(singleFlight.execute(name, "k", () -> null));
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        Object value = template.execute(status -> singleFlight.execute(name, "k",
+                () -> TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? "readOnly" : "caller"));
+
+        assertEquals("caller", value);
+        assertEquals(1, calls(name, "bypass"), 0);
+        assertEquals(0, calls(name, "negative"), 0);
+    }
+
+    /**
+     * Test case TC-SINGLEFLIGHT-005: Lần đọc khách đang chạy thì thông tin khách được sửa (phiên bản Guest tăng).
+     * Expected: Request đến sau khi sửa không dùng chung lần đọc cũ mà tự đọc lại database.
+     */
+    @Test
+    public void testGuestChange_ShouldNotShareInFlightRead() throws Exception {
+        Guest guest = guestRepository.save(new Guest("Nguyen Van S", "1990-01-01", "SF001", "PSF001", "Ha Noi",
+                "Viet Nam", "0123456789", "s@example.com", "false", "false"));
+        Guest stale = new Guest();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<Guest> leader = executor.submit(() -> singleFlight.execute("guest",
+                    Arrays.asList(guest.getGuestId(), dataVersions.current("Guest")), () -> {
+                        started.countDown();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return stale;
+                    }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // nhu request sua khach vua commit
+            dataVersions.bump(Guest.class);
+            Guest fresh = guestService.findGuest(guest.getGuestId());
+
+            assertNotSame(stale, fresh);
+            assertEquals("Nguyen Van S", fresh.getGuestName());
+            release.countDown();
+            assertSame(stale, leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            guestRepository.delete(guest);
+        }
+    }
+
+    /**
+     * Test case TC-SINGLEFLIGHT-006: Lần đọc của request không ghim primary đang chạy, request của phiên vừa ghi
+     * (ReadYourWrites ghim primary) đọc cùng khoá.
+     * Expected: Request đã ghim không dùng chung kết quả (có thể đọc từ replica) mà tự đọc.
+     */
+    @Test
+    public void testPinnedCaller_ShouldNotJoinUnpinnedFlight() throws Exception {
+        String name = "test-pinned";
+        Object replicaResult = new Object();
+        Object primaryResult = new Object();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<Object> unpinned = executor.submit(() -> singleFlight.execute(name, "k", () -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return replicaResult;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Future<Object> pinned = executor.submit(() -> {
+                ReadYourWrites.pin(60000);
+                try {
+                    return singleFlight.execute(name, "k", () -> primaryResult);
+                } finally {
+                    ReadYourWrites.clear();
+                }
+            });
+
+            assertSame(primaryResult, pinned.get(5, TimeUnit.SECONDS));
+            release.countDown();
+            assertSame(replicaResult, unpinned.get(5, TimeUnit.SECONDS));
+            assertEquals(2, calls(name, "leader"), 0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /**
+     * Test case TC-SINGLEFLIGHT-007: Request tra cứu khách dùng chung lần đọc đang chạy rồi sửa Guest nhận được.
+     * Expected: Mỗi request nhận bản sao riêng, sửa bản sao không ảnh hưởng kết quả của request khác.
+     */
+    @Test
+    public void testSharedGuest_ShouldReturnCopyPerCaller() throws Exception {
+        Guest guest = guestRepository.save(new Guest("Nguyen Van C", "1990-01-01", "SF007", "PSF007", "Ha Noi",
+                "Viet Nam", "0123456789", "c@example.com", "false", "false"));
+        Guest shared = guestRepository.findById(guest.getGuestId()).get();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<Guest> leader = executor.submit(() -> singleFlight.execute("guest",
+                    Arrays.asList(guest.getGuestId(), dataVersions.current("Guest")), () -> {
+                        started.countDown();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return shared;
+                    }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            double sharedCalls = calls("guest", "shared");
+            Future<Guest> follower = executor.submit(() -> guestService.findGuest(guest.getGuestId()));
+            awaitCalls("guest", "shared", sharedCalls + 1);
+            release.countDown();
+
+            Guest copy = follower.get(5, TimeUnit.SECONDS);
+            assertNotSame(shared, copy);
+            assertEquals(guest.getGuestId(), copy.getGuestId());
+            copy.setGuestName("Đã sửa");
+            assertEquals("Nguyen Van C", leader.get(5, TimeUnit.SECONDS).getGuestName());
+        } finally {
+            release.countDown();
+            guestRepository.delete(guest);
+        }
+    }
+}
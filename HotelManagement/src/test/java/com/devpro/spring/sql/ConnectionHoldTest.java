@@ -0,0 +1,91 @@
+package com.devpro.spring.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import javax.servlet.Filter;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Lớp test thời gian giữ kết nối JDBC theo request khi render trang Thymeleaf.
+ * Không dùng @Transactional: transaction của test sẽ giữ kết nối suốt request.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ConnectionHoldTest {
+
+    private static final String GUEST_PAGE = "/guests";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterRegistrationBean<StatementCountingFilter> statementCountingFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockMvc mockMvc(Filter... filters) {
+        Filter[] chain = new Filter[filters.length + 1];
+        chain[0] = statementCountingFilter.getFilter();
+        System.arraycopy(filters, 0, chain, 1, filters.length);
+        return MockMvcBuilders.webAppContextSetup(context).addFilters(chain).build();
+    }
+
+    private long holdCount() {
+        Timer timer = meterRegistry.find(StatementCountingFilter.CONNECTION_HOLD_METRIC).tag("uri", GUEST_PAGE).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double heldDuringRender() {
+        Counter counter = meterRegistry.find(StatementCountingFilter.HELD_DURING_RENDER_METRIC).tag("uri", GUEST_PAGE)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    /**
+     * Test case TC-CONNHOLD-001: Trang danh sách khách với open-in-view=false.
+     * Expected: Kết nối được đo thời gian giữ và đã trả về pool trước khi render view.
+     */
+    @Test
+    public void testGuestPage_WithoutOpenInView_ShouldReleaseConnectionBeforeRender() throws Exception {
+        long holds = holdCount();
+        double held = heldDuringRender();
+
+        mockMvc().perform(get(GUEST_PAGE)).andExpect(status().isOk()).andExpect(view().name("guest"));
+
+        assertEquals(holds + 1, holdCount());
+        assertEquals(held, heldDuringRender(), 0.0);
+    }
+
+    /**
+     * Test case TC-CONNHOLD-002: Cùng trang đó nhưng bọc bởi OpenEntityManagerInViewFilter (hành vi cũ).
+     * Expected: Kết nối còn mở khi render view, bị ghi nhận vào metric held-during-render.
+     */
+    @Test
+    public void testGuestPage_WithOpenInView_ShouldHoldConnectionDuringRender() throws Exception {
+        double held = heldDuringRender();
+        OpenEntityManagerInViewFilter openInView = new OpenEntityManagerInViewFilter();
+        openInView.setServletContext(context.getServletContext());
+
+        mockMvc(openInView).perform(get(GUEST_PAGE)).andExpect(status().isOk());
+
+        assertEquals(held + 1, heldDuringRender(), 0.0);
+    }
+}
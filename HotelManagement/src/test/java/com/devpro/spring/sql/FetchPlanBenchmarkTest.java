@@ -0,0 +1,189 @@
+package com.devpro.spring.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import com.devpro.spring.api.OrderApi;
+import com.devpro.spring.dto.CartItemDto;
+import com.devpro.spring.dto.OrderFoodDto;
+import com.devpro.spring.model.Category;
+import com.devpro.spring.model.Chamber;
+import com.devpro.spring.model.FoodItem;
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.pricing.PriceBookRegistry;
+import com.devpro.spring.repository.FoodItemRepository;
+import com.devpro.spring.repository.RentalRepository;
+import com.devpro.spring.service.RentalService;
+
+/**
+ * Đếm số câu SQL của từng use case sau khi chuyển Rental.guest/chambers sang lazy + entity graph + @BatchSize.
+ * Số liệu trước thay đổi (guest/chambers eager, không batch) ghi trong javadoc của từng test;
+ * bảng kết quả in ra stdout.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class FetchPlanBenchmarkTest {
+
+    private static final int ROWS = 20;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private OrderApi orderApi;
+
+    @Autowired
+    private PriceBookRegistry priceBookRegistry;
+
+    @AfterTransaction
+    public void reloadPriceBook() {
+        priceBookRegistry.reload();
+    }
+
+    private List<Rental> createRentals() {
+        for (int i = 0; i < ROWS; i++) {
+            Guest guest = new Guest("Khach " + i, "1990-01-01", "FP" + i, "P" + i, "Ha Noi", "Viet Nam",
+                    "0123456789", "a@example.com", "false", "false");
+            entityManager.persist(guest);
+            Chamber chamber = new Chamber("F" + i, "single", "false", "100", "20", "", "false");
+            entityManager.persist(chamber);
+            Rental rental = new Rental();
+            rental.setGuest(guest);
+            rental.setChambers(Collections.singleton(chamber));
+            rental.setCheckInDate(new Date());
+            rental.setPaid("false");
+            entityManager.persist(rental);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return rentalRepository.findAll();
+    }
+
+    private static void print(String useCase, StatementStats stats) {
+        System.out.println(String.format("%-14s %3d statements, %3d entity loads, %3d collection fetches", useCase,
+                stats.getStatements(), stats.getEntityLoads(), stats.getCollectionFetches()));
+    }
+
+    /**
+     * Test case TC-FETCH-BENCH-001: Đặt đồ ăn chỉ cần khóa ngoại rental.
+     * Trước và sau: 1 câu insert, rental chỉ là tham chiếu (getOne), không nạp Rental.
+     */
+    @Test
+    public void benchmarkOrderPosting() {
+        Long rentalId = createRentals().get(0).getRentalId();
+        FoodItem foodItem = new FoodItem("Pho", "", "100000", null, null);
+        entityManager.persist(foodItem);
+        entityManager.flush();
+        entityManager.clear();
+        priceBookRegistry.reload();
+        OrderFoodDto order = new OrderFoodDto(rentalId, "2", "2023-01-01", "", "0", "100000");
+        order.setItems(Collections.singletonList(new CartItemDto(foodItem.getId(), 1)));
+
+        StatementCounter.start();
+        orderApi.addOrderFood(order, new BeanPropertyBindingResult(order, "order"));
+        entityManager.flush();
+        StatementStats stats = StatementCounter.stop();
+
+        print("order posting", stats);
+        assertFalse(stats.toString(), stats.getEntityLoadCounts().containsKey(Rental.class.getName()));
+        assertTrue(stats.toString(), stats.getStatements() <= 2);
+    }
+
+    /**
+     * Test case TC-FETCH-BENCH-002: Thông tin trả phòng cần rental + khách + phòng.
+     * Trước: 2 câu (rental join guest, rồi chambers). Sau: 1 câu theo entity graph Rental.checkOut.
+     */
+    @Test
+    public void benchmarkCheckOutInfo() {
+        Long rentalId = createRentals().get(0).getRentalId();
+        entityManager.clear();
+
+        StatementCounter.start();
+        Rental rental = rentalService.getRentalForCheckOut(rentalId);
+        rental.getGuest().getGuestName();
+        rental.getChambers().size();
+        StatementStats stats = StatementCounter.stop();
+
+        print("check-out", stats);
+        assertEquals(stats.toString(), 1, stats.getStatements());
+    }
+
+    /**
+     * Test case TC-FETCH-BENCH-003: Danh sách rental hiển thị khách và phòng từng dòng.
+     * Trước: 1 + 20 (guest) + 20 (chambers) = 41 câu. Sau: 1 + 1 lô guest + 1 lô chambers = 3 câu.
+     */
+    @Test
+    public void benchmarkRentalList() {
+        createRentals();
+        entityManager.clear();
+
+        StatementCounter.start();
+        List<Rental> rentals = rentalRepository.findAll();
+        for (Rental rental : rentals) {
+            rental.getGuest().getGuestName();
+            rental.getChambers().size();
+        }
+        StatementStats stats = StatementCounter.stop();
+
+        print("rental list", stats);
+        assertEquals(ROWS, rentals.size());
+        assertTrue(stats.toString(), stats.getStatements() <= 3);
+        assertTrue(stats.getNPlusOneSuspects(5).isEmpty());
+    }
+
+    /**
+     * Test case TC-FETCH-BENCH-004: Danh sách món ăn hiển thị thể loại từng dòng (FoodItem.category lazy).
+     * Trước: 1 + 5 câu (mỗi thể loại 1 câu). Sau: 1 + 1 lô category = 2 câu.
+     */
+    @Test
+    public void benchmarkFoodItemList() {
+        for (int c = 0; c < 5; c++) {
+            Category category = new Category();
+            category.setCategoryName("The loai " + c);
+            entityManager.persist(category);
+            for (int i = 0; i < ROWS / 5; i++) {
+                entityManager.persist(new FoodItem("Mon " + c + "-" + i, "", "50000", "", category));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        StatementCounter.start();
+        List<FoodItem> items = foodItemRepository.findAll();
+        for (FoodItem item : items) {
+            item.getCategory().getCategoryName();
+        }
+        StatementStats stats = StatementCounter.stop();
+
+        print("food list", stats);
+        assertEquals(ROWS, items.size());
+        assertTrue(stats.toString(), stats.getStatements() <= 2);
+    }
+}
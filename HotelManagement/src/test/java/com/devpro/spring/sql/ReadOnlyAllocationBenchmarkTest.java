@@ -0,0 +1,125 @@
+package com.devpro.spring.sql;
+
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+import static org.junit.Assert.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.persistence.EntityManager;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.repository.CustomQuery;
+import com.devpro.spring.service.GuestService;
+
+/**
+ * Đo lượng heap cấp phát cho mỗi request trang danh sách khách: cách cũ (transaction ghi, entity managed có snapshot,
+ * flush + dirty checking khi commit) so với transaction readOnly (FlushMode.MANUAL, session read-only) + hint read-only.
+ * Không dùng @Transactional: mỗi lần gọi phải có transaction riêng như một request thật.
+ * Chỉ chạy khi bật: mvn test -Dtest=ReadOnlyAllocationBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=500]
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ReadOnlyAllocationBenchmarkTest {
+
+    private static final String ID_CARD_PREFIX = "ROBENCH";
+    private static final int PAGE_SIZE = 10;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private GuestService guestService;
+
+    private TransactionTemplate readWrite;
+
+    private int rows;
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+        rows = Integer.getInteger("benchmark.rows", 100);
+        readWrite = new TransactionTemplate(transactionManager);
+        readWrite.execute(status -> {
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(new Guest("Khach " + ID_CARD_PREFIX + i, "1990-01-01", ID_CARD_PREFIX + i,
+                        "P" + i, "Ha Noi", "Viet Nam", "0123456789", "bench@example.com", "false", "false"));
+            }
+            return null;
+        });
+    }
+
+    @After
+    public void tearDown() {
+        if (readWrite != null) {
+            readWrite.execute(status -> entityManager.createQuery("delete from Guest g where g.idCard like :prefix")
+                    .setParameter("prefix", ID_CARD_PREFIX + "%").executeUpdate());
+        }
+    }
+
+    // cung cau count + select cua trang danh sach, chi khac transaction ghi / readOnly + hint
+    private List<Guest> listGuests(TransactionTemplate template, boolean readOnlyHint, int pageSize) {
+        return template.execute(status -> {
+            entityManager.createQuery(CustomQuery.GUEST_SEARCH.replaceFirst("select g", "select count(g)"))
+                    .setParameter("text", "%" + ID_CARD_PREFIX + "%").getSingleResult();
+            return entityManager.createQuery(CustomQuery.GUEST_SEARCH, Guest.class)
+                    .setParameter("text", "%" + ID_CARD_PREFIX + "%").setHint(HINT_READONLY, readOnlyHint)
+                    .setMaxResults(pageSize).getResultList();
+        });
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private String measure(String label, int pageSize, Supplier<List<Guest>> request) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals(pageSize, request.get().size());
+        }
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.get();
+        }
+        long nanos = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+        return String.format("%-26s page=%4d: %8d bytes/request, %7.1f us/request%n", label, pageSize,
+                bytes / ITERATIONS, nanos / 1e3 / ITERATIONS);
+    }
+
+    /**
+     * Test case TC-READONLY-BENCH-001: So sánh heap cấp phát mỗi request trang danh sách khách trước và sau.
+     */
+    @Test
+    public void benchmarkGuestListAllocation() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        StringBuilder report = new StringBuilder("guest list x ").append(ITERATIONS).append(" requests\n");
+        for (int pageSize : new int[] { PAGE_SIZE, Math.min(rows, 100) }) {
+            report.append(measure("read-write (truoc)", pageSize, () -> listGuests(readWrite, false, pageSize)));
+            report.append(measure("readOnly + hint (sau)", pageSize, () -> listGuests(readOnly, true, pageSize)));
+            report.append(measure("GuestService.searchGuests", pageSize,
+                    () -> guestService.searchGuests(PageRequest.of(0, pageSize), ID_CARD_PREFIX).getContent()));
+        }
+        System.out.print(report);
+    }
+}
@@ -0,0 +1,136 @@
+package com.devpro.spring.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.devpro.spring.model.Guest;
+import com.devpro.spring.model.Payment;
+import com.devpro.spring.model.Rental;
+import com.devpro.spring.repository.RentalRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Lớp test cho bộ đếm câu SQL theo request: đếm câu SQL, entity và collection được nạp,
+ * phát hiện N+1 khi cùng một câu select lặp lại, ghi metric khi vượt ngân sách.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class StatementCounterTest {
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<Rental> createRentalsWithPayment(int count) {
+        for (int i = 0; i < count; i++) {
+            Guest guest = new Guest("Khach " + i, "1990-01-01", "ID" + i, "P" + i, "Ha Noi", "Viet Nam",
+                    "0123456789", "a@example.com", "false", "false");
+            entityManager.persist(guest);
+            Payment payment = new Payment();
+            payment.setPaymentMethod("cash");
+            payment.setPaymentDate(new Date());
+            entityManager.persist(payment);
+            Rental rental = new Rental();
+            rental.setGuest(guest);
+            rental.setPayment(payment);
+            rental.setCheckInDate(new Date());
+            rental.setPaid("true");
+            entityManager.persist(rental);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return rentalRepository.findAll();
+    }
+
+    /**
+     * Test case TC-SQLCOUNT-001: Đọc từng rental theo id trong vòng lặp.
+     * Expected: Mỗi rental sinh một câu select giống nhau, được báo là nghi N+1.
+     */
+    @Test
+    public void testFindByIdInLoop_ShouldBeReportedAsNPlusOne() {
+        List<Rental> rentals = createRentalsWithPayment(6);
+        entityManager.clear();
+
+        StatementCounter.start();
+        for (Rental rental : rentals) {
+            rentalRepository.findById(rental.getRentalId());
+        }
+        StatementStats stats = StatementCounter.stop();
+
+        assertEquals(6, stats.getStatements());
+        assertEquals(Integer.valueOf(6), stats.getEntityLoadCounts().get(Rental.class.getName()));
+        Map<String, Integer> suspects = stats.getNPlusOneSuspects(5);
+        assertEquals(1, suspects.size());
+        assertEquals(Integer.valueOf(6), suspects.values().iterator().next());
+    }
+
+    /**
+     * Test case TC-SQLCOUNT-002: Nạp lazy Rental.payment và khởi tạo collection lazy.
+     * Expected: Payment được nạp theo lô (@BatchSize) nên không có N+1; collection fetch được đếm khi bật,
+     * ngoài start()/stop() không ghi nhận gì.
+     */
+    @Test
+    public void testLazyAssociations_ShouldBeBatchedAndCounted() {
+        List<Rental> rentals = createRentalsWithPayment(6);
+
+        StatementCounter.start();
+        for (Rental rental : rentals) {
+            rental.getPayment().getPaymentMethod();
+        }
+        rentals.get(0).getOrderFoods().size();
+        StatementStats stats = StatementCounter.stop();
+        rentals.get(0).getServiceBills().size(); // khong bat bo dem
+
+        assertEquals(2, stats.getStatements());
+        assertEquals(Integer.valueOf(6), stats.getEntityLoadCounts().get(Payment.class.getName()));
+        assertEquals(1, stats.getCollectionFetches());
+        assertTrue(stats.getNPlusOneSuspects(5).isEmpty());
+        assertNull(StatementCounter.current());
+    }
+
+    /**
+     * Test case TC-SQLCOUNT-003: Báo cáo sau request vượt ngân sách và có N+1.
+     * Expected: Ghi metric số câu SQL theo mẫu URL, tăng bộ đếm N+1 và vượt ngân sách.
+     */
+    @Test
+    public void testFilterReport_ShouldRecordMetrics() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        StatementCountingFilter filter = new StatementCountingFilter(registry, 5,
+                Collections.singletonMap("/check-out/get-check-out-info", 6));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/check-out/get-check-out-info");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/check-out/get-check-out-info");
+        StatementStats stats = new StatementStats();
+        for (int i = 0; i < 7; i++) {
+            stats.addStatement("select p.payment_id from payment p where p.payment_id=?");
+        }
+
+        filter.report(request, stats);
+
+        assertEquals(7.0, registry.get(StatementCountingFilter.STATEMENTS_METRIC)
+                .tag("uri", "/check-out/get-check-out-info").summary().totalAmount(), 0.0);
+        assertEquals(1.0, registry.get(StatementCountingFilter.N_PLUS_ONE_METRIC).counter().count(), 0.0);
+        assertEquals(1.0, registry.get(StatementCountingFilter.OVER_BUDGET_METRIC).counter().count(), 0.0);
+    }
+}
@@ -0,0 +1,53 @@
+package com.devpro.spring.startup;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.devpro.spring.repository.ChamberRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Lớp test khởi động với profile chạy máy nhỏ (prod,small) trên H2.
+ * Context riêng dùng database H2 riêng để create-drop không xóa dữ liệu của context dùng chung.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:smallprofile;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles({ "prod", "small" })
+public class SmallProfileContextTest {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ChamberRepository chamberRepository;
+
+    /**
+     * Test case TC-STARTUP-003: Khởi động context với profile prod,small.
+     * Expected: Context chạy được, pool kết nối / thread Tomcat theo cấu hình máy nhỏ, cấu hình prod được áp dụng,
+     * truy vấn DB chạy bình thường.
+     */
+    @Test
+    public void testSmallProfile_ShouldLoadContext() throws SQLException {
+        assertEquals(5, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+        assertEquals("20", environment.getProperty("server.tomcat.max-threads"));
+        assertEquals("1", environment.getProperty("hotel.analytics.parallelism"));
+
+        assertEquals("true", environment.getProperty("spring.thymeleaf.cache"));
+
+        assertEquals(0, chamberRepository.count());
+    }
+}
@@ -0,0 +1,56 @@
+package com.devpro.spring.startup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * Lớp test báo cáo khởi động: thời gian riêng của từng bean và đánh dấu lazy-init cho bean chỉ admin dùng.
+ */
+public class StartupTimingTest {
+
+    /**
+     * Test case TC-STARTUP-001: Bean cha tạo bean phụ thuộc trong lúc khởi tạo.
+     * Expected: Thời gian của bean cha không tính thời gian tạo bean con.
+     */
+    @Test
+    public void testBeanTiming_ShouldExcludeNestedBeans() throws Exception {
+        BeanTimingPostProcessor timing = new BeanTimingPostProcessor();
+        RootBeanDefinition definition = new RootBeanDefinition(Object.class);
+
+        timing.postProcessMergedBeanDefinition(definition, Object.class, "guestRepository");
+        timing.postProcessMergedBeanDefinition(definition, Object.class, "entityManagerFactory");
+        Thread.sleep(200);
+        timing.postProcessAfterInitialization(new Object(), "entityManagerFactory");
+        timing.postProcessAfterInitialization(new Object(), "guestRepository");
+
+        Map<String, Long> slowest = timing.slowest(10);
+        assertEquals("entityManagerFactory", slowest.keySet().iterator().next());
+        assertTrue(slowest.get("entityManagerFactory") >= 200);
+        assertTrue(slowest.get("guestRepository") < 100);
+    }
+
+    /**
+     * Test case TC-STARTUP-002: hotel.startup.lazy-beans liệt kê controller chỉ admin dùng.
+     * Expected: Bean được liệt kê chuyển sang lazy-init, bean khác giữ nguyên; tên không tồn tại bị bỏ qua.
+     */
+    @Test
+    public void testLazyInit_ShouldMarkListedBeansOnly() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("reportApi", new RootBeanDefinition(Object.class));
+        beanFactory.registerBeanDefinition("checkInApi", new RootBeanDefinition(Object.class));
+
+        new LazyInitBeanFactoryPostProcessor(Arrays.asList("reportApi", "missingBean"))
+                .postProcessBeanFactory(beanFactory);
+
+        assertTrue(beanFactory.getBeanDefinition("reportApi").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("checkInApi").isLazyInit());
+    }
+}